@@ -0,0 +1,217 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Hashed timing wheel that tracks the expiration of a large number of keys using coarse-grained buckets.
+ * Unlike a {@link ScheduledExecutorService}, which maintains one task per key in a binary heap, scheduling and cancelling a key are O(1) operations that never contend on a shared lock.
+ * A single periodic task advances the wheel once per tick, and delivers all keys whose deadline has elapsed to a consumer in batches.
+ * Keys whose deadline lies beyond a single rotation of the wheel remain in their bucket until the rotation in which they are due.
+ * @param <K> the key type
+ */
+public class TimingWheel<K> implements AutoCloseable {
+
+    // No logger interface for this module and no reason to create one for this class only
+    private static final Logger LOGGER = Logger.getLogger(TimingWheel.class);
+
+    private final Map<K, Long> deadlines = new ConcurrentHashMap<>();
+    private final List<Set<K>> buckets;
+    private final int mask;
+    private final long tickNanos;
+    private final long origin = System.nanoTime();
+    private final Consumer<Collection<K>> expirer;
+    private final int maxBatchSize;
+    private final Future<?> future;
+
+    // Last tick processed by the executor thread
+    private volatile long tick = 0L;
+
+    /**
+     * Creates a new timing wheel.
+     * @param executor the executor used to advance the wheel
+     * @param tickDuration the duration of a single tick, i.e. the granularity of expiration
+     * @param wheelSize the number of buckets in the wheel, rounded up to the nearest power of 2
+     * @param maxBatchSize the maximum number of keys passed to the expirer per invocation
+     * @param expirer the consumer of expired keys
+     */
+    public TimingWheel(ScheduledExecutorService executor, Duration tickDuration, int wheelSize, int maxBatchSize, Consumer<Collection<K>> expirer) {
+        if (tickDuration.isZero() || tickDuration.isNegative()) {
+            throw new IllegalArgumentException(tickDuration.toString());
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException(Integer.toString(wheelSize));
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException(Integer.toString(maxBatchSize));
+        }
+        int size = (wheelSize == 1) ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            this.buckets.add(ConcurrentHashMap.newKeySet());
+        }
+        this.mask = size - 1;
+        this.tickNanos = tickDuration.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.expirer = expirer;
+        this.future = executor.scheduleWithFixedDelay(this::advance, this.tickNanos, this.tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Schedules the specified key to expire after the specified delay, replacing any previous schedule for this key.
+     * @param key a key
+     * @param delay the duration after which the key expires
+     */
+    public void schedule(K key, Duration delay) {
+        long elapsed = System.nanoTime() - this.origin;
+        long delayNanos = delay.isNegative() ? 0L : delay.toNanos();
+        // Round up, so that keys never expire early
+        long deadline = (elapsed + delayNanos + this.tickNanos - 1) / this.tickNanos;
+        Long previous = this.deadlines.put(key, deadline);
+        if ((previous != null) && (this.index(previous) != this.index(deadline))) {
+            this.buckets.get(this.index(previous)).remove(key);
+        }
+        long current = this.tick;
+        this.buckets.get(this.index(Math.max(deadline, current + 1))).add(key);
+        // If the wheel advanced past our bucket concurrently, make sure we are visited by the next tick
+        long next = this.tick + 1;
+        if (deadline < next) {
+            this.buckets.get(this.index(next)).add(key);
+        }
+    }
+
+    /**
+     * Cancels the scheduled expiration of the specified key.
+     * @param key a key
+     * @return true, if the key was scheduled, false otherwise
+     */
+    public boolean cancel(K key) {
+        Long deadline = this.deadlines.remove(key);
+        if (deadline != null) {
+            this.buckets.get(this.index(deadline)).remove(key);
+        }
+        return deadline != null;
+    }
+
+    /**
+     * Cancels the scheduled expiration of all keys matching the specified predicate.
+     * @param predicate a key predicate
+     */
+    public void cancel(Predicate<K> predicate) {
+        for (K key : this.deadlines.keySet()) {
+            if (Thread.currentThread().isInterrupted()) break;
+            if (predicate.test(key)) {
+                this.cancel(key);
+            }
+        }
+    }
+
+    /**
+     * Indicates whether the specified key is scheduled to expire.
+     * @param key a key
+     * @return true, if the key is scheduled, false otherwise
+     */
+    public boolean contains(K key) {
+        return this.deadlines.containsKey(key);
+    }
+
+    /**
+     * Returns the number of scheduled keys.
+     * @return the number of scheduled keys
+     */
+    public int size() {
+        return this.deadlines.size();
+    }
+
+    @Override
+    public void close() {
+        this.future.cancel(false);
+        this.deadlines.clear();
+        for (Set<K> bucket : this.buckets) {
+            bucket.clear();
+        }
+    }
+
+    private int index(long deadline) {
+        return (int) (deadline & this.mask);
+    }
+
+    void advance() {
+        try {
+            long now = (System.nanoTime() - this.origin) / this.tickNanos;
+            // If we fell behind by more than a full rotation, visiting each bucket once is sufficient
+            long start = Math.max(this.tick + 1, now - this.mask);
+            List<K> expired = new ArrayList<>();
+            for (long tick = start; tick <= now; ++tick) {
+                Iterator<K> keys = this.buckets.get(this.index(tick)).iterator();
+                while (keys.hasNext()) {
+                    K key = keys.next();
+                    Long deadline = this.deadlines.get(key);
+                    if ((deadline == null) || (this.index(deadline) != this.index(tick) && deadline > now)) {
+                        // Stale entry, i.e. cancelled or rescheduled to another bucket
+                        keys.remove();
+                    } else if (deadline <= now) {
+                        keys.remove();
+                        if (this.deadlines.remove(key, deadline)) {
+                            expired.add(key);
+                            if (expired.size() == this.maxBatchSize) {
+                                this.expire(expired);
+                                expired = new ArrayList<>();
+                            }
+                        }
+                    }
+                }
+                this.tick = tick;
+            }
+            if (!expired.isEmpty()) {
+                this.expire(expired);
+            }
+        } catch (Throwable e) {
+            // Never propagate, otherwise subsequent ticks will be suppressed
+            LOGGER.warn(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private void expire(Collection<K> keys) {
+        LOGGER.tracef("Expiring %d keys", keys.size());
+        try {
+            this.expirer.accept(keys);
+        } catch (Throwable e) {
+            LOGGER.warn(e.getLocalizedMessage(), e);
+        }
+    }
+}
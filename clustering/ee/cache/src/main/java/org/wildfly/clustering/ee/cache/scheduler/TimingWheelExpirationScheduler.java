@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.jboss.logging.Logger;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.clustering.ee.Batch;
+import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.ee.Remover;
+
+/**
+ * Expiration scheduler backed by a {@link TimingWheel}.
+ * Rather than scheduling a task per key, keys are tracked in coarse-grained buckets and expired in batches,
+ * such that many keys are removed within a single {@link Batch}.
+ * @param <K> the key type
+ */
+public class TimingWheelExpirationScheduler<K> implements AutoCloseable {
+
+    public static final Duration DEFAULT_TICK_DURATION = Duration.ofSeconds(1);
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    // No logger interface for this module and no reason to create one for this class only
+    private static final Logger LOGGER = Logger.getLogger(TimingWheelExpirationScheduler.class);
+
+    private final Batcher<? extends Batch> batcher;
+    private final Remover<K> remover;
+    private final ScheduledExecutorService executor;
+    private final TimingWheel<K> wheel;
+
+    public TimingWheelExpirationScheduler(Batcher<? extends Batch> batcher, Remover<K> remover) {
+        this(batcher, remover, createScheduledExecutor(createThreadFactory()), DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        return AccessController.doPrivileged(new PrivilegedAction<ThreadFactory>() {
+            @Override
+            public ThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup(TimingWheelExpirationScheduler.class.getSimpleName()), Boolean.FALSE, null, "%G - %t", null, null);
+            }
+        });
+    }
+
+    private static ScheduledExecutorService createScheduledExecutor(ThreadFactory factory) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, factory);
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
+    }
+
+    public TimingWheelExpirationScheduler(Batcher<? extends Batch> batcher, Remover<K> remover, ScheduledExecutorService executor, Duration tickDuration, int wheelSize, int maxBatchSize) {
+        this.batcher = batcher;
+        this.remover = remover;
+        this.executor = executor;
+        this.wheel = new TimingWheel<>(executor, tickDuration, wheelSize, maxBatchSize, this::expire);
+    }
+
+    /**
+     * Schedules the specified key to expire after the specified delay, replacing any previous schedule for this key.
+     * @param key a key
+     * @param delay the duration after which the key expires
+     */
+    public void schedule(K key, Duration delay) {
+        this.wheel.schedule(key, delay);
+    }
+
+    /**
+     * Cancels the scheduled expiration of the specified key.
+     * @param key a key
+     */
+    public void cancel(K key) {
+        this.wheel.cancel(key);
+    }
+
+    /**
+     * Cancels the scheduled expiration of all keys matching the specified predicate.
+     * @param predicate a key predicate
+     */
+    public void cancel(Predicate<K> predicate) {
+        this.wheel.cancel(predicate);
+    }
+
+    /**
+     * Stops expiring keys, waiting for any expiration in progress to complete.
+     */
+    @Override
+    public void close() {
+        this.wheel.close();
+        PrivilegedAction<Void> shutdownAction = () -> {
+            this.executor.shutdown();
+            return null;
+        };
+        AccessController.doPrivileged(shutdownAction);
+        try {
+            // An expiration batch may still be running against the cache
+            this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Invoked if the specified key could not be expired.
+     * @param key a key
+     * @param exception the cause of the failure
+     */
+    protected void expirationFailed(K key, Throwable exception) {
+        LOGGER.warn(exception.getLocalizedMessage(), exception);
+    }
+
+    private void expire(Collection<K> keys) {
+        boolean failed = false;
+        try (Batch batch = this.batcher.createBatch()) {
+            try {
+                for (K key : keys) {
+                    LOGGER.tracef("Expiring %s", key);
+                    this.remover.remove(key);
+                }
+            } catch (Throwable e) {
+                LOGGER.debug(e.getLocalizedMessage(), e);
+                batch.discard();
+                failed = true;
+            }
+        }
+        if (failed) {
+            // Isolate the offending key by retrying each key in its own batch
+            for (K key : keys) {
+                try (Batch batch = this.batcher.createBatch()) {
+                    try {
+                        this.remover.remove(key);
+                    } catch (Throwable e) {
+                        this.expirationFailed(key, e);
+                        batch.discard();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+import org.wildfly.clustering.ee.Batch;
+import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.ee.Remover;
+
+/**
+ * Unit test for {@link TimingWheelExpirationScheduler}.
+ */
+public class TimingWheelExpirationSchedulerTestCase {
+
+    @Test
+    public void failure() throws InterruptedException {
+        Batcher<Batch> batcher = mock(Batcher.class);
+        Batch batch = mock(Batch.class);
+        Remover<String> remover = mock(Remover.class);
+        CountDownLatch retried = new CountDownLatch(2);
+
+        when(batcher.createBatch()).thenReturn(batch);
+        doAnswer(invocation -> {
+            retried.countDown();
+            throw new IllegalStateException();
+        }).when(remover).remove("failing");
+
+        try (TimingWheelExpirationScheduler<String> scheduler = new TimingWheelExpirationScheduler<>(batcher, remover, Executors.newSingleThreadScheduledExecutor(), Duration.ofMillis(10), 16, 100)) {
+            // Scheduled first, so that it expires no later than the failing key
+            scheduler.schedule("expiring", Duration.ZERO);
+            scheduler.schedule("failing", Duration.ZERO);
+
+            assertTrue(retried.await(5, TimeUnit.SECONDS));
+        }
+
+        // The batch containing the failing key is discarded, and the failing key is retried in its own batch
+        verify(batch, atLeast(2)).discard();
+        verify(remover, atLeastOnce()).remove("expiring");
+    }
+
+    @Test
+    public void close() throws InterruptedException {
+        Batcher<Batch> batcher = mock(Batcher.class);
+        Batch batch = mock(Batch.class);
+        Remover<String> remover = mock(Remover.class);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean completed = new AtomicBoolean(false);
+
+        when(batcher.createBatch()).thenReturn(batch);
+        doAnswer(invocation -> {
+            started.countDown();
+            TimeUnit.MILLISECONDS.sleep(200L);
+            completed.set(true);
+            return true;
+        }).when(remover).remove(any());
+
+        TimingWheelExpirationScheduler<String> scheduler = new TimingWheelExpirationScheduler<>(batcher, remover, Executors.newSingleThreadScheduledExecutor(), Duration.ofMillis(10), 16, 100);
+        scheduler.schedule("expiring", Duration.ZERO);
+        scheduler.schedule("canceled", Duration.ofSeconds(100));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        scheduler.close();
+
+        // Close must wait for the expiration in progress
+        assertTrue(completed.get());
+        verify(remover, never()).remove("canceled");
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingWheel}.
+ */
+public class TimingWheelTestCase {
+
+    @Test
+    public void test() throws InterruptedException {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        Set<String> expired = ConcurrentHashMap.newKeySet();
+        List<Integer> batches = new CopyOnWriteArrayList<>();
+        try (TimingWheel<String> wheel = new TimingWheel<>(executor, Duration.ofMillis(10), 8, 3, (Collection<String> keys) -> {
+            expired.addAll(keys);
+            batches.add(keys.size());
+        })) {
+            for (int i = 0; i < 5; ++i) {
+                wheel.schedule("expiring" + i, Duration.ZERO);
+            }
+            // Exceeds a single rotation of the wheel
+            wheel.schedule("distant", Duration.ofSeconds(100));
+            wheel.schedule("canceled", Duration.ofMillis(1));
+            assertTrue(wheel.cancel("canceled"));
+            assertFalse(wheel.cancel("canceled"));
+            wheel.schedule("rescheduled", Duration.ofMillis(1));
+            wheel.schedule("rescheduled", Duration.ofSeconds(100));
+
+            TimeUnit.MILLISECONDS.sleep(500);
+
+            for (int i = 0; i < 5; ++i) {
+                assertTrue(expired.contains("expiring" + i));
+            }
+            assertFalse(expired.contains("distant"));
+            assertFalse(expired.contains("canceled"));
+            assertFalse(expired.contains("rescheduled"));
+            assertTrue(wheel.contains("distant"));
+            assertTrue(wheel.contains("rescheduled"));
+            assertEquals(2, wheel.size());
+            for (int size : batches) {
+                assertTrue(size <= 3);
+            }
+
+            wheel.cancel(key -> key.startsWith("dist"));
+            assertFalse(wheel.contains("distant"));
+            assertEquals(1, wheel.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
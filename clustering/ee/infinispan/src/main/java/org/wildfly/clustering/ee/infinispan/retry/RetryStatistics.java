@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan.retry;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.Cache;
+import org.infinispan.factories.ComponentRegistry;
+
+/**
+ * Retry statistics of a cache, shared by all {@link RetryingInvoker} instances of that cache.
+ * Tracks a moving average of the latency of successful invocations, from which retry back-off intervals are derived.
+ */
+public class RetryStatistics {
+
+    private static final Map<ComponentRegistry, RetryStatistics> STATISTICS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Returns the retry statistics of the specified cache.
+     * @param cache a cache
+     * @return the retry statistics of the cache
+     */
+    public static RetryStatistics forCache(Cache<?, ?> cache) {
+        return STATISTICS.computeIfAbsent(cache.getAdvancedCache().getComponentRegistry(), registry -> new RetryStatistics());
+    }
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder recoveries = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    // Concurrent updates may be lost, which is tolerable for a moving average
+    private volatile long averageLatency = 0L;
+
+    void recordSuccess(long latency, int retries) {
+        long average = this.averageLatency;
+        // Exponentially weighted, where the most recent sample has a weight of 1/8
+        this.averageLatency = (average == 0L) ? latency : average + ((latency - average) >> 3);
+        if (retries > 0) {
+            this.recoveries.increment();
+        }
+    }
+
+    void recordRetry() {
+        this.retries.increment();
+    }
+
+    void recordFailure() {
+        this.failures.increment();
+    }
+
+    /**
+     * Returns the moving average of the duration of successful invocations, or {@link Duration#ZERO} if there were none yet.
+     * @return a duration
+     */
+    public Duration getAverageLatency() {
+        return Duration.ofNanos(this.averageLatency);
+    }
+
+    /**
+     * Returns the number of retried invocation attempts.
+     * @return a number of attempts
+     */
+    public long getRetryCount() {
+        return this.retries.sum();
+    }
+
+    /**
+     * Returns the number of invocations that succeeded after one or more retries.
+     * @return a number of invocations
+     */
+    public long getRecoveryCount() {
+        return this.recoveries.sum();
+    }
+
+    /**
+     * Returns the number of invocations that failed after exhausting all retries.
+     * @return a number of invocations
+     */
+    public long getFailureCount() {
+        return this.failures.sum();
+    }
+}
@@ -22,31 +22,87 @@
 
 package org.wildfly.clustering.ee.infinispan.retry;
 
-import java.time.Duration;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 import org.infinispan.Cache;
-import org.infinispan.configuration.cache.Configuration;
+import org.jboss.logging.Logger;
+import org.wildfly.clustering.ee.Invoker;
+import org.wildfly.common.function.ExceptionRunnable;
+import org.wildfly.common.function.ExceptionSupplier;
 
 /**
- * Retrying invoker whose retry intervals are auto-generated based an Infinispan cache configuration.
+ * Retrying invoker whose retry intervals adapt to the observed latency of invocations against an Infinispan cache.
+ * The first retry is immediate.  Subsequent retries back off exponentially, starting from the average latency of recent successful invocations,
+ * with random jitter to prevent contending threads from retrying in lock step.
+ * Retries stop once the time elapsed since the first attempt, including the duration of each attempt, exceeds the lock acquisition timeout of the cache.
  * @author Paul Ferraro
  */
-public class RetryingInvoker extends org.wildfly.clustering.ee.cache.retry.RetryingInvoker {
+public class RetryingInvoker implements Invoker {
+
+    // No logger interface for this module and no reason to create one for this class only
+    private static final Logger LOGGER = Logger.getLogger(RetryingInvoker.class);
+
+    private static final long MIN_BACK_OFF = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final long timeout;
+    private final RetryStatistics statistics;
 
     public RetryingInvoker(Cache<?, ?> cache) {
-        super(calculateRetryIntervals(cache.getCacheConfiguration()));
+        this.timeout = TimeUnit.MILLISECONDS.toNanos(cache.getCacheConfiguration().locking().lockAcquisitionTimeout());
+        this.statistics = RetryStatistics.forCache(cache);
     }
 
-    private static List<Duration> calculateRetryIntervals(Configuration config) {
-        long timeout = config.locking().lockAcquisitionTimeout();
-        List<Duration> intervals = new LinkedList<>();
-        // Generate exponential back-off intervals
-        for (long interval = timeout; interval > 1; interval /= 10) {
-            intervals.add(0, Duration.ofMillis(interval));
+    @Override
+    public <R, E extends Exception> R invoke(ExceptionSupplier<R, E> task) throws E {
+        long average = this.statistics.getAverageLatency().toNanos();
+        // Without any observations, start with a thousandth of the lock acquisition timeout
+        long base = Math.max(Math.min((average > 0L) ? average : this.timeout / 1000, this.timeout), MIN_BACK_OFF);
+        // Bound retries by the wall-clock time since the first attempt, including the duration of the attempts themselves
+        long deadline = System.nanoTime() + this.timeout;
+        int retry = 0;
+        while (true) {
+            long start = System.nanoTime();
+            try {
+                R result = task.get();
+                this.statistics.recordSuccess(System.nanoTime() - start, retry);
+                return result;
+            } catch (Exception e) {
+                long remaining = deadline - System.nanoTime();
+                if ((remaining <= 0L) || Thread.currentThread().isInterrupted()) {
+                    this.statistics.recordFailure();
+                    throw e;
+                }
+                LOGGER.debugf(e, "Attempt #%d failed", retry + 1);
+                if (retry == 0) {
+                    Thread.yield();
+                } else {
+                    // Double the interval per retry, without overflowing
+                    long ceiling = base << Math.min(retry - 1, Long.numberOfLeadingZeros(base) - 2);
+                    // Equal jitter: half of the interval is fixed, the other half is random
+                    long delay = (ceiling >> 1) + ThreadLocalRandom.current().nextLong((ceiling >> 1) + 1);
+                    try {
+                        // Use at most the remainder of the timeout, leaving time for a final attempt
+                        TimeUnit.NANOSECONDS.sleep(Math.min(delay, remaining));
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+            this.statistics.recordRetry();
+            retry += 1;
         }
-        intervals.add(0, Duration.ZERO);
-        return intervals;
+    }
+
+    @Override
+    public <E extends Exception> void invoke(ExceptionRunnable<E> action) throws E {
+        ExceptionSupplier<Void, E> adapter = new ExceptionSupplier<Void, E>() {
+            @Override
+            public Void get() throws E {
+                action.run();
+                return null;
+            }
+        };
+        this.invoke(adapter);
     }
 }
@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan.retry;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.factories.ComponentRegistry;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Invoker;
+import org.wildfly.common.function.ExceptionSupplier;
+
+/**
+ * Unit test for {@link RetryingInvoker}.
+ */
+public class RetryingInvokerTestCase {
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void test() throws Exception {
+        AdvancedCache<?, ?> cache = mock(AdvancedCache.class);
+        when(cache.getAdvancedCache()).thenReturn((AdvancedCache) cache);
+        when(cache.getComponentRegistry()).thenReturn(mock(ComponentRegistry.class));
+        when(cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().locking().lockAcquisitionTimeout(50).build());
+
+        Exception exception = new Exception();
+        Object expected = new Object();
+        ExceptionSupplier<Object, Exception> action = mock(ExceptionSupplier.class);
+
+        Invoker invoker = new RetryingInvoker(cache);
+        RetryStatistics statistics = RetryStatistics.forCache(cache);
+
+        when(action.get()).thenReturn(expected);
+
+        assertSame(expected, invoker.invoke(action));
+        assertEquals(0L, statistics.getRetryCount());
+        assertEquals(0L, statistics.getRecoveryCount());
+        assertFalse(statistics.getAverageLatency().isNegative());
+
+        when(action.get()).thenThrow(exception, exception).thenReturn(expected);
+
+        assertSame(expected, invoker.invoke(action));
+        assertEquals(2L, statistics.getRetryCount());
+        assertEquals(1L, statistics.getRecoveryCount());
+        assertEquals(0L, statistics.getFailureCount());
+
+        reset(action);
+        when(action.get()).thenThrow(exception);
+
+        long start = System.nanoTime();
+        try {
+            invoker.invoke(action);
+            fail("Expected exception");
+        } catch (Exception e) {
+            assertSame(exception, e);
+        }
+        // Back-off is bounded by the lock acquisition timeout
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        assertEquals(1L, statistics.getFailureCount());
+        assertEquals(1L, statistics.getRecoveryCount());
+        assertTrue(statistics.getRetryCount() > 3L);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void timeout() throws Exception {
+        AdvancedCache<?, ?> cache = mock(AdvancedCache.class);
+        when(cache.getAdvancedCache()).thenReturn((AdvancedCache) cache);
+        when(cache.getComponentRegistry()).thenReturn(mock(ComponentRegistry.class));
+        when(cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().locking().lockAcquisitionTimeout(200).build());
+
+        Exception exception = new Exception();
+        ExceptionSupplier<Object, Exception> action = mock(ExceptionSupplier.class);
+        // Each attempt times out, e.g. waiting for a lock
+        when(action.get()).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            throw exception;
+        });
+
+        Invoker invoker = new RetryingInvoker(cache);
+        RetryStatistics statistics = RetryStatistics.forCache(cache);
+
+        long start = System.nanoTime();
+        try {
+            invoker.invoke(action);
+            fail("Expected exception");
+        } catch (Exception e) {
+            assertSame(exception, e);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // Retries continue until, but not beyond, the lock acquisition timeout, counting the duration of each attempt
+        assertTrue(elapsed >= 200_000_000L);
+        verify(action, atMost(5)).get();
+        assertEquals(1L, statistics.getFailureCount());
+        assertEquals(0L, statistics.getRecoveryCount());
+    }
+}
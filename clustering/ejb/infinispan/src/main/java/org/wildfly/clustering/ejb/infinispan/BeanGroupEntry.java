@@ -21,11 +21,6 @@
  */
 package org.wildfly.clustering.ejb.infinispan;
 
-import java.util.Map;
-
-import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
-import org.wildfly.clustering.marshalling.spi.MarshalledValue;
-
 /**
  * The cache entry for a bean group
  *
@@ -36,12 +31,6 @@ import org.wildfly.clustering.marshalling.spi.MarshalledValue;
  */
 public interface BeanGroupEntry<I, T> {
 
-    /**
-     * Returns the beans in this group indexed via identifier.
-     * @return a marshalled value
-     */
-    MarshalledValue<Map<I, T>, MarshallingContext> getBeans();
-
     /**
      * Increments the usage count of the specified bean.
      * @param id a bean identifier
@@ -37,9 +37,11 @@ import org.jboss.msc.service.ServiceTarget;
 import org.wildfly.clustering.dispatcher.CommandDispatcherFactory;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ejb.BeanContext;
+import org.wildfly.clustering.ejb.BeanGroupPersistenceStrategy;
 import org.wildfly.clustering.ejb.BeanManagerFactory;
 import org.wildfly.clustering.ejb.BeanManagerFactoryServiceConfiguratorConfiguration;
 import org.wildfly.clustering.ejb.BeanPassivationConfiguration;
+import org.wildfly.clustering.ejb.infinispan.logging.InfinispanEjbLogger;
 import org.wildfly.clustering.infinispan.spi.InfinispanCacheRequirement;
 import org.wildfly.clustering.infinispan.spi.InfinispanRequirement;
 import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
@@ -139,6 +141,17 @@ public class InfinispanBeanManagerFactoryServiceConfigurator<I, T> extends Simpl
         return this.configuration;
     }
 
+    @Override
+    public BeanGroupPersistenceStrategy getPersistenceStrategy() {
+        BeanGroupPersistenceStrategy strategy = this.configuration.getPersistenceStrategy();
+        // Beans that share references with the other beans of their group must be marshalled together
+        if ((strategy == BeanGroupPersistenceStrategy.FINE) && this.context.hasSharedGroupReferences()) {
+            InfinispanEjbLogger.ROOT_LOGGER.sharedGroupReferences(this.context.getBeanName(), strategy, BeanGroupPersistenceStrategy.COARSE);
+            return BeanGroupPersistenceStrategy.COARSE;
+        }
+        return strategy;
+    }
+
     @Override
     public NodeFactory<Address> getNodeFactory() {
         return this.group.get();
@@ -29,7 +29,7 @@ import org.wildfly.clustering.ee.Mutator;
 import org.wildfly.clustering.ee.Remover;
 import org.wildfly.clustering.ejb.PassivationListener;
 import org.wildfly.clustering.ejb.infinispan.BeanGroup;
-import org.wildfly.clustering.ejb.infinispan.BeanGroupEntry;
+import org.wildfly.clustering.ejb.infinispan.CoarseBeanGroupEntry;
 import org.wildfly.clustering.ejb.infinispan.logging.InfinispanEjbLogger;
 import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
 
@@ -44,12 +44,12 @@ import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
 public class InfinispanBeanGroup<I, T> implements BeanGroup<I, T> {
 
     private final I id;
-    private final BeanGroupEntry<I, T> entry;
+    private final CoarseBeanGroupEntry<I, T> entry;
     private final MarshallingContext context;
     private final Mutator mutator;
     private final Remover<I> remover;
 
-    public InfinispanBeanGroup(I id, BeanGroupEntry<I, T> entry, MarshallingContext context, Mutator mutator, Remover<I> remover) {
+    public InfinispanBeanGroup(I id, CoarseBeanGroupEntry<I, T> entry, MarshallingContext context, Mutator mutator, Remover<I> remover) {
         this.id = id;
         this.entry = entry;
         this.context = context;
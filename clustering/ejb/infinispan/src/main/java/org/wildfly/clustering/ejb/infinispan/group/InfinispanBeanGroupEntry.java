@@ -22,11 +22,8 @@
 package org.wildfly.clustering.ejb.infinispan.group;
 
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Function;
 
-import org.wildfly.clustering.ejb.infinispan.BeanGroupEntry;
+import org.wildfly.clustering.ejb.infinispan.CoarseBeanGroupEntry;
 import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 
@@ -38,10 +35,9 @@ import org.wildfly.clustering.marshalling.spi.MarshalledValue;
  * @param <I> the bean identifier type
  * @param <T> the bean type
  */
-public class InfinispanBeanGroupEntry<I, T> implements BeanGroupEntry<I, T>, Function<I, AtomicInteger> {
+public class InfinispanBeanGroupEntry<I, T> extends AbstractBeanGroupEntry<I, T> implements CoarseBeanGroupEntry<I, T> {
 
     private final MarshalledValue<Map<I, T>, MarshallingContext> beans;
-    private final Map<I, AtomicInteger> usage = new ConcurrentHashMap<>();
 
     public InfinispanBeanGroupEntry(MarshalledValue<Map<I, T>, MarshallingContext> beans) {
         this.beans = beans;
@@ -51,29 +47,4 @@ public class InfinispanBeanGroupEntry<I, T> implements BeanGroupEntry<I, T>, Fun
     public MarshalledValue<Map<I, T>, MarshallingContext> getBeans() {
         return this.beans;
     }
-
-    @Override
-    public int incrementUsage(I id) {
-        return this.usage.computeIfAbsent(id, this).getAndIncrement();
-    }
-
-    @Override
-    public int decrementUsage(I id) {
-        AtomicInteger count = this.usage.get(id);
-        return (count != null) ? count.decrementAndGet() : 0;
-    }
-
-    @Override
-    public int totalUsage() {
-        int total = 0;
-        for (AtomicInteger usage : this.usage.values()) {
-            total += usage.get();
-        }
-        return total;
-    }
-
-    @Override
-    public AtomicInteger apply(I key) {
-        return new AtomicInteger(0);
-    }
 }
@@ -0,0 +1,200 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ejb.infinispan.group;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.Remover;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.ejb.infinispan.BeanGroup;
+import org.wildfly.clustering.ejb.infinispan.BeanGroupMemberKey;
+import org.wildfly.clustering.ejb.infinispan.FineBeanGroupEntry;
+import org.wildfly.clustering.ejb.infinispan.logging.InfinispanEjbLogger;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
+
+/**
+ * A {@link BeanGroup} whose beans are each stored within a separate cache entry.
+ * Only those beans retrieved via {@link #getBean(Object, PassivationListener)} are mutated on {@link #close()}.
+ * The group entry itself is only mutated when the membership of the group changes.
+ *
+ * @param <I> the bean identifier type
+ * @param <T> the bean type
+ */
+public class InfinispanFineBeanGroup<I, T> implements BeanGroup<I, T> {
+
+    private final I id;
+    private final FineBeanGroupEntry<I, T> entry;
+    private final Map<BeanGroupMemberKey<I>, MarshalledValue<T, MarshallingContext>> members;
+    private final BiFunction<BeanGroupMemberKey<I>, MarshalledValue<T, MarshallingContext>, Mutator> mutatorFactory;
+    private final MarshalledValueFactory<MarshallingContext> factory;
+    private final MarshallingContext context;
+    private final Mutator mutator;
+    private final Remover<I> remover;
+    private final Map<I, Mutator> mutations = new ConcurrentHashMap<>();
+
+    public InfinispanFineBeanGroup(I id, FineBeanGroupEntry<I, T> entry, Map<BeanGroupMemberKey<I>, MarshalledValue<T, MarshallingContext>> members, BiFunction<BeanGroupMemberKey<I>, MarshalledValue<T, MarshallingContext>, Mutator> mutatorFactory, MarshalledValueFactory<MarshallingContext> factory, MarshallingContext context, Mutator mutator, Remover<I> remover) {
+        this.id = id;
+        this.entry = entry;
+        this.members = members;
+        this.mutatorFactory = mutatorFactory;
+        this.factory = factory;
+        this.context = context;
+        this.mutator = mutator;
+        this.remover = remover;
+    }
+
+    @Override
+    public I getId() {
+        return this.id;
+    }
+
+    private T read(I id, MarshalledValue<T, MarshallingContext> value) {
+        try {
+            return value.get(this.context);
+        } catch (IOException | ClassNotFoundException e) {
+            throw InfinispanEjbLogger.ROOT_LOGGER.deserializationFailure(e, id);
+        }
+    }
+
+    private T find(I id) {
+        if (!this.entry.getBeans().contains(id)) return null;
+        MarshalledValue<T, MarshallingContext> value = this.members.get(new InfinispanBeanGroupMemberKey<>(id));
+        return (value != null) ? this.read(id, value) : null;
+    }
+
+    @Override
+    public Set<I> getBeans() {
+        return Collections.unmodifiableSet(this.entry.getBeans());
+    }
+
+    @Override
+    public T getBean(I id, PassivationListener<T> listener) {
+        if (!this.entry.getBeans().contains(id)) return null;
+        BeanGroupMemberKey<I> key = new InfinispanBeanGroupMemberKey<>(id);
+        MarshalledValue<T, MarshallingContext> value = this.members.get(key);
+        if (value == null) return null;
+        T bean = this.read(id, value);
+        if (bean != null) {
+            // A retrieved bean may be mutated by the caller, so we need to trigger a mutation on close
+            this.mutations.putIfAbsent(id, this.mutatorFactory.apply(key, value));
+            int usage = this.entry.incrementUsage(id);
+            if ((usage == 0) && (listener != null)) {
+                listener.postActivate(bean);
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public T removeBean(I id) {
+        this.entry.decrementUsage(id);
+        this.mutations.remove(id);
+        if (!this.entry.getBeans().remove(id)) return null;
+        MarshalledValue<T, MarshallingContext> value = this.members.remove(new InfinispanBeanGroupMemberKey<>(id));
+        if (!this.entry.getBeans().isEmpty()) {
+            this.mutator.mutate();
+        }
+        return (value != null) ? this.read(id, value) : null;
+    }
+
+    @Override
+    public void addBean(I id, T bean) {
+        this.members.put(new InfinispanBeanGroupMemberKey<>(id), this.factory.createMarshalledValue(bean));
+        this.entry.getBeans().add(id);
+        this.entry.incrementUsage(id);
+        // Membership changes are infrequent, so we mutate the group entry eagerly
+        this.mutator.mutate();
+    }
+
+    @Override
+    public boolean releaseBean(I id, PassivationListener<T> listener) {
+        int usage = this.entry.decrementUsage(id);
+        boolean released = usage == 0;
+        if (released) {
+            this.prePassivate(id, listener);
+        }
+        return released;
+    }
+
+    @Override
+    public boolean isCloseable() {
+        return this.entry.totalUsage() == 0;
+    }
+
+    @Override
+    public void close() {
+        if (!this.entry.getBeans().isEmpty()) {
+            for (Mutator mutator : this.mutations.values()) {
+                mutator.mutate();
+            }
+        } else {
+            this.remover.remove(this.id);
+        }
+        this.mutations.clear();
+    }
+
+    @Override
+    public void prePassivate(I id, PassivationListener<T> listener) {
+        if (listener != null) {
+            T bean = this.find(id);
+            if (bean != null) {
+                listener.prePassivate(bean);
+            }
+        }
+    }
+
+    @Override
+    public void postActivate(I id, PassivationListener<T> listener) {
+        if (listener != null) {
+            T bean = this.find(id);
+            if (bean != null) {
+                listener.postActivate(bean);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (!(object instanceof BeanGroup)) return false;
+        @SuppressWarnings("unchecked")
+        BeanGroup<I, T> group = (BeanGroup<I, T>) object;
+        return this.id.equals(group.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return this.id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.id.toString();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ejb.infinispan.group;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Set;
+
+import org.jboss.ejb.client.SessionID;
+import org.kohsuke.MetaInfServices;
+import org.wildfly.clustering.ejb.infinispan.SessionIDSerializer;
+import org.wildfly.clustering.marshalling.Externalizer;
+import org.wildfly.clustering.marshalling.spi.IndexSerializer;
+
+/**
+ * Externalizer for an {@link InfinispanFineBeanGroupEntry}.
+ */
+@MetaInfServices(Externalizer.class)
+public class InfinispanFineBeanGroupEntryExternalizer<T> implements Externalizer<InfinispanFineBeanGroupEntry<SessionID, T>> {
+
+    @Override
+    public void writeObject(ObjectOutput output, InfinispanFineBeanGroupEntry<SessionID, T> entry) throws IOException {
+        Set<SessionID> beans = entry.getBeans();
+        // Copy to guard against concurrent membership changes
+        SessionID[] ids = beans.toArray(new SessionID[beans.size()]);
+        IndexSerializer.VARIABLE.writeInt(output, ids.length);
+        for (SessionID id : ids) {
+            SessionIDSerializer.INSTANCE.write(output, id);
+        }
+    }
+
+    @Override
+    public InfinispanFineBeanGroupEntry<SessionID, T> readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+        InfinispanFineBeanGroupEntry<SessionID, T> entry = new InfinispanFineBeanGroupEntry<>();
+        int size = IndexSerializer.VARIABLE.readInt(input);
+        for (int i = 0; i < size; ++i) {
+            entry.getBeans().add(SessionIDSerializer.INSTANCE.read(input));
+        }
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Class<InfinispanFineBeanGroupEntry<SessionID, T>> getTargetClass() {
+        return (Class<InfinispanFineBeanGroupEntry<SessionID, T>>) (Class<?>) InfinispanFineBeanGroupEntry.class;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ejb.infinispan.group;
+
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.infinispan.notifications.Listener;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.ee.infinispan.CacheEntryMutator;
+import org.wildfly.clustering.ejb.infinispan.BeanEntry;
+import org.wildfly.clustering.ejb.infinispan.BeanGroup;
+import org.wildfly.clustering.ejb.infinispan.BeanGroupEntry;
+import org.wildfly.clustering.ejb.infinispan.BeanGroupKey;
+import org.wildfly.clustering.ejb.infinispan.BeanGroupMemberKey;
+import org.wildfly.clustering.ejb.infinispan.BeanKey;
+import org.wildfly.clustering.ejb.infinispan.FineBeanGroupEntry;
+import org.wildfly.clustering.ejb.infinispan.PassivationConfiguration;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
+
+/**
+ * Encapsulates the cache mapping strategy of a bean group whose beans are each stored within a separate cache entry.
+ * A given group of N beans is mapped to N+1 cache entries, where the group entry stores only the identifiers of its beans.
+ *
+ * @param <I> the bean identifier type
+ * @param <T> the bean type
+ */
+@Listener
+public class InfinispanFineBeanGroupFactory<I, T> extends AbstractInfinispanBeanGroupFactory<I, T> implements BiFunction<BeanGroupMemberKey<I>, MarshalledValue<T, MarshallingContext>, Mutator> {
+
+    private final Cache<BeanGroupMemberKey<I>, MarshalledValue<T, MarshallingContext>> memberCache;
+    private final Cache<BeanGroupMemberKey<I>, MarshalledValue<T, MarshallingContext>> evictMemberCache;
+
+    public InfinispanFineBeanGroupFactory(Cache<BeanGroupKey<I>, BeanGroupEntry<I, T>> cache, Cache<BeanGroupMemberKey<I>, MarshalledValue<T, MarshallingContext>> memberCache, Cache<BeanKey<I>, BeanEntry<I>> beanCache, Predicate<Map.Entry<? super BeanKey<I>, ? super BeanEntry<I>>> beanFilter, MarshalledValueFactory<MarshallingContext> factory, MarshallingContext context, CacheProperties properties, PassivationConfiguration<T> passivation) {
+        super(cache, beanCache, beanFilter, factory, context, properties, passivation);
+        this.memberCache = memberCache;
+        this.evictMemberCache = memberCache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL, Flag.SKIP_LISTENER_NOTIFICATION);
+        this.start();
+    }
+
+    @Override
+    public Mutator apply(BeanGroupMemberKey<I> key, MarshalledValue<T, MarshallingContext> value) {
+        return new CacheEntryMutator<>(this.memberCache, key, value);
+    }
+
+    @Override
+    protected BeanGroupEntry<I, T> createEntry() {
+        return new InfinispanFineBeanGroupEntry<>();
+    }
+
+    @Override
+    protected BeanGroup<I, T> createGroup(I id, BeanGroupEntry<I, T> entry, Mutator mutator) {
+        return new InfinispanFineBeanGroup<>(id, (FineBeanGroupEntry<I, T>) entry, this.memberCache, this, this.getMarshalledValueFactory(), this.getMarshallingContext(), mutator, this);
+    }
+
+    @Override
+    protected void evictBean(I id) {
+        super.evictBean(id);
+        this.evictMemberCache.evict(new InfinispanBeanGroupMemberKey<>(id));
+    }
+
+    @Override
+    public boolean remove(I id) {
+        BeanGroupEntry<I, T> entry = this.getCache().getAdvancedCache().withFlags(Flag.FORCE_SYNCHRONOUS).remove(this.createKey(id));
+        if (entry != null) {
+            for (I beanId : ((FineBeanGroupEntry<I, T>) entry).getBeans()) {
+                this.memberCache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).remove(new InfinispanBeanGroupMemberKey<>(beanId));
+            }
+        }
+        return true;
+    }
+}
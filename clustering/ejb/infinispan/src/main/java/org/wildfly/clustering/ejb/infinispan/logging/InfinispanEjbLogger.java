@@ -30,6 +30,7 @@ import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
+import org.wildfly.clustering.ejb.BeanGroupPersistenceStrategy;
 
 /**
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
@@ -79,4 +80,8 @@ public interface InfinispanEjbLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 10, value = "Disabling expiration for '%s'. SFSB expiration should be configured per \u00A74.3.11 of the EJB specification.")
     void expirationDisabled(String cacheName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 11, value = "Stateful session bean %s may share references with the other beans of its group, e.g. an extended persistence context. Using %3$s instead of %2$s bean group persistence.")
+    void sharedGroupReferences(String beanName, BeanGroupPersistenceStrategy requested, BeanGroupPersistenceStrategy strategy);
 }
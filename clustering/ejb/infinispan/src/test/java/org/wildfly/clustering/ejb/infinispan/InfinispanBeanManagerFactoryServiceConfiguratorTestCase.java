@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ejb.infinispan;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.jboss.msc.service.ServiceName;
+import org.junit.Test;
+import org.wildfly.clustering.ejb.BeanContext;
+import org.wildfly.clustering.ejb.BeanGroupPersistenceStrategy;
+import org.wildfly.clustering.ejb.BeanManagerFactoryServiceConfiguratorConfiguration;
+
+/**
+ * Verifies the persistence strategy selected for the bean groups of a bean.
+ */
+public class InfinispanBeanManagerFactoryServiceConfiguratorTestCase {
+
+    @Test
+    public void coarse() {
+        assertSame(BeanGroupPersistenceStrategy.COARSE, getPersistenceStrategy(BeanGroupPersistenceStrategy.COARSE, false));
+        assertSame(BeanGroupPersistenceStrategy.COARSE, getPersistenceStrategy(BeanGroupPersistenceStrategy.COARSE, true));
+    }
+
+    @Test
+    public void fine() {
+        assertSame(BeanGroupPersistenceStrategy.FINE, getPersistenceStrategy(BeanGroupPersistenceStrategy.FINE, false));
+    }
+
+    @Test
+    public void fineWithSharedGroupReferences() {
+        // e.g. nested beans sharing an extended persistence context must be marshalled together
+        assertSame(BeanGroupPersistenceStrategy.COARSE, getPersistenceStrategy(BeanGroupPersistenceStrategy.FINE, true));
+    }
+
+    private static BeanGroupPersistenceStrategy getPersistenceStrategy(BeanGroupPersistenceStrategy strategy, boolean sharedGroupReferences) {
+        BeanContext context = mock(BeanContext.class);
+        BeanManagerFactoryServiceConfiguratorConfiguration configuration = mock(BeanManagerFactoryServiceConfiguratorConfiguration.class);
+
+        when(context.getDeploymentUnitServiceName()).thenReturn(ServiceName.JBOSS.append("deployment", "unit", "test.jar"));
+        when(context.getBeanName()).thenReturn("bean");
+        when(context.hasSharedGroupReferences()).thenReturn(sharedGroupReferences);
+        when(configuration.getPersistenceStrategy()).thenReturn(strategy);
+
+        return new InfinispanBeanManagerFactoryServiceConfigurator<>("test", context, configuration).getPersistenceStrategy();
+    }
+}
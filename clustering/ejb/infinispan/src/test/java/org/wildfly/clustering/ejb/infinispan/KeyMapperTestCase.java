@@ -29,6 +29,7 @@ import org.jboss.ejb.client.UUIDSessionID;
 import org.junit.Test;
 import org.wildfly.clustering.ejb.infinispan.bean.InfinispanBeanKey;
 import org.wildfly.clustering.ejb.infinispan.group.InfinispanBeanGroupKey;
+import org.wildfly.clustering.ejb.infinispan.group.InfinispanBeanGroupMemberKey;
 import org.wildfly.clustering.infinispan.spi.persistence.KeyMapperTester;
 
 /**
@@ -42,5 +43,6 @@ public class KeyMapperTestCase {
         SessionID id = new UUIDSessionID(UUID.randomUUID());
         tester.test(new InfinispanBeanKey<>(id));
         tester.test(new InfinispanBeanGroupKey<>(id));
+        tester.test(new InfinispanBeanGroupMemberKey<>(id));
     }
 }
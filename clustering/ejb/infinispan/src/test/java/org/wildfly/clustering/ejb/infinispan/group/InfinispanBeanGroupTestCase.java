@@ -38,13 +38,13 @@ import org.wildfly.clustering.ee.Mutator;
 import org.wildfly.clustering.ee.Remover;
 import org.wildfly.clustering.ejb.PassivationListener;
 import org.wildfly.clustering.ejb.infinispan.BeanGroup;
-import org.wildfly.clustering.ejb.infinispan.BeanGroupEntry;
+import org.wildfly.clustering.ejb.infinispan.CoarseBeanGroupEntry;
 import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 
 public class InfinispanBeanGroupTestCase {
     private String id;
-    private BeanGroupEntry<String, Object> entry = mock(BeanGroupEntry.class);
+    private CoarseBeanGroupEntry<String, Object> entry = mock(CoarseBeanGroupEntry.class);
     private MarshallingContext context = mock(MarshallingContext.class);
     private Mutator mutator = mock(Mutator.class);
     private Remover<String> remover = mock(Remover.class);
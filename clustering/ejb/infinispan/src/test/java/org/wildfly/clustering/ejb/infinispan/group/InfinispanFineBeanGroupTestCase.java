@@ -0,0 +1,202 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ejb.infinispan.group;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.Remover;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.ejb.infinispan.BeanGroup;
+import org.wildfly.clustering.ejb.infinispan.BeanGroupMemberKey;
+import org.wildfly.clustering.ejb.infinispan.FineBeanGroupEntry;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
+
+/**
+ * Unit test for {@link InfinispanFineBeanGroup}.
+ */
+public class InfinispanFineBeanGroupTestCase {
+    private final String id = "group";
+    private final FineBeanGroupEntry<String, Object> entry = mock(FineBeanGroupEntry.class);
+    private final Map<BeanGroupMemberKey<String>, MarshalledValue<Object, MarshallingContext>> members = mock(Map.class);
+    private final BiFunction<BeanGroupMemberKey<String>, MarshalledValue<Object, MarshallingContext>, Mutator> mutatorFactory = mock(BiFunction.class);
+    private final MarshalledValueFactory<MarshallingContext> factory = mock(MarshalledValueFactory.class);
+    private final MarshallingContext context = mock(MarshallingContext.class);
+    private final Mutator mutator = mock(Mutator.class);
+    private final Remover<String> remover = mock(Remover.class);
+
+    private final BeanGroup<String, Object> group = new InfinispanFineBeanGroup<>(this.id, this.entry, this.members, this.mutatorFactory, this.factory, this.context, this.mutator, this.remover);
+
+    @Test
+    public void getId() {
+        Assert.assertSame(this.id, this.group.getId());
+    }
+
+    @Test
+    public void getBeans() {
+        Set<String> beans = Collections.singleton("id");
+
+        when(this.entry.getBeans()).thenReturn(beans);
+
+        Assert.assertEquals(beans, this.group.getBeans());
+    }
+
+    @Test
+    public void addBean() {
+        MarshalledValue<Object, MarshallingContext> value = mock(MarshalledValue.class);
+        Set<String> beans = new HashSet<>();
+        String id = "id";
+        Object bean = new Object();
+
+        when(this.entry.getBeans()).thenReturn(beans);
+        when(this.factory.createMarshalledValue(bean)).thenReturn(value);
+
+        this.group.addBean(id, bean);
+
+        verify(this.members).put(new InfinispanBeanGroupMemberKey<>(id), value);
+        verify(this.entry).incrementUsage(id);
+        verify(this.mutator).mutate();
+        Assert.assertTrue(beans.contains(id));
+    }
+
+    @Test
+    public void getBean() throws ClassNotFoundException, IOException {
+        PassivationListener<Object> listener = mock(PassivationListener.class);
+        MarshalledValue<Object, MarshallingContext> value = mock(MarshalledValue.class);
+        Mutator beanMutator = mock(Mutator.class);
+        String id = "id";
+        BeanGroupMemberKey<String> key = new InfinispanBeanGroupMemberKey<>(id);
+        Object bean = new Object();
+
+        when(this.entry.getBeans()).thenReturn(Collections.emptySet());
+
+        Assert.assertNull(this.group.getBean(id, listener));
+
+        verifyZeroInteractions(this.members);
+
+        when(this.entry.getBeans()).thenReturn(Collections.singleton(id));
+        when(this.members.get(key)).thenReturn(value);
+        when(value.get(this.context)).thenReturn(bean);
+        when(this.mutatorFactory.apply(key, value)).thenReturn(beanMutator);
+        when(this.entry.incrementUsage(id)).thenReturn(1);
+
+        Assert.assertSame(bean, this.group.getBean(id, listener));
+
+        verifyZeroInteractions(listener);
+
+        when(this.entry.incrementUsage(id)).thenReturn(0);
+
+        Assert.assertSame(bean, this.group.getBean(id, listener));
+
+        verify(listener).postActivate(bean);
+
+        this.group.close();
+
+        // Only the retrieved bean is mutated, not the group entry
+        verify(beanMutator).mutate();
+        verify(this.mutator, never()).mutate();
+        verify(this.remover, never()).remove(this.id);
+    }
+
+    @Test
+    public void releaseBean() throws ClassNotFoundException, IOException {
+        PassivationListener<Object> listener = mock(PassivationListener.class);
+        MarshalledValue<Object, MarshallingContext> value = mock(MarshalledValue.class);
+        String id = "id";
+        Object bean = new Object();
+
+        when(this.entry.decrementUsage(id)).thenReturn(1);
+
+        Assert.assertFalse(this.group.releaseBean(id, listener));
+
+        verifyZeroInteractions(listener);
+        verifyZeroInteractions(this.members);
+
+        when(this.entry.decrementUsage(id)).thenReturn(0);
+        when(this.entry.getBeans()).thenReturn(Collections.singleton(id));
+        when(this.members.get(new InfinispanBeanGroupMemberKey<>(id))).thenReturn(value);
+        when(value.get(this.context)).thenReturn(bean);
+
+        Assert.assertTrue(this.group.releaseBean(id, listener));
+
+        verify(listener).prePassivate(bean);
+    }
+
+    @Test
+    public void removeBean() throws ClassNotFoundException, IOException {
+        MarshalledValue<Object, MarshallingContext> value = mock(MarshalledValue.class);
+        Set<String> beans = new HashSet<>();
+        String id = "id";
+        Object bean = new Object();
+
+        when(this.entry.getBeans()).thenReturn(beans);
+
+        Assert.assertNull(this.group.removeBean(id));
+
+        verifyZeroInteractions(this.members);
+
+        beans.add(id);
+        beans.add("other");
+        when(this.members.remove(new InfinispanBeanGroupMemberKey<>(id))).thenReturn(value);
+        when(value.get(this.context)).thenReturn(bean);
+
+        Assert.assertSame(bean, this.group.removeBean(id));
+        Assert.assertFalse(beans.contains(id));
+
+        verify(this.mutator).mutate();
+    }
+
+    @Test
+    public void close() {
+        when(this.entry.getBeans()).thenReturn(Collections.emptySet());
+
+        this.group.close();
+
+        verify(this.remover).remove(this.id);
+        verify(this.mutator, never()).mutate();
+
+        reset(this.remover, this.mutator);
+
+        when(this.entry.getBeans()).thenReturn(Collections.singleton("id"));
+
+        this.group.close();
+
+        verify(this.mutator, never()).mutate();
+        verify(this.remover, never()).remove(this.id);
+    }
+}
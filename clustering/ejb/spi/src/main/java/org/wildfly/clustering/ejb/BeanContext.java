@@ -61,4 +61,13 @@ public interface BeanContext {
      * @return the timeout of this bean
      */
     Duration getTimeout();
+
+    /**
+     * Indicates whether this bean may share object references with the other beans of its group, e.g. an extended persistence context.
+     * The beans of such a group cannot be stored independently of each other.
+     * @return true, if this bean may share references with the other beans of its group, false otherwise
+     */
+    default boolean hasSharedGroupReferences() {
+        return false;
+    }
 }
@@ -0,0 +1,34 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ejb;
+
+/**
+ * Determines how the beans of a bean group are stored.
+ * <ul>
+ * <li>{@link #COARSE} stores all beans of a group within a single cache entry.</li>
+ * <li>{@link #FINE} stores each bean of a group within a separate cache entry, such that only those beans used by a given invocation are replicated.
+ * Beans of the same group must not share object references, since these are no longer preserved across serialization.</li>
+ * </ul>
+ */
+public enum BeanGroupPersistenceStrategy {
+    COARSE, FINE
+}
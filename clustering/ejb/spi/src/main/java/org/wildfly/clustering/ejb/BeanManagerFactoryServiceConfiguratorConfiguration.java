@@ -31,4 +31,12 @@ public interface BeanManagerFactoryServiceConfiguratorConfiguration extends Bean
 
     String getContainerName();
     String getCacheName();
+
+    /**
+     * Returns the strategy used to store the beans of a bean group.
+     * @return a persistence strategy
+     */
+    default BeanGroupPersistenceStrategy getPersistenceStrategy() {
+        return BeanGroupPersistenceStrategy.COARSE;
+    }
 }
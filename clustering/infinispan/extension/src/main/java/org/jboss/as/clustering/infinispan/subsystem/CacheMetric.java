@@ -32,6 +32,7 @@ import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.ee.infinispan.retry.RetryStatistics;
 
 /**
  * Enumeration of management metrics for a cache.
@@ -136,6 +137,24 @@ public enum CacheMetric implements Metric<Cache<?, ?>> {
             return new ModelNode((interceptor != null) ? interceptor.getRemoveMisses() : 0);
         }
     },
+    RETRIES("retries", ModelType.LONG) {
+        @Override
+        public ModelNode execute(Cache<?, ?> cache) {
+            return new ModelNode(RetryStatistics.forCache(cache).getRetryCount());
+        }
+    },
+    RETRY_FAILURES("retry-failures", ModelType.LONG) {
+        @Override
+        public ModelNode execute(Cache<?, ?> cache) {
+            return new ModelNode(RetryStatistics.forCache(cache).getFailureCount());
+        }
+    },
+    RETRY_SUCCESSES("retry-successes", ModelType.LONG) {
+        @Override
+        public ModelNode execute(Cache<?, ?> cache) {
+            return new ModelNode(RetryStatistics.forCache(cache).getRecoveryCount());
+        }
+    },
     STORES("stores", ModelType.LONG) {
         @Override
         public ModelNode execute(Cache<?, ?> cache) {
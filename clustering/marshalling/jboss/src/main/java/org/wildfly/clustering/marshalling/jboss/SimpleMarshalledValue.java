@@ -22,11 +22,10 @@
 
 package org.wildfly.clustering.marshalling.jboss;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import org.jboss.marshalling.Marshaller;
@@ -36,6 +35,7 @@ import org.jboss.marshalling.SimpleDataOutput;
 import org.jboss.marshalling.Unmarshaller;
 import org.wildfly.clustering.marshalling.spi.IndexSerializer;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+import org.wildfly.clustering.marshalling.spi.PooledByteArrayOutputStream;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
@@ -69,9 +69,8 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
         if (bytes != null) return bytes;
         if (this.object == null) return null;
         int version = this.context.getCurrentVersion();
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
         ClassLoader loader = setThreadContextClassLoader(this.context.getClassLoader());
-        try (SimpleDataOutput data = new SimpleDataOutput(Marshalling.createByteOutput(output))) {
+        try (PooledByteArrayOutputStream output = new PooledByteArrayOutputStream(); SimpleDataOutput data = new SimpleDataOutput(Marshalling.createByteOutput(output))) {
             IndexSerializer.VARIABLE.writeInt(data, version);
             try (Marshaller marshaller = this.context.createMarshaller(version)) {
                 marshaller.start(data);
@@ -94,9 +93,8 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
         if (this.object == null) {
             this.context = context;
             if (this.bytes != null) {
-                ByteArrayInputStream input = new ByteArrayInputStream(this.bytes);
                 ClassLoader loader = setThreadContextClassLoader(this.context.getClassLoader());
-                try (SimpleDataInput data = new SimpleDataInput(Marshalling.createByteInput(input))) {
+                try (SimpleDataInput data = new SimpleDataInput(Marshalling.createByteInput(ByteBuffer.wrap(this.bytes)))) {
                     int version = IndexSerializer.VARIABLE.readInt(data);
                     try (Unmarshaller unmarshaller = context.createUnmarshaller(version)) {
                         unmarshaller.start(data);
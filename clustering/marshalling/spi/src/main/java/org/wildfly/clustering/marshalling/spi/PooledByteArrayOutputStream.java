@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * An output stream that writes to a buffer reused by subsequent streams created by the same thread,
+ * and produces an exact-size copy of the written bytes.
+ * Unlike {@link java.io.ByteArrayOutputStream}, marshalling a large object does not repeatedly copy a growing buffer,
+ * once a thread has marshalled an object of similar size.
+ * Buffers up to {@value #MAX_RETAINED_CAPACITY} bytes are retained, larger buffers are discarded when the stream is closed,
+ * so that marshalling an occasional large object does not pin its buffer to each thread of a large pool.
+ * This stream is not thread-safe, and must be closed by the thread that created it.
+ */
+public class PooledByteArrayOutputStream extends OutputStream {
+
+    static final int INITIAL_CAPACITY = 512;
+    static final int MAX_RETAINED_CAPACITY = 1 << 16;
+
+    private static final ThreadLocal<byte[]> BUFFER = new ThreadLocal<>();
+
+    private byte[] buffer;
+    private int size = 0;
+
+    public PooledByteArrayOutputStream() {
+        byte[] buffer = BUFFER.get();
+        if (buffer != null) {
+            // Take ownership, so that streams created while this stream is open, e.g. when marshalling nested values, use a separate buffer
+            BUFFER.remove();
+        } else {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int b) {
+        this.ensureCapacity(this.size + 1);
+        this.buffer[this.size++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        if ((offset < 0) || (length < 0) || (offset > bytes.length - length)) {
+            throw new IndexOutOfBoundsException();
+        }
+        this.ensureCapacity(this.size + length);
+        System.arraycopy(bytes, offset, this.buffer, this.size, length);
+        this.size += length;
+    }
+
+    /**
+     * Returns the number of bytes written to this stream.
+     * @return a number of bytes
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns a copy of the bytes written to this stream, whose length is exactly the number of bytes written.
+     * @return a byte array
+     */
+    public byte[] toByteArray() {
+        this.ensureOpen();
+        return Arrays.copyOf(this.buffer, this.size);
+    }
+
+    /**
+     * Returns the buffer of this stream to the buffer of the current thread, if it is small enough to retain.
+     */
+    @Override
+    public void close() {
+        byte[] buffer = this.buffer;
+        if (buffer != null) {
+            this.buffer = null;
+            if (buffer.length <= MAX_RETAINED_CAPACITY) {
+                // Retain the larger buffer, if a nested stream already returned its buffer
+                byte[] retained = BUFFER.get();
+                if ((retained == null) || (retained.length < buffer.length)) {
+                    BUFFER.set(buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the capacity of the buffer retained by the current thread.
+     * @return a number of bytes, or 0 if the current thread retains no buffer
+     */
+    static int retainedCapacity() {
+        byte[] buffer = BUFFER.get();
+        return (buffer != null) ? buffer.length : 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        this.ensureOpen();
+        if (capacity < 0) {
+            throw new OutOfMemoryError();
+        }
+        if (capacity > this.buffer.length) {
+            int newCapacity = Math.max(this.buffer.length << 1, capacity);
+            this.buffer = Arrays.copyOf(this.buffer, (newCapacity < 0) ? Integer.MAX_VALUE : newCapacity);
+        }
+    }
+
+    private void ensureOpen() {
+        if (this.buffer == null) {
+            throw new IllegalStateException();
+        }
+    }
+}
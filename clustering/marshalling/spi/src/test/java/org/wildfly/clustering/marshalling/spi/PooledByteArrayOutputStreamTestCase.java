@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PooledByteArrayOutputStream}.
+ */
+public class PooledByteArrayOutputStreamTestCase {
+
+    @Test
+    public void test() {
+        byte[] bytes = new byte[PooledByteArrayOutputStream.INITIAL_CAPACITY * 3 + 1];
+        new Random().nextBytes(bytes);
+
+        try (PooledByteArrayOutputStream output = new PooledByteArrayOutputStream()) {
+            output.write(bytes[0]);
+            output.write(bytes, 1, bytes.length - 1);
+            assertEquals(bytes.length, output.size());
+            assertArrayEquals(bytes, output.toByteArray());
+        }
+
+        // A subsequent stream reuses the grown buffer, but must not expose previously written bytes
+        try (PooledByteArrayOutputStream output = new PooledByteArrayOutputStream()) {
+            assertEquals(0, output.size());
+            assertArrayEquals(new byte[0], output.toByteArray());
+            output.write(bytes, 0, 2);
+            assertArrayEquals(new byte[] { bytes[0], bytes[1] }, output.toByteArray());
+        }
+    }
+
+    @Test
+    public void nested() {
+        try (PooledByteArrayOutputStream outer = new PooledByteArrayOutputStream()) {
+            outer.write(1);
+            try (PooledByteArrayOutputStream inner = new PooledByteArrayOutputStream()) {
+                inner.write(2);
+                assertArrayEquals(new byte[] { 2 }, inner.toByteArray());
+            }
+            outer.write(3);
+            assertArrayEquals(new byte[] { 1, 3 }, outer.toByteArray());
+        }
+    }
+
+    @Test
+    public void retained() {
+        try (PooledByteArrayOutputStream output = new PooledByteArrayOutputStream()) {
+            output.write(new byte[PooledByteArrayOutputStream.MAX_RETAINED_CAPACITY], 0, PooledByteArrayOutputStream.MAX_RETAINED_CAPACITY);
+        }
+        assertEquals(PooledByteArrayOutputStream.MAX_RETAINED_CAPACITY, PooledByteArrayOutputStream.retainedCapacity());
+
+        // A buffer grown beyond the maximum retained capacity is discarded
+        try (PooledByteArrayOutputStream output = new PooledByteArrayOutputStream()) {
+            output.write(new byte[PooledByteArrayOutputStream.MAX_RETAINED_CAPACITY + 1], 0, PooledByteArrayOutputStream.MAX_RETAINED_CAPACITY + 1);
+        }
+        assertEquals(0, PooledByteArrayOutputStream.retainedCapacity());
+
+        // Subsequent streams start over with a small buffer
+        try (PooledByteArrayOutputStream output = new PooledByteArrayOutputStream()) {
+            output.write(1);
+        }
+        assertEquals(PooledByteArrayOutputStream.INITIAL_CAPACITY, PooledByteArrayOutputStream.retainedCapacity());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closed() {
+        PooledByteArrayOutputStream output = new PooledByteArrayOutputStream();
+        output.close();
+        output.write(1);
+    }
+}
@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -45,6 +46,7 @@ import org.wildfly.clustering.dispatcher.CommandDispatcher;
 import org.wildfly.clustering.dispatcher.CommandDispatcherException;
 import org.wildfly.clustering.group.Node;
 import org.wildfly.clustering.server.group.Group;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * MessageDispatcher-based command dispatcher.
@@ -66,6 +68,9 @@ public class ChannelCommandDispatcher<C> implements CommandDispatcher<C> {
         }
     };
 
+    // Allows group requests to be bundled with other messages, trading latency for fewer messages, e.g. -Djboss.clustering.dispatcher.group-bundling=true
+    private static final String GROUP_BUNDLING_PROPERTY = "jboss.clustering.dispatcher.group-bundling";
+
     private final MessageDispatcher dispatcher;
     private final CommandMarshaller<C> marshaller;
     private final Group<Address> group;
@@ -74,6 +79,8 @@ public class ChannelCommandDispatcher<C> implements CommandDispatcher<C> {
     private final Runnable closeTask;
     private final Address localAddress;
     private final RequestOptions options;
+    private final RequestOptions multicastOptions;
+    private final RequestOptions anycastOptions;
 
     public ChannelCommandDispatcher(MessageDispatcher dispatcher, CommandMarshaller<C> marshaller, Group<Address> group, Duration timeout, CommandDispatcher<C> localDispatcher, Runnable closeTask) {
         this.dispatcher = dispatcher;
@@ -84,6 +91,10 @@ public class ChannelCommandDispatcher<C> implements CommandDispatcher<C> {
         this.closeTask = closeTask;
         this.localAddress = dispatcher.getChannel().getAddress();
         this.options = new RequestOptions(ResponseMode.GET_ALL, this.timeout.toMillis(), false, FILTER, Message.Flag.DONT_BUNDLE, Message.Flag.OOB);
+        Message.Flag[] groupFlags = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(GROUP_BUNDLING_PROPERTY, null)) ? new Message.Flag[] { Message.Flag.OOB } : new Message.Flag[] { Message.Flag.DONT_BUNDLE, Message.Flag.OOB };
+        // Commands are executed on the local member directly
+        this.multicastOptions = new RequestOptions(ResponseMode.GET_ALL, this.timeout.toMillis(), false, FILTER, groupFlags).transientFlags(Message.TransientFlag.DONT_LOOPBACK);
+        this.anycastOptions = new RequestOptions(ResponseMode.GET_ALL, this.timeout.toMillis(), true, FILTER, groupFlags);
     }
 
     @Override
@@ -113,26 +124,42 @@ public class ChannelCommandDispatcher<C> implements CommandDispatcher<C> {
         Set<Node> excluded = (excludedMembers != null) ? new HashSet<>(Arrays.asList(excludedMembers)) : Collections.emptySet();
         Map<Node, CompletionStage<R>> results = new ConcurrentHashMap<>();
         Buffer buffer = this.createBuffer(command);
+        Node localMember = null;
+        Map<Address, Node> targets = new HashMap<>();
+        boolean excludesRemoteMembers = false;
         for (Node member : this.group.getMembership().getMembers()) {
-            if (!excluded.contains(member)) {
-                Address address = this.group.getAddress(member);
-                if (this.localAddress.equals(address)) {
-                    results.put(member, this.localDispatcher.executeOnMember(command, member));
-                } else {
-                    try {
-                        ServiceRequest<R> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), this.group.getAddress(member), this.options);
-                        CompletionStage<R> future = request.send(buffer);
-                        results.put(member, future);
-                        future.whenComplete(new PruneCancellationTask<>(results, member));
-                    } catch (CommandDispatcherException e) {
-                        // Cancel previously dispatched messages
-                        for (CompletionStage<R> result : results.values()) {
-                            result.toCompletableFuture().cancel(true);
-                        }
-                        throw e;
-                    }
+            Address address = this.group.getAddress(member);
+            if (this.localAddress.equals(address)) {
+                if (!excluded.contains(member)) {
+                    localMember = member;
                 }
+            } else if (excluded.contains(member)) {
+                excludesRemoteMembers = true;
+            } else {
+                targets.put(address, member);
+            }
+        }
+        if (targets.size() > 1) {
+            // Send a single request to all targets, multicast if no remote member is excluded
+            ServiceGroupRequest<R> request = new ServiceGroupRequest<>(this.dispatcher.getCorrelator(), targets.keySet(), excludesRemoteMembers ? this.anycastOptions : this.multicastOptions);
+            for (Map.Entry<Address, CompletionStage<R>> entry : request.send(buffer).entrySet()) {
+                Node member = targets.get(entry.getKey());
+                CompletionStage<R> future = entry.getValue();
+                results.put(member, future);
+                future.whenComplete(new PruneCancellationTask<>(results, member));
             }
+        } else {
+            for (Map.Entry<Address, Node> entry : targets.entrySet()) {
+                Node member = entry.getValue();
+                ServiceRequest<R> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), entry.getKey(), this.options);
+                CompletionStage<R> future = request.send(buffer);
+                results.put(member, future);
+                future.whenComplete(new PruneCancellationTask<>(results, member));
+            }
+        }
+        // Execute locally while remote members process the request
+        if (localMember != null) {
+            results.put(localMember, this.localDispatcher.executeOnMember(command, localMember));
         }
         return results;
     }
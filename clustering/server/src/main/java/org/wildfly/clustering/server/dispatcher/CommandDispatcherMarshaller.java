@@ -22,7 +22,6 @@
 
 package org.wildfly.clustering.server.dispatcher;
 
-import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 
@@ -31,6 +30,7 @@ import org.jboss.marshalling.Marshalling;
 import org.wildfly.clustering.dispatcher.Command;
 import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
 import org.wildfly.clustering.marshalling.spi.IndexSerializer;
+import org.wildfly.clustering.marshalling.spi.PooledByteArrayOutputStream;
 
 /**
  * @author Paul Ferraro
@@ -48,8 +48,7 @@ public class CommandDispatcherMarshaller<C> implements CommandMarshaller<C> {
     @Override
     public <R> byte[] marshal(Command<R, ? super C> command) throws IOException {
         int version = this.context.getCurrentVersion();
-        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-        try (DataOutputStream output = new DataOutputStream(bytes)) {
+        try (PooledByteArrayOutputStream bytes = new PooledByteArrayOutputStream(); DataOutputStream output = new DataOutputStream(bytes)) {
             IndexSerializer.VARIABLE.writeInt(output, version);
             try (Marshaller marshaller = this.context.createMarshaller(version)) {
                 marshaller.start(Marshalling.createByteOutput(output));
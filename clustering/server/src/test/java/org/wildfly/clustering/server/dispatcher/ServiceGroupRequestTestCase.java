@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import org.jgroups.Address;
+import org.jgroups.blocks.RequestCorrelator;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.blocks.ResponseMode;
+import org.jgroups.util.Buffer;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ServiceGroupRequest}.
+ */
+public class ServiceGroupRequestTestCase {
+
+    @Test
+    public void test() throws Exception {
+        RequestCorrelator correlator = mock(RequestCorrelator.class);
+        Address address1 = mock(Address.class);
+        Address address2 = mock(Address.class);
+        Address address3 = mock(Address.class);
+        RequestOptions options = new RequestOptions(ResponseMode.GET_ALL, 60000L);
+
+        ServiceGroupRequest<String> request = new ServiceGroupRequest<>(correlator, Arrays.asList(address1, address2, address3), options);
+        Map<Address, CompletionStage<String>> responses = request.send(new Buffer(new byte[0]));
+
+        assertEquals(3, responses.size());
+        CompletableFuture<String> response1 = responses.get(address1).toCompletableFuture();
+        CompletableFuture<String> response2 = responses.get(address2).toCompletableFuture();
+        CompletableFuture<String> response3 = responses.get(address3).toCompletableFuture();
+
+        request.receiveResponse("result", address1, false);
+
+        assertTrue(response1.isDone());
+        assertEquals("result", response1.join());
+        assertFalse(response2.isDone());
+        assertFalse(response3.isDone());
+        assertFalse(request.isDone());
+
+        request.receiveResponse(NoSuchService.INSTANCE, address2, false);
+
+        assertTrue(response2.isCancelled());
+        assertFalse(response3.isDone());
+        assertFalse(request.isDone());
+
+        Exception exception = new Exception();
+        request.receiveResponse(exception, address3, true);
+
+        assertTrue(response3.isCompletedExceptionally());
+        try {
+            response3.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertSame(exception, e.getCause());
+        }
+        assertTrue(request.isDone());
+    }
+
+    @Test
+    public void cancel() throws Exception {
+        RequestCorrelator correlator = mock(RequestCorrelator.class);
+        Address address1 = mock(Address.class);
+        Address address2 = mock(Address.class);
+        RequestOptions options = new RequestOptions(ResponseMode.GET_ALL, 60000L);
+
+        ServiceGroupRequest<String> request = new ServiceGroupRequest<>(correlator, Arrays.asList(address1, address2), options);
+        Map<Address, CompletionStage<String>> responses = request.send(new Buffer(new byte[0]));
+
+        responses.get(address1).toCompletableFuture().cancel(true);
+
+        assertFalse(request.isDone());
+
+        responses.get(address2).toCompletableFuture().cancel(true);
+
+        // No response is pending, so the request itself should no longer wait for responses
+        assertTrue(request.isDone());
+    }
+}
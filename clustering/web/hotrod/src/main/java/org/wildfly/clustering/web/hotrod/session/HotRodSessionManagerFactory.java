@@ -46,6 +46,7 @@ import org.wildfly.clustering.web.session.SessionExpirationListener;
 import org.wildfly.clustering.web.session.SessionManager;
 import org.wildfly.clustering.web.session.SessionManagerConfiguration;
 import org.wildfly.clustering.web.session.SessionManagerFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Factory for creating session managers.
@@ -53,6 +54,10 @@ import org.wildfly.clustering.web.session.SessionManagerFactory;
  */
 public class HotRodSessionManagerFactory<L, C extends Marshallability> implements SessionManagerFactory<L, TransactionBatch> {
 
+    // Selects the session expiration engine, e.g. -Djboss.web.session.expiration-scheduler=timing-wheel
+    private static final String EXPIRATION_SCHEDULER_PROPERTY = "jboss.web.session.expiration-scheduler";
+    private static final String TIMING_WHEEL_EXPIRATION_SCHEDULER = "timing-wheel";
+
     final Registrar<SessionExpirationListener> expirationRegistrar;
     final Scheduler expirationScheduler;
     final Batcher<TransactionBatch> batcher;
@@ -65,8 +70,8 @@ public class HotRodSessionManagerFactory<L, C extends Marshallability> implement
         this.sessionFactory = new CompositeSessionFactory<>(metaDataFactory, this.createSessionAttributesFactory(config, properties), config.getLocalContextFactory());
         ExpiredSessionRemover<CompositeSessionMetaDataEntry<L>, ?, L> remover = new ExpiredSessionRemover<>(this.sessionFactory);
         this.expirationRegistrar = remover;
-        this.expirationScheduler = new SessionExpirationScheduler(remover);
         this.batcher = new HotRodBatcher(config.getCache());
+        this.expirationScheduler = TIMING_WHEEL_EXPIRATION_SCHEDULER.equals(WildFlySecurityManager.getPropertyPrivileged(EXPIRATION_SCHEDULER_PROPERTY, null)) ? new TimingWheelSessionExpirationScheduler(this.batcher, remover) : new SessionExpirationScheduler(remover);
         this.transactionTimeout = Duration.ofMillis(config.getCache().getRemoteCacheManager().getConfiguration().transaction().timeout());
     }
 
@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.hotrod.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.ee.Remover;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheel;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheelExpirationScheduler;
+import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
+import org.wildfly.clustering.web.hotrod.Logger;
+import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+
+/**
+ * Session expiration scheduler backed by a {@link TimingWheel}.
+ * Rather than scheduling a task per session, sessions are tracked in coarse-grained buckets and expired in batches,
+ * such that many sessions are removed within a single {@link TransactionBatch}.
+ */
+public class TimingWheelSessionExpirationScheduler extends TimingWheelExpirationScheduler<String> implements Scheduler {
+
+    public TimingWheelSessionExpirationScheduler(Batcher<TransactionBatch> batcher, Remover<String> remover) {
+        super(batcher, remover);
+    }
+
+    public TimingWheelSessionExpirationScheduler(Batcher<TransactionBatch> batcher, Remover<String> remover, ScheduledExecutorService executor, Duration tickDuration, int wheelSize, int maxBatchSize) {
+        super(batcher, remover, executor, tickDuration, wheelSize, maxBatchSize);
+    }
+
+    @Override
+    public void schedule(String sessionId, ImmutableSessionMetaData metaData) {
+        Duration maxInactiveInterval = metaData.getMaxInactiveInterval();
+        if (!maxInactiveInterval.isZero()) {
+            Instant lastAccessed = metaData.getLastAccessedTime();
+            Duration delay = Duration.between(Instant.now(), lastAccessed.plus(maxInactiveInterval));
+            Logger.ROOT_LOGGER.tracef("Session %s will expire in %d ms", sessionId, delay.toMillis());
+            this.schedule(sessionId, delay);
+        }
+    }
+
+    @Override
+    protected void expirationFailed(String sessionId, Throwable exception) {
+        Logger.ROOT_LOGGER.failedToExpireSession(exception, sessionId);
+    }
+}
@@ -26,23 +26,45 @@ import java.util.Map;
 
 import org.infinispan.Cache;
 import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.distribution.LocalizedCacheTopology;
 import org.infinispan.remoting.transport.Address;
+import org.wildfly.clustering.Registration;
 import org.wildfly.clustering.group.Node;
 import org.wildfly.clustering.infinispan.spi.distribution.Key;
 import org.wildfly.clustering.registry.Registry;
+import org.wildfly.clustering.registry.RegistryListener;
 import org.wildfly.clustering.spi.NodeFactory;
 import org.wildfly.clustering.web.routing.RouteLocator;
 
 /**
+ * Locates the route of the primary owner of a session.
+ * Routes are cached per segment, and invalidated whenever the cache topology or the route registry changes.
  * @author Paul Ferraro
  */
-public class PrimaryOwnerRouteLocator implements RouteLocator {
+public class PrimaryOwnerRouteLocator implements RouteLocator, RegistryListener<String, Void>, AutoCloseable {
+
+    /**
+     * The routes of the primary owners of each segment of a given cache topology.
+     * Routes are resolved lazily - concurrent resolution of the same segment is benign.
+     */
+    private static class RouteTable {
+        final LocalizedCacheTopology topology;
+        final String[] routes;
+
+        RouteTable(LocalizedCacheTopology topology) {
+            this.topology = topology;
+            this.routes = new String[topology.getNumSegments()];
+        }
+    }
 
     private final NodeFactory<Address> factory;
     private final Registry<String, Void> registry;
     private final Cache<String, ?> cache;
     private final boolean preferPrimary;
     private final String localRoute;
+    private final Registration registration;
+
+    private volatile RouteTable table;
 
     public PrimaryOwnerRouteLocator(PrimaryOwnerRouteLocatorConfiguration config) {
         this.cache = config.getCache();
@@ -51,13 +73,54 @@ public class PrimaryOwnerRouteLocator implements RouteLocator {
         CacheMode mode = config.getCache().getCacheConfiguration().clustering().cacheMode();
         this.preferPrimary = mode.needsStateTransfer() && !mode.isScattered();
         this.localRoute = this.registry.getEntry(this.registry.getGroup().getLocalMember()).getKey();
+        this.registration = this.preferPrimary ? this.registry.register(this) : null;
     }
 
     @Override
     public String locate(String sessionId) {
-        Address primaryAddress = this.preferPrimary ? this.cache.getAdvancedCache().getDistributionManager().getCacheTopology().getDistribution(new Key<>(sessionId)).primary() : null;
+        if (!this.preferPrimary) return this.localRoute;
+
+        LocalizedCacheTopology topology = this.cache.getAdvancedCache().getDistributionManager().getCacheTopology();
+        RouteTable table = this.table;
+        if ((table == null) || (table.topology != topology)) {
+            table = new RouteTable(topology);
+            this.table = table;
+        }
+        int segment = topology.getSegment(new Key<>(sessionId));
+        String route = table.routes[segment];
+        if (route == null) {
+            route = this.resolve(topology, segment);
+            table.routes[segment] = route;
+        }
+        return route;
+    }
+
+    private String resolve(LocalizedCacheTopology topology, int segment) {
+        Address primaryAddress = topology.getSegmentDistribution(segment).primary();
         Node primaryMember = (primaryAddress != null) ? this.factory.createNode(primaryAddress) : null;
         Map.Entry<String, Void> entry = (primaryMember != null) ? this.registry.getEntry(primaryMember) : null;
         return (entry != null) ? entry.getKey() : this.localRoute;
     }
+
+    @Override
+    public void addedEntries(Map<String, Void> added) {
+        this.table = null;
+    }
+
+    @Override
+    public void updatedEntries(Map<String, Void> updated) {
+        this.table = null;
+    }
+
+    @Override
+    public void removedEntries(Map<String, Void> removed) {
+        this.table = null;
+    }
+
+    @Override
+    public void close() {
+        if (this.registration != null) {
+            this.registration.close();
+        }
+    }
 }
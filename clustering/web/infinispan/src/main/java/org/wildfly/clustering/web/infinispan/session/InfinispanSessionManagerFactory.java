@@ -87,6 +87,10 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 @Listener
 public class InfinispanSessionManagerFactory<C extends Marshallability, L> implements SessionManagerFactory<L, TransactionBatch> {
 
+    // Selects the session expiration engine, e.g. -Djboss.web.session.expiration-scheduler=timing-wheel
+    private static final String EXPIRATION_SCHEDULER_PROPERTY = "jboss.web.session.expiration-scheduler";
+    private static final String TIMING_WHEEL_EXPIRATION_SCHEDULER = "timing-wheel";
+
     private static ThreadFactory createThreadFactory() {
         PrivilegedAction<ThreadFactory> action = () -> new JBossThreadFactory(new ThreadGroup(InfinispanSessionManager.class.getSimpleName()), Boolean.FALSE, null, "%G - %t", null, null);
         return WildFlySecurityManager.doUnchecked(action);
@@ -118,7 +122,7 @@ public class InfinispanSessionManagerFactory<C extends Marshallability, L> imple
         CommandDispatcherFactory dispatcherFactory = config.getCommandDispatcherFactory();
         ExpiredSessionRemover<?, ?, L> remover = new ExpiredSessionRemover<>(this.factory);
         this.expirationRegistrar = remover;
-        this.scheduler = new SessionExpirationScheduler(this.batcher, remover);
+        this.scheduler = TIMING_WHEEL_EXPIRATION_SCHEDULER.equals(WildFlySecurityManager.getPropertyPrivileged(EXPIRATION_SCHEDULER_PROPERTY, null)) ? new TimingWheelSessionExpirationScheduler(this.batcher, remover) : new SessionExpirationScheduler(this.batcher, remover);
         this.dispatcher = dispatcherFactory.createCommandDispatcher(this.cache.getName(), this.scheduler);
         this.group = dispatcherFactory.getGroup();
         this.cache.addListener(this);
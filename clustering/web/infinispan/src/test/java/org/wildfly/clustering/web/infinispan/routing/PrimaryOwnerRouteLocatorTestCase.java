@@ -26,6 +26,7 @@ import static org.mockito.Mockito.*;
 
 import java.util.AbstractMap;
 import java.util.Arrays;
+import java.util.Collections;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.configuration.cache.CacheMode;
@@ -48,7 +49,6 @@ import org.wildfly.clustering.group.Node;
 import org.wildfly.clustering.infinispan.spi.distribution.Key;
 import org.wildfly.clustering.registry.Registry;
 import org.wildfly.clustering.spi.NodeFactory;
-import org.wildfly.clustering.web.routing.RouteLocator;
 
 /**
  * Unit test for {@link InfinispanRouteLocator}.
@@ -116,7 +116,7 @@ public class PrimaryOwnerRouteLocatorTestCase {
         when(this.group.getLocalMember()).thenReturn(this.localMember);
         when(this.registry.getEntry(this.localMember)).thenReturn(new AbstractMap.SimpleImmutableEntry<>("local", null));
 
-        RouteLocator locator = new PrimaryOwnerRouteLocator(config);
+        PrimaryOwnerRouteLocator locator = new PrimaryOwnerRouteLocator(config);
 
         switch (this.cache.getCacheConfiguration().clustering().cacheMode()) {
             case REPL_SYNC:
@@ -132,6 +132,17 @@ public class PrimaryOwnerRouteLocatorTestCase {
                 when(this.partitioner.getSegment(new Key<>("session"))).thenReturn(2);
                 result = locator.locate("session");
                 Assert.assertEquals("2", result);
+
+                // Route of segment is only resolved once per topology
+                result = locator.locate("session");
+                Assert.assertEquals("2", result);
+                verify(this.registry, times(1)).getEntry(this.members[2]);
+
+                // Registry changes invalidate resolved routes
+                when(this.registry.getEntry(this.members[2])).thenReturn(new AbstractMap.SimpleImmutableEntry<>("updated", null));
+                locator.updatedEntries(Collections.emptyMap());
+                result = locator.locate("session");
+                Assert.assertEquals("updated", result);
                 break;
             }
             default: {
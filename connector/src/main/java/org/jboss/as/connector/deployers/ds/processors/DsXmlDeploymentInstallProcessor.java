@@ -335,7 +335,7 @@ public class DsXmlDeploymentInstallProcessor implements DeploymentUnitProcessor
             if (overrideRegistration == null || overrideRegistration.isAllowsOverride()) {
                 overrideRegistration = registration.registerOverrideModel(managementName, DataSourcesSubsystemProviders.OVERRIDE_DS_DESC);
             }
-            DataSourceStatisticsService statsService = new DataSourceStatisticsService(registration, false );
+            DataSourceStatisticsService statsService = new DataSourceStatisticsService(registration, false, dataSourceService.getLatencyStatistics());
             final ServiceBuilder statsServiceSB =
                             serviceTarget.addService(dataSourceServiceName.append(Constants.STATISTICS), statsService);
             statsServiceSB.requires(dataSourceServiceName);
@@ -28,6 +28,7 @@ import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
 import java.sql.Driver;
+import java.sql.SQLException;
 import java.util.Set;
 
 import javax.security.auth.Subject;
@@ -928,4 +929,19 @@ public interface ConnectorLogger extends BasicLogger {
     @LogMessage(level = INFO)
     @Message(id = 119, value = "Unbinding connection factory named %s to alias %s")
     void unbindingAlias(String jndiName, String alias);
+
+    @LogMessage(level = INFO)
+    @Message(id = 120, value = "Bound routing data source [%s]")
+    void boundRoutingDataSource(String jndiName);
+
+    @LogMessage(level = INFO)
+    @Message(id = 121, value = "Unbound routing data source [%s]")
+    void unboundRoutingDataSource(String jndiName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 122, value = "Replica %s of routing data source %s failed to provide a connection, it will not be used for the next %d ms")
+    void replicaUnavailable(String replica, String dataSource, long retryInterval, @Cause Throwable cause);
+
+    @Message(id = 123, value = "Connection is closed")
+    SQLException connectionClosed();
 }
@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.services.datasources.statistics;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.jboss.jca.core.spi.statistics.StatisticsPlugin;
+
+/**
+ * Exposes the statistics of several plugins, having distinct statistic names, as a single plugin.
+ */
+class CompositeStatisticsPlugin implements StatisticsPlugin {
+
+    private final StatisticsPlugin[] plugins;
+
+    CompositeStatisticsPlugin(StatisticsPlugin... plugins) {
+        this.plugins = plugins;
+    }
+
+    @Override
+    public Set<String> getNames() {
+        Set<String> names = new LinkedHashSet<>();
+        for (StatisticsPlugin plugin : this.plugins) {
+            names.addAll(plugin.getNames());
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    @Override
+    public Class getType(String name) {
+        StatisticsPlugin plugin = this.getPlugin(name);
+        return (plugin != null) ? plugin.getType(name) : null;
+    }
+
+    @Override
+    public String getDescription(String name) {
+        StatisticsPlugin plugin = this.getPlugin(name);
+        return (plugin != null) ? plugin.getDescription(name) : null;
+    }
+
+    @Override
+    public String getDescription(String name, Locale locale) {
+        StatisticsPlugin plugin = this.getPlugin(name);
+        return (plugin != null) ? plugin.getDescription(name, locale) : null;
+    }
+
+    @Override
+    public Object getValue(String name) {
+        StatisticsPlugin plugin = this.getPlugin(name);
+        return (plugin != null) ? plugin.getValue(name) : null;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return this.plugins[0].isEnabled();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        for (StatisticsPlugin plugin : this.plugins) {
+            plugin.setEnabled(enabled);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (StatisticsPlugin plugin : this.plugins) {
+            plugin.clear();
+        }
+    }
+
+    private StatisticsPlugin getPlugin(String name) {
+        for (StatisticsPlugin plugin : this.plugins) {
+            if (plugin.getNames().contains(name)) {
+                return plugin;
+            }
+        }
+        return null;
+    }
+}
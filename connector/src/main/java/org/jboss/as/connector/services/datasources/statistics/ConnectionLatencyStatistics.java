@@ -0,0 +1,384 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.services.datasources.statistics;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.jca.core.spi.statistics.StatisticsPlugin;
+
+/**
+ * Bucketed latency statistics of the connections of a data source pool.
+ * <p/>
+ * Records histograms of the time spent acquiring a connection, the time a connection handle is held by the application,
+ * and the time needed to create a physical connection.
+ * In addition, the stack of a sample of connection acquisitions is captured, such that connections held longer than
+ * {@link #LONG_HELD_THRESHOLD} can be aggregated by the application code that acquired them.
+ * <p/>
+ * Histograms are exposed as cumulative bucket counts, i.e. each bucket counts the values less than or equal to its upper bound.
+ */
+public class ConnectionLatencyStatistics implements StatisticsPlugin {
+
+    // Upper bounds of the histogram buckets, in milliseconds
+    static final long[] BUCKETS = new long[] { 1, 5, 10, 50, 100, 500, 1000, 5000, 10000 };
+
+    static final long LONG_HELD_THRESHOLD = TimeUnit.SECONDS.toNanos(5);
+    // 1 in SAMPLE_INTERVAL acquisitions captures its stack
+    static final int SAMPLE_INTERVAL = 16;
+    static final int MAX_ORIGINS = 64;
+
+    private static final String ACQUISITION_TIME = "AcquisitionTime";
+    private static final String HOLD_TIME = "HoldTime";
+    private static final String CREATION_TIME = "CreationTime";
+
+    private static final String[] IGNORED_FRAMES = new String[] { "org.jboss.as.connector.", "org.jboss.jca.", "java.", "javax.", "sun.", "com.sun.", "jdk." };
+
+    private final Histogram acquisitionTime = new Histogram(ACQUISITION_TIME, "Number of connection acquisitions", "Number of connection acquisitions that waited at most %d ms");
+    private final Histogram holdTime = new Histogram(HOLD_TIME, "Number of connections released by the application", "Number of connections held by the application for at most %d ms");
+    private final Histogram creationTime = new Histogram(CREATION_TIME, "Number of physical connections created", "Number of physical connections created within %d ms");
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final Map<String, String> descriptions = new LinkedHashMap<>();
+    // Connection handles are compared by identity, WrappedConnection does not override equals()/hashCode()
+    // Handles are weakly referenced, since a handle invalidated by a connection error is never released
+    private final Map<HandleReference, Acquisition> acquisitions = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collectedHandles = new ReferenceQueue<>();
+    private final Map<String, Origin> origins = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    public ConnectionLatencyStatistics() {
+        for (Histogram histogram : new Histogram[] { this.acquisitionTime, this.holdTime, this.creationTime }) {
+            for (int i = 0; i <= BUCKETS.length; ++i) {
+                String name = histogram.getName(i);
+                this.histograms.put(name, histogram);
+                this.descriptions.put(name, histogram.getDescription(i));
+            }
+        }
+    }
+
+    /**
+     * Records the acquisition of the specified connection handle.
+     * @param connection a connection handle, or null if the acquisition failed
+     * @param start the {@link System#nanoTime()} at which the acquisition started
+     */
+    public void acquired(Object connection, long start) {
+        if (!this.enabled) return;
+        long now = System.nanoTime();
+        this.acquisitionTime.record(now - start);
+        if (connection != null) {
+            this.expungeCollectedHandles();
+            String origin = (ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) == 0) ? findOrigin(new Throwable().getStackTrace()) : null;
+            this.acquisitions.put(new HandleReference(connection, this.collectedHandles), new Acquisition(now, origin));
+        }
+    }
+
+    /**
+     * Records the release of the specified connection handle.
+     */
+    public void released(Object connection) {
+        if (this.acquisitions.isEmpty()) return;
+        Acquisition acquisition = this.acquisitions.remove(new HandleReference(connection, null));
+        if ((acquisition == null) || !this.enabled) return;
+        long held = System.nanoTime() - acquisition.time;
+        this.holdTime.record(held);
+        if ((acquisition.origin != null) && (held >= LONG_HELD_THRESHOLD)) {
+            Origin origin = this.origins.get(acquisition.origin);
+            if (origin == null) {
+                // Bound the number of distinct origins
+                if (this.origins.size() >= MAX_ORIGINS) return;
+                origin = this.origins.computeIfAbsent(acquisition.origin, Origin::new);
+            }
+            origin.count.increment();
+            origin.maxHoldTime.accumulate(held);
+        }
+    }
+
+    /**
+     * Stops tracking the specified connection handle, without recording its hold time.
+     * Used for handles invalidated by a connection error.
+     */
+    public void discarded(Object connection) {
+        if (this.acquisitions.isEmpty()) return;
+        this.acquisitions.remove(new HandleReference(connection, null));
+    }
+
+    /**
+     * Records the creation of a physical connection.
+     * @param start the {@link System#nanoTime()} at which the creation started
+     */
+    public void created(long start) {
+        if (!this.enabled) return;
+        this.creationTime.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the sampled origins of connections held longer than {@link #LONG_HELD_THRESHOLD}, including connections not yet released,
+     * ordered by decreasing number of connections.
+     */
+    public List<LongHeldOrigin> getLongHeldOrigins() {
+        Map<String, LongHeldOrigin> result = new LinkedHashMap<>();
+        for (Origin origin : this.origins.values()) {
+            result.put(origin.origin, new LongHeldOrigin(origin.origin, origin.count.sum(), 0, origin.maxHoldTime.get()));
+        }
+        long now = System.nanoTime();
+        for (Acquisition acquisition : this.acquisitions.values()) {
+            long held = now - acquisition.time;
+            if ((acquisition.origin != null) && (held >= LONG_HELD_THRESHOLD)) {
+                LongHeldOrigin origin = result.get(acquisition.origin);
+                result.put(acquisition.origin, (origin != null) ? new LongHeldOrigin(origin.origin, origin.releasedCount, origin.outstandingCount + 1, Math.max(origin.maxHoldTime, held)) : new LongHeldOrigin(acquisition.origin, 0, 1, held));
+            }
+        }
+        List<LongHeldOrigin> list = new ArrayList<>(result.values());
+        Collections.sort(list, Comparator.comparingLong((LongHeldOrigin origin) -> origin.releasedCount + origin.outstandingCount).reversed());
+        return list;
+    }
+
+    @Override
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(this.histograms.keySet());
+    }
+
+    @Override
+    public Class getType(String name) {
+        return this.histograms.containsKey(name) ? long.class : null;
+    }
+
+    @Override
+    public String getDescription(String name) {
+        return this.descriptions.get(name);
+    }
+
+    @Override
+    public String getDescription(String name, Locale locale) {
+        return this.getDescription(name);
+    }
+
+    @Override
+    public Object getValue(String name) {
+        Histogram histogram = this.histograms.get(name);
+        return (histogram != null) ? histogram.getCount(name) : null;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            this.acquisitions.clear();
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.acquisitionTime.clear();
+        this.holdTime.clear();
+        this.creationTime.clear();
+        this.origins.clear();
+    }
+
+    /**
+     * A snapshot of the connections held longer than {@link #LONG_HELD_THRESHOLD} that were acquired from the same origin.
+     */
+    public static class LongHeldOrigin {
+        private final String origin;
+        private final long releasedCount;
+        private final long outstandingCount;
+        private final long maxHoldTime;
+
+        LongHeldOrigin(String origin, long releasedCount, long outstandingCount, long maxHoldTime) {
+            this.origin = origin;
+            this.releasedCount = releasedCount;
+            this.outstandingCount = outstandingCount;
+            this.maxHoldTime = maxHoldTime;
+        }
+
+        /**
+         * Returns the first stack frame of the acquiring thread outside of the JCA and JDK classes.
+         */
+        public String getOrigin() {
+            return this.origin;
+        }
+
+        /**
+         * Returns the number of sampled long-held connections from this origin that were released.
+         */
+        public long getReleasedCount() {
+            return this.releasedCount;
+        }
+
+        /**
+         * Returns the number of sampled long-held connections from this origin that are not yet released.
+         */
+        public long getOutstandingCount() {
+            return this.outstandingCount;
+        }
+
+        /**
+         * Returns the longest hold time of the sampled connections from this origin, in milliseconds.
+         */
+        public long getMaxHoldTime() {
+            return TimeUnit.NANOSECONDS.toMillis(this.maxHoldTime);
+        }
+    }
+
+    private void expungeCollectedHandles() {
+        Reference<?> reference = this.collectedHandles.poll();
+        while (reference != null) {
+            this.acquisitions.remove(reference);
+            reference = this.collectedHandles.poll();
+        }
+    }
+
+    static String findOrigin(StackTraceElement[] frames) {
+        for (StackTraceElement frame : frames) {
+            if (!isIgnored(frame.getClassName())) {
+                return frame.toString();
+            }
+        }
+        return (frames.length > 0) ? frames[frames.length - 1].toString() : "<unknown>";
+    }
+
+    private static boolean isIgnored(String className) {
+        for (String prefix : IGNORED_FRAMES) {
+            if (className.startsWith(prefix)) return true;
+        }
+        // Generated proxies
+        return className.startsWith("$Proxy") || className.contains("$$");
+    }
+
+    /**
+     * Weak reference to a connection handle, compared by the identity of its referent.
+     */
+    private static class HandleReference extends WeakReference<Object> {
+        private final int hash;
+
+        HandleReference(Object handle, ReferenceQueue<Object> queue) {
+            super(handle, queue);
+            this.hash = System.identityHashCode(handle);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) return true;
+            if (!(object instanceof HandleReference)) return false;
+            Object handle = this.get();
+            return (handle != null) && (handle == ((HandleReference) object).get());
+        }
+    }
+
+    private static class Acquisition {
+        final long time;
+        final String origin;
+
+        Acquisition(long time, String origin) {
+            this.time = time;
+            this.origin = origin;
+        }
+    }
+
+    private static class Origin {
+        final String origin;
+        final LongAdder count = new LongAdder();
+        final LongAccumulator maxHoldTime = new LongAccumulator(Math::max, 0L);
+
+        Origin(String origin) {
+            this.origin = origin;
+        }
+    }
+
+    private static class Histogram {
+        private final String prefix;
+        private final String description;
+        private final String bucketDescription;
+        private final long[] bounds = new long[BUCKETS.length];
+        // The last bucket counts the values exceeding the largest bound
+        private final LongAdder[] counts = new LongAdder[BUCKETS.length + 1];
+
+        Histogram(String prefix, String description, String bucketDescription) {
+            this.prefix = prefix;
+            this.description = description;
+            this.bucketDescription = bucketDescription;
+            for (int i = 0; i < BUCKETS.length; ++i) {
+                this.bounds[i] = TimeUnit.MILLISECONDS.toNanos(BUCKETS[i]);
+            }
+            for (int i = 0; i < this.counts.length; ++i) {
+                this.counts[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            int bucket = 0;
+            while ((bucket < this.bounds.length) && (nanos > this.bounds[bucket])) {
+                bucket += 1;
+            }
+            this.counts[bucket].increment();
+        }
+
+        String getName(int bucket) {
+            return (bucket < BUCKETS.length) ? this.prefix + "UpTo" + BUCKETS[bucket] + "ms" : this.prefix + "Count";
+        }
+
+        String getDescription(int bucket) {
+            return (bucket < BUCKETS.length) ? String.format(this.bucketDescription, BUCKETS[bucket]) : this.description;
+        }
+
+        long getCount(String name) {
+            int last = this.bounds.length;
+            while ((last > 0) && !this.getName(last).equals(name)) {
+                last -= 1;
+            }
+            long count = 0;
+            for (int i = 0; i <= last; ++i) {
+                count += this.counts[i].sum();
+            }
+            return count;
+        }
+
+        void clear() {
+            for (LongAdder count : this.counts) {
+                count.reset();
+            }
+        }
+    }
+}
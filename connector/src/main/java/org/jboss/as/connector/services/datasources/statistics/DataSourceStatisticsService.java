@@ -48,6 +48,7 @@ public class DataSourceStatisticsService implements Service<ManagementResourceRe
 
     private final ManagementResourceRegistration registration;
     private final boolean statsEnabled;
+    private final ConnectionLatencyStatistics latencyStats;
 
     protected final InjectedValue<CommonDeployment> injectedDeploymentMD = new InjectedValue<>();
 
@@ -57,10 +58,18 @@ public class DataSourceStatisticsService implements Service<ManagementResourceRe
      */
     public DataSourceStatisticsService(final ManagementResourceRegistration registration,
                                        final boolean statsEnabled) {
+        this(registration, statsEnabled, null);
+    }
+
+    /**
+     * create an instance exposing the specified connection latency statistics alongside the pool statistics *
+     */
+    public DataSourceStatisticsService(final ManagementResourceRegistration registration,
+                                       final boolean statsEnabled, final ConnectionLatencyStatistics latencyStats) {
         super();
         this.registration = registration;
         this.statsEnabled = statsEnabled;
-
+        this.latencyStats = latencyStats;
     }
 
 
@@ -73,6 +82,9 @@ public class DataSourceStatisticsService implements Service<ManagementResourceRe
 
             StatisticsPlugin jdbcStats = deploymentMD.getDataSources()[0].getStatistics();
             StatisticsPlugin poolStats = deploymentMD.getDataSources()[0].getPool().getStatistics();
+            if (latencyStats != null) {
+                poolStats = new CompositeStatisticsPlugin(poolStats, latencyStats);
+            }
             jdbcStats.setEnabled(statsEnabled);
             poolStats.setEnabled(statsEnabled);
 
@@ -93,6 +105,9 @@ public class DataSourceStatisticsService implements Service<ManagementResourceRe
                             // TODO WFLY-5285 get rid of redundant .setRuntimeOnly once WFCORE-959 is integrated
                             ManagementResourceRegistration poolRegistration = registration.registerSubModel(new StatisticsResourceDefinition(POOL_STATISTICS, DataSourcesSubsystemProviders.RESOURCE_NAME, poolStats));
                             poolRegistration.setRuntimeOnly(true);
+                            if (latencyStats != null) {
+                                poolRegistration.registerMetric(LongHeldConnectionOriginsHandler.LONG_HELD_CONNECTION_ORIGINS, new LongHeldConnectionOriginsHandler(latencyStats));
+                            }
                         }
                     }
                 }
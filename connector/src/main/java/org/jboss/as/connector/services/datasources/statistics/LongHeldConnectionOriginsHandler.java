@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.services.datasources.statistics;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Reads the sampled origins of the long-held connections of a data source pool.
+ */
+class LongHeldConnectionOriginsHandler extends AbstractRuntimeOnlyHandler {
+
+    static final SimpleAttributeDefinition ORIGIN = new SimpleAttributeDefinitionBuilder("origin", ModelType.STRING).build();
+    static final SimpleAttributeDefinition RELEASED_COUNT = new SimpleAttributeDefinitionBuilder("released-count", ModelType.LONG).build();
+    static final SimpleAttributeDefinition OUTSTANDING_COUNT = new SimpleAttributeDefinitionBuilder("outstanding-count", ModelType.LONG).build();
+    static final SimpleAttributeDefinition MAX_HOLD_TIME = new SimpleAttributeDefinitionBuilder("max-hold-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+
+    static final ObjectTypeAttributeDefinition LONG_HELD_CONNECTION_ORIGIN = ObjectTypeAttributeDefinition.Builder.of("long-held-connection-origin",
+            ORIGIN, RELEASED_COUNT, OUTSTANDING_COUNT, MAX_HOLD_TIME).build();
+    static final ObjectListAttributeDefinition LONG_HELD_CONNECTION_ORIGINS = ObjectListAttributeDefinition.Builder.of("long-held-connection-origins", LONG_HELD_CONNECTION_ORIGIN)
+            .setStorageRuntime()
+            .build();
+
+    private final ConnectionLatencyStatistics statistics;
+
+    LongHeldConnectionOriginsHandler(ConnectionLatencyStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ModelNode result = context.getResult();
+        result.setEmptyList();
+        for (ConnectionLatencyStatistics.LongHeldOrigin origin : this.statistics.getLongHeldOrigins()) {
+            final ModelNode node = result.add();
+            node.get(ORIGIN.getName()).set(origin.getOrigin());
+            node.get(RELEASED_COUNT.getName()).set(origin.getReleasedCount());
+            node.get(OUTSTANDING_COUNT.getName()).set(origin.getOutstandingCount());
+            node.get(MAX_HOLD_TIME.getName()).set(origin.getMaxHoldTime());
+        }
+    }
+}
@@ -53,6 +53,8 @@ public final class DistributedWorkManagerService implements Service<NamedDistrib
 
     private final NamedDistributedWorkManager value;
 
+    private final long statisticsFlushPeriod;
+
     private final InjectedValue<Executor> executorShort = new InjectedValue<Executor>();
 
     private final InjectedValue<Executor> executorLong = new InjectedValue<Executor>();
@@ -67,9 +69,20 @@ public final class DistributedWorkManagerService implements Service<NamedDistrib
      * @param value the work manager
      */
     public DistributedWorkManagerService(NamedDistributedWorkManager value) {
+        this(value, 0L);
+    }
+
+    /**
+     * create an instance
+     *
+     * @param value the work manager
+     * @param statisticsFlushPeriod the period, in milliseconds, at which statistics deltas are sent to other nodes, or 0 to send them immediately
+     */
+    public DistributedWorkManagerService(NamedDistributedWorkManager value, long statisticsFlushPeriod) {
         super();
         ROOT_LOGGER.debugf("Building DistributedWorkManager");
         this.value = value;
+        this.statisticsFlushPeriod = statisticsFlushPeriod;
     }
 
     @Override
@@ -81,7 +94,7 @@ public final class DistributedWorkManagerService implements Service<NamedDistrib
     public void start(StartContext context) throws StartException {
         ROOT_LOGGER.debugf("Starting JCA DistributedWorkManager: ", value.getName());
 
-        CommandDispatcherTransport transport = new CommandDispatcherTransport(this.dispatcherFactory.getValue(), this.value.getName());
+        CommandDispatcherTransport transport = new CommandDispatcherTransport(this.dispatcherFactory.getValue(), this.value.getName(), this.statisticsFlushPeriod);
 
         this.value.setTransport(transport);
 
@@ -102,6 +102,7 @@ public class DistributedWorkManagerStatisticsService implements Service<Manageme
                 for (SimpleAttributeDefinition metric : Constants.WORKMANAGER_METRICS) {
                     dwmSubRegistration.registerMetric(metric, metricHandler);
                 }
+                dwmSubRegistration.registerMetric(Constants.STATISTICS_MESSAGES_SAVED, metricHandler);
 
                 OperationStepHandler readHandler = new WorkManagerRuntimeAttributeReadHandler(dwm, dwm.getDistributedStatistics(), false);
                 OperationStepHandler writeHandler = new WorkManagerRuntimeAttributeWriteHandler(dwm, false, Constants.DISTRIBUTED_WORKMANAGER_RW_ATTRIBUTES);
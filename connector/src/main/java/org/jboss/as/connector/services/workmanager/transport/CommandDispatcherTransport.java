@@ -23,6 +23,8 @@
 package org.jboss.as.connector.services.workmanager.transport;
 
 import java.io.Serializable;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -31,6 +33,14 @@ import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import javax.resource.spi.work.DistributableWork;
 import javax.resource.spi.work.WorkException;
@@ -40,6 +50,7 @@ import org.jboss.jca.core.api.workmanager.DistributedWorkManager;
 import org.jboss.jca.core.spi.workmanager.Address;
 import org.jboss.jca.core.workmanager.transport.remote.AbstractRemoteTransport;
 import org.jboss.jca.core.workmanager.transport.remote.ProtocolMessages.Request;
+import org.jboss.threads.JBossThreadFactory;
 import org.wildfly.clustering.Registration;
 import org.wildfly.clustering.dispatcher.Command;
 import org.wildfly.clustering.dispatcher.CommandDispatcher;
@@ -56,6 +67,9 @@ import org.wildfly.common.function.ExceptionSupplier;
 /**
  * {@link DistributedWorkManager}-specific transport based on a {@link CommandDispatcher}.
  * The current implementation is a direct translation of {@link org.jboss.jca.core.workmanager.transport.remote.jgroups.JGroupsTransport}.
+ * <p/>
+ * If a statistics flush period is configured, statistics deltas and free thread updates are not sent individually,
+ * but are accumulated per member and sent as a single {@link StatisticsDeltaCommand} per member once per period.
  * @author Paul Ferraro
  */
 public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> implements GroupListener {
@@ -63,14 +77,32 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> im
     private final ServiceExecutor executor = new StampedLockServiceExecutor();
     private final CommandDispatcherFactory dispatcherFactory;
     private final String name;
+    // Statistics deltas pending delivery, per member
+    private final Map<Node, Map<Address, StatisticsDelta>> pendingDeltas = new ConcurrentHashMap<>();
+    private final LongAdder coalescedMessages = new LongAdder();
+    private final LongAdder flushedMessages = new LongAdder();
 
     private volatile CommandDispatcher<CommandDispatcherTransport> dispatcher;
     private volatile Registration groupListenerRegistration;
     private volatile boolean initialized = false;
+    private volatile long statisticsFlushPeriod;
+    private volatile ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> flushFuture;
 
     public CommandDispatcherTransport(CommandDispatcherFactory dispatcherFactory, String name) {
+        this(dispatcherFactory, name, 0L);
+    }
+
+    /**
+     * Creates a transport that coalesces statistics deltas.
+     * @param dispatcherFactory a command dispatcher factory
+     * @param name the name of the distributed work manager
+     * @param statisticsFlushPeriod the period, in milliseconds, at which statistics deltas are sent, or 0 to send each delta immediately
+     */
+    public CommandDispatcherTransport(CommandDispatcherFactory dispatcherFactory, String name, long statisticsFlushPeriod) {
         this.dispatcherFactory = dispatcherFactory;
         this.name = name;
+        this.statisticsFlushPeriod = statisticsFlushPeriod;
     }
 
     @Override
@@ -82,6 +114,8 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> im
     public void startup() throws Exception {
         this.dispatcher = this.dispatcherFactory.createCommandDispatcher(this.name, this);
         this.groupListenerRegistration = this.dispatcherFactory.getGroup().register(this);
+        this.scheduler = createScheduler(createThreadFactory());
+        this.scheduleFlush(this.statisticsFlushPeriod);
         this.broadcast(new JoinCommand());
     }
 
@@ -89,6 +123,8 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> im
     public void shutdown() {
         this.executor.close(() -> {
             try {
+                this.scheduler.shutdownNow();
+                this.flush();
                 this.broadcast(new LeaveCommand(this.getOwnAddress()));
             } catch (WorkException e) {
                 ConnectorLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
@@ -114,8 +150,48 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> im
         return this.dispatcherFactory.getGroup().getLocalMember();
     }
 
+    /**
+     * Returns the period, in milliseconds, at which statistics deltas are sent to each member.
+     * @return a period in milliseconds, or 0 if each delta is sent immediately
+     */
+    public long getStatisticsFlushPeriod() {
+        return this.statisticsFlushPeriod;
+    }
+
+    /**
+     * Changes the period at which statistics deltas are sent to each member.
+     * Any pending deltas are sent immediately.
+     * @param statisticsFlushPeriod a period in milliseconds, or 0 to send each delta immediately
+     */
+    public void setStatisticsFlushPeriod(long statisticsFlushPeriod) {
+        this.statisticsFlushPeriod = statisticsFlushPeriod;
+        if (this.scheduler != null) {
+            this.executor.execute(() -> {
+                this.scheduleFlush(statisticsFlushPeriod);
+                this.flush();
+            });
+        }
+    }
+
+    /**
+     * Returns the number of cluster messages avoided by coalescing statistics deltas.
+     * @return the number of coalesced statistics messages, less the number of messages sent in their place
+     */
+    public long getStatisticsMessagesSaved() {
+        return this.coalescedMessages.sum() - this.flushedMessages.sum();
+    }
+
     @Override
     protected Serializable sendMessage(Node physicalAddress, Request request, Serializable... parameters) throws WorkException {
+        if ((this.statisticsFlushPeriod > 0) && this.initialized) {
+            // Coalesce via the executor, so that no deltas are accumulated after the final flush on shutdown
+            Supplier<Boolean> task = () -> this.coalesce(physicalAddress, request, parameters);
+            Optional<Boolean> coalesced = this.executor.execute(task);
+            // Like any other message, a request is dropped if this transport was already shutdown
+            if (!coalesced.isPresent() || coalesced.get()) {
+                return null;
+            }
+        }
         Command<?, CommandDispatcherTransport> command = createCommand(request, parameters);
         CommandDispatcher<CommandDispatcherTransport> dispatcher = this.dispatcher;
         ExceptionSupplier<Optional<Serializable>, WorkException> task = new ExceptionSupplier<Optional<Serializable>, WorkException>() {
@@ -158,6 +234,97 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> im
         this.executor.execute(task);
     }
 
+    /**
+     * Accumulates the specified request into the statistics deltas pending delivery to the specified member, if possible.
+     * @return true, if the request was coalesced, false if it must be sent immediately
+     */
+    private boolean coalesce(Node member, Request request, Serializable... parameters) {
+        Address address = (parameters.length > 0) ? (Address) parameters[0] : null;
+        switch (request) {
+            case DELTA_DOWORK_ACCEPTED:
+            case DELTA_DOWORK_REJECTED:
+            case DELTA_SCHEDULEWORK_ACCEPTED:
+            case DELTA_SCHEDULEWORK_REJECTED:
+            case DELTA_STARTWORK_ACCEPTED:
+            case DELTA_STARTWORK_REJECTED:
+            case DELTA_WORK_FAILED:
+            case DELTA_WORK_SUCCESSFUL:
+            case UPDATE_LONGRUNNING_FREE:
+            case UPDATE_SHORTRUNNING_FREE: {
+                // Mutations happen within the compute function, and are thus guarded against a concurrent flush
+                this.pendingDeltas.compute(member, (key, deltas) -> {
+                    Map<Address, StatisticsDelta> result = (deltas != null) ? deltas : new HashMap<>();
+                    result.computeIfAbsent(address, StatisticsDelta::new).add(request, parameters);
+                    return result;
+                });
+                this.coalescedMessages.increment();
+                return true;
+            }
+            case CLEAR_DISTRIBUTED_STATISTICS: {
+                // Pending deltas would otherwise be applied to the cleared statistics
+                this.pendingDeltas.computeIfPresent(member, (key, deltas) -> {
+                    deltas.remove(address);
+                    return !deltas.isEmpty() ? deltas : null;
+                });
+                return false;
+            }
+            default: {
+                return false;
+            }
+        }
+    }
+
+    private void scheduleFlush(long period) {
+        synchronized (this.pendingDeltas) {
+            if (this.flushFuture != null) {
+                this.flushFuture.cancel(false);
+                this.flushFuture = null;
+            }
+            if (period > 0) {
+                Runnable task = () -> this.executor.execute(this::flush);
+                this.flushFuture = this.scheduler.scheduleWithFixedDelay(task, period, period, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Sends the pending statistics deltas of each member as a single command.
+     */
+    void flush() {
+        CommandDispatcher<CommandDispatcherTransport> dispatcher = this.dispatcher;
+        for (Node member : this.pendingDeltas.keySet()) {
+            Map<Address, StatisticsDelta> deltas = this.pendingDeltas.remove(member);
+            if (deltas != null) {
+                try {
+                    dispatcher.executeOnMember(new StatisticsDeltaCommand(deltas.values()), member).whenComplete((result, exception) -> {
+                        if ((exception != null) && !(exception instanceof CancellationException)) {
+                            ConnectorLogger.ROOT_LOGGER.warn(exception.getLocalizedMessage(), exception);
+                        }
+                    });
+                    this.flushedMessages.increment();
+                } catch (CommandDispatcherException e) {
+                    ConnectorLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+                }
+            }
+        }
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        return AccessController.doPrivileged(new PrivilegedAction<ThreadFactory>() {
+            @Override
+            public ThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup(CommandDispatcherTransport.class.getSimpleName()), Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+    }
+
+    private static ScheduledExecutorService createScheduler(ThreadFactory factory) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, factory);
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
+    }
+
     private static Command<?, CommandDispatcherTransport> createCommand(Request request, Serializable... parameters) {
         Address address = (parameters.length > 0) ? (Address) parameters[0] : null;
         switch (request) {
@@ -234,6 +401,7 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> im
             leavers.removeAll(membership.getMembers());
             // Handle abrupt leavers
             for (Node leaver : leavers) {
+                this.pendingDeltas.remove(leaver);
                 this.leave(leaver);
             }
 
@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.services.workmanager.transport;
+
+import java.io.Serializable;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.jboss.jca.core.workmanager.transport.remote.ProtocolMessages.Request;
+
+/**
+ * The statistics deltas and free thread updates for a given work manager, accumulated since they were last sent to a given member.
+ */
+public class StatisticsDelta implements Serializable {
+    private static final long serialVersionUID = 2581207374659036214L;
+
+    private final Address address;
+    private int doWorkAccepted;
+    private int doWorkRejected;
+    private int scheduleWorkAccepted;
+    private int scheduleWorkRejected;
+    private int startWorkAccepted;
+    private int startWorkRejected;
+    private int workFailed;
+    private int workSuccessful;
+    // Only the most recent free thread counts are relevant
+    private Long longRunningFree;
+    private Long shortRunningFree;
+
+    public StatisticsDelta(Address address) {
+        this.address = address;
+    }
+
+    /**
+     * Accumulates the specified statistics request.
+     * @param request a delta or free thread update request
+     * @param parameters the parameters of the request
+     */
+    void add(Request request, Serializable... parameters) {
+        switch (request) {
+            case DELTA_DOWORK_ACCEPTED: {
+                this.doWorkAccepted += 1;
+                break;
+            }
+            case DELTA_DOWORK_REJECTED: {
+                this.doWorkRejected += 1;
+                break;
+            }
+            case DELTA_SCHEDULEWORK_ACCEPTED: {
+                this.scheduleWorkAccepted += 1;
+                break;
+            }
+            case DELTA_SCHEDULEWORK_REJECTED: {
+                this.scheduleWorkRejected += 1;
+                break;
+            }
+            case DELTA_STARTWORK_ACCEPTED: {
+                this.startWorkAccepted += 1;
+                break;
+            }
+            case DELTA_STARTWORK_REJECTED: {
+                this.startWorkRejected += 1;
+                break;
+            }
+            case DELTA_WORK_FAILED: {
+                this.workFailed += 1;
+                break;
+            }
+            case DELTA_WORK_SUCCESSFUL: {
+                this.workSuccessful += 1;
+                break;
+            }
+            case UPDATE_LONGRUNNING_FREE: {
+                this.longRunningFree = (Long) parameters[1];
+                break;
+            }
+            case UPDATE_SHORTRUNNING_FREE: {
+                this.shortRunningFree = (Long) parameters[1];
+                break;
+            }
+            default: {
+                throw new IllegalArgumentException(request.name());
+            }
+        }
+    }
+
+    /**
+     * Applies these deltas to the local statistics of the specified transport.
+     * @param transport a transport
+     */
+    void apply(CommandDispatcherTransport transport) {
+        for (int i = 0; i < this.doWorkAccepted; ++i) {
+            transport.localDeltaDoWorkAccepted(this.address);
+        }
+        for (int i = 0; i < this.doWorkRejected; ++i) {
+            transport.localDeltaDoWorkRejected(this.address);
+        }
+        for (int i = 0; i < this.scheduleWorkAccepted; ++i) {
+            transport.localDeltaScheduleWorkAccepted(this.address);
+        }
+        for (int i = 0; i < this.scheduleWorkRejected; ++i) {
+            transport.localDeltaScheduleWorkRejected(this.address);
+        }
+        for (int i = 0; i < this.startWorkAccepted; ++i) {
+            transport.localDeltaStartWorkAccepted(this.address);
+        }
+        for (int i = 0; i < this.startWorkRejected; ++i) {
+            transport.localDeltaStartWorkRejected(this.address);
+        }
+        for (int i = 0; i < this.workFailed; ++i) {
+            transport.localDeltaWorkFailed(this.address);
+        }
+        for (int i = 0; i < this.workSuccessful; ++i) {
+            transport.localDeltaWorkSuccessful(this.address);
+        }
+        if (this.longRunningFree != null) {
+            transport.localUpdateLongRunningFree(this.address, this.longRunningFree);
+        }
+        if (this.shortRunningFree != null) {
+            transport.localUpdateShortRunningFree(this.address, this.shortRunningFree);
+        }
+    }
+}
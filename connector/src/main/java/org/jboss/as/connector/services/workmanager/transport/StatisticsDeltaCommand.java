@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.services.workmanager.transport;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.wildfly.clustering.dispatcher.Command;
+
+/**
+ * Applies the statistics deltas of one or more work managers, coalesced since they were last sent.
+ * Replaces the individual {@code Delta*Command}, {@link UpdateLongRunningFreeCommand} and {@link UpdateShortRunningFreeCommand} messages
+ * when a statistics flush period is configured.
+ */
+public class StatisticsDeltaCommand implements Command<Void, CommandDispatcherTransport> {
+    private static final long serialVersionUID = -6118398513637461574L;
+
+    private final List<StatisticsDelta> deltas;
+
+    public StatisticsDeltaCommand(Collection<StatisticsDelta> deltas) {
+        this.deltas = new ArrayList<>(deltas);
+    }
+
+    @Override
+    public Void execute(CommandDispatcherTransport transport) {
+        for (StatisticsDelta delta : this.deltas) {
+            delta.apply(transport);
+        }
+        return null;
+    }
+}
@@ -48,6 +48,7 @@ import java.util.List;
 
 import org.jboss.as.connector._private.Capabilities;
 import org.jboss.as.connector.logging.ConnectorLogger;
+import org.jboss.as.connector.services.datasources.statistics.ConnectionLatencyStatistics;
 import org.jboss.as.connector.services.datasources.statistics.DataSourceStatisticsService;
 import org.jboss.as.connector.services.driver.registry.DriverRegistry;
 import org.jboss.as.connector.util.ConnectorServices;
@@ -388,7 +389,9 @@ public abstract class AbstractDataSourceAdd extends AbstractAddStepHandler {
         if (dataSourceController != null) {
             if (!ServiceController.State.UP.equals(dataSourceController.getState())) {
                 final boolean statsEnabled = STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean();
-                DataSourceStatisticsService statsService = new DataSourceStatisticsService(datasourceRegistration, statsEnabled);
+                final ConnectionLatencyStatistics latencyStats = dataSourceController.getService() instanceof AbstractDataSourceService ?
+                        ((AbstractDataSourceService) dataSourceController.getService()).getLatencyStatistics() : null;
+                DataSourceStatisticsService statsService = new DataSourceStatisticsService(datasourceRegistration, statsEnabled, latencyStats);
                 final ServiceBuilder statsServiceSB = serviceTarget.addService(dataSourceServiceName.append(Constants.STATISTICS), statsService);
                 statsServiceSB.addAliases(dataSourceServiceNameAlias);
                 statsServiceSB.requires(dataSourceServiceName);
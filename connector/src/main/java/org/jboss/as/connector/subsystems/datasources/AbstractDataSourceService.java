@@ -39,6 +39,11 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 
 import javax.naming.Reference;
+import javax.resource.ResourceException;
+import javax.resource.spi.ConnectionEvent;
+import javax.resource.spi.ConnectionEventListener;
+import javax.resource.spi.ConnectionRequestInfo;
+import javax.resource.spi.ManagedConnection;
 import javax.resource.spi.ManagedConnectionFactory;
 import javax.security.auth.Subject;
 import javax.sql.DataSource;
@@ -47,6 +52,7 @@ import javax.sql.XADataSource;
 import org.jboss.as.connector.logging.ConnectorLogger;
 import org.jboss.as.connector.metadata.api.common.Credential;
 import org.jboss.as.connector.security.ElytronSubjectFactory;
+import org.jboss.as.connector.services.datasources.statistics.ConnectionLatencyStatistics;
 import org.jboss.as.connector.services.driver.InstalledDriver;
 import org.jboss.as.connector.services.driver.registry.DriverRegistry;
 import org.jboss.as.connector.util.Injection;
@@ -148,6 +154,7 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
      * The class loader to use. If null the Driver class loader will be used instead.
      */
     private final ClassLoader classLoader;
+    private final ConnectionLatencyStatistics latencyStatistics = new ConnectionLatencyStatistics();
 
     protected AbstractDataSourceService(final String dsName, final ContextNames.BindInfo jndiName, final ClassLoader classLoader ) {
         this.dsName = dsName;
@@ -163,7 +170,7 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
             if (deploymentMD.getCfs().length != 1) {
                 throw ConnectorLogger.ROOT_LOGGER.cannotStartDs();
             }
-            sqlDataSource = new WildFlyDataSource((javax.sql.DataSource) deploymentMD.getCfs()[0], jndiName.getAbsoluteJndiName());
+            sqlDataSource = new WildFlyDataSource((javax.sql.DataSource) deploymentMD.getCfs()[0], jndiName.getAbsoluteJndiName(), latencyStatistics);
             DS_DEPLOYER_LOGGER.debugf("Adding datasource: %s", deploymentMD.getCfJndiNames()[0]);
             CommonDeploymentService cdService = new CommonDeploymentService(deploymentMD);
             final ServiceName cdServiceName = CommonDeploymentService.getServiceName(jndiName);
@@ -244,6 +251,13 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         return deploymentMD;
     }
 
+    /**
+     * Returns the latency statistics of the connections of this data-source.
+     */
+    public ConnectionLatencyStatistics getLatencyStatistics() {
+        return latencyStatistics;
+    }
+
     public synchronized DataSource getValue() throws IllegalStateException, IllegalArgumentException {
         return sqlDataSource;
     }
@@ -561,7 +575,7 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         @Override
         protected ManagedConnectionFactory createMcf(XaDataSource arg0, String arg1, ClassLoader arg2)
                 throws NotFoundException, DeployException {
-            final XAManagedConnectionFactory xaManagedConnectionFactory = new XAManagedConnectionFactory(xaDataSourceConfig.getXaDataSourceProperty());
+            final XAManagedConnectionFactory xaManagedConnectionFactory = new LatencyTrackingXAManagedConnectionFactory(xaDataSourceConfig.getXaDataSourceProperty(), latencyStatistics);
 
             if (xaDataSourceConfig.getUrlDelimiter() != null) {
                 xaManagedConnectionFactory.setURLDelimiter(xaDataSourceConfig.getUrlDelimiter());
@@ -594,7 +608,7 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         @Override
         protected ManagedConnectionFactory createMcf(org.jboss.jca.common.api.metadata.ds.DataSource arg0, String arg1,
                 ClassLoader arg2) throws NotFoundException, DeployException {
-            final LocalManagedConnectionFactory managedConnectionFactory = new LocalManagedConnectionFactory();
+            final LocalManagedConnectionFactory managedConnectionFactory = new LatencyTrackingLocalManagedConnectionFactory(latencyStatistics);
             managedConnectionFactory.setDriverClass(dataSourceConfig.getDriverClass());
 
             if (dataSourceConfig.getUrlDelimiter() != null) {
@@ -753,5 +767,83 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
 
     }
 
+    /**
+     * Records the creation time of the physical connections, and the release of the connection handles, of a local data-source.
+     */
+    private static class LatencyTrackingLocalManagedConnectionFactory extends LocalManagedConnectionFactory {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ConnectionLatencyStatistics statistics;
+
+        LatencyTrackingLocalManagedConnectionFactory(ConnectionLatencyStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ManagedConnection createManagedConnection(Subject subject, ConnectionRequestInfo cri) throws ResourceException {
+            return track(super::createManagedConnection, subject, cri, statistics);
+        }
+    }
+
+    /**
+     * Records the creation time of the physical connections, and the release of the connection handles, of an XA data-source.
+     */
+    private static class LatencyTrackingXAManagedConnectionFactory extends XAManagedConnectionFactory {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ConnectionLatencyStatistics statistics;
+
+        LatencyTrackingXAManagedConnectionFactory(Map<String, String> properties, ConnectionLatencyStatistics statistics) {
+            super(properties);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ManagedConnection createManagedConnection(Subject subject, ConnectionRequestInfo cri) throws ResourceException {
+            return track(super::createManagedConnection, subject, cri, statistics);
+        }
+    }
+
+    private interface ManagedConnectionCreator {
+        ManagedConnection create(Subject subject, ConnectionRequestInfo cri) throws ResourceException;
+    }
+
+    private static ManagedConnection track(ManagedConnectionCreator creator, Subject subject, ConnectionRequestInfo cri, ConnectionLatencyStatistics statistics) throws ResourceException {
+        // Statistics are not restored on deserialization
+        if (statistics == null) {
+            return creator.create(subject, cri);
+        }
+        long start = System.nanoTime();
+        ManagedConnection connection = creator.create(subject, cri);
+        statistics.created(start);
+        connection.addConnectionEventListener(new ConnectionEventListener() {
+            @Override
+            public void connectionClosed(ConnectionEvent event) {
+                statistics.released(event.getConnectionHandle());
+            }
+
+            @Override
+            public void localTransactionStarted(ConnectionEvent event) {
+            }
 
+            @Override
+            public void localTransactionCommitted(ConnectionEvent event) {
+            }
+
+            @Override
+            public void localTransactionRolledback(ConnectionEvent event) {
+            }
+
+            @Override
+            public void connectionErrorOccurred(ConnectionEvent event) {
+                // Handles invalidated by the destruction of this connection are never closed
+                // Those not identified by this event are no longer tracked once unreachable
+                Object handle = event.getConnectionHandle();
+                if (handle != null) {
+                    statistics.discarded(handle);
+                }
+            }
+        });
+        return connection;
+    }
 }
@@ -28,6 +28,9 @@ import org.jboss.as.connector._private.Capabilities;
 import org.jboss.as.connector.logging.ConnectorLogger;
 import org.jboss.as.connector.metadata.api.common.Credential;
 import org.jboss.as.connector.metadata.api.common.Security;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.AttributeMarshaller;
+import org.jboss.as.controller.AttributeParser;
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.ObjectListAttributeDefinition;
 import org.jboss.as.controller.ObjectTypeAttributeDefinition;
@@ -38,10 +41,13 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinition;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.StringListAttributeDefinition;
 import org.jboss.as.controller.access.constraint.SensitivityClassification;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.operations.validation.ParameterValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.security.CredentialReference;
@@ -75,6 +81,8 @@ public class Constants {
 
     static final String XA_DATASOURCE = "xa-data-source";
 
+    static final String ROUTING_DATASOURCE = "routing-data-source";
+
     private static final String CONNECTION_URL_NAME = "connection-url";
 
     static final String JDBC_DRIVER_NAME = "jdbc-driver";
@@ -940,4 +948,26 @@ public class Constants {
             .setParameters(USERNAME, PASSWORD)
             .setRuntimeOnly().build();
 
+    static final SimpleAttributeDefinition ROUTING_PRIMARY = new SimpleAttributeDefinitionBuilder("primary", ModelType.STRING, false)
+            .setCapabilityReference(Capabilities.DATA_SOURCE_CAPABILITY_NAME, Capabilities.DATA_SOURCE_CAPABILITY)
+            .setRestartAllServices()
+            .build();
+
+    static final StringListAttributeDefinition ROUTING_REPLICAS = new StringListAttributeDefinition.Builder("replicas")
+            .setRequired(false)
+            .setAttributeParser(AttributeParser.STRING_LIST)
+            .setAttributeMarshaller(AttributeMarshaller.STRING_LIST)
+            .setCapabilityReference(Capabilities.DATA_SOURCE_CAPABILITY_NAME, Capabilities.DATA_SOURCE_CAPABILITY)
+            .setRestartAllServices()
+            .build();
+
+    static final SimpleAttributeDefinition ROUTING_REPLICA_RETRY_INTERVAL = new SimpleAttributeDefinitionBuilder("replica-retry-interval", ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(5000L))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setValidator(new LongRangeValidator(0L, true, true))
+            .setRestartAllServices()
+            .build();
+
+    static final AttributeDefinition[] ROUTING_DATASOURCE_ATTRIBUTES = { JNDI_NAME, ROUTING_PRIMARY, ROUTING_REPLICAS, ROUTING_REPLICA_RETRY_INTERVAL };
 }
@@ -89,6 +89,10 @@ import static org.jboss.as.connector.subsystems.datasources.Constants.RECOVERY_S
 import static org.jboss.as.connector.subsystems.datasources.Constants.RECOVERY_USERNAME;
 import static org.jboss.as.connector.subsystems.datasources.Constants.RECOVER_PLUGIN_CLASSNAME;
 import static org.jboss.as.connector.subsystems.datasources.Constants.RECOVER_PLUGIN_PROPERTIES;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_DATASOURCE;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_PRIMARY;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_REPLICAS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_REPLICA_RETRY_INTERVAL;
 import static org.jboss.as.connector.subsystems.datasources.Constants.SAME_RM_OVERRIDE;
 import static org.jboss.as.connector.subsystems.datasources.Constants.SECURITY_DOMAIN;
 import static org.jboss.as.connector.subsystems.datasources.Constants.SET_TX_QUERY_TIMEOUT;
@@ -161,7 +165,7 @@ public class DataSourcesExtension implements Extension {
     public static final String SUBSYSTEM_NAME = Constants.DATASOURCES;
     private static final String RESOURCE_NAME = DataSourcesExtension.class.getPackage().getName() + ".LocalDescriptions";
 
-    static final ModelVersion CURRENT_MODEL_VERSION = ModelVersion.create(6, 0, 0);
+    static final ModelVersion CURRENT_MODEL_VERSION = ModelVersion.create(6, 1, 0);
 
     static StandardResourceDescriptionResolver getResourceDescriptionResolver(final String... keyPrefix) {
         StringBuilder prefix = new StringBuilder(SUBSYSTEM_NAME);
@@ -199,6 +203,7 @@ public class DataSourcesExtension implements Extension {
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.DATASOURCES_3_0.getUriString(), DataSourceSubsystemParser::new);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.DATASOURCES_4_0.getUriString(), DataSourceSubsystemParser::new);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.DATASOURCES_5_0.getUriString(), DataSourceSubsystemParser::new);
+        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.DATASOURCES_6_0.getUriString(), DataSourceSubsystemParser::new);
     }
 
     public static final class DataSourceSubsystemParser implements XMLStreamConstants, XMLElementReader<List<ModelNode>>,
@@ -226,6 +231,19 @@ public class DataSourcesExtension implements Extension {
 
             }
 
+            if (node.hasDefined(ROUTING_DATASOURCE)) {
+                for (Property property : node.get(ROUTING_DATASOURCE).asPropertyList()) {
+                    ModelNode dataSourceNode = property.getValue();
+                    writer.writeStartElement(Element.ROUTING_DATASOURCE.getLocalName());
+                    writer.writeAttribute(ModelDescriptionConstants.NAME, property.getName());
+                    JNDI_NAME.marshallAsAttribute(dataSourceNode, writer);
+                    ROUTING_PRIMARY.marshallAsAttribute(dataSourceNode, writer);
+                    ROUTING_REPLICAS.getMarshaller().marshallAsAttribute(ROUTING_REPLICAS, dataSourceNode, false, writer);
+                    ROUTING_REPLICA_RETRY_INTERVAL.marshallAsAttribute(dataSourceNode, writer);
+                    writer.writeEndElement();
+                }
+            }
+
             if (node.hasDefined(JDBC_DRIVER_NAME)) {
                 writer.writeStartElement(DataSources.Tag.DRIVERS.getLocalName());
                 ModelNode drivers = node.get(JDBC_DRIVER_NAME);
@@ -85,5 +85,7 @@ public class DataSourcesSubsystemRootDefinition extends SimpleResourceDefinition
             resourceRegistration.registerSubModel(JdbcDriverDefinition.INSTANCE);
         resourceRegistration.registerSubModel(DataSourceDefinition.createInstance(registerRuntimeOnly, deployed));
         resourceRegistration.registerSubModel(XaDataSourceDefinition.createInstance(registerRuntimeOnly, deployed));
+        if (! deployed )
+            resourceRegistration.registerSubModel(RoutingDataSourceDefinition.createInstance(registerRuntimeOnly));
     }
 }
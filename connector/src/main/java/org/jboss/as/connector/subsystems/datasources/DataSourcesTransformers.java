@@ -37,6 +37,7 @@ import static org.jboss.as.connector.subsystems.datasources.Constants.TRACKING;
 import static org.jboss.as.connector.subsystems.datasources.DataSourceDefinition.PATH_DATASOURCE;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesExtension.SUBSYSTEM_NAME;
 import static org.jboss.as.connector.subsystems.datasources.JdbcDriverDefinition.PATH_DRIVER;
+import static org.jboss.as.connector.subsystems.datasources.RoutingDataSourceDefinition.PATH_ROUTING_DATASOURCE;
 import static org.jboss.as.connector.subsystems.datasources.XaDataSourceDefinition.PATH_XA_DATASOURCE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ENABLED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STATISTICS_ENABLED;
@@ -71,6 +72,8 @@ public class DataSourcesTransformers implements ExtensionTransformerRegistration
     private static final ModelVersion EAP_6_2 = ModelVersion.create(1, 2, 0);
     private static final ModelVersion EAP_6_3 = ModelVersion.create(1, 3, 0);
     private static final ModelVersion EAP_7_0 = ModelVersion.create(4, 0, 0);
+    private static final ModelVersion VERSION_6_0_0 = ModelVersion.create(6, 0, 0);
+
     @Override
     public String getSubsystemName() {
         return SUBSYSTEM_NAME;
@@ -79,7 +82,8 @@ public class DataSourcesTransformers implements ExtensionTransformerRegistration
     @Override
     public void registerTransformers(SubsystemTransformerRegistration subsystemRegistration) {
         ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(subsystemRegistration.getCurrentSubsystemVersion());
-        get400TransformationDescription(chainedBuilder.createBuilder(subsystemRegistration.getCurrentSubsystemVersion(), EAP_7_0));
+        get600TransformationDescription(chainedBuilder.createBuilder(subsystemRegistration.getCurrentSubsystemVersion(), VERSION_6_0_0));
+        get400TransformationDescription(chainedBuilder.createBuilder(VERSION_6_0_0, EAP_7_0));
         get130TransformationDescription(chainedBuilder.createBuilder(EAP_7_0, EAP_6_3));
         get120TransformationDescription(chainedBuilder.createBuilder(EAP_6_3, EAP_6_2));
 
@@ -87,10 +91,16 @@ public class DataSourcesTransformers implements ExtensionTransformerRegistration
                 EAP_6_2,
                 EAP_6_3,
                 EAP_7_0,
+                VERSION_6_0_0,
         });
 
     }
 
+    private static TransformationDescription get600TransformationDescription(ResourceTransformationDescriptionBuilder parentBuilder) {
+        parentBuilder.rejectChildResource(PATH_ROUTING_DATASOURCE);
+        return parentBuilder.build();
+    }
+
     static TransformationDescription get130TransformationDescription(ResourceTransformationDescriptionBuilder parentBuilder) {
         ResourceTransformationDescriptionBuilder builder = parentBuilder.addChildResource(PATH_DATASOURCE);
         builder.getAttributeBuilder()
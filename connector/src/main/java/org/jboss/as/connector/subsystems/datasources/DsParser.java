@@ -91,6 +91,10 @@ import static org.jboss.as.connector.subsystems.datasources.Constants.RECOVERY_S
 import static org.jboss.as.connector.subsystems.datasources.Constants.RECOVERY_USERNAME;
 import static org.jboss.as.connector.subsystems.datasources.Constants.RECOVER_PLUGIN_CLASSNAME;
 import static org.jboss.as.connector.subsystems.datasources.Constants.RECOVER_PLUGIN_PROPERTIES;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_DATASOURCE;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_PRIMARY;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_REPLICAS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_REPLICA_RETRY_INTERVAL;
 import static org.jboss.as.connector.subsystems.datasources.Constants.SAME_RM_OVERRIDE;
 import static org.jboss.as.connector.subsystems.datasources.Constants.SECURITY_DOMAIN;
 import static org.jboss.as.connector.subsystems.datasources.Constants.SET_TX_QUERY_TIMEOUT;
@@ -119,6 +123,7 @@ import static org.jboss.as.connector.subsystems.datasources.Constants.XA_DATASOU
 import static org.jboss.as.connector.subsystems.datasources.Constants.XA_RESOURCE_TIMEOUT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ENABLE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PERSISTENT;
@@ -212,6 +217,11 @@ public class DsParser extends AbstractParser {
                         return;
                 }
                 case START_ELEMENT: {
+                    if ((Element.forName(reader.getLocalName()) == Element.ROUTING_DATASOURCE)
+                            && (Namespace.forUri(reader.getNamespaceURI()).compareTo(Namespace.DATASOURCES_6_0) >= 0)) {
+                        parseRoutingDataSource(reader, list, parentAddress);
+                        break;
+                    }
                     switch (DataSources.Tag.forName(reader.getLocalName())) {
                         case DATASOURCE: {
                             switch (Namespace.forUri(reader.getNamespaceURI())) {
@@ -653,6 +663,43 @@ public class DsParser extends AbstractParser {
     }
 
 
+    private void parseRoutingDataSource(final XMLExtendedStreamReader reader, final List<ModelNode> list, final ModelNode parentAddress) throws XMLStreamException {
+        String name = null;
+        final ModelNode operation = new ModelNode();
+        operation.get(OP).set(ADD);
+
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (!isNoNamespaceAttribute(reader, i)) {
+                throw unexpectedAttribute(reader, i);
+            }
+            final String attributeName = reader.getAttributeLocalName(i);
+            final String value = reader.getAttributeValue(i);
+            if (attributeName.equals(NAME)) {
+                name = value;
+            } else if (attributeName.equals(JNDI_NAME.getXmlName())) {
+                JNDI_NAME.parseAndSetParameter(value, operation, reader);
+            } else if (attributeName.equals(ROUTING_PRIMARY.getXmlName())) {
+                ROUTING_PRIMARY.parseAndSetParameter(value, operation, reader);
+            } else if (attributeName.equals(ROUTING_REPLICAS.getXmlName())) {
+                ROUTING_REPLICAS.getParser().parseAndSetParameter(ROUTING_REPLICAS, value, operation, reader);
+            } else if (attributeName.equals(ROUTING_REPLICA_RETRY_INTERVAL.getXmlName())) {
+                ROUTING_REPLICA_RETRY_INTERVAL.parseAndSetParameter(value, operation, reader);
+            } else {
+                throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (name == null) {
+            throw ParseUtils.missingRequired(reader, NAME);
+        }
+        ParseUtils.requireNoContent(reader);
+
+        final ModelNode dsAddress = parentAddress.clone();
+        dsAddress.add(ROUTING_DATASOURCE, name);
+        dsAddress.protect();
+        operation.get(OP_ADDR).set(dsAddress);
+        list.add(operation);
+    }
+
     private void parseDriver(final XMLExtendedStreamReader reader, final List<ModelNode> list, final ModelNode parentAddress) throws XMLStreamException, ParserException,
             ValidateException {
         final ModelNode driverAddress = parentAddress.clone();
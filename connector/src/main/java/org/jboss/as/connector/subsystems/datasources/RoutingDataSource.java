@@ -0,0 +1,403 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.jboss.as.connector.logging.ConnectorLogger.SUBSYSTEM_DATASOURCES_LOGGER;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * A {@link DataSource} that splits reads from writes across a primary data source and a set of replica data sources.
+ * <p/>
+ * Connections are acquired lazily: until first used, a connection returned by this data source only records the values passed to
+ * {@link Connection#setReadOnly(boolean)}, {@link Connection#setAutoCommit(boolean)} and {@link Connection#setTransactionIsolation(int)}.
+ * It is then bound to a replica if it was marked read-only, or to the primary otherwise, and the recorded values are applied to it.
+ * Since the physical connection is only then acquired, it is enlisted in the JTA transaction associated with the thread that first uses the connection,
+ * rather than the transaction (if any) associated with the thread that called {@link #getConnection()}.
+ * Replicas are balanced by their number of outstanding connections.
+ * A replica that fails to provide a connection is skipped for the configured retry interval;
+ * read-only connections are routed to the primary if no replica can provide one.
+ */
+public class RoutingDataSource implements DataSource {
+
+    private final String name;
+    private final Target primary;
+    private final Target[] replicas;
+    private final long retryInterval;
+    private final AtomicInteger offset = new AtomicInteger();
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * Creates a new routing data source.
+     * @param name the name of this data source
+     * @param primaryName the name of the primary data source
+     * @param primary the primary data source
+     * @param replicas the replica data sources, keyed by name
+     * @param retryInterval the number of milliseconds during which a failed replica is not used
+     */
+    public RoutingDataSource(String name, String primaryName, DataSource primary, Map<String, DataSource> replicas, long retryInterval) {
+        this.name = name;
+        this.primary = new Target(primaryName, primary);
+        this.replicas = new Target[replicas.size()];
+        int index = 0;
+        for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+            this.replicas[index++] = new Target(entry.getKey(), entry.getValue());
+        }
+        this.retryInterval = retryInterval;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.createConnection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String user, String password) throws SQLException {
+        return this.createConnection(user, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return this.primary.dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        this.primary.dataSource.setLogWriter(out);
+        for (Target replica : this.replicas) {
+            replica.dataSource.setLogWriter(out);
+        }
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        this.primary.dataSource.setLoginTimeout(seconds);
+        for (Target replica : this.replicas) {
+            replica.dataSource.setLoginTimeout(seconds);
+        }
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return this.primary.dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return this.primary.dataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException(iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * Returns the primary data source, followed by the replica data sources.
+     * @return a list of routing targets
+     */
+    public List<Target> getTargets() {
+        List<Target> targets = new ArrayList<>(this.replicas.length + 1);
+        targets.add(this.primary);
+        Collections.addAll(targets, this.replicas);
+        return targets;
+    }
+
+    /**
+     * Returns the number of read-only connections that were routed to the primary data source because no replica could provide one.
+     * @return a number of connections
+     */
+    public long getFallbackCount() {
+        return this.fallbacks.sum();
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+    private Connection createConnection(String user, String password) {
+        return (Connection) Proxy.newProxyInstance(RoutingDataSource.class.getClassLoader(), new Class<?>[] { Connection.class }, new RoutingConnection(user, password));
+    }
+
+    Target route(boolean readOnly) {
+        if (readOnly && (this.replicas.length > 0)) {
+            long now = System.nanoTime();
+            // Rotate the starting position so that ties do not always favor the first replica
+            int start = Math.floorMod(this.offset.getAndIncrement(), this.replicas.length);
+            Target selected = null;
+            int outstanding = Integer.MAX_VALUE;
+            for (int i = 0; i < this.replicas.length; ++i) {
+                Target replica = this.replicas[(start + i) % this.replicas.length];
+                if (replica.isAvailable(now)) {
+                    int count = replica.getOutstandingCount();
+                    if (count < outstanding) {
+                        selected = replica;
+                        outstanding = count;
+                    }
+                }
+            }
+            if (selected != null) return selected;
+        }
+        return this.primary;
+    }
+
+    /**
+     * A data source to which connections are routed, along with its acquisition statistics.
+     */
+    public static class Target {
+        final String name;
+        final DataSource dataSource;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder acquisitionTime = new LongAdder();
+        private volatile boolean failed = false;
+        private volatile long retryTime;
+
+        Target(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Returns the number of connections acquired from this data source that are not yet closed, including pending acquisitions.
+         */
+        public int getOutstandingCount() {
+            return this.outstanding.get();
+        }
+
+        public long getAcquisitionCount() {
+            return this.acquisitions.sum();
+        }
+
+        public long getFailureCount() {
+            return this.failures.sum();
+        }
+
+        /**
+         * Returns the average time, in microseconds, needed to acquire a connection from this data source.
+         */
+        public long getAverageAcquisitionTime() {
+            long acquisitions = this.acquisitions.sum();
+            return (acquisitions > 0) ? TimeUnit.NANOSECONDS.toMicros(this.acquisitionTime.sum() / acquisitions) : 0L;
+        }
+
+        boolean isAvailable(long now) {
+            return !this.failed || (now - this.retryTime >= 0);
+        }
+
+        /**
+         * Excludes this data source from routing until the specified time.
+         * @return true, if this data source was previously available, false otherwise.
+         */
+        boolean fail(long retryTime) {
+            boolean available = this.isAvailable(System.nanoTime());
+            this.retryTime = retryTime;
+            this.failed = true;
+            return available;
+        }
+
+        Connection getConnection(String user, String password) throws SQLException {
+            this.outstanding.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                Connection connection = (user != null) ? this.dataSource.getConnection(user, password) : this.dataSource.getConnection();
+                this.acquisitionTime.add(System.nanoTime() - start);
+                this.acquisitions.increment();
+                this.failed = false;
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                this.outstanding.decrementAndGet();
+                this.failures.increment();
+                throw e;
+            }
+        }
+
+        void release() {
+            this.outstanding.decrementAndGet();
+        }
+    }
+
+    /**
+     * Defers acquisition of the physical connection until its first use.
+     */
+    private class RoutingConnection implements InvocationHandler {
+        private final String user;
+        private final String password;
+        private Target target;
+        private Connection connection;
+        private boolean closed = false;
+        private boolean readOnly = false;
+        private boolean autoCommit = true;
+        private Integer isolation = null;
+
+        RoutingConnection(String user, String password) {
+            this.user = user;
+            this.password = password;
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            int parameters = method.getParameterCount();
+            switch (name) {
+                case "equals":
+                    if (parameters == 1) return proxy == args[0];
+                    break;
+                case "hashCode":
+                    if (parameters == 0) return System.identityHashCode(proxy);
+                    break;
+                case "toString":
+                    if (parameters == 0) return (this.connection != null) ? this.connection.toString() : RoutingDataSource.this.name;
+                    break;
+                case "isClosed":
+                    if (parameters == 0) return this.closed;
+                    break;
+                case "close":
+                    if (parameters == 0) {
+                        this.close();
+                        return null;
+                    }
+                    break;
+            }
+            if (this.closed) {
+                throw SUBSYSTEM_DATASOURCES_LOGGER.connectionClosed();
+            }
+            if (this.connection == null) {
+                switch (name) {
+                    case "setReadOnly":
+                        this.readOnly = (Boolean) args[0];
+                        return null;
+                    case "isReadOnly":
+                        return this.readOnly;
+                    case "setAutoCommit":
+                        this.autoCommit = (Boolean) args[0];
+                        return null;
+                    case "getAutoCommit":
+                        return this.autoCommit;
+                    case "setTransactionIsolation":
+                        this.isolation = (Integer) args[0];
+                        return null;
+                    case "commit":
+                    case "rollback":
+                        // Nothing to complete yet
+                        if (parameters == 0) return null;
+                        break;
+                }
+                this.acquire();
+            }
+            try {
+                return method.invoke(this.connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void acquire() throws SQLException {
+            RoutingDataSource routing = RoutingDataSource.this;
+            Target target = routing.route(this.readOnly);
+            Connection connection = null;
+            int attempts = 0;
+            while (connection == null) {
+                if (target == routing.primary) {
+                    if (this.readOnly && (routing.replicas.length > 0)) {
+                        routing.fallbacks.increment();
+                    }
+                    connection = target.getConnection(this.user, this.password);
+                } else {
+                    try {
+                        connection = target.getConnection(this.user, this.password);
+                    } catch (SQLException e) {
+                        if (target.fail(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(routing.retryInterval))) {
+                            SUBSYSTEM_DATASOURCES_LOGGER.replicaUnavailable(target.name, routing.name, routing.retryInterval, e);
+                        }
+                        target = (++attempts < routing.replicas.length) ? routing.route(true) : routing.primary;
+                    }
+                }
+            }
+            try {
+                if (!this.autoCommit) {
+                    connection.setAutoCommit(false);
+                }
+                if (this.isolation != null) {
+                    connection.setTransactionIsolation(this.isolation);
+                }
+                if (this.readOnly) {
+                    connection.setReadOnly(true);
+                }
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    connection.close();
+                } finally {
+                    target.release();
+                }
+                throw e;
+            }
+            this.target = target;
+            this.connection = connection;
+        }
+
+        private void close() throws SQLException {
+            if (!this.closed) {
+                this.closed = true;
+                if (this.connection != null) {
+                    try {
+                        this.connection.close();
+                    } finally {
+                        this.connection = null;
+                        this.target.release();
+                    }
+                }
+            }
+        }
+    }
+}
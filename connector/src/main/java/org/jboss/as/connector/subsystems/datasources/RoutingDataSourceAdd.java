@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.jboss.as.connector.logging.ConnectorLogger.SUBSYSTEM_DATASOURCES_LOGGER;
+import static org.jboss.as.connector.subsystems.datasources.Constants.JNDI_NAME;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_DATASOURCE_ATTRIBUTES;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_PRIMARY;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_REPLICAS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_REPLICA_RETRY_INTERVAL;
+
+import java.util.LinkedHashSet;
+
+import javax.sql.DataSource;
+
+import org.jboss.as.connector._private.Capabilities;
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.naming.ManagedReferenceFactory;
+import org.jboss.as.naming.ServiceBasedNamingStore;
+import org.jboss.as.naming.deployment.ContextNames;
+import org.jboss.as.naming.service.BinderService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.LifecycleEvent;
+import org.jboss.msc.service.LifecycleListener;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+
+/**
+ * Operation handler responsible for adding a routing data source.
+ */
+public class RoutingDataSourceAdd extends AbstractAddStepHandler {
+
+    static final RoutingDataSourceAdd INSTANCE = new RoutingDataSourceAdd();
+
+    private RoutingDataSourceAdd() {
+        super(Capabilities.DATA_SOURCE_CAPABILITY, ROUTING_DATASOURCE_ATTRIBUTES);
+    }
+
+    @Override
+    protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+        final String dsName = context.getCurrentAddressValue();
+        final String jndiName = JNDI_NAME.resolveModelAttribute(context, model).asString();
+        final String primary = ROUTING_PRIMARY.resolveModelAttribute(context, model).asString();
+        final long retryInterval = ROUTING_REPLICA_RETRY_INTERVAL.resolveModelAttribute(context, model).asLong();
+        final ServiceTarget serviceTarget = context.getServiceTarget();
+        final ContextNames.BindInfo bindInfo = ContextNames.bindInfoFor(jndiName);
+
+        final RoutingDataSourceService dataSourceService = new RoutingDataSourceService(dsName, primary, retryInterval);
+        final ServiceName dataSourceServiceName = context.getCapabilityServiceName(Capabilities.DATA_SOURCE_CAPABILITY_NAME, dsName, DataSource.class);
+        final ServiceBuilder<?> dataSourceServiceBuilder = serviceTarget.addService(dataSourceServiceName, dataSourceService)
+                .addAliases(AbstractDataSourceService.getServiceName(bindInfo))
+                .addDependency(context.getCapabilityServiceName(Capabilities.DATA_SOURCE_CAPABILITY_NAME, primary, DataSource.class), DataSource.class,
+                        dataSourceService.getPrimaryInjector());
+        for (String replica : new LinkedHashSet<>(ROUTING_REPLICAS.unwrap(context, model))) {
+            dataSourceServiceBuilder.addDependency(context.getCapabilityServiceName(Capabilities.DATA_SOURCE_CAPABILITY_NAME, replica, DataSource.class), DataSource.class,
+                    dataSourceService.getReplicaInjector(replica));
+        }
+        dataSourceServiceBuilder.install();
+
+        final DataSourceReferenceFactoryService referenceFactoryService = new DataSourceReferenceFactoryService();
+        final ServiceName referenceFactoryServiceName = DataSourceReferenceFactoryService.SERVICE_NAME_BASE.append(dsName);
+        serviceTarget.addService(referenceFactoryServiceName, referenceFactoryService)
+                .addDependency(dataSourceServiceName, DataSource.class, referenceFactoryService.getDataSourceInjector())
+                .install();
+
+        final BinderService binderService = new BinderService(bindInfo.getBindName());
+        serviceTarget.addService(bindInfo.getBinderServiceName(), binderService)
+                .addDependency(referenceFactoryServiceName, ManagedReferenceFactory.class, binderService.getManagedObjectInjector())
+                .addDependency(bindInfo.getParentContextServiceName(), ServiceBasedNamingStore.class, binderService.getNamingStoreInjector())
+                .addListener(new LifecycleListener() {
+                    private volatile boolean bound;
+                    public void handleEvent(final ServiceController<? extends Object> controller, final LifecycleEvent event) {
+                        switch (event) {
+                            case UP: {
+                                SUBSYSTEM_DATASOURCES_LOGGER.boundRoutingDataSource(jndiName);
+                                bound = true;
+                                break;
+                            }
+                            case DOWN: {
+                                if (bound) {
+                                    SUBSYSTEM_DATASOURCES_LOGGER.unboundRoutingDataSource(jndiName);
+                                }
+                                break;
+                            }
+                            case REMOVED: {
+                                SUBSYSTEM_DATASOURCES_LOGGER.debugf("Removed routing data-source [%s]", jndiName);
+                                break;
+                            }
+                        }
+                    }
+                })
+                .setInitialMode(ServiceController.Mode.ACTIVE)
+                .install();
+    }
+}
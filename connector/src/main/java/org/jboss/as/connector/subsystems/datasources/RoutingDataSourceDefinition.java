@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_DATASOURCE;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ROUTING_DATASOURCE_ATTRIBUTES;
+
+import org.jboss.as.connector._private.Capabilities;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.access.constraint.ApplicationTypeConfig;
+import org.jboss.as.controller.access.management.ApplicationTypeAccessConstraintDefinition;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+
+/**
+ * Definition of a data source that routes read-only connections to a set of replica data sources, and all other connections to a primary data source.
+ */
+public class RoutingDataSourceDefinition extends SimpleResourceDefinition {
+    protected static final PathElement PATH_ROUTING_DATASOURCE = PathElement.pathElement(ROUTING_DATASOURCE);
+
+    private final boolean registerRuntimeOnly;
+
+    private RoutingDataSourceDefinition(final boolean registerRuntimeOnly) {
+        super(new Parameters(PATH_ROUTING_DATASOURCE, DataSourcesExtension.getResourceDescriptionResolver(ROUTING_DATASOURCE))
+                .setAddHandler(RoutingDataSourceAdd.INSTANCE)
+                .setRemoveHandler(RoutingDataSourceRemove.INSTANCE)
+                .setCapabilities(Capabilities.DATA_SOURCE_CAPABILITY)
+                .setAccessConstraints(new ApplicationTypeAccessConstraintDefinition(new ApplicationTypeConfig(DataSourcesExtension.SUBSYSTEM_NAME, ROUTING_DATASOURCE))));
+        this.registerRuntimeOnly = registerRuntimeOnly;
+    }
+
+    public static RoutingDataSourceDefinition createInstance(final boolean registerRuntimeOnly) {
+        return new RoutingDataSourceDefinition(registerRuntimeOnly);
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        ReloadRequiredWriteAttributeHandler reloadRequiredWriteAttributeHandler = new ReloadRequiredWriteAttributeHandler(ROUTING_DATASOURCE_ATTRIBUTES);
+        for (AttributeDefinition attribute : ROUTING_DATASOURCE_ATTRIBUTES) {
+            resourceRegistration.registerReadWriteAttribute(attribute, null, reloadRequiredWriteAttributeHandler);
+        }
+        if (registerRuntimeOnly) {
+            resourceRegistration.registerMetric(RoutingDataSourceStatisticsHandler.FALLBACK_COUNT, RoutingDataSourceStatisticsHandler.INSTANCE);
+            resourceRegistration.registerReadOnlyAttribute(RoutingDataSourceStatisticsHandler.TARGETS, RoutingDataSourceStatisticsHandler.INSTANCE);
+        }
+    }
+}
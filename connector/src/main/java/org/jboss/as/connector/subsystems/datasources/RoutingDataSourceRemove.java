@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.jboss.as.connector.subsystems.datasources.Constants.JNDI_NAME;
+
+import javax.sql.DataSource;
+
+import org.jboss.as.connector._private.Capabilities;
+import org.jboss.as.controller.AbstractRemoveStepHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.naming.deployment.ContextNames;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Operation handler responsible for removing a routing data source.
+ */
+public class RoutingDataSourceRemove extends AbstractRemoveStepHandler {
+
+    static final RoutingDataSourceRemove INSTANCE = new RoutingDataSourceRemove();
+
+    private RoutingDataSourceRemove() {
+        super(Capabilities.DATA_SOURCE_CAPABILITY);
+    }
+
+    @Override
+    protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+        if (context.isResourceServiceRestartAllowed()) {
+            removeServices(context, model);
+        } else {
+            context.reloadRequired();
+        }
+    }
+
+    @Override
+    protected void recoverServices(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+        if (context.isResourceServiceRestartAllowed()) {
+            RoutingDataSourceAdd.INSTANCE.performRuntime(context, operation, model);
+        } else {
+            context.revertReloadRequired();
+        }
+    }
+
+    static void removeServices(OperationContext context, ModelNode model) throws OperationFailedException {
+        final String dsName = context.getCurrentAddressValue();
+        final String jndiName = JNDI_NAME.resolveModelAttribute(context, model).asString();
+
+        context.removeService(ContextNames.bindInfoFor(jndiName).getBinderServiceName());
+        context.removeService(DataSourceReferenceFactoryService.SERVICE_NAME_BASE.append(dsName));
+        context.removeService(context.getCapabilityServiceName(Capabilities.DATA_SOURCE_CAPABILITY_NAME, dsName, DataSource.class));
+    }
+}
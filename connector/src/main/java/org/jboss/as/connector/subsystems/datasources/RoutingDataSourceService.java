@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+
+/**
+ * Service providing a {@link RoutingDataSource} over the data sources on which it depends.
+ */
+public class RoutingDataSourceService implements Service<DataSource> {
+
+    private final String name;
+    private final String primaryName;
+    private final long retryInterval;
+    private final InjectedValue<DataSource> primary = new InjectedValue<DataSource>();
+    private final Map<String, InjectedValue<DataSource>> replicas = new LinkedHashMap<String, InjectedValue<DataSource>>();
+
+    private volatile RoutingDataSource dataSource;
+
+    public RoutingDataSourceService(String name, String primaryName, long retryInterval) {
+        this.name = name;
+        this.primaryName = primaryName;
+        this.retryInterval = retryInterval;
+    }
+
+    @Override
+    public void start(StartContext context) throws StartException {
+        Map<String, DataSource> replicas = new LinkedHashMap<String, DataSource>();
+        for (Map.Entry<String, InjectedValue<DataSource>> entry : this.replicas.entrySet()) {
+            replicas.put(entry.getKey(), entry.getValue().getValue());
+        }
+        this.dataSource = new RoutingDataSource(this.name, this.primaryName, this.primary.getValue(), replicas, this.retryInterval);
+    }
+
+    @Override
+    public void stop(StopContext context) {
+        this.dataSource = null;
+    }
+
+    @Override
+    public DataSource getValue() throws IllegalStateException, IllegalArgumentException {
+        return this.dataSource;
+    }
+
+    public Injector<DataSource> getPrimaryInjector() {
+        return this.primary;
+    }
+
+    public Injector<DataSource> getReplicaInjector(String replica) {
+        return this.replicas.computeIfAbsent(replica, key -> new InjectedValue<DataSource>());
+    }
+}
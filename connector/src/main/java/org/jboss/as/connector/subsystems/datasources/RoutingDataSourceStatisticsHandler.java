@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import javax.sql.DataSource;
+
+import org.jboss.as.connector._private.Capabilities;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the routing and per-target connection acquisition statistics of a routing data source.
+ */
+public class RoutingDataSourceStatisticsHandler extends AbstractRuntimeOnlyHandler {
+
+    static final SimpleAttributeDefinition FALLBACK_COUNT = new SimpleAttributeDefinitionBuilder("fallback-count", ModelType.LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .build();
+
+    static final SimpleAttributeDefinition TARGET_NAME = new SimpleAttributeDefinitionBuilder(NAME, ModelType.STRING).build();
+    static final SimpleAttributeDefinition TARGET_ACQUISITION_COUNT = new SimpleAttributeDefinitionBuilder("acquisition-count", ModelType.LONG).build();
+    static final SimpleAttributeDefinition TARGET_FAILURE_COUNT = new SimpleAttributeDefinitionBuilder("failure-count", ModelType.LONG).build();
+    static final SimpleAttributeDefinition TARGET_OUTSTANDING_COUNT = new SimpleAttributeDefinitionBuilder("outstanding-count", ModelType.INT).build();
+    static final SimpleAttributeDefinition TARGET_AVERAGE_ACQUISITION_TIME = new SimpleAttributeDefinitionBuilder("average-acquisition-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+
+    static final ObjectTypeAttributeDefinition TARGET = ObjectTypeAttributeDefinition.Builder.of("target",
+            TARGET_NAME, TARGET_ACQUISITION_COUNT, TARGET_FAILURE_COUNT, TARGET_OUTSTANDING_COUNT, TARGET_AVERAGE_ACQUISITION_TIME).build();
+    static final ObjectListAttributeDefinition TARGETS = ObjectListAttributeDefinition.Builder.of("targets", TARGET)
+            .setStorageRuntime()
+            .build();
+
+    static final RoutingDataSourceStatisticsHandler INSTANCE = new RoutingDataSourceStatisticsHandler();
+
+    private RoutingDataSourceStatisticsHandler() {
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String attributeName = operation.require(NAME).asString();
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(
+                context.getCapabilityServiceName(Capabilities.DATA_SOURCE_CAPABILITY_NAME, context.getCurrentAddressValue(), DataSource.class));
+        final Object value = (controller != null) ? controller.getService().getValue() : null;
+        if (value instanceof RoutingDataSource) {
+            final RoutingDataSource dataSource = (RoutingDataSource) value;
+            final ModelNode result = context.getResult();
+            if (FALLBACK_COUNT.getName().equals(attributeName)) {
+                result.set(dataSource.getFallbackCount());
+            } else if (TARGETS.getName().equals(attributeName)) {
+                result.setEmptyList();
+                for (RoutingDataSource.Target target : dataSource.getTargets()) {
+                    final ModelNode node = result.add();
+                    node.get(TARGET_NAME.getName()).set(target.getName());
+                    node.get(TARGET_ACQUISITION_COUNT.getName()).set(target.getAcquisitionCount());
+                    node.get(TARGET_FAILURE_COUNT.getName()).set(target.getFailureCount());
+                    node.get(TARGET_OUTSTANDING_COUNT.getName()).set(target.getOutstandingCount());
+                    node.get(TARGET_AVERAGE_ACQUISITION_TIME.getName()).set(target.getAverageAcquisitionTime());
+                }
+            }
+        } else if (FALLBACK_COUNT.getName().equals(attributeName)) {
+            context.getResult().set(FALLBACK_COUNT.getUndefinedMetricValue());
+        }
+    }
+}
@@ -32,6 +32,8 @@ import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.util.logging.Logger;
 
+import org.jboss.as.connector.services.datasources.statistics.ConnectionLatencyStatistics;
+
 /**
  * WildFly DataSource implementation
  *
@@ -48,6 +50,8 @@ public class WildFlyDataSource implements DataSource, Serializable {
     /** Service name */
     private transient String jndiName;
 
+    /** Connection latency statistics */
+    private transient ConnectionLatencyStatistics latencyStatistics;
 
     /**
      * Constructor
@@ -55,18 +59,49 @@ public class WildFlyDataSource implements DataSource, Serializable {
      * @param jndiName The service name
      */
     public WildFlyDataSource(DataSource delegate, String jndiName) {
+        this(delegate, jndiName, null);
+    }
+
+    /**
+     * Constructor
+     * @param delegate The datasource
+     * @param jndiName The service name
+     * @param latencyStatistics The statistics recording connection acquisitions, or null
+     */
+    WildFlyDataSource(DataSource delegate, String jndiName, ConnectionLatencyStatistics latencyStatistics) {
         this.delegate = delegate;
         this.jndiName = jndiName;
+        this.latencyStatistics = latencyStatistics;
     }
 
     @Override
     public Connection getConnection() throws SQLException {
-        return delegate.getConnection();
+        if (latencyStatistics == null || !latencyStatistics.isEnabled()) {
+            return delegate.getConnection();
+        }
+        long start = System.nanoTime();
+        Connection connection = null;
+        try {
+            connection = delegate.getConnection();
+            return connection;
+        } finally {
+            latencyStatistics.acquired(connection, start);
+        }
     }
 
     @Override
     public Connection getConnection(String username, String password) throws SQLException {
-        return delegate.getConnection(username, password);
+        if (latencyStatistics == null || !latencyStatistics.isEnabled()) {
+            return delegate.getConnection(username, password);
+        }
+        long start = System.nanoTime();
+        Connection connection = null;
+        try {
+            connection = delegate.getConnection(username, password);
+            return connection;
+        } finally {
+            latencyStatistics.acquired(connection, start);
+        }
     }
 
     @Override
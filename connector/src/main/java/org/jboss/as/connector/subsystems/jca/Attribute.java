@@ -62,7 +62,9 @@ public enum Attribute {
 
     JGROUPS_CLUSTER("jgroups-cluster"),
 
-    REQUEST_TIMEOUT("request-timeout");
+    REQUEST_TIMEOUT("request-timeout"),
+
+    STATISTICS_FLUSH_PERIOD("statistics-flush-period");
 
     private final String name;
 
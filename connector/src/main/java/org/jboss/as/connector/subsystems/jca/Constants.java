@@ -54,5 +54,7 @@ public class Constants {
 
     static final String ELYTRON_ENABLED_NAME = "elytron-enabled";
 
+    static final String STATISTICS_FLUSH_PERIOD_NAME = "statistics-flush-period";
+
 
 }
@@ -25,6 +25,7 @@ package org.jboss.as.connector.subsystems.jca;
 import static org.jboss.as.connector.subsystems.jca.Constants.DISTRIBUTED_WORKMANAGER;
 import static org.jboss.as.connector.subsystems.jca.Constants.ELYTRON_ENABLED_NAME;
 import static org.jboss.as.connector.subsystems.jca.Constants.ELYTRON_MANAGED_SECURITY;
+import static org.jboss.as.connector.subsystems.jca.Constants.STATISTICS_FLUSH_PERIOD_NAME;
 import static org.jboss.as.connector.subsystems.jca.JcaWorkManagerDefinition.registerSubModels;
 
 import java.util.EnumSet;
@@ -40,6 +41,7 @@ import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -129,6 +131,13 @@ public class JcaDistributedWorkManagerDefinition extends SimpleResourceDefinitio
                 .setXmlName(Security.Tag.ELYTRON_ENABLED.getLocalName())
                 .setAllowExpression(true)
                 .setDefaultValue(new ModelNode(ELYTRON_MANAGED_SECURITY))
+                .build()),
+        STATISTICS_FLUSH_PERIOD(new SimpleAttributeDefinitionBuilder(STATISTICS_FLUSH_PERIOD_NAME, ModelType.LONG, true)
+                .setXmlName(Attribute.STATISTICS_FLUSH_PERIOD.getLocalName())
+                .setAllowExpression(true)
+                .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                .setValidator(new LongRangeValidator(0L, true, true))
+                .setDefaultValue(new ModelNode(0L))
                 .build());
 
 
@@ -148,7 +157,8 @@ public class JcaDistributedWorkManagerDefinition extends SimpleResourceDefinitio
                     SELECTOR.getAttribute(),
                     POLICY_OPTIONS.getAttribute(),
                     SELECTOR_OPTIONS.getAttribute(),
-                    ELYTRON_ENABLED.getAttribute()
+                    ELYTRON_ENABLED.getAttribute(),
+                    STATISTICS_FLUSH_PERIOD.getAttribute()
             };
         }
 
@@ -27,6 +27,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_
 
 import org.jboss.as.connector.logging.ConnectorLogger;
 import org.jboss.as.connector.services.workmanager.NamedDistributedWorkManager;
+import org.jboss.as.connector.services.workmanager.transport.CommandDispatcherTransport;
 import org.jboss.as.connector.util.ConnectorServices;
 import org.jboss.as.connector.util.Injection;
 import org.jboss.as.controller.AbstractWriteAttributeHandler;
@@ -123,6 +124,10 @@ public class JcaDistributedWorkManagerWriteHandler extends AbstractWriteAttribut
                 }
 
             }
+        } else if (attributeName.equals(JcaDistributedWorkManagerDefinition.DWmParameters.STATISTICS_FLUSH_PERIOD.getAttribute().getName())) {
+            if (namedDistributedWorkManager.getTransport() instanceof CommandDispatcherTransport) {
+                ((CommandDispatcherTransport) namedDistributedWorkManager.getTransport()).setStatisticsFlushPeriod(resolvedValue.asLong());
+            }
         }
 
 
@@ -133,6 +138,16 @@ public class JcaDistributedWorkManagerWriteHandler extends AbstractWriteAttribut
     @Override
     protected void revertUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName, ModelNode valueToRestore, ModelNode valueToRevert, JcaSubsystemConfiguration handback) throws OperationFailedException {
 
+        if (attributeName.equals(JcaDistributedWorkManagerDefinition.DWmParameters.STATISTICS_FLUSH_PERIOD.getAttribute().getName())) {
+            final String name = PathAddress.pathAddress(operation.require(OP_ADDR)).getLastElement().getValue();
+            final long period = JcaDistributedWorkManagerDefinition.DWmParameters.STATISTICS_FLUSH_PERIOD.getAttribute().resolveValue(context, valueToRestore).asLong(0L);
+            Object wm = context.getServiceRegistry(true).getService(ConnectorServices.WORKMANAGER_SERVICE.append(name)).getValue();
+            if (wm instanceof NamedDistributedWorkManager && ((NamedDistributedWorkManager) wm).getTransport() instanceof CommandDispatcherTransport) {
+                ((CommandDispatcherTransport) ((NamedDistributedWorkManager) wm).getTransport()).setStatisticsFlushPeriod(period);
+            }
+            return;
+        }
+
         CachedConnectionManager ccm = (CachedConnectionManager) context.getServiceRegistry(true).getService(ConnectorServices.CCM_SERVICE).getValue();
 
         if (attributeName.equals(JcaCachedConnectionManagerDefinition.CcmParameters.DEBUG.getAttribute().getName())) {
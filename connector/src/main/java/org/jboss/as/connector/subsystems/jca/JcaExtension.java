@@ -80,7 +80,7 @@ public class JcaExtension implements Extension {
 
     public static final String SUBSYSTEM_NAME = "jca";
 
-    private static final ModelVersion CURRENT_MODEL_VERSION = ModelVersion.create(5, 0, 0);
+    private static final ModelVersion CURRENT_MODEL_VERSION = ModelVersion.create(6, 0, 0);
 
     private static final String RESOURCE_NAME = JcaExtension.class.getPackage().getName() + ".LocalDescriptions";
 
@@ -113,6 +113,7 @@ public class JcaExtension implements Extension {
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.JCA_3_0.getUriString(), () -> ConnectorSubsystemParser.INSTANCE);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.JCA_4_0.getUriString(), () -> ConnectorSubsystemParser.INSTANCE);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.JCA_5_0.getUriString(), () -> ConnectorSubsystemParser.INSTANCE);
+        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.JCA_6_0.getUriString(), () -> ConnectorSubsystemParser.INSTANCE);
     }
 
     static final class ConnectorSubsystemParser implements XMLStreamConstants, XMLElementReader<List<ModelNode>>,
@@ -197,6 +198,7 @@ public class JcaExtension implements Extension {
                     ModelNode workManager = workManagers.get(name);
                     writer.writeStartElement(Element.DISTRIBUTED_WORKMANAGER.getLocalName());
                     ((SimpleAttributeDefinition) JcaDistributedWorkManagerDefinition.DWmParameters.NAME.getAttribute()).marshallAsAttribute(workManager, writer);
+                    ((SimpleAttributeDefinition) JcaDistributedWorkManagerDefinition.DWmParameters.STATISTICS_FLUSH_PERIOD.getAttribute()).marshallAsAttribute(workManager, writer);
 
                     JcaDistributedWorkManagerDefinition.DWmParameters.ELYTRON_ENABLED.getAttribute().marshallAsElement(workManager, writer);
 
@@ -325,6 +327,7 @@ public class JcaExtension implements Extension {
             while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
 
                 switch (Namespace.forUri(reader.getNamespaceURI())) {
+                    case JCA_6_0:
                     case JCA_5_0:
                     case JCA_4_0:
                     case JCA_3_0:
@@ -385,7 +388,8 @@ public class JcaExtension implements Extension {
                             case TRACER: {
                                 if (Namespace.forUri(reader.getNamespaceURI()).equals(Namespace.JCA_3_0) ||
                                     Namespace.forUri(reader.getNamespaceURI()).equals(Namespace.JCA_4_0) ||
-                                    Namespace.forUri(reader.getNamespaceURI()).equals(Namespace.JCA_5_0)) {
+                                    Namespace.forUri(reader.getNamespaceURI()).equals(Namespace.JCA_5_0) ||
+                                    Namespace.forUri(reader.getNamespaceURI()).equals(Namespace.JCA_6_0)) {
                                     list.add(parseTracer(reader, address));
                                 } else {
                                     throw unexpectedElement(reader);
@@ -524,7 +528,8 @@ public class JcaExtension implements Extension {
                     }
                     case ELYTRON_ENABLED: {
                         switch (readerNS) {
-                            case JCA_5_0: {
+                            case JCA_5_0:
+                            case JCA_6_0: {
                                 String value = rawElementText(reader);
                                 JcaWorkManagerDefinition.WmParameters.ELYTRON_ENABLED.getAttribute().parseAndSetParameter(value, workManagerOperation, reader);
                                 break;
@@ -562,6 +567,14 @@ public class JcaExtension implements Extension {
                         ((SimpleAttributeDefinition) attributeDefinition).parseAndSetParameter(name, distributedWorkManagerOperation, reader);
                         break;
                     }
+                    case STATISTICS_FLUSH_PERIOD: {
+                        if (Namespace.forUri(reader.getNamespaceURI()) != Namespace.JCA_6_0) {
+                            throw unexpectedAttribute(reader, i);
+                        }
+                        String value = rawAttributeText(reader, attribute.getLocalName());
+                        ((SimpleAttributeDefinition) JcaDistributedWorkManagerDefinition.DWmParameters.STATISTICS_FLUSH_PERIOD.getAttribute()).parseAndSetParameter(value, distributedWorkManagerOperation, reader);
+                        break;
+                    }
                     default: {
                         throw unexpectedAttribute(reader, i);
                     }
@@ -603,7 +616,8 @@ public class JcaExtension implements Extension {
                             case JCA_2_0:
                             case JCA_3_0:
                             case JCA_4_0:
-                            case JCA_5_0: {
+                            case JCA_5_0:
+                            case JCA_6_0: {
                                 parsePolicy(reader, distributedWorkManagerOperation);
                                 break;
                             }
@@ -618,7 +632,8 @@ public class JcaExtension implements Extension {
                             case JCA_2_0:
                             case JCA_3_0:
                             case JCA_4_0:
-                            case JCA_5_0: {
+                            case JCA_5_0:
+                            case JCA_6_0: {
                                 parseSelector(reader, distributedWorkManagerOperation);
                                 break;
                             }
@@ -630,7 +645,8 @@ public class JcaExtension implements Extension {
                     }
                     case ELYTRON_ENABLED: {
                         switch (readerNS) {
-                            case JCA_5_0: {
+                            case JCA_5_0:
+                            case JCA_6_0: {
                                 String value = rawElementText(reader);
                                 ((SimpleAttributeDefinition) JcaDistributedWorkManagerDefinition.DWmParameters.ELYTRON_ENABLED.getAttribute()).parseAndSetParameter(value, distributedWorkManagerOperation, reader);
                                 break;
@@ -678,6 +678,8 @@ public class Constants {
 
     static final String START_WORK_REJECTED_NAME = "startwork-rejected";
 
+    static final String STATISTICS_MESSAGES_SAVED_NAME = "statistics-messages-saved";
+
 
     static SimpleAttributeDefinition WORK_ACTIVE = new SimpleAttributeDefinitionBuilder(WORK_ACTIVE_NAME, ModelType.INT)
             .setStorageRuntime()
@@ -724,6 +726,11 @@ public class Constants {
             .setUndefinedMetricValue(new ModelNode(0))
             .build();
 
+    public static SimpleAttributeDefinition STATISTICS_MESSAGES_SAVED = new SimpleAttributeDefinitionBuilder(STATISTICS_MESSAGES_SAVED_NAME, ModelType.LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .build();
+
 
     public static SimpleAttributeDefinition[] WORKMANAGER_METRICS = new SimpleAttributeDefinition[]{WORK_ACTIVE, WORK_SUCCESSFUL, WORK_FAILED, DO_WORK_ACCEPTED,
             DO_WORK_REJECTED, SCHEDULED_WORK_ACCEPTED, SCHEDULED_WORK_REJECTED, START_WORK_ACCEPTED, START_WORK_REJECTED};
@@ -23,6 +23,7 @@
 package org.jboss.as.connector.subsystems.resourceadapters;
 
 import org.jboss.as.connector.logging.ConnectorLogger;
+import org.jboss.as.connector.services.workmanager.transport.CommandDispatcherTransport;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
@@ -31,6 +32,7 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.jca.core.api.workmanager.DistributedWorkManager;
 import org.jboss.jca.core.api.workmanager.WorkManager;
 import org.jboss.jca.core.api.workmanager.WorkManagerStatistics;
+import org.jboss.jca.core.spi.workmanager.transport.Transport;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 
@@ -92,6 +94,11 @@ public class WorkManagerRuntimeAttributeReadHandler implements OperationStepHand
                                 result.set(wmStat.getStartWorkRejected());
                                 break;
                             }
+                            case Constants.STATISTICS_MESSAGES_SAVED_NAME: {
+                                Transport transport = ((DistributedWorkManager) wm).getTransport();
+                                result.set((transport instanceof CommandDispatcherTransport) ? ((CommandDispatcherTransport) transport).getStatisticsMessagesSaved() : 0L);
+                                break;
+                            }
                             case ModelDescriptionConstants.STATISTICS_ENABLED: {
                                 if (distributed) {
                                     result.set(((DistributedWorkManager) wm).isDistributedStatisticsEnabled());
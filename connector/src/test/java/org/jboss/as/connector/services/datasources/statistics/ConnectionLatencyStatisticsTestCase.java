@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.services.datasources.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ConnectionLatencyStatistics}.
+ */
+public class ConnectionLatencyStatisticsTestCase {
+
+    @Test
+    public void histogramBucketsAreCumulative() {
+        ConnectionLatencyStatistics statistics = new ConnectionLatencyStatistics();
+        statistics.setEnabled(true);
+
+        statistics.created(startedBefore(20));
+        statistics.created(startedBefore(200));
+        statistics.created(startedBefore(20000));
+
+        assertEquals(0L, statistics.getValue("CreationTimeUpTo10ms"));
+        assertEquals(1L, statistics.getValue("CreationTimeUpTo50ms"));
+        assertEquals(2L, statistics.getValue("CreationTimeUpTo500ms"));
+        assertEquals(2L, statistics.getValue("CreationTimeUpTo10000ms"));
+        assertEquals(3L, statistics.getValue("CreationTimeCount"));
+        assertEquals(0L, statistics.getValue("AcquisitionTimeCount"));
+        assertEquals(long.class, statistics.getType("CreationTimeCount"));
+        assertTrue(statistics.getNames().contains("HoldTimeUpTo1ms"));
+
+        statistics.clear();
+        assertEquals(0L, statistics.getValue("CreationTimeCount"));
+    }
+
+    @Test
+    public void holdTime() {
+        ConnectionLatencyStatistics statistics = new ConnectionLatencyStatistics();
+        statistics.setEnabled(true);
+        Object connection = new Object();
+
+        statistics.acquired(connection, startedBefore(2));
+        assertEquals(1L, statistics.getValue("AcquisitionTimeUpTo5ms"));
+        assertEquals(0L, statistics.getValue("AcquisitionTimeUpTo1ms"));
+
+        statistics.released(connection);
+        assertEquals(1L, statistics.getValue("HoldTimeCount"));
+        // Released connections are no longer tracked
+        statistics.released(connection);
+        assertEquals(1L, statistics.getValue("HoldTimeCount"));
+    }
+
+    @Test
+    public void discarded() {
+        ConnectionLatencyStatistics statistics = new ConnectionLatencyStatistics();
+        statistics.setEnabled(true);
+        Object connection = new Object();
+
+        statistics.acquired(connection, startedBefore(2));
+        statistics.discarded(connection);
+        // Discarded connections are no longer tracked
+        statistics.released(connection);
+        assertEquals(1L, statistics.getValue("AcquisitionTimeCount"));
+        assertEquals(0L, statistics.getValue("HoldTimeCount"));
+    }
+
+    @Test
+    public void failedAcquisition() {
+        ConnectionLatencyStatistics statistics = new ConnectionLatencyStatistics();
+        statistics.setEnabled(true);
+
+        statistics.acquired(null, startedBefore(6000));
+        assertEquals(0L, statistics.getValue("AcquisitionTimeUpTo5000ms"));
+        assertEquals(1L, statistics.getValue("AcquisitionTimeUpTo10000ms"));
+        assertEquals(0L, statistics.getValue("HoldTimeCount"));
+    }
+
+    @Test
+    public void disabled() {
+        ConnectionLatencyStatistics statistics = new ConnectionLatencyStatistics();
+        Object connection = new Object();
+
+        statistics.acquired(connection, startedBefore(2));
+        statistics.created(startedBefore(2));
+        statistics.released(connection);
+
+        assertEquals(0L, statistics.getValue("AcquisitionTimeCount"));
+        assertEquals(0L, statistics.getValue("CreationTimeCount"));
+        assertEquals(0L, statistics.getValue("HoldTimeCount"));
+        assertTrue(statistics.getLongHeldOrigins().isEmpty());
+    }
+
+    @Test
+    public void origin() {
+        StackTraceElement[] frames = new StackTraceElement[] {
+                new StackTraceElement("org.jboss.as.connector.subsystems.datasources.WildFlyDataSource", "getConnection", "WildFlyDataSource.java", 1),
+                new StackTraceElement("com.sun.proxy.$Proxy42", "getConnection", null, -1),
+                new StackTraceElement("org.acme.OrderRepository", "findAll", "OrderRepository.java", 42),
+                new StackTraceElement("org.acme.OrderService", "list", "OrderService.java", 7),
+        };
+        assertEquals("org.acme.OrderRepository.findAll(OrderRepository.java:42)", ConnectionLatencyStatistics.findOrigin(frames));
+    }
+
+    private static long startedBefore(long millis) {
+        return System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.services.workmanager.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.jboss.jca.core.workmanager.transport.remote.ProtocolMessages.Request;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.Registration;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.dispatcher.CommandDispatcherFactory;
+import org.wildfly.clustering.group.Group;
+import org.wildfly.clustering.group.Membership;
+import org.wildfly.clustering.group.Node;
+
+/**
+ * Unit test for the coalescing of statistics deltas by {@link CommandDispatcherTransport}.
+ */
+public class CommandDispatcherTransportTestCase {
+
+    // Long enough to never flush during a test, unless requested
+    private static final long PERIOD = TimeUnit.HOURS.toMillis(1);
+
+    private final CommandDispatcherFactory factory = mock(CommandDispatcherFactory.class);
+    private final Group group = mock(Group.class);
+    @SuppressWarnings("unchecked")
+    private final CommandDispatcher<CommandDispatcherTransport> dispatcher = mock(CommandDispatcher.class);
+    private final Node localMember = mock(Node.class);
+    private final Node member = mock(Node.class);
+    private final Address address = new Address("id", "name", "transport");
+    private CommandDispatcherTransport transport;
+
+    @Before
+    public void init() throws Exception {
+        when(this.factory.getGroup()).thenReturn(this.group);
+        when(this.factory.<CommandDispatcherTransport>createCommandDispatcher(any(), any())).thenReturn(this.dispatcher);
+        when(this.group.getLocalMember()).thenReturn(this.localMember);
+        when(this.group.register(any())).thenReturn(mock(Registration.class));
+        doReturn(Collections.emptyMap()).when(this.dispatcher).executeOnGroup(any());
+        doReturn(CompletableFuture.completedFuture(null)).when(this.dispatcher).executeOnMember(any(), any());
+
+        this.transport = new CommandDispatcherTransport(this.factory, "test", PERIOD);
+        this.transport.startup();
+        this.transport.initialize();
+    }
+
+    @After
+    public void destroy() {
+        this.transport.shutdown();
+    }
+
+    @Test
+    public void sumDeltas() throws Exception {
+        this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+        this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+        this.transport.sendMessage(this.member, Request.DELTA_WORK_SUCCESSFUL, this.address);
+
+        verify(this.dispatcher, never()).executeOnMember(any(), any());
+
+        this.transport.flush();
+
+        CommandDispatcherTransport target = this.flushed();
+        verify(target, times(2)).localDeltaDoWorkAccepted(this.address);
+        verify(target).localDeltaWorkSuccessful(this.address);
+        verify(target, never()).localDeltaWorkFailed(this.address);
+        assertEquals(2L, this.transport.getStatisticsMessagesSaved());
+
+        // Nothing left to send
+        this.transport.flush();
+        verify(this.dispatcher, times(1)).executeOnMember(any(), any());
+    }
+
+    @Test
+    public void keepLatestFreeCounts() throws Exception {
+        this.transport.sendMessage(this.member, Request.UPDATE_SHORTRUNNING_FREE, this.address, 5L);
+        this.transport.sendMessage(this.member, Request.UPDATE_SHORTRUNNING_FREE, this.address, 3L);
+        this.transport.sendMessage(this.member, Request.UPDATE_LONGRUNNING_FREE, this.address, 7L);
+
+        this.transport.flush();
+
+        CommandDispatcherTransport target = this.flushed();
+        verify(target).localUpdateShortRunningFree(this.address, 3L);
+        verify(target, never()).localUpdateShortRunningFree(this.address, 5L);
+        verify(target).localUpdateLongRunningFree(this.address, 7L);
+    }
+
+    @Test
+    public void clearStatistics() throws Exception {
+        this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+        this.transport.sendMessage(this.member, Request.CLEAR_DISTRIBUTED_STATISTICS, this.address);
+
+        // The clear request itself is sent immediately
+        verify(this.dispatcher).executeOnMember(any(ClearDistributedStatisticsCommand.class), eq(this.member));
+
+        this.transport.flush();
+
+        // The pending deltas were dropped
+        verify(this.dispatcher, never()).executeOnMember(any(StatisticsDeltaCommand.class), any());
+    }
+
+    @Test
+    public void memberLeft() throws Exception {
+        this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+
+        this.transport.membershipChanged(membership(this.localMember, this.member), membership(this.localMember), false);
+        this.transport.flush();
+
+        verify(this.dispatcher, never()).executeOnMember(any(), any());
+    }
+
+    @Test
+    public void changePeriod() throws Exception {
+        this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+
+        // Pending deltas are sent once the period changes
+        this.transport.setStatisticsFlushPeriod(0L);
+
+        assertEquals(0L, this.transport.getStatisticsFlushPeriod());
+        verify(this.flushed()).localDeltaDoWorkAccepted(this.address);
+
+        // Subsequent deltas are sent individually
+        this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+
+        verify(this.dispatcher).executeOnMember(any(DeltaDoWorkAcceptedCommand.class), eq(this.member));
+
+        // ... until coalescing is enabled again
+        this.transport.setStatisticsFlushPeriod(PERIOD);
+        this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+
+        verify(this.dispatcher, times(2)).executeOnMember(any(), any());
+    }
+
+    @Test
+    public void notInitialized() throws Exception {
+        CommandDispatcherTransport transport = new CommandDispatcherTransport(this.factory, "test", PERIOD);
+        transport.startup();
+        try {
+            transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+
+            verify(this.dispatcher).executeOnMember(any(DeltaDoWorkAcceptedCommand.class), eq(this.member));
+        } finally {
+            transport.shutdown();
+        }
+    }
+
+    @Test
+    public void shutdown() throws Exception {
+        this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+
+        this.transport.shutdown();
+
+        // Pending deltas are flushed on shutdown
+        verify(this.flushed()).localDeltaDoWorkAccepted(this.address);
+
+        // Deltas are no longer accumulated once shutdown
+        this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+        this.transport.flush();
+
+        verify(this.dispatcher, times(1)).executeOnMember(any(), any());
+    }
+
+    /**
+     * Applies the single statistics delta command sent to the member to a mock transport.
+     */
+    private CommandDispatcherTransport flushed() throws Exception {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Command<Void, CommandDispatcherTransport>> captor = ArgumentCaptor.forClass(Command.class);
+        verify(this.dispatcher).executeOnMember(captor.capture(), eq(this.member));
+        Command<Void, CommandDispatcherTransport> command = captor.getValue();
+        assertTrue(command instanceof StatisticsDeltaCommand);
+        CommandDispatcherTransport target = mock(CommandDispatcherTransport.class);
+        command.execute(target);
+        return target;
+    }
+
+    private static Membership membership(Node... members) {
+        Membership membership = mock(Membership.class);
+        List<Node> list = Arrays.asList(members);
+        when(membership.getMembers()).thenReturn(list);
+        return membership;
+    }
+}
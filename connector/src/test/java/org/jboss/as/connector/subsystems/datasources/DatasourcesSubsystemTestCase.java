@@ -72,7 +72,7 @@ public class DatasourcesSubsystemTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-datasources_5_0.xsd";
+        return "schema/wildfly-datasources_6_0.xsd";
     }
 
     @Override
@@ -95,7 +95,12 @@ public class DatasourcesSubsystemTestCase extends AbstractSubsystemBaseTest {
 
     @Test
     public void testElytronConfig() throws Exception {
-        standardSubsystemTest("datasources-elytron-enabled_5_0.xml");
+        standardSubsystemTest("datasources-elytron-enabled_5_0.xml", false);
+    }
+
+    @Test
+    public void testRoutingConfig() throws Exception {
+        standardSubsystemTest("datasources-routing.xml");
     }
 
     @Test
@@ -159,6 +164,20 @@ public class DatasourcesSubsystemTestCase extends AbstractSubsystemBaseTest {
         testTransformerEAP7Rejection("datasources-no-connection-url.xml");
     }
 
+    @Test
+    public void testRoutingRejectionsEAP7() throws Exception {
+        ModelTestControllerVersion eap7ControllerVersion = ModelTestControllerVersion.EAP_7_0_0;
+        ModelVersion eap7ModelVersion = ModelVersion.create(4, 0, 0);
+        KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization());
+        KernelServices mainServices = initialKernelServices(builder, eap7ControllerVersion, eap7ModelVersion);
+        List<ModelNode> ops = builder.parseXmlResource("datasources-routing.xml");
+        PathAddress subsystemAddress = PathAddress.pathAddress(DataSourcesSubsystemRootDefinition.PATH_SUBSYSTEM);
+
+        ModelTestUtils.checkFailedTransformedBootOperations(mainServices, eap7ModelVersion, ops, new FailedOperationTransformationConfig()
+                .addFailedAttribute(subsystemAddress.append(RoutingDataSourceDefinition.PATH_ROUTING_DATASOURCE), FailedOperationTransformationConfig.REJECTED_RESOURCE)
+        );
+    }
+
     private KernelServices initialKernelServices(KernelServicesBuilder builder, ModelTestControllerVersion controllerVersion, final ModelVersion modelVersion) throws Exception {
         LegacyKernelServicesInitializer initializer = builder.createLegacyKernelServicesBuilder(null, controllerVersion, modelVersion);
         String mavenGroupId = controllerVersion.getMavenGroupId();
@@ -0,0 +1,297 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RoutingDataSource}.
+ */
+public class RoutingDataSourceTestCase {
+
+    @Test
+    public void writesUsePrimary() throws SQLException {
+        StubDataSource primary = new StubDataSource();
+        StubDataSource replica = new StubDataSource();
+        RoutingDataSource dataSource = createDataSource(primary, replica);
+
+        try (Connection connection = dataSource.getConnection()) {
+            // Not yet routed
+            assertEquals(0, primary.connections.size());
+            connection.createStatement();
+            assertEquals(1, primary.connections.size());
+            assertEquals(0, replica.connections.size());
+        }
+        assertTrue(primary.connections.get(0).closed);
+        assertEquals(0, dataSource.getTargets().get(0).getOutstandingCount());
+    }
+
+    @Test
+    public void readOnlyUsesReplica() throws SQLException {
+        StubDataSource primary = new StubDataSource();
+        StubDataSource replica = new StubDataSource();
+        RoutingDataSource dataSource = createDataSource(primary, replica);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            assertTrue(connection.isReadOnly());
+            connection.createStatement();
+            assertEquals(0, primary.connections.size());
+            assertEquals(1, replica.connections.size());
+            StubConnection physical = replica.connections.get(0);
+            assertTrue(physical.readOnly);
+            assertFalse(physical.autoCommit);
+            assertEquals(1, dataSource.getTargets().get(1).getOutstandingCount());
+        }
+        assertEquals(0, dataSource.getTargets().get(1).getOutstandingCount());
+        assertEquals(1, dataSource.getTargets().get(1).getAcquisitionCount());
+    }
+
+    @Test
+    public void leastOutstanding() throws SQLException {
+        StubDataSource primary = new StubDataSource();
+        StubDataSource replica1 = new StubDataSource();
+        StubDataSource replica2 = new StubDataSource();
+        RoutingDataSource dataSource = createDataSource(primary, replica1, replica2);
+
+        Connection first = readOnlyConnection(dataSource);
+        Connection second = readOnlyConnection(dataSource);
+        assertEquals(1, replica1.connections.size());
+        assertEquals(1, replica2.connections.size());
+
+        first.close();
+        // Whichever replica served the first connection now has fewer outstanding connections
+        StubDataSource idle = replica1.connections.get(0).closed ? replica1 : replica2;
+        readOnlyConnection(dataSource).close();
+        readOnlyConnection(dataSource);
+        assertEquals(3, idle.connections.size());
+        second.close();
+    }
+
+    @Test
+    public void fallback() throws SQLException {
+        StubDataSource primary = new StubDataSource();
+        StubDataSource replica1 = new StubDataSource();
+        StubDataSource replica2 = new StubDataSource();
+        replica1.failing = true;
+        replica2.failing = true;
+        RoutingDataSource dataSource = createDataSource(primary, replica1, replica2);
+
+        readOnlyConnection(dataSource).close();
+        assertEquals(1, primary.connections.size());
+        assertEquals(1, dataSource.getFallbackCount());
+        assertEquals(1, dataSource.getTargets().get(1).getFailureCount());
+        assertEquals(1, dataSource.getTargets().get(2).getFailureCount());
+
+        // Failed replicas are not retried until the retry interval elapses
+        replica1.failing = false;
+        readOnlyConnection(dataSource).close();
+        assertEquals(2, primary.connections.size());
+        assertEquals(2, dataSource.getFallbackCount());
+        assertEquals(1, dataSource.getTargets().get(1).getFailureCount());
+    }
+
+    @Test
+    public void retry() throws SQLException {
+        StubDataSource primary = new StubDataSource();
+        StubDataSource replica = new StubDataSource();
+        replica.failing = true;
+        RoutingDataSource dataSource = new RoutingDataSource("routing", "primary", primary, replicas(replica), 0L);
+
+        readOnlyConnection(dataSource).close();
+        assertEquals(1, primary.connections.size());
+
+        replica.failing = false;
+        readOnlyConnection(dataSource).close();
+        assertEquals(1, primary.connections.size());
+        assertEquals(1, replica.connections.size());
+    }
+
+    @Test
+    public void unusedConnection() throws SQLException {
+        StubDataSource primary = new StubDataSource();
+        RoutingDataSource dataSource = createDataSource(primary);
+
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        connection.commit();
+        connection.close();
+        assertTrue(connection.isClosed());
+        assertEquals(0, primary.connections.size());
+        try {
+            connection.createStatement();
+        } catch (SQLException e) {
+            assertEquals(0, primary.connections.size());
+            return;
+        }
+        throw new AssertionError();
+    }
+
+    @Test
+    public void obtainedOutsideTransactionUsedWithin() throws SQLException {
+        StubDataSource primary = new StubDataSource();
+        RoutingDataSource dataSource = createDataSource(primary);
+
+        try (Connection connection = dataSource.getConnection()) {
+            // Begin a transaction after obtaining the connection, but before its first use
+            Object tx = new Object();
+            primary.transaction = tx;
+            connection.createStatement();
+            // The physical connection is enlisted in the transaction active upon first use
+            assertEquals(1, primary.connections.size());
+            assertSame(tx, primary.connections.get(0).transaction);
+            primary.transaction = null;
+        }
+    }
+
+    @Test
+    public void obtainedWithinTransactionUsedOutside() throws SQLException {
+        StubDataSource primary = new StubDataSource();
+        RoutingDataSource dataSource = createDataSource(primary);
+
+        primary.transaction = new Object();
+        try (Connection connection = dataSource.getConnection()) {
+            // Complete the transaction before first use of the connection
+            primary.transaction = null;
+            connection.createStatement();
+            // The physical connection is not enlisted in the completed transaction
+            assertEquals(1, primary.connections.size());
+            assertNull(primary.connections.get(0).transaction);
+        }
+    }
+
+    private static Connection readOnlyConnection(RoutingDataSource dataSource) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.setReadOnly(true);
+        connection.createStatement();
+        return connection;
+    }
+
+    private static RoutingDataSource createDataSource(DataSource primary, DataSource... replicas) {
+        return new RoutingDataSource("routing", "primary", primary, replicas(replicas), 60000L);
+    }
+
+    private static Map<String, DataSource> replicas(DataSource... replicas) {
+        Map<String, DataSource> result = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.length; ++i) {
+            result.put("replica" + i, replicas[i]);
+        }
+        return result;
+    }
+
+    static class StubConnection {
+        boolean closed = false;
+        boolean readOnly = false;
+        boolean autoCommit = true;
+        // The transaction in which this connection was enlisted, if any
+        Object transaction;
+    }
+
+    static class StubDataSource implements DataSource {
+        final List<StubConnection> connections = new ArrayList<>();
+        boolean failing = false;
+        // Emulates the transaction associated with the calling thread, in which new connections are enlisted
+        Object transaction;
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (this.failing) {
+                throw new SQLException();
+            }
+            StubConnection stub = new StubConnection();
+            stub.transaction = this.transaction;
+            this.connections.add(stub);
+            return (Connection) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close":
+                        stub.closed = true;
+                        return null;
+                    case "setReadOnly":
+                        stub.readOnly = (Boolean) args[0];
+                        return null;
+                    case "setAutoCommit":
+                        stub.autoCommit = (Boolean) args[0];
+                        return null;
+                    default:
+                        return null;
+                }
+            });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return this.getConnection();
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return null;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            throw new SQLException();
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return false;
+        }
+    }
+}
@@ -23,6 +23,7 @@ package org.jboss.as.connector.subsystems.jca;
 
 import static org.jboss.as.connector.subsystems.jca.Constants.WORKMANAGER_SHORT_RUNNING;
 import static org.jboss.as.connector.subsystems.jca.JcaDistributedWorkManagerDefinition.DWmParameters.ELYTRON_ENABLED;
+import static org.jboss.as.connector.subsystems.jca.JcaDistributedWorkManagerDefinition.DWmParameters.STATISTICS_FLUSH_PERIOD;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -67,7 +68,7 @@ public class JcaSubsystemTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-jca_5_0.xsd";
+        return "schema/wildfly-jca_6_0.xsd";
     }
 
     @Override
@@ -104,6 +105,11 @@ public class JcaSubsystemTestCase extends AbstractSubsystemBaseTest {
         standardSubsystemTest("jca-full-expression.xml", "jca-full.xml");
     }
 
+    @Test
+    public void testStatisticsFlushPeriodConfig() throws Exception {
+        standardSubsystemTest("jca-statistics-flush-period.xml");
+    }
+
     /** WFLY-2640 and WFLY-8141 */
     @Test
     public void testCCMHandling() throws Exception {
@@ -186,6 +192,31 @@ public class JcaSubsystemTestCase extends AbstractSubsystemBaseTest {
     public void testTransformerEAP7Elytron() throws Exception {
         testRejectingTransformerElytronEnabled(ModelTestControllerVersion.EAP_7_0_0, ModelVersion.create(4, 0, 0), "jca-full-elytron.xml");
     }
+
+    @Test
+    public void testTransformerEAP7StatisticsFlushPeriod() throws Exception {
+        ModelTestControllerVersion controllerVersion = ModelTestControllerVersion.EAP_7_0_0;
+        ModelVersion modelVersion = ModelVersion.create(4, 0, 0);
+        KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization());
+
+        builder.createLegacyKernelServicesBuilder(null, controllerVersion, modelVersion)
+                .addMavenResourceURL(controllerVersion.getMavenGroupId() + ":wildfly-connector:" + controllerVersion.getMavenGavVersion())
+                .addMavenResourceURL(controllerVersion.getCoreMavenGroupId() + ":wildfly-threads:" + controllerVersion.getCoreVersion())
+                .setExtensionClassName("org.jboss.as.connector.subsystems.jca.JcaExtension")
+                .excludeFromParent(SingleClassFilter.createFilter(ConnectorLogger.class));
+
+        KernelServices mainServices = builder.build();
+        assertTrue("main services did not boot", mainServices.isSuccessfulBoot());
+        assertTrue(mainServices.getLegacyServices(modelVersion).isSuccessfulBoot());
+
+        List<ModelNode> xmlOps = builder.parseXmlResource("jca-statistics-flush-period.xml");
+
+        ModelTestUtils.checkFailedTransformedBootOperations(mainServices, modelVersion, xmlOps,
+                new FailedOperationTransformationConfig()
+                        .addFailedAttribute(PathAddress.pathAddress(JcaSubsystemRootDefinition.PATH_SUBSYSTEM, JcaDistributedWorkManagerDefinition.PATH_DISTRIBUTED_WORK_MANAGER),
+                                new FailedOperationTransformationConfig.NewAttributesConfig(STATISTICS_FLUSH_PERIOD.getAttribute())));
+    }
+
     /**
      * Tests transformation of model from 1.2.0 version into 1.1.0 version.
      *
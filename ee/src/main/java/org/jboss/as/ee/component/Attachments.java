@@ -93,4 +93,10 @@ public class Attachments {
     public static final AttachmentKey<AttachmentList<ContextHandleFactory>> ADDITIONAL_FACTORIES = AttachmentKey.createList(ContextHandleFactory.class);
 
     public static final AttachmentKey<ConcurrentContextSetupAction> CONCURRENT_CONTEXT_SETUP_ACTION = AttachmentKey.create(ConcurrentContextSetupAction.class);
+
+    /**
+     * Marks a top level deployment whose stateful session beans may share object references with the other beans of their group,
+     * e.g. an inherited extended persistence context, in which case the beans of a group must be stored together.
+     */
+    public static final AttachmentKey<Boolean> SHARED_BEAN_GROUP_REFERENCES = AttachmentKey.create(Boolean.class);
 }
@@ -137,6 +137,11 @@ public class DistributableCacheFactoryBuilderServiceConfigurator<K, V extends Id
                 // TODO Once based on JDK9+, change to Duration.of(this.info.getValue(), this.info.getTimeUnit().toChronoUnit())
                 return (info != null) ? Duration.ofMillis(TimeUnit.MILLISECONDS.convert(info.getValue(), info.getTimeUnit())) : null;
             }
+
+            @Override
+            public boolean hasSharedGroupReferences() {
+                return description.hasSharedGroupReferences();
+            }
         };
         CapabilityServiceConfigurator configurator = this.builder.getBeanManagerFactoryServiceConfigurator(context);
         return new DistributableCacheFactoryServiceConfigurator<K, V>(name, configurator);
@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.simple;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.Marshalling;
+import org.jboss.marshalling.Unmarshaller;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Stores passivated beans as individual files within a private directory, using the versioned marshalling configuration of the deployment.
+ * Each file contains the marshalling version, followed by the marshalled bean.
+ * The directory, and thus any beans still passivated, is deleted when the store is closed.
+ *
+ * @param <V> the bean type
+ */
+public class FilePassivationStore<V> implements AutoCloseable {
+
+    private final File directory;
+    private final MarshallingContext context;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public FilePassivationStore(File parent, String prefix, MarshallingContext context) {
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw EjbLogger.ROOT_LOGGER.passivationDirectoryCreationFailed(parent.getPath());
+        }
+        try {
+            this.directory = Files.createTempDirectory(parent.toPath(), prefix).toFile();
+        } catch (IOException e) {
+            throw EjbLogger.ROOT_LOGGER.passivationDirectoryCreationFailed(parent.getPath());
+        }
+        this.context = context;
+    }
+
+    /**
+     * Writes the specified bean to a new file.
+     * @param value a bean
+     * @return the file containing the bean
+     * @throws IOException if the bean could not be written
+     */
+    public File store(V value) throws IOException {
+        File file = new File(this.directory, Long.toString(this.sequence.incrementAndGet()));
+        int version = this.context.getCurrentVersion();
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(file))) {
+            DataOutputStream data = new DataOutputStream(output);
+            data.writeInt(version);
+            Marshaller marshaller = this.context.createMarshaller(version);
+            try {
+                marshaller.start(Marshalling.createByteOutput(output));
+                marshaller.writeObject(value);
+                marshaller.finish();
+            } finally {
+                marshaller.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            file.delete();
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Reads the bean from the specified file, which is deleted once read successfully.
+     * @param file a file returned by {@link #store(Object)}
+     * @return the bean
+     * @throws IOException if the bean could not be read
+     * @throws ClassNotFoundException if the class of the bean, or of any of its state, could not be resolved
+     */
+    @SuppressWarnings("unchecked")
+    public V load(File file) throws IOException, ClassNotFoundException {
+        V value;
+        ClassLoader loader = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(this.context.getClassLoader());
+        try (InputStream input = new BufferedInputStream(new FileInputStream(file))) {
+            int version = new DataInputStream(input).readInt();
+            Unmarshaller unmarshaller = this.context.createUnmarshaller(version);
+            try {
+                unmarshaller.start(Marshalling.createByteInput(input));
+                value = (V) unmarshaller.readObject();
+                unmarshaller.finish();
+            } finally {
+                unmarshaller.close();
+            }
+        } finally {
+            WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader);
+        }
+        this.remove(file);
+        return value;
+    }
+
+    /**
+     * Discards the specified file.
+     * @param file a file returned by {@link #store(Object)}
+     */
+    public void remove(File file) {
+        file.delete();
+    }
+
+    @Override
+    public void close() {
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        this.directory.delete();
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.simple;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.ejb3.cache.Cache;
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.component.stateful.StatefulTimeoutInfo;
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.ejb.client.Affinity;
+import org.jboss.ejb.client.NodeAffinity;
+import org.wildfly.clustering.ejb.IdentifierFactory;
+import org.wildfly.clustering.ejb.PassivationListener;
+
+/**
+ * Non-clustered {@link Cache} implementation that bounds the number of beans held in memory.
+ * Once the number of beans in memory exceeds the configured maximum, the least recently used beans that are not in use are passivated to a {@link FilePassivationStore}.
+ * A passivated bean is activated on its next use.
+ * A passivated bean that expires is discarded without being activated, and thus without invoking its pre-destroy callbacks.
+ *
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+public class PassivatingSimpleCache<K, V extends Identifiable<K>> implements Cache<K, V> {
+
+    final Map<K, Future<?>> expirationFutures = new ConcurrentHashMap<>();
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    // Beans in memory that are not in use, in least recently used order, guarded by itself
+    private final Map<K, Entry<V>> idle = new LinkedHashMap<>();
+    private final AtomicInteger resident = new AtomicInteger();
+    private final AtomicInteger passivated = new AtomicInteger();
+    private final StatefulObjectFactory<V> factory;
+    private final IdentifierFactory<K> identifierFactory;
+    private final PassivationListener<V> passivationListener;
+    private final FilePassivationStore<V> store;
+    private final int maxSize;
+    private final StatefulTimeoutInfo timeout;
+    private final ServerEnvironment environment;
+    private final ScheduledExecutorService executor;
+
+    public PassivatingSimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, PassivationListener<V> passivationListener, FilePassivationStore<V> store, int maxSize, StatefulTimeoutInfo timeout, ServerEnvironment environment, ScheduledExecutorService executor) {
+        this.factory = factory;
+        this.identifierFactory = identifierFactory;
+        this.passivationListener = passivationListener;
+        this.store = store;
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.environment = environment;
+        this.executor = executor;
+    }
+
+    @Override
+    public void start() {
+        // Do nothing
+    }
+
+    @Override
+    public void stop() {
+        for (Future<?> future: this.expirationFutures.values()) {
+            future.cancel(true);
+        }
+        for (Future<?> future: this.expirationFutures.values()) {
+            if (!future.isCancelled() && !future.isDone()) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    // Ignore
+                }
+            }
+        }
+        for (Entry<V> entry : this.entries.values()) {
+            V value = entry.invalidate();
+            if (value != null) {
+                this.factory.destroyInstance(value);
+            }
+        }
+        this.expirationFutures.clear();
+        this.entries.clear();
+        synchronized (this.idle) {
+            this.idle.clear();
+        }
+        this.resident.set(0);
+        this.passivated.set(0);
+        this.store.close();
+    }
+
+    @Override
+    public Affinity getStrictAffinity() {
+        return new NodeAffinity(this.environment.getNodeName());
+    }
+
+    @Override
+    public Affinity getWeakAffinity(K key) {
+        return Affinity.NONE;
+    }
+
+    @Override
+    public K createIdentifier() {
+        return this.identifierFactory.createIdentifier();
+    }
+
+    @Override
+    public V create() {
+        if (CURRENT_GROUP.get() != null) {
+            // An SFSB that uses a distributable cache cannot contain an SFSB that uses a simple cache
+            throw EjbLogger.ROOT_LOGGER.incompatibleCaches();
+        }
+        V bean = this.factory.createInstance();
+        K id = bean.getId();
+        Entry<V> entry = new Entry<>(bean);
+        this.entries.put(id, entry);
+        this.resident.incrementAndGet();
+        // A new bean is not in use until its first invocation
+        synchronized (this.idle) {
+            this.idle.put(id, entry);
+        }
+        this.evict();
+        return bean;
+    }
+
+    @Override
+    public void discard(V value) {
+        K id = value.getId();
+        Entry<V> entry = this.entries.remove(id);
+        if (entry != null) {
+            this.invalidate(id, entry);
+        }
+    }
+
+    @Override
+    public void remove(K key) {
+        Entry<V> entry = this.entries.remove(key);
+        if (entry != null) {
+            V value = this.invalidate(key, entry);
+            if (value != null) {
+                this.factory.destroyInstance(value);
+            }
+        }
+    }
+
+    private V invalidate(K key, Entry<V> entry) {
+        synchronized (this.idle) {
+            this.idle.remove(key);
+        }
+        File file;
+        V value;
+        synchronized (entry) {
+            file = entry.getFile();
+            value = entry.invalidate();
+        }
+        if (value != null) {
+            this.resident.decrementAndGet();
+        } else if (file != null) {
+            this.passivated.decrementAndGet();
+            this.store.remove(file);
+        }
+        return value;
+    }
+
+    @Override
+    public V get(K key) {
+        Future<?> future = this.expirationFutures.get(key);
+        if (future != null) {
+            future.cancel(true);
+        }
+        Entry<V> entry = this.entries.get(key);
+        if (entry == null) return null;
+        V value;
+        boolean activated = false;
+        synchronized (entry) {
+            if (entry.isInvalid()) return null;
+            value = entry.getValue();
+            if (value == null) {
+                try {
+                    value = this.store.load(entry.getFile());
+                } catch (Exception e) {
+                    throw EjbLogger.ROOT_LOGGER.activationFailed(e, key);
+                }
+                this.passivationListener.postActivate(value);
+                entry.activate(value);
+                this.passivated.decrementAndGet();
+                this.resident.incrementAndGet();
+                activated = true;
+            }
+            entry.use();
+        }
+        synchronized (this.idle) {
+            this.idle.remove(key);
+        }
+        if (activated) {
+            this.evict();
+        }
+        return value;
+    }
+
+    @Override
+    public boolean contains(K key) {
+        return this.entries.containsKey(key);
+    }
+
+    @Override
+    public void release(V bean) {
+        K id = bean.getId();
+        Entry<V> entry = this.entries.get(id);
+        if ((entry != null) && entry.done()) {
+            synchronized (this.idle) {
+                this.idle.put(id, entry);
+            }
+            if (this.timeout != null) {
+                long value = this.timeout.getValue();
+                if (value > 0) {
+                    TimeUnit unit = this.timeout.getTimeUnit();
+                    RemoveTask task = new RemoveTask(id);
+                    // Make sure the expiration future map insertion happens before map removal (during task execution).
+                    synchronized (task) {
+                        this.expirationFutures.put(id, this.executor.schedule(task, value, unit));
+                    }
+                } else if (value == 0) {
+                    // The EJB specification allows a 0 timeout, which means the bean is immediately eligible for removal.
+                    // However, removing it directly is faster than scheduling it for immediate removal.
+                    this.remove(id);
+                    return;
+                }
+            }
+            this.evict();
+        }
+    }
+
+    /**
+     * Passivates the least recently used idle beans until the number of beans in memory no longer exceeds the maximum size.
+     */
+    private void evict() {
+        while (this.resident.get() > this.maxSize) {
+            K key;
+            Entry<V> entry;
+            synchronized (this.idle) {
+                Iterator<Map.Entry<K, Entry<V>>> eldest = this.idle.entrySet().iterator();
+                if (!eldest.hasNext()) {
+                    // Every bean in memory is in use
+                    return;
+                }
+                Map.Entry<K, Entry<V>> next = eldest.next();
+                eldest.remove();
+                key = next.getKey();
+                entry = next.getValue();
+            }
+            this.passivate(key, entry);
+        }
+    }
+
+    private void passivate(K key, Entry<V> entry) {
+        synchronized (entry) {
+            V value = entry.getValue();
+            // Skip beans that were used, removed, or passivated since they were selected
+            if ((value == null) || entry.isInUse()) return;
+            this.passivationListener.prePassivate(value);
+            try {
+                entry.passivate(this.store.store(value));
+            } catch (Exception e) {
+                EjbLogger.ROOT_LOGGER.failedToPassivateBean(key, e);
+                this.passivationListener.postActivate(value);
+                return;
+            }
+            this.resident.decrementAndGet();
+            this.passivated.incrementAndGet();
+        }
+    }
+
+    @Override
+    public int getCacheSize() {
+        return this.resident.get();
+    }
+
+    @Override
+    public int getPassivatedCount() {
+        return this.passivated.get();
+    }
+
+    @Override
+    public int getTotalSize() {
+        return this.entries.size();
+    }
+
+    class RemoveTask implements Runnable {
+        private final K key;
+
+        RemoveTask(K key) {
+            this.key = key;
+        }
+
+        @Override
+        public synchronized void run() {
+            if (!Thread.currentThread().isInterrupted()) {
+                PassivatingSimpleCache.this.remove(this.key);
+            }
+            PassivatingSimpleCache.this.expirationFutures.remove(this.key);
+        }
+    }
+
+    /**
+     * Cache entry whose bean is either in memory or passivated to a file.
+     * Apart from the usage count, state is guarded by the entry itself.
+     */
+    static class Entry<V> {
+        private final AtomicInteger usage = new AtomicInteger();
+        private V value;
+        private File file;
+        private boolean invalid;
+
+        Entry(V value) {
+            this.value = value;
+        }
+
+        void use() {
+            this.usage.incrementAndGet();
+        }
+
+        boolean done() {
+            return this.usage.decrementAndGet() == 0;
+        }
+
+        boolean isInUse() {
+            return this.usage.get() > 0;
+        }
+
+        synchronized V getValue() {
+            return this.value;
+        }
+
+        synchronized File getFile() {
+            return this.file;
+        }
+
+        synchronized boolean isInvalid() {
+            return this.invalid;
+        }
+
+        synchronized void passivate(File file) {
+            this.value = null;
+            this.file = file;
+        }
+
+        synchronized void activate(V value) {
+            this.value = value;
+            this.file = null;
+        }
+
+        /**
+         * Invalidates this entry.
+         * @return the bean, if it was in memory, or null if it was passivated
+         */
+        synchronized V invalidate() {
+            V value = this.value;
+            this.invalid = true;
+            this.value = null;
+            return value;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import org.jboss.as.ejb3.cache.CacheFactoryBuilder;
 import org.jboss.as.ejb3.cache.CacheFactoryBuilderServiceNameProvider;
 import org.jboss.as.ejb3.cache.Identifiable;
 import org.jboss.as.ejb3.component.stateful.StatefulComponentDescription;
+import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.msc.Service;
 import org.jboss.msc.service.ServiceBuilder;
@@ -46,6 +47,7 @@ import org.jboss.threads.JBossThreadFactory;
 import org.wildfly.clustering.service.ServiceConfigurator;
 import org.wildfly.clustering.service.ServiceSupplierDependency;
 import org.wildfly.clustering.service.concurrent.RemoveOnCancelScheduledExecutorServiceConfigurator;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Service that provides a simple {@link CacheFactoryBuilder}.
@@ -64,11 +66,36 @@ public class SimpleCacheFactoryBuilderServiceConfigurator<K, V extends Identifia
         }
     });
 
+    // Maximum number of beans per component held in memory, beyond which idle beans are passivated to disk, or 0 if unbounded
+    private static final String MAX_SIZE = "jboss.ejb.cache.max-size";
+    private static final String CACHE_MAX_SIZE = "jboss.ejb.cache.%s.max-size";
+
     private final String name;
+    private final int maxSize;
 
     public SimpleCacheFactoryBuilderServiceConfigurator(String name) {
         super(name);
         this.name = name;
+        String property = String.format(CACHE_MAX_SIZE, name);
+        String value = WildFlySecurityManager.getPropertyPrivileged(property, null);
+        if (value == null) {
+            property = MAX_SIZE;
+            value = WildFlySecurityManager.getPropertyPrivileged(property, null);
+        }
+        this.maxSize = (value != null) ? parseMaxSize(property, value) : 0;
+    }
+
+    private static int parseMaxSize(String property, String value) {
+        try {
+            int maxSize = Integer.parseInt(value.trim());
+            if (maxSize >= 0) {
+                return maxSize;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through
+        }
+        EjbLogger.ROOT_LOGGER.invalidSystemPropertyValue(value, property, 0);
+        return 0;
     }
 
     @Override
@@ -88,7 +115,9 @@ public class SimpleCacheFactoryBuilderServiceConfigurator<K, V extends Identifia
 
     @Override
     public CapabilityServiceConfigurator getServiceConfigurator(ServiceName name, StatefulComponentDescription description, ComponentConfiguration configuration) {
-        return new SimpleCacheFactoryServiceConfigurator<>(name, description, new ServiceSupplierDependency<>(this.getExpirationSchedulerServiceName(description.getDeploymentUnitServiceName())));
+        // Never passivate beans that are not passivation capable
+        int maxSize = description.isPassivationApplicable() ? this.maxSize : 0;
+        return new SimpleCacheFactoryServiceConfigurator<>(name, description, configuration, new ServiceSupplierDependency<>(this.getExpirationSchedulerServiceName(description.getDeploymentUnitServiceName())), maxSize);
     }
 
     private ServiceName getExpirationSchedulerServiceName(ServiceName deploymentUnitServiceName) {
@@ -97,6 +126,6 @@ public class SimpleCacheFactoryBuilderServiceConfigurator<K, V extends Identifia
 
     @Override
     public boolean supportsPassivation() {
-        return false;
+        return this.maxSize > 0;
     }
 }
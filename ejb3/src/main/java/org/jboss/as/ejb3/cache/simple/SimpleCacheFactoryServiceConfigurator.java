@@ -21,10 +21,12 @@
  */
 package org.jboss.as.ejb3.cache.simple;
 
+import java.io.File;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 
 import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
+import org.jboss.as.ee.component.ComponentConfiguration;
 import org.jboss.as.ejb3.cache.Cache;
 import org.jboss.as.ejb3.cache.CacheFactory;
 import org.jboss.as.ejb3.cache.Identifiable;
@@ -39,7 +41,11 @@ import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
 import org.wildfly.clustering.ejb.IdentifierFactory;
 import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.jboss.MarshallingConfigurationRepository;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingContextFactory;
 import org.wildfly.clustering.service.CompositeDependency;
+import org.wildfly.clustering.service.Dependency;
 import org.wildfly.clustering.service.ServiceSupplierDependency;
 import org.wildfly.clustering.service.SimpleServiceNameProvider;
 import org.wildfly.clustering.service.SupplierDependency;
@@ -57,24 +63,38 @@ public class SimpleCacheFactoryServiceConfigurator<K, V extends Identifiable<K>>
     private final StatefulTimeoutInfo timeout;
     private final SupplierDependency<ServerEnvironment> environment = new ServiceSupplierDependency<>(ServerEnvironmentService.SERVICE_NAME);
     private final SupplierDependency<ScheduledExecutorService> executor;
+    private final SupplierDependency<MarshallingConfigurationRepository> repository;
+    private final String componentName;
+    private final ClassLoader loader;
+    private final int maxSize;
 
-    public SimpleCacheFactoryServiceConfigurator(ServiceName name, StatefulComponentDescription description, SupplierDependency<ScheduledExecutorService> executor) {
+    public SimpleCacheFactoryServiceConfigurator(ServiceName name, StatefulComponentDescription description, ComponentConfiguration configuration, SupplierDependency<ScheduledExecutorService> executor, int maxSize) {
         super(name);
         this.timeout = description.getStatefulTimeout();
         this.executor = executor;
+        this.repository = new ServiceSupplierDependency<>(description.getDeploymentUnitServiceName().append("marshalling"));
+        this.componentName = configuration.getComponentName();
+        this.loader = configuration.getModuleClassLoader();
+        this.maxSize = maxSize;
     }
 
     @Override
     public ServiceBuilder<?> build(ServiceTarget target) {
         ServiceName name = this.getServiceName();
         ServiceBuilder<?> builder = target.addService(name);
-        Consumer<CacheFactory<K, V>> factory = new CompositeDependency(this.environment, this.executor).register(builder).provides(name);
+        Dependency dependency = (this.maxSize > 0) ? new CompositeDependency(this.environment, this.executor, this.repository) : new CompositeDependency(this.environment, this.executor);
+        Consumer<CacheFactory<K, V>> factory = dependency.register(builder).provides(name);
         Service service = Service.newInstance(factory, this);
         return builder.setInstance(service);
     }
 
     @Override
     public Cache<K, V> createCache(IdentifierFactory<K> identifierFactory, StatefulObjectFactory<V> factory, PassivationListener<V> passivationListener) {
+        if (this.maxSize > 0) {
+            MarshallingContext context = new SimpleMarshallingContextFactory().createMarshallingContext(this.repository.get(), this.loader);
+            FilePassivationStore<V> store = new FilePassivationStore<>(new File(this.environment.get().getServerTempDir(), "ejb-passivation"), this.componentName, context);
+            return new PassivatingSimpleCache<>(factory, identifierFactory, passivationListener, store, this.maxSize, this.timeout, this.environment.get(), this.executor.get());
+        }
         return new SimpleCache<>(factory, identifierFactory, this.timeout, this.environment.get(), this.executor.get());
     }
 }
@@ -22,76 +22,99 @@
 package org.jboss.as.ejb3.component.invocationmetrics;
 
 import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.AbstractSet;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.Map;
-import java.util.Set;
+import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * Invocation statistics of a component, and of each of its methods.
+ * Statistics are accumulated in striped counters and histograms, so that recording an invocation neither allocates nor spins on a shared word.
+ * Methods are keyed by their signature, so that overloaded methods are tracked separately.
+ *
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class InvocationMetrics {
     public static class Values {
-        final long invocations;
-        final long executionTime;
-        final long waitTime;
-
-        private Values(final long invocations, final long waitTime, final long executionTime) {
-            this.invocations = invocations;
-            this.executionTime = executionTime;
-            this.waitTime = waitTime;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder executionTime = new LongAdder();
+        private final LongAdder waitTime = new LongAdder();
+        private final LatencyHistogram executionTimes = new LatencyHistogram();
+        private final LatencyHistogram waitTimes = new LatencyHistogram();
+
+        Values() {
+        }
+
+        void record(final long invocationWaitTime, final long invocationExecutionTime) {
+            this.invocations.increment();
+            this.waitTime.add(invocationWaitTime);
+            this.executionTime.add(invocationExecutionTime);
+            this.waitTimes.record(invocationWaitTime);
+            this.executionTimes.record(invocationExecutionTime);
         }
 
+        /**
+         * @return the total execution time in milliseconds
+         */
         public long getExecutionTime() {
-            return executionTime;
+            return TimeUnit.NANOSECONDS.toMillis(executionTime.sum());
         }
 
         public long getInvocations() {
-            return invocations;
+            return invocations.sum();
         }
 
+        /**
+         * @return the total wait time in milliseconds
+         */
         public long getWaitTime() {
-            return waitTime;
+            return TimeUnit.NANOSECONDS.toMillis(waitTime.sum());
+        }
+
+        public LatencyHistogram getExecutionTimeHistogram() {
+            return executionTimes;
+        }
+
+        public LatencyHistogram getWaitTimeHistogram() {
+            return waitTimes;
         }
     }
 
-    private final AtomicReference<Values> values = new AtomicReference<Values>(new Values(0, 0, 0));
+    private final Values values = new Values();
     private final AtomicLong concurrent = new AtomicLong(0);
     private final AtomicLong peakConcurrent = new AtomicLong(0);
 
-    private final ConcurrentMap<String, AtomicReference<Values>> methods = new ConcurrentHashMap<String, AtomicReference<Values>>();
+    // Methods with the same signature, e.g. from different views, share the same values
+    private final ConcurrentMap<String, Values> methods = new ConcurrentHashMap<String, Values>();
+    private final ConcurrentMap<Method, Values> methodValues = new ConcurrentHashMap<Method, Values>();
 
+    /**
+     * Records a completed invocation.
+     * @param method the invoked method
+     * @param invocationWaitTime the wait time in nanoseconds
+     * @param invocationExecutionTime the execution time in nanoseconds
+     */
     void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
         concurrent.decrementAndGet();
-        for(;;) {
-            final Values oldv = values.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (values.compareAndSet(oldv, newv))
-                break;
-        }
-        final AtomicReference<Values> methodValues = ref(methods, method.getName());
-        for (;;) {
-            final Values oldv = methodValues.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (methodValues.compareAndSet(oldv, newv))
-                break;
+        values.record(invocationWaitTime, invocationExecutionTime);
+        Values methodValues = this.methodValues.get(method);
+        if (methodValues == null) {
+            methodValues = this.methods.computeIfAbsent(signature(method), key -> new Values());
+            this.methodValues.putIfAbsent(method, methodValues);
         }
+        methodValues.record(invocationWaitTime, invocationExecutionTime);
     }
 
-    private static AtomicReference<Values> ref(final ConcurrentMap<String, AtomicReference<Values>> map, final String key) {
-        AtomicReference<Values> ref = map.get(key);
-        if (ref == null) {
-            ref = new AtomicReference<Values>(new Values(0, 0, 0));
-            final AtomicReference<Values> prevRef = map.putIfAbsent(key, ref);
-            if (prevRef != null)
-                ref = prevRef;
+    public static String signature(final Method method) {
+        final StringJoiner joiner = new StringJoiner(",", method.getName() + "(", ")");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            joiner.add(parameterType.getTypeName());
         }
-        return ref;
+        return joiner.toString();
     }
 
     public long getConcurrent() {
@@ -99,62 +122,23 @@ public class InvocationMetrics {
     }
 
     public long getExecutionTime() {
-        return values.get().executionTime;
+        return values.getExecutionTime();
     }
 
     public long getInvocations() {
-        return values.get().invocations;
+        return values.getInvocations();
+    }
+
+    public LatencyHistogram getExecutionTimeHistogram() {
+        return values.getExecutionTimeHistogram();
     }
 
+    /**
+     * Returns the live statistics of each invoked method, keyed by method signature, e.g. <code>doIt(java.lang.String,int)</code>.
+     * @return an unmodifiable map of method signature to statistics
+     */
     public Map<String, Values> getMethods() {
-        return new AbstractMap<String, Values>() {
-            @Override
-            public Set<Entry<String, Values>> entrySet() {
-                return new AbstractSet<Entry<String, Values>>() {
-                    @Override
-                    public Iterator<Entry<String, Values>> iterator() {
-                        final Iterator<Entry<String, AtomicReference<Values>>> delegate = methods.entrySet().iterator();
-                        return new Iterator<Entry<String, Values>>() {
-                            @Override
-                            public boolean hasNext() {
-                                return delegate.hasNext();
-                            }
-
-                            @Override
-                            public Entry<String, Values> next() {
-                                final Entry<String, AtomicReference<Values>> next = delegate.next();
-                                return new Entry<String, Values>() {
-                                    @Override
-                                    public String getKey() {
-                                        return next.getKey();
-                                    }
-
-                                    @Override
-                                    public Values getValue() {
-                                        return next.getValue().get();
-                                    }
-
-                                    @Override
-                                    public Values setValue(final Values value) {
-                                        throw new UnsupportedOperationException("NYI");
-                                    }
-                                };
-                            }
-
-                            @Override
-                            public void remove() {
-                                throw new UnsupportedOperationException("NYI");
-                            }
-                        };
-                    }
-
-                    @Override
-                    public int size() {
-                        return methods.size();
-                    }
-                };
-            }
-        };
+        return Collections.unmodifiableMap(methods);
     }
 
     public long getPeakConcurrent() {
@@ -162,7 +146,11 @@ public class InvocationMetrics {
     }
 
     public long getWaitTime() {
-        return values.get().waitTime;
+        return values.getWaitTime();
+    }
+
+    public LatencyHistogram getWaitTimeHistogram() {
+        return values.getWaitTimeHistogram();
     }
 
     void startInvocation() {
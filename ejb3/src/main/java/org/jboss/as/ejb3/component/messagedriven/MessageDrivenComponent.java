@@ -37,6 +37,7 @@ import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.allowedmethods.AllowedMethodsInformation;
 import org.jboss.as.ejb3.component.pool.PoolConfig;
 import org.jboss.as.ejb3.component.pool.PooledComponent;
+import org.jboss.as.ejb3.inflow.BatchDelivery;
 import org.jboss.as.ejb3.inflow.JBossMessageEndpointFactory;
 import org.jboss.as.ejb3.inflow.MessageEndpointService;
 import org.jboss.as.ejb3.pool.Pool;
@@ -71,6 +72,7 @@ public class MessageDrivenComponent extends EJBComponent implements PooledCompon
     private final ActivationSpec activationSpec;
     private final MessageEndpointFactory endpointFactory;
     private final ClassLoader classLoader;
+    private final BatchDelivery batchDelivery;
     private boolean started;
     private boolean deliveryActive;
     private final ServiceName deliveryControllerName;
@@ -148,6 +150,8 @@ public class MessageDrivenComponent extends EJBComponent implements PooledCompon
         this.suspendController = ejbComponentCreateService.getSuspendControllerInjectedValue().getValue();
         this.activationSpec = activationSpec;
         this.activationName = activeResourceAdapterName + messageListenerInterface.getName();
+        final int batchDeliverySize = ejbComponentCreateService.getBatchDeliverySize();
+        this.batchDelivery = (batchDeliverySize > 1) ? new BatchDelivery(batchDeliverySize, ejbComponentCreateService.getBatchDeliveryTimeout()) : null;
         final ClassLoader componentClassLoader = doPrivileged(new GetClassLoaderAction(ejbComponentCreateService.getComponentClass()));
         final MessageEndpointService<?> service = new MessageEndpointService<Object>() {
             @Override
@@ -199,6 +203,11 @@ public class MessageDrivenComponent extends EJBComponent implements PooledCompon
             public ClassLoader getClassLoader() {
                 return componentClassLoader;
             }
+
+            @Override
+            public BatchDelivery getBatchDelivery() {
+                return batchDelivery;
+            }
         };
         this.endpointFactory = new JBossMessageEndpointFactory(componentClassLoader, service, (Class<Object>) getComponentClass(), messageListenerInterface);
         this.started = false;
@@ -231,6 +240,11 @@ public class MessageDrivenComponent extends EJBComponent implements PooledCompon
 
         super.start();
 
+        // Instances can only be created once the component has started
+        if (this.pool != null) {
+            this.pool.prefill();
+        }
+
         synchronized (this) {
             this.started = true;
             if (this.deliveryActive && !suspended) {
@@ -268,6 +282,9 @@ public class MessageDrivenComponent extends EJBComponent implements PooledCompon
         }
 
         suspendController.unRegisterActivity(serverActivity);
+        if (this.batchDelivery != null) {
+            this.batchDelivery.close();
+        }
         super.done();
     }
 
@@ -328,6 +345,15 @@ public class MessageDrivenComponent extends EJBComponent implements PooledCompon
         return deliveryActive;
     }
 
+    /**
+     * Returns the batch delivery configuration and statistics of this component.
+     *
+     * @return the batch delivery, or null if batch delivery is not enabled
+     */
+    public BatchDelivery getBatchDelivery() {
+        return batchDelivery;
+    }
+
     public boolean isDeliveryControlled() {
         return deliveryControllerName != null;
     }
@@ -58,11 +58,23 @@ import org.jboss.msc.value.InjectedValue;
  */
 public class MessageDrivenComponentCreateService extends EJBComponentCreateService {
 
+    /**
+     * Activation config property specifying the maximum number of messages delivered within a single transaction.
+     */
+    public static final String BATCH_DELIVERY_SIZE = "batch-delivery-size";
+    /**
+     * Activation config property specifying the maximum time, in milliseconds, a batch of deliveries may remain uncommitted.
+     */
+    public static final String BATCH_DELIVERY_TIMEOUT = "batch-delivery-timeout";
+    private static final long DEFAULT_BATCH_DELIVERY_TIMEOUT = 100;
+
     private final Class<?> messageListenerInterface;
     private final Properties activationProps;
     private final String resourceAdapterName;
     private final boolean deliveryActive;
     private final ServiceName deliveryControllerName;
+    private final int batchDeliverySize;
+    private final long batchDeliveryTimeout;
     private final InjectedValue<ResourceAdapterRepository> resourceAdapterRepositoryInjectedValue = new InjectedValue<ResourceAdapterRepository>();
     private final InjectedValue<ResourceAdapter> resourceAdapterInjectedValue = new InjectedValue<ResourceAdapter>();
     private final InjectedValue<PoolConfig> poolConfig = new InjectedValue<PoolConfig>();
@@ -84,7 +96,22 @@ public class MessageDrivenComponentCreateService extends EJBComponentCreateServi
         // see MessageDrivenComponentDescription.<init>
         this.messageListenerInterface = messageListenerInterface;
 
-        this.activationProps = componentDescription.getActivationProps();
+        final Properties activationProps = componentDescription.getActivationProps();
+        // Batch delivery properties are interpreted by the container, rather than by the resource adapter
+        if (activationProps != null && (activationProps.containsKey(BATCH_DELIVERY_SIZE) || activationProps.containsKey(BATCH_DELIVERY_TIMEOUT))) {
+            this.activationProps = new Properties();
+            this.activationProps.putAll(activationProps);
+            final String size = this.activationProps.getProperty(BATCH_DELIVERY_SIZE);
+            final String timeout = this.activationProps.getProperty(BATCH_DELIVERY_TIMEOUT);
+            this.activationProps.remove(BATCH_DELIVERY_SIZE);
+            this.activationProps.remove(BATCH_DELIVERY_TIMEOUT);
+            this.batchDeliverySize = (size != null) ? (int) parseBatchDeliveryProperty(BATCH_DELIVERY_SIZE, size, 1, Integer.MAX_VALUE, componentDescription.getComponentName()) : 1;
+            this.batchDeliveryTimeout = (timeout != null) ? parseBatchDeliveryProperty(BATCH_DELIVERY_TIMEOUT, timeout, 1, Long.MAX_VALUE, componentDescription.getComponentName()) : DEFAULT_BATCH_DELIVERY_TIMEOUT;
+        } else {
+            this.activationProps = activationProps;
+            this.batchDeliverySize = 1;
+            this.batchDeliveryTimeout = DEFAULT_BATCH_DELIVERY_TIMEOUT;
+        }
         this.moduleClassLoader = componentConfiguration.getModuleClassLoader();
     }
 
@@ -239,6 +266,26 @@ public class MessageDrivenComponentCreateService extends EJBComponentCreateServi
         return result;
     }
 
+    private static long parseBatchDeliveryProperty(String property, String value, long minimum, long maximum, String componentName) {
+        try {
+            final long result = Long.parseLong(value.trim());
+            if (result >= minimum && result <= maximum) {
+                return result;
+            }
+        } catch (NumberFormatException e) {
+            throw EjbLogger.ROOT_LOGGER.invalidBatchDeliveryProperty(value, property, componentName, e);
+        }
+        throw EjbLogger.ROOT_LOGGER.invalidBatchDeliveryProperty(value, property, componentName, null);
+    }
+
+    int getBatchDeliverySize() {
+        return this.batchDeliverySize;
+    }
+
+    long getBatchDeliveryTimeout() {
+        return this.batchDeliveryTimeout;
+    }
+
     PoolConfig getPoolConfig() {
         return this.poolConfig.getOptionalValue();
     }
@@ -25,6 +25,8 @@ package org.jboss.as.ejb3.component.pool;
 import org.jboss.as.ejb3.pool.Pool;
 import org.jboss.as.ejb3.pool.StatelessObjectFactory;
 import org.jboss.as.ejb3.pool.strictmax.StrictMaxPool;
+import org.jboss.as.ejb3.pool.strictmax.StripedStrictMaxPool;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 import java.util.concurrent.TimeUnit;
 
@@ -39,6 +41,17 @@ public class StrictMaxPoolConfig extends PoolConfig {
 
     public static final TimeUnit DEFAULT_TIMEOUT_UNIT = TimeUnit.MINUTES;
 
+    /**
+     * Selects the {@link StripedStrictMaxPool} implementation, either for all pools or for a given pool, e.g.
+     * -Djboss.ejb.pool.striped=true or -Djboss.ejb.pool.slsb-strict-max-pool.striped=true
+     */
+    static final String STRIPED_PROPERTY = "jboss.ejb.pool.striped";
+    static final String POOL_STRIPED_PROPERTY = "jboss.ejb.pool.%s.striped";
+    /**
+     * Pre-fills a striped pool to its maximum size when its component starts, either for all pools or for a given pool.
+     */
+    static final String PREFILL_PROPERTY = "jboss.ejb.pool.prefill";
+    static final String POOL_PREFILL_PROPERTY = "jboss.ejb.pool.%s.prefill";
 
     private volatile int maxPoolSize;
 
@@ -46,15 +59,33 @@ public class StrictMaxPoolConfig extends PoolConfig {
 
     private volatile long timeout;
 
+    private volatile boolean striped;
+
+    private volatile boolean prefill;
+
     public StrictMaxPoolConfig(final String poolName, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(poolName, maxSize, timeout, timeUnit, getBooleanProperty(POOL_STRIPED_PROPERTY, STRIPED_PROPERTY, poolName), getBooleanProperty(POOL_PREFILL_PROPERTY, PREFILL_PROPERTY, poolName));
+    }
+
+    public StrictMaxPoolConfig(final String poolName, int maxSize, long timeout, TimeUnit timeUnit, boolean striped, boolean prefill) {
         super(poolName);
         this.maxPoolSize = maxSize;
         this.timeout = timeout;
         this.timeoutUnit = timeUnit;
+        this.striped = striped;
+        this.prefill = prefill;
+    }
+
+    private static boolean getBooleanProperty(String poolPropertyFormat, String globalProperty, String poolName) {
+        String value = WildFlySecurityManager.getPropertyPrivileged(String.format(poolPropertyFormat, poolName), WildFlySecurityManager.getPropertyPrivileged(globalProperty, null));
+        return Boolean.parseBoolean(value);
     }
 
     @Override
     public <T> Pool<T> createPool(final StatelessObjectFactory<T> statelessObjectFactory) {
+        if (this.striped) {
+            return new StripedStrictMaxPool<T>(statelessObjectFactory, this.maxPoolSize, this.timeout, this.timeoutUnit, this.prefill);
+        }
         return new StrictMaxPool<T>(statelessObjectFactory, this.maxPoolSize, this.timeout, this.timeoutUnit);
     }
 
@@ -82,6 +113,22 @@ public class StrictMaxPoolConfig extends PoolConfig {
         this.timeout = timeout;
     }
 
+    public boolean isStriped() {
+        return striped;
+    }
+
+    public void setStriped(boolean striped) {
+        this.striped = striped;
+    }
+
+    public boolean isPrefill() {
+        return prefill;
+    }
+
+    public void setPrefill(boolean prefill) {
+        this.prefill = prefill;
+    }
+
     @Override
     public String toString() {
         return "StrictMaxPoolConfig{" +
@@ -89,6 +136,8 @@ public class StrictMaxPoolConfig extends PoolConfig {
                 ", maxPoolSize=" + maxPoolSize +
                 ", timeoutUnit=" + timeoutUnit +
                 ", timeout=" + timeout +
+                ", striped=" + striped +
+                ", prefill=" + prefill +
                 '}';
     }
 }
@@ -97,7 +97,14 @@ class ContainerManagedConcurrencyInterceptor implements Interceptor {
             }
         }
         // try getting the lock
-        boolean success = lock.tryLock(time, unit);
+        final boolean success;
+        if (lockableComponent.isStatisticsEnabled()) {
+            long start = System.nanoTime();
+            success = lock.tryLock(time, unit);
+            lockableComponent.getLockMetrics().record(invokedMethod, System.nanoTime() - start, success);
+        } else {
+            success = lock.tryLock(time, unit);
+        }
         if (!success) {
             throw EjbLogger.ROOT_LOGGER.concurrentAccessTimeoutException(lockableComponent.getComponentName(), time + unit.name());
         }
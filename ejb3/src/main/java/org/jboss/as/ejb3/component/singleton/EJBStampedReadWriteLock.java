@@ -0,0 +1,223 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * A {@link ReadWriteLock} for read-mostly singletons, backed by a {@link StampedLock}.
+ * <p/>
+ * Like {@link EJBReadWriteLock}, this lock is reentrant, permits a thread holding the write lock to also obtain the read lock,
+ * and throws an {@link javax.ejb.IllegalLoopbackException} when a thread holding a read lock tries to obtain the write lock.
+ * Reentrancy is tracked via a mutable per-thread holder, such that only the outermost acquisition of a thread touches the shared lock state,
+ * and nested acquisitions neither contend nor allocate.
+ */
+public class EJBStampedReadWriteLock implements ReadWriteLock {
+
+    /**
+     * The locks held by a given thread.
+     */
+    private static class Holds {
+        int reads;
+        int writes;
+        // The stamp of the outermost acquisition
+        long stamp;
+
+        boolean isEmpty() {
+            return (this.reads == 0) && (this.writes == 0);
+        }
+    }
+
+    private final StampedLock delegate = new StampedLock();
+    private final ThreadLocal<Holds> holds = ThreadLocal.withInitial(Holds::new);
+    private final Lock readLock = new ReadLock();
+    private final Lock writeLock = new WriteLock();
+
+    class ReadLock implements Lock {
+
+        @Override
+        public void lock() {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (holds.isEmpty()) {
+                holds.stamp = delegate.readLock();
+            }
+            holds.reads += 1;
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (holds.isEmpty()) {
+                holds.stamp = delegate.readLockInterruptibly();
+            }
+            holds.reads += 1;
+        }
+
+        @Override
+        public boolean tryLock() {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (holds.isEmpty()) {
+                long stamp = delegate.tryReadLock();
+                if (stamp == 0L) return false;
+                holds.stamp = stamp;
+            }
+            holds.reads += 1;
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (holds.isEmpty()) {
+                long stamp = delegate.tryReadLock(time, unit);
+                if (stamp == 0L) return false;
+                holds.stamp = stamp;
+            }
+            holds.reads += 1;
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (holds.reads == 0) {
+                throw new IllegalMonitorStateException();
+            }
+            holds.reads -= 1;
+            if (holds.isEmpty()) {
+                delegate.unlockRead(holds.stamp);
+                holds.stamp = 0L;
+            }
+        }
+
+        /**
+         * Not implemented
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    class WriteLock implements Lock {
+
+        @Override
+        public void lock() {
+            Holds holds = checkLoopback();
+            if (holds.writes == 0) {
+                holds.stamp = delegate.writeLock();
+            }
+            holds.writes += 1;
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            Holds holds = checkLoopback();
+            if (holds.writes == 0) {
+                holds.stamp = delegate.writeLockInterruptibly();
+            }
+            holds.writes += 1;
+        }
+
+        @Override
+        public boolean tryLock() {
+            Holds holds = checkLoopback();
+            if (holds.writes == 0) {
+                long stamp = delegate.tryWriteLock();
+                if (stamp == 0L) return false;
+                holds.stamp = stamp;
+            }
+            holds.writes += 1;
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            Holds holds = checkLoopback();
+            if (holds.writes == 0) {
+                long stamp = delegate.tryWriteLock(time, unit);
+                if (stamp == 0L) return false;
+                holds.stamp = stamp;
+            }
+            holds.writes += 1;
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (holds.writes == 0) {
+                throw new IllegalMonitorStateException();
+            }
+            holds.writes -= 1;
+            if (holds.writes == 0) {
+                if (holds.reads > 0) {
+                    // Downgrade to the read lock acquired while holding the write lock
+                    holds.stamp = delegate.tryConvertToReadLock(holds.stamp);
+                } else {
+                    delegate.unlockWrite(holds.stamp);
+                    holds.stamp = 0L;
+                }
+            }
+        }
+
+        /**
+         * Not implemented
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Ensures that the current thread doesn't hold any read locks. If
+     * the thread holds any read locks, this method throws a {@link javax.ejb.IllegalLoopbackException}.
+     */
+    private Holds checkLoopback() {
+        Holds holds = this.holds.get();
+        if (holds.reads > 0) {
+            throw EjbLogger.ROOT_LOGGER.failToUpgradeToWriteLock();
+        }
+        return holds;
+    }
+
+    @Override
+    public Lock readLock() {
+        return this.readLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+        return this.writeLock;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.singleton;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
+import org.jboss.as.ejb3.component.invocationmetrics.LatencyHistogram;
+
+/**
+ * Container-managed concurrency statistics of a singleton component, and of each of its methods.
+ * An acquisition is considered contended if it waited at least one microsecond.
+ * This is a heuristic: an uncontended acquisition normally completes well within this threshold,
+ * but may exceed it, e.g. if its thread is descheduled, and a briefly contended one may not reach it.
+ */
+public class LockMetrics {
+
+    private static final long CONTENTION_THRESHOLD = TimeUnit.MICROSECONDS.toNanos(1);
+
+    public static class Values {
+        private final LongAdder contentions = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder waitTime = new LongAdder();
+        private final LatencyHistogram waitTimes = new LatencyHistogram();
+
+        Values() {
+        }
+
+        void record(final long lockWaitTime, final boolean acquired) {
+            if (lockWaitTime >= CONTENTION_THRESHOLD) {
+                this.contentions.increment();
+            }
+            if (!acquired) {
+                this.timeouts.increment();
+            }
+            this.waitTime.add(lockWaitTime);
+            this.waitTimes.record(lockWaitTime);
+        }
+
+        /**
+         * @return the number of lock acquisitions that had to wait
+         */
+        public long getContentionCount() {
+            return this.contentions.sum();
+        }
+
+        /**
+         * @return the number of lock acquisitions that timed out
+         */
+        public long getTimeoutCount() {
+            return this.timeouts.sum();
+        }
+
+        /**
+         * @return the total lock wait time in milliseconds
+         */
+        public long getWaitTime() {
+            return TimeUnit.NANOSECONDS.toMillis(this.waitTime.sum());
+        }
+
+        public LatencyHistogram getWaitTimeHistogram() {
+            return this.waitTimes;
+        }
+    }
+
+    private final Values values = new Values();
+
+    // Methods with the same signature, e.g. from different views, share the same values
+    private final ConcurrentMap<String, Values> methods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, Values> methodValues = new ConcurrentHashMap<>();
+
+    /**
+     * Records a lock acquisition attempt.
+     * @param method the invoked method
+     * @param lockWaitTime the time spent acquiring the lock, in nanoseconds
+     * @param acquired indicates whether the lock was acquired, or whether the attempt timed out
+     */
+    void record(final Method method, final long lockWaitTime, final boolean acquired) {
+        this.values.record(lockWaitTime, acquired);
+        Values methodValues = this.methodValues.get(method);
+        if (methodValues == null) {
+            methodValues = this.methods.computeIfAbsent(InvocationMetrics.signature(method), key -> new Values());
+            this.methodValues.putIfAbsent(method, methodValues);
+        }
+        methodValues.record(lockWaitTime, acquired);
+    }
+
+    public long getContentionCount() {
+        return this.values.getContentionCount();
+    }
+
+    public long getTimeoutCount() {
+        return this.values.getTimeoutCount();
+    }
+
+    public long getWaitTime() {
+        return this.values.getWaitTime();
+    }
+
+    public LatencyHistogram getWaitTimeHistogram() {
+        return this.values.getWaitTimeHistogram();
+    }
+
+    /**
+     * Returns the live lock statistics of each invoked method, keyed by method signature, e.g. <code>doIt(java.lang.String,int)</code>.
+     * @return an unmodifiable map of method signature to statistics
+     */
+    public Map<String, Values> getMethods() {
+        return Collections.unmodifiableMap(this.methods);
+    }
+}
@@ -43,6 +43,7 @@ import org.jboss.invocation.Interceptor;
 import org.jboss.msc.service.ServiceContainer;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
 
@@ -53,6 +54,10 @@ import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
  */
 public class SingletonComponent extends SessionBeanComponent {
 
+    // Selects the read-mostly optimized lock for container-managed concurrency
+    private static final String STAMPED_LOCK_PROPERTY = "jboss.ejb.singleton.stamped-lock";
+    private static final String COMPONENT_STAMPED_LOCK_PROPERTY = "jboss.ejb.singleton.%s.stamped-lock";
+
     private volatile SingletonComponentInstance singletonComponentInstance;
 
     private final boolean initOnStartup;
@@ -74,9 +79,11 @@ public class SingletonComponent extends SessionBeanComponent {
     private final Object creationLock = new Object();
 
     /**
-     * A spec compliant {@link EJBReadWriteLock}
+     * A spec compliant {@link EJBReadWriteLock}, or an {@link EJBStampedReadWriteLock} if so configured
      */
-    private final ReadWriteLock readWriteLock = new EJBReadWriteLock();
+    private final ReadWriteLock readWriteLock;
+
+    private final LockMetrics lockMetrics = new LockMetrics();
 
     /**
      * Construct a new instance.
@@ -94,6 +101,12 @@ public class SingletonComponent extends SessionBeanComponent {
         this.methodLockTypes = singletonComponentCreateService.getMethodApplicableLockTypes();
         this.methodAccessTimeouts = singletonComponentCreateService.getMethodApplicableAccessTimeouts();
         this.defaultAccessTimeoutProvider = singletonComponentCreateService.getDefaultAccessTimeoutService();
+        this.readWriteLock = createLock(this.getComponentName());
+    }
+
+    private static ReadWriteLock createLock(String componentName) {
+        boolean stamped = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(String.format(COMPONENT_STAMPED_LOCK_PROPERTY, componentName), WildFlySecurityManager.getPropertyPrivileged(STAMPED_LOCK_PROPERTY, Boolean.FALSE.toString())));
+        return stamped ? new EJBStampedReadWriteLock() : new EJBReadWriteLock();
     }
 
     @Override
@@ -185,6 +198,10 @@ public class SingletonComponent extends SessionBeanComponent {
         return readWriteLock;
     }
 
+    public LockMetrics getLockMetrics() {
+        return lockMetrics;
+    }
+
     private void destroySingletonInstance() {
         synchronized (creationLock) {
             if (this.singletonComponentInstance != null) {
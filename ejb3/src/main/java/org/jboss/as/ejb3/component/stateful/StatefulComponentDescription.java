@@ -63,6 +63,7 @@ import org.jboss.as.ejb3.tx.LifecycleCMTTxInterceptor;
 import org.jboss.as.ejb3.tx.StatefulBMTInterceptor;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
+import org.jboss.as.server.deployment.DeploymentUtils;
 import org.jboss.as.server.deployment.reflect.ClassReflectionIndex;
 import org.jboss.as.server.deployment.reflect.DeploymentReflectionIndex;
 import org.jboss.ejb.client.SessionID;
@@ -92,6 +93,8 @@ public class StatefulComponentDescription extends SessionBeanComponentDescriptio
     private CacheInfo cache;
     // by default stateful beans are passivation capable, but beans can override it via annotation or deployment descriptor, starting EJB 3.2
     private boolean passivationApplicable = true;
+    // whether this bean may share object references with the other beans of its group, e.g. an inherited extended persistence context
+    private volatile boolean sharedGroupReferences;
     private final ServiceName deploymentUnitServiceName;
 
     /**
@@ -215,6 +218,7 @@ public class StatefulComponentDescription extends SessionBeanComponentDescriptio
                 CapabilityServiceSupport support = context.getDeploymentUnit().getAttachment(org.jboss.as.server.deployment.Attachments.CAPABILITY_SERVICE_SUPPORT);
                 StatefulComponentDescription statefulDescription = (StatefulComponentDescription) description;
                 ServiceName cacheFactoryServiceName = statefulDescription.getCacheFactoryServiceName();
+                statefulDescription.setSharedGroupReferences(DeploymentUtils.getTopDeploymentUnit(context.getDeploymentUnit()).hasAttachment(Attachments.SHARED_BEAN_GROUP_REFERENCES));
                 ServiceTarget target = context.getServiceTarget();
                 ServiceBuilder<?> builder = target.addService(cacheFactoryServiceName.append("installer"));
                 Supplier<CacheFactoryBuilder<SessionID, StatefulSessionComponentInstance>> cacheFactoryBuilder = builder.requires(this.getCacheFactoryBuilderRequirement(statefulDescription));
@@ -424,6 +428,21 @@ public class StatefulComponentDescription extends SessionBeanComponentDescriptio
         this.passivationApplicable = passivationApplicable;
     }
 
+    /**
+     * Indicates whether instances of this bean may share object references with the other beans of their group,
+     * e.g. an extended persistence context inherited by a nested stateful session bean.
+     * The beans of such a group must be stored together, so that shared references are preserved.
+     *
+     * @return true, if this bean may share references with the other beans of its group, false otherwise
+     */
+    public boolean hasSharedGroupReferences() {
+        return this.sharedGroupReferences;
+    }
+
+    public void setSharedGroupReferences(final boolean sharedGroupReferences) {
+        this.sharedGroupReferences = sharedGroupReferences;
+    }
+
     /**
      * EJB 3.2 spec allows the TimeService to be injected/looked up/accessed from the stateful bean so as to allow access to the {@link javax.ejb.TimerService#getAllTimers()}
      * method from a stateful bean. Hence we make timerservice applicable for stateful beans too. However, we return <code>false</code> in {@link #isTimerServiceRequired()} so that a {@link org.jboss.as.ejb3.timerservice.NonFunctionalTimerService}
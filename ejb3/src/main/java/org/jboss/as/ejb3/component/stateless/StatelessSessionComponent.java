@@ -114,6 +114,15 @@ public class StatelessSessionComponent extends SessionBeanComponent implements P
     }
 
 
+    @Override
+    public void start() {
+        super.start();
+        // Instances can only be created once the component has started
+        if (this.pool != null) {
+            this.pool.prefill();
+        }
+    }
+
     @Override
     public void done() {
         if(this.pool!=null){
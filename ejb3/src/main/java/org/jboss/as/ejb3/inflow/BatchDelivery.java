@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.inflow;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.security.PrivilegedAction;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.threads.JBossThreadFactory;
+
+/**
+ * Configuration, statistics and scheduler of transactional batch delivery for a message endpoint.
+ * <p/>
+ * When enabled, successive transacted deliveries to the same endpoint share a single transaction,
+ * which is completed once it contains a given number of messages, or once a given time has elapsed since its first delivery.
+ * Since all deliveries of a batch share the same transaction, the rollback of any delivery redelivers every message of the batch.
+ */
+public class BatchDelivery implements AutoCloseable {
+
+    private static final ThreadFactory THREAD_FACTORY = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+        @Override
+        public JBossThreadFactory run() {
+            return new JBossThreadFactory(new ThreadGroup(BatchDelivery.class.getSimpleName()), Boolean.FALSE, null, "%G - %t", null, null);
+        }
+    });
+
+    private final int size;
+    private final long timeout;
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder rollbacks = new LongAdder();
+    private final LongAdder commitTime = new LongAdder();
+
+    /**
+     * Creates a new batch delivery configuration.
+     * @param size the maximum number of messages per transaction
+     * @param timeout the maximum time, in milliseconds, between the first delivery of a batch and the completion of its transaction
+     */
+    public BatchDelivery(int size, long timeout) {
+        if (size <= 1) {
+            throw new IllegalArgumentException(Integer.toString(size));
+        }
+        if (timeout <= 0) {
+            throw new IllegalArgumentException(Long.toString(timeout));
+        }
+        this.size = size;
+        this.timeout = timeout;
+        this.executor = new ScheduledThreadPoolExecutor(1, THREAD_FACTORY);
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * @return the maximum number of messages per transaction
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * @return the maximum time, in milliseconds, between the first delivery of a batch and the completion of its transaction
+     */
+    public long getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * Schedules the completion of an incomplete batch.
+     * @param task the completion task
+     * @param delay the delay in nanoseconds
+     */
+    ScheduledFuture<?> schedule(Runnable task, long delay) {
+        return this.executor.schedule(task, delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the commit of a batch.
+     * @param count the number of messages in the batch
+     * @param nanos the duration of the commit in nanoseconds
+     */
+    void committed(int count, long nanos) {
+        this.batches.increment();
+        this.messages.add(count);
+        this.commitTime.add(nanos);
+    }
+
+    /**
+     * Records the rollback of a batch.
+     */
+    void rolledBack() {
+        this.rollbacks.increment();
+    }
+
+    /**
+     * @return the number of committed batches
+     */
+    public long getBatchCount() {
+        return this.batches.sum();
+    }
+
+    /**
+     * @return the number of messages within committed batches
+     */
+    public long getMessageCount() {
+        return this.messages.sum();
+    }
+
+    /**
+     * @return the number of rolled back batches
+     */
+    public long getRollbackCount() {
+        return this.rollbacks.sum();
+    }
+
+    /**
+     * @return the total time, in milliseconds, spent committing batches
+     */
+    public long getCommitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.commitTime.sum());
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdown();
+    }
+}
@@ -36,7 +36,10 @@ import javax.transaction.TransactionManager;
 import javax.transaction.xa.XAResource;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.wildfly.security.manager.WildFlySecurityManager;
@@ -49,15 +52,25 @@ public class MessageEndpointInvocationHandler extends AbstractInvocationHandler
     private final Object delegate;
     private final XAResource xaRes;
     private final AtomicBoolean released = new AtomicBoolean(false);
+    private final BatchDelivery batchDelivery;
+    // Guards the batch state; held by the delivering thread from beforeDelivery() until afterDelivery()
+    private final ReentrantLock batchLock = new ReentrantLock();
 
     private Transaction currentTx;
     private ClassLoader previousClassLoader;
     private Transaction previousTx;
 
+    // Suspended transaction of an incomplete batch
+    private Transaction batchTx;
+    private int batchCount;
+    private long batchStart;
+    private ScheduledFuture<?> batchCompletion;
+
     MessageEndpointInvocationHandler(final MessageEndpointService service, final Object delegate, final XAResource xaResource) {
         this.service = service;
         this.delegate = delegate;
         this.xaRes = xaResource;
+        this.batchDelivery = service.getBatchDelivery();
     }
 
     @Override
@@ -65,7 +78,9 @@ public class MessageEndpointInvocationHandler extends AbstractInvocationHandler
         final TransactionManager tm = getTransactionManager();
         try {
             if (currentTx != null) {
-                if (currentTx.getStatus() == Status.STATUS_MARKED_ROLLBACK)
+                if (batchDelivery != null)
+                    afterBatchDelivery(tm);
+                else if (currentTx.getStatus() == Status.STATUS_MARKED_ROLLBACK)
                     tm.rollback();
                 else
                     tm.commit();
@@ -86,11 +101,107 @@ public class MessageEndpointInvocationHandler extends AbstractInvocationHandler
         } catch (RollbackException e) {
             throw new LocalTransactionException(e);
         } finally {
+            if (batchLock.isHeldByCurrentThread())
+                batchLock.unlock();
             WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(previousClassLoader);
             previousClassLoader = null;
         }
     }
 
+    private void afterBatchDelivery(final TransactionManager tm) throws SystemException, HeuristicMixedException, HeuristicRollbackException, RollbackException {
+        final Transaction tx = currentTx;
+        currentTx = null;
+        batchCount++;
+        if (tx.getStatus() == Status.STATUS_MARKED_ROLLBACK) {
+            // Rolls back, and thus redelivers, every message of the batch
+            resetBatch();
+            tm.rollback();
+            batchDelivery.rolledBack();
+        } else if (batchCount >= batchDelivery.getSize() || System.nanoTime() - batchStart >= TimeUnit.MILLISECONDS.toNanos(batchDelivery.getTimeout())) {
+            final int count = resetBatch();
+            final long start = System.nanoTime();
+            try {
+                tm.commit();
+            } catch (RollbackException e) {
+                batchDelivery.rolledBack();
+                throw e;
+            }
+            batchDelivery.committed(count, System.nanoTime() - start);
+        } else {
+            // Leave the transaction open for subsequent deliveries
+            batchTx = tm.suspend();
+            if (batchCompletion == null) {
+                final long delay = TimeUnit.MILLISECONDS.toNanos(batchDelivery.getTimeout()) - (System.nanoTime() - batchStart);
+                batchCompletion = batchDelivery.schedule(this::completeBatch, delay);
+            }
+        }
+    }
+
+    private void beforeBatchDelivery(final TransactionManager tm) throws Exception {
+        batchLock.lock();
+        if (batchTx != null) {
+            currentTx = batchTx;
+            batchTx = null;
+            tm.resume(currentTx);
+        } else {
+            tm.begin();
+            currentTx = tm.getTransaction();
+            if (xaRes != null)
+                currentTx.enlistResource(xaRes);
+            batchStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Completes the transaction of an incomplete batch whose timeout elapsed before it filled up.
+     */
+    private void completeBatch() {
+        // If a delivery is in progress, it will complete the batch itself
+        if (batchLock.tryLock()) {
+            try {
+                completePendingBatch();
+            } finally {
+                batchLock.unlock();
+            }
+        }
+    }
+
+    private void completePendingBatch() {
+        final Transaction tx = batchTx;
+        if (tx == null)
+            return;
+        batchTx = null;
+        final int count = resetBatch();
+        final ClassLoader loader = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(getApplicationClassLoader());
+        try {
+            if (tx.getStatus() == Status.STATUS_MARKED_ROLLBACK) {
+                tx.rollback();
+                batchDelivery.rolledBack();
+            } else {
+                final long start = System.nanoTime();
+                tx.commit();
+                batchDelivery.committed(count, System.nanoTime() - start);
+            }
+        } catch (RollbackException e) {
+            batchDelivery.rolledBack();
+            EjbLogger.ROOT_LOGGER.failedToCompleteBatchDelivery(count, service.getActivationName(), e);
+        } catch (Exception e) {
+            EjbLogger.ROOT_LOGGER.failedToCompleteBatchDelivery(count, service.getActivationName(), e);
+        } finally {
+            WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader);
+        }
+    }
+
+    private int resetBatch() {
+        final int count = batchCount;
+        batchCount = 0;
+        if (batchCompletion != null) {
+            batchCompletion.cancel(false);
+            batchCompletion = null;
+        }
+        return count;
+    }
+
     @Override
     public void beforeDelivery(Method method) throws NoSuchMethodException, ResourceException {
         // JCA 1.6 FR 13.5.6
@@ -103,12 +214,18 @@ public class MessageEndpointInvocationHandler extends AbstractInvocationHandler
             previousTx = tm.suspend();
             boolean isTransacted = service.isDeliveryTransacted(method);
             if (isTransacted) {
-                tm.begin();
-                currentTx = tm.getTransaction();
-                if (xaRes != null)
-                    currentTx.enlistResource(xaRes);
+                if (batchDelivery != null) {
+                    beforeBatchDelivery(tm);
+                } else {
+                    tm.begin();
+                    currentTx = tm.getTransaction();
+                    if (xaRes != null)
+                        currentTx.enlistResource(xaRes);
+                }
             }
         } catch (Throwable t) {
+            if (batchLock.isHeldByCurrentThread())
+                batchLock.unlock();
             throw new ApplicationServerInternalException(t);
         } finally {
             WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(previousClassLoader);
@@ -163,6 +280,15 @@ public class MessageEndpointInvocationHandler extends AbstractInvocationHandler
 
         // TODO: tidy up outstanding delivery
 
+        if (batchDelivery != null) {
+            batchLock.lock();
+            try {
+                completePendingBatch();
+            } finally {
+                batchLock.unlock();
+            }
+        }
+
         service.release(delegate);
     }
 }
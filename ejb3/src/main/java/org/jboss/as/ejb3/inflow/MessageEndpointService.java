@@ -49,4 +49,13 @@ public interface MessageEndpointService<T> {
     ClassLoader getClassLoader();
 
     String getActivationName();
+
+    /**
+     * Returns the batch delivery configuration of this endpoint, if batch delivery is enabled.
+     *
+     * @return the batch delivery configuration, or null if each transacted delivery uses its own transaction
+     */
+    default BatchDelivery getBatchDelivery() {
+        return null;
+    }
 }
@@ -2738,11 +2738,9 @@ public interface EjbLogger extends BasicLogger {
     @Message(id = 400, value = "Failed to passivate %s")
     RuntimeException passivationFailed(@Cause Throwable cause, Object id);
 
-    @Deprecated
     @Message(id = 401, value = "Failed to activate %s")
     RuntimeException activationFailed(@Cause Throwable cause, Object id);
 
-    @Deprecated
     @Message(id = 402, value = "Failed to create passivation directory: %s")
     RuntimeException passivationDirectoryCreationFailed(String path);
 
@@ -3184,4 +3182,53 @@ public interface EjbLogger extends BasicLogger {
     @Message(id = 509, value = "Clustered EJBs in Node: %s are bound to INADDR_ANY(%s). Either use a non-wildcard server bind address or add client-mapping entries to the relevant socket-binding for the Remoting connector")
     void clusteredEJBsBoundToINADDRANY(String nodeName, String ip);
 
+    @LogMessage(level = WARN)
+    @Message(id = 510, value = "Failed to pre-fill bean instance pool %s")
+    void failedToPrefillPool(Object pool, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 511, value = "Timer journal %s is truncated or corrupt at offset %d, discarding %d trailing bytes")
+    void timerJournalTruncated(File journal, long offset, long discarded);
+
+    @LogMessage(level = INFO)
+    @Message(id = 512, value = "Migrated %d timers for %s from %s into timer journal, the original timer files were moved to %s")
+    void timersMigratedToJournal(int count, String timedObjectId, File directory, File backupDirectory);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 513, value = "Error dispatching timer task")
+    void errorDispatchingTimerTask(@Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 514, value = "Timer table of partition %s does not support incremental refresh, falling back to full refresh")
+    void incrementalTimerRefreshNotSupported(String partition, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 515, value = "Failed to complete transaction of batch of %d messages delivered to %s")
+    void failedToCompleteBatchDelivery(int count, String activationName, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 516, value = "Failed to passivate stateful session bean %s, it will remain in memory")
+    void failedToPassivateBean(Object id, @Cause Throwable cause);
+
+    @Message(id = 517, value = "Failed to write timer %s to journal %s")
+    RuntimeException failedToWriteTimerJournal(String timerId, File journal, @Cause Throwable cause);
+
+    @Message(id = 518, value = "Failed to load timer journal %s")
+    RuntimeException failedToLoadTimerJournal(File journal, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 519, value = "Invalid value '%s' of system property %s, using %d instead")
+    void invalidSystemPropertyValue(String value, String property, int defaultValue);
+
+    @LogMessage(level = WARN)
+    @Message(id = 520, value = "Timer table of partition %s does not record the last modification of each timer, falling back to full refresh. Add the LAST_MODIFIED column, or allow the timer table to be upgraded on start.")
+    void timerTableNotVersioned(String partition);
+
+    @Message(id = 521, value = "Invalid value '%s' of activation config property %s of message driven bean %s")
+    IllegalArgumentException invalidBatchDeliveryProperty(String value, String property, String componentName, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 522, value = "Timer journal %s of %s is ignored, since the timer journal is disabled. Either enable the timer journal, or restore the timer files from %s and remove the journal.")
+    void timerJournalIgnored(File journal, String timedObjectId, File backupDirectory);
+
 }
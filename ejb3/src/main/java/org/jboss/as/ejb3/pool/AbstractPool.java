@@ -35,6 +35,7 @@ public abstract class AbstractPool<T> implements Pool<T> {
     private final StatelessObjectFactory<T> factory;
     private final AtomicInteger createCount = new AtomicInteger(0);
     private final AtomicInteger removeCount = new AtomicInteger(0);
+    private final PoolStatistics statistics = new PoolStatistics();
 
     protected AbstractPool(StatelessObjectFactory<T> factory) {
         assert factory != null : "factory is null";
@@ -50,6 +51,10 @@ public abstract class AbstractPool<T> implements Pool<T> {
         return removeCount.get();
     }
 
+    public PoolStatistics getStatistics() {
+        return statistics;
+    }
+
     public abstract void setMaxSize(int maxSize);
 
     protected T create() {
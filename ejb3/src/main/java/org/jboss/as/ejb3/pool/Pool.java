@@ -57,6 +57,13 @@ public interface Pool<T> {
 
     int getRemoveCount();
 
+    /**
+     * Returns the acquisition statistics of this pool.
+     *
+     * @return the pool statistics
+     */
+    PoolStatistics getStatistics();
+
     /**
      * Release the object from use.
      *
@@ -66,6 +73,12 @@ public interface Pool<T> {
 
     void setMaxSize(int maxSize);
 
+    /**
+     * Pre-fills this pool, if so configured.
+     * Since pooled instances are created by the owning component, this must only be invoked once that component has started.
+     */
+    void prefill();
+
     /**
      * Start the pool.
      */
@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the time spent by callers waiting to acquire an instance from a pool.
+ * Acquisitions that are satisfied immediately are only counted, so the fast path never reads the clock.
+ */
+public class PoolStatistics {
+
+    // Upper bounds (exclusive, in milliseconds) of the acquisition wait time histogram buckets
+    private static final long[] BUCKETS = new long[] { 1, 5, 10, 50, 100, 500, 1000, 5000 };
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+    private final LongAdder[] histogram = new LongAdder[BUCKETS.length + 1];
+
+    public PoolStatistics() {
+        for (int i = 0; i < this.histogram.length; ++i) {
+            this.histogram[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records an acquisition that did not need to wait.
+     */
+    public void acquired() {
+        this.acquisitions.increment();
+    }
+
+    /**
+     * Records an acquisition that waited for the specified duration.
+     * @param nanos the wait time in nanoseconds
+     */
+    public void acquired(long nanos) {
+        this.acquisitions.increment();
+        this.waits.increment();
+        this.waitTime.add(nanos);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int index = 0;
+        while ((index < BUCKETS.length) && (millis >= BUCKETS[index])) {
+            index += 1;
+        }
+        this.histogram[index].increment();
+    }
+
+    /**
+     * @return the total number of acquisitions
+     */
+    public long getAcquisitionCount() {
+        return this.acquisitions.sum();
+    }
+
+    /**
+     * @return the number of acquisitions that had to wait for an instance
+     */
+    public long getWaitCount() {
+        return this.waits.sum();
+    }
+
+    /**
+     * @return the total time, in milliseconds, spent waiting for an instance
+     */
+    public long getWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.waitTime.sum());
+    }
+
+    /**
+     * Returns the number of acquisitions that waited, keyed by the upper bound of each histogram bucket, e.g. "&lt;5ms".
+     * Acquisitions that did not wait at all are excluded.
+     * @return an ordered map of bucket label to acquisition count
+     */
+    public Map<String, Long> getWaitTimeHistogram() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS.length; ++i) {
+            result.put("<" + BUCKETS[i] + "ms", this.histogram[i].sum());
+        }
+        result.put(">=" + BUCKETS[BUCKETS.length - 1] + "ms", this.histogram[BUCKETS.length].sum());
+        return result;
+    }
+}
@@ -105,9 +105,15 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
      */
     public T get() {
         try {
-            boolean acquired = semaphore.tryAcquire(timeout, timeUnit);
-            if (!acquired)
-                throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(timeout, timeUnit);
+            if (semaphore.tryAcquire()) {
+                getStatistics().acquired();
+            } else {
+                long start = System.nanoTime();
+                boolean acquired = semaphore.tryAcquire(timeout, timeUnit);
+                if (!acquired)
+                    throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(timeout, timeUnit);
+                getStatistics().acquired(System.nanoTime() - start);
+            }
         } catch (InterruptedException e) {
             throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
         }
@@ -166,6 +172,10 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
 
     }
 
+    public void prefill() {
+        // Not supported
+    }
+
     public void stop() {
         for (T obj = pool.poll(); obj != null; obj = pool.poll()) {
             destroy(obj);
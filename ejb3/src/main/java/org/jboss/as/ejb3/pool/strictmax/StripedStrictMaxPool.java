@@ -0,0 +1,273 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool.strictmax;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with a maximum size, optimized for highly concurrent access.
+ * <p/>
+ * Unlike {@link StrictMaxPool}, there is no shared semaphore and no queue node allocated per release.
+ * Idle instances are stored in a fixed array of slots, one per permitted instance.
+ * Each thread starts probing for an idle instance, or for an empty slot on release, at its own home slot,
+ * so that threads on different cores do not contend for the same slot and a thread tends to reuse the instance it last released.
+ * Callers only fall back to a lock when the pool is exhausted and they need to wait for an instance to be released.
+ * <p/>
+ * The pool can optionally be pre-filled to its maximum size once its component has started.
+ */
+public class StripedStrictMaxPool<T> extends AbstractPool<T> {
+
+    private final int maxSize;
+    private final long timeout;
+    private final TimeUnit timeUnit;
+    private final boolean prefill;
+    /**
+     * Idle instances. Since there is one slot per permitted instance, a released instance always finds an empty slot.
+     */
+    private final AtomicReferenceArray<T> slots;
+    /**
+     * The number of instances created by this pool that have not yet been destroyed, i.e. idle or in use.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder inUse = new LongAdder();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final Lock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+
+    public StripedStrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit, boolean prefill) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        this.prefill = prefill;
+        this.slots = new AtomicReferenceArray<>(maxSize);
+    }
+
+    public void discard(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, ctx);
+        }
+        this.inUse.decrement();
+        try {
+            super.doRemove(ctx);
+        } finally {
+            this.size.decrementAndGet();
+            this.signal();
+        }
+    }
+
+    public int getCurrentSize() {
+        return getCreateCount() - getRemoveCount();
+    }
+
+    public int getAvailableCount() {
+        return this.maxSize - this.inUse.intValue();
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        throw EjbLogger.ROOT_LOGGER.methodNotImplemented();
+    }
+
+    public T get() {
+        T bean = this.poll();
+        if (bean != null) {
+            getStatistics().acquired();
+        } else if (this.reserve()) {
+            bean = this.createReserved();
+            getStatistics().acquired();
+        } else {
+            long start = System.nanoTime();
+            bean = this.await();
+            if (bean == null) {
+                // We reserved capacity for a new instance while waiting
+                bean = this.createReserved();
+            }
+            getStatistics().acquired(System.nanoTime() - start);
+        }
+        this.inUse.increment();
+        return bean;
+    }
+
+    public void release(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.inUse.intValue(), this.maxSize, this);
+        }
+        this.offer(obj);
+        this.inUse.decrement();
+        this.signal();
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, ctx);
+        }
+        this.discard(ctx);
+    }
+
+    public void start() {
+    }
+
+    /**
+     * Creates idle instances up to the maximum size of this pool, if so configured.
+     * Instance creation blocks until the owning component has started, thus this must not be invoked during component start.
+     */
+    public void prefill() {
+        if (this.prefill) {
+            try {
+                while (this.reserve()) {
+                    this.offer(this.createReserved());
+                }
+            } catch (RuntimeException e) {
+                EjbLogger.ROOT_LOGGER.failedToPrefillPool(this, e);
+            }
+        }
+    }
+
+    public void stop() {
+        for (int i = 0; i < this.slots.length(); ++i) {
+            T obj = this.slots.getAndSet(i, null);
+            if (obj != null) {
+                try {
+                    destroy(obj);
+                } finally {
+                    this.size.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for an idle instance, or for capacity to create a new one.
+     * @return an idle instance, or null if capacity for a new instance was reserved
+     */
+    private T await() {
+        long remaining = this.timeUnit.toNanos(this.timeout);
+        this.waiters.incrementAndGet();
+        this.lock.lock();
+        try {
+            while (true) {
+                T bean = this.poll();
+                if (bean != null) return bean;
+                if (this.reserve()) return null;
+                if (remaining <= 0L) {
+                    throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+                }
+                remaining = this.available.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        } finally {
+            this.lock.unlock();
+            this.waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Wakes a waiting caller, if any, after an instance was released or capacity was freed.
+     */
+    private void signal() {
+        if (this.waiters.get() > 0) {
+            this.lock.lock();
+            try {
+                this.available.signal();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    private boolean reserve() {
+        int current = this.size.get();
+        while (current < this.maxSize) {
+            if (this.size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = this.size.get();
+        }
+        return false;
+    }
+
+    private T createReserved() {
+        T bean = null;
+        try {
+            bean = create();
+            return bean;
+        } finally {
+            if (bean == null) {
+                this.size.decrementAndGet();
+                this.signal();
+            }
+        }
+    }
+
+    private T poll() {
+        int length = this.slots.length();
+        int home = home(length);
+        for (int i = 0; i < length; ++i) {
+            int index = (home + i) % length;
+            T bean = this.slots.get(index);
+            if ((bean != null) && this.slots.compareAndSet(index, bean, null)) {
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    private void offer(T bean) {
+        int length = this.slots.length();
+        int home = home(length);
+        // Since the number of instances never exceeds the number of slots, we are guaranteed to eventually find an empty slot
+        while (true) {
+            for (int i = 0; i < length; ++i) {
+                int index = (home + i) % length;
+                if ((this.slots.get(index) == null) && this.slots.compareAndSet(index, null, bean)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static int home(int length) {
+        long id = Thread.currentThread().getId();
+        // Spread sequential thread ids across slots
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash >>> 1) % length;
+    }
+}
@@ -30,6 +30,7 @@ import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.ejb3.deployment.processors.TimerServiceDeploymentProcessor;
+import org.jboss.as.ejb3.timerservice.TimerScheduler;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
 import org.jboss.as.ejb3.timerservice.persistence.database.DatabaseTimerPersistence;
 import org.jboss.as.naming.ManagedReferenceFactory;
@@ -50,6 +51,13 @@ public class DatabaseDataStoreAdd extends AbstractAddStepHandler {
 
     public static final DatabaseDataStoreAdd INSTANCE = new DatabaseDataStoreAdd();
 
+    // Selects the incremental refresh of changed timers, for all database data stores or for a specific data store
+    static final String INCREMENTAL_REFRESH_PROPERTY = "jboss.ejb.timer.database.incremental-refresh";
+    static final String DATA_STORE_INCREMENTAL_REFRESH_PROPERTY = "jboss.ejb.timer.database.%s.incremental-refresh";
+    // Allows the timer table to be altered on start to support incremental refresh, for all database data stores or for a specific data store
+    static final String UPGRADE_TABLE_PROPERTY = "jboss.ejb.timer.database.upgrade-table";
+    static final String DATA_STORE_UPGRADE_TABLE_PROPERTY = "jboss.ejb.timer.database.%s.upgrade-table";
+
     protected void populateModel(ModelNode operation, ModelNode timerServiceModel) throws OperationFailedException {
 
         for (AttributeDefinition attr : DatabaseDataStoreResourceDefinition.ATTRIBUTES.values()) {
@@ -77,12 +85,14 @@ public class DatabaseDataStoreAdd extends AbstractAddStepHandler {
         boolean allowExecution = DatabaseDataStoreResourceDefinition.ALLOW_EXECUTION.resolveModelAttribute(context, model).asBoolean();
 
         final String nodeName = WildFlySecurityManager.getPropertyPrivileged(ServerEnvironment.NODE_NAME, null);
-        final DatabaseTimerPersistence databaseTimerPersistence = new DatabaseTimerPersistence(database, partition, nodeName, refreshInterval, allowExecution);
+        final boolean incrementalRefresh = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(String.format(DATA_STORE_INCREMENTAL_REFRESH_PROPERTY, name), WildFlySecurityManager.getPropertyPrivileged(INCREMENTAL_REFRESH_PROPERTY, null)));
+        final boolean upgradeTable = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(String.format(DATA_STORE_UPGRADE_TABLE_PROPERTY, name), WildFlySecurityManager.getPropertyPrivileged(UPGRADE_TABLE_PROPERTY, null)));
+        final DatabaseTimerPersistence databaseTimerPersistence = new DatabaseTimerPersistence(database, partition, nodeName, refreshInterval, allowExecution, incrementalRefresh, upgradeTable);
         final ServiceName serviceName = TimerPersistence.SERVICE_NAME.append(name);
         context.getServiceTarget().addService(serviceName, databaseTimerPersistence)
                 .addDependency(Services.JBOSS_SERVICE_MODULE_LOADER, ModuleLoader.class, databaseTimerPersistence.getModuleLoader())
                 .addDependency(ContextNames.bindInfoFor(jndiName).getBinderServiceName(), ManagedReferenceFactory.class, databaseTimerPersistence.getDataSourceInjectedValue())
-                .addDependency(TimerServiceDeploymentProcessor.TIMER_SERVICE_NAME, java.util.Timer.class, databaseTimerPersistence.getTimerInjectedValue())
+                .addDependency(TimerServiceDeploymentProcessor.TIMER_SERVICE_NAME, TimerScheduler.class, databaseTimerPersistence.getTimerInjectedValue())
                 .install();
     }
 
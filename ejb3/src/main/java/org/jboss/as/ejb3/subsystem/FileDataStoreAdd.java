@@ -35,11 +35,13 @@ import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.controller.services.path.PathManagerService;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
 import org.jboss.as.ejb3.timerservice.persistence.filestore.FileTimerPersistence;
+import org.jboss.as.ejb3.timerservice.persistence.filestore.JournalFileTimerPersistence;
 import org.jboss.as.server.Services;
 import org.jboss.dmr.ModelNode;
 import org.jboss.modules.ModuleLoader;
 import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceName;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Adds the timer service file based data store
@@ -50,6 +52,10 @@ public class FileDataStoreAdd extends AbstractAddStepHandler {
 
     public static final FileDataStoreAdd INSTANCE = new FileDataStoreAdd();
 
+    // Selects the append-only journal store, for all file data stores or for a specific data store
+    static final String JOURNAL_PROPERTY = "jboss.ejb.timer.file-data-store.journal";
+    static final String DATA_STORE_JOURNAL_PROPERTY = "jboss.ejb.timer.file-data-store.%s.journal";
+
     protected void populateModel(ModelNode operation, ModelNode timerServiceModel) throws OperationFailedException {
         for (AttributeDefinition attr : FileDataStoreResourceDefinition.ATTRIBUTES.values()) {
             attr.validateAndSet(operation, timerServiceModel);
@@ -62,9 +68,11 @@ public class FileDataStoreAdd extends AbstractAddStepHandler {
         final ModelNode relativeToNode = FileDataStoreResourceDefinition.RELATIVE_TO.resolveModelAttribute(context, model);
         final String relativeTo = relativeToNode.isDefined() ? relativeToNode.asString() : null;
 
-        final FileTimerPersistence fileTimerPersistence = new FileTimerPersistence(true, path, relativeTo);
         final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
-        final ServiceName serviceName = TimerPersistence.SERVICE_NAME.append(address.getLastElement().getValue());
+        final String name = address.getLastElement().getValue();
+        final boolean journal = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(String.format(DATA_STORE_JOURNAL_PROPERTY, name), WildFlySecurityManager.getPropertyPrivileged(JOURNAL_PROPERTY, null)));
+        final FileTimerPersistence fileTimerPersistence = journal ? new JournalFileTimerPersistence(true, path, relativeTo) : new FileTimerPersistence(true, path, relativeTo);
+        final ServiceName serviceName = TimerPersistence.SERVICE_NAME.append(name);
         final ServiceBuilder sb = context.getServiceTarget().addService(serviceName, fileTimerPersistence);
         sb.addDependency(Services.JBOSS_SERVICE_MODULE_LOADER, ModuleLoader.class, fileTimerPersistence.getModuleLoader());
         sb.addDependency(PathManagerService.SERVICE_NAME, PathManager.class, fileTimerPersistence.getPathManager());
@@ -22,6 +22,8 @@
 
 package org.jboss.as.ejb3.subsystem;
 
+import java.util.Locale;
+
 import org.jboss.as.controller.AbstractAddStepHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
@@ -29,13 +31,19 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.ejb3.cache.distributable.DistributableCacheFactoryBuilderServiceConfigurator;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
+import org.wildfly.clustering.ejb.BeanGroupPersistenceStrategy;
 import org.wildfly.clustering.ejb.BeanManagerFactoryServiceConfiguratorConfiguration;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * @author Paul Ferraro
  */
 public class PassivationStoreAdd extends AbstractAddStepHandler {
 
+    // Selects the storage granularity of bean groups, i.e. COARSE or FINE
+    private static final String PERSISTENCE_STRATEGY_PROPERTY = "jboss.ejb.passivation-store.persistence-strategy";
+    private static final String PASSIVATION_STORE_PERSISTENCE_STRATEGY_PROPERTY = "jboss.ejb.passivation-store.%s.persistence-strategy";
+
     private final AttributeDefinition[] attributes;
 
     PassivationStoreAdd(AttributeDefinition... attributes) {
@@ -60,6 +68,7 @@ public class PassivationStoreAdd extends AbstractAddStepHandler {
 
     protected void install(OperationContext context, ModelNode operation, final int maxSize, final String containerName, final String cacheName) {
         final String name = context.getCurrentAddressValue();
+        final BeanGroupPersistenceStrategy strategy = BeanGroupPersistenceStrategy.valueOf(WildFlySecurityManager.getPropertyPrivileged(String.format(PASSIVATION_STORE_PERSISTENCE_STRATEGY_PROPERTY, name), WildFlySecurityManager.getPropertyPrivileged(PERSISTENCE_STRATEGY_PROPERTY, BeanGroupPersistenceStrategy.COARSE.name())).toUpperCase(Locale.ENGLISH));
         BeanManagerFactoryServiceConfiguratorConfiguration config = new BeanManagerFactoryServiceConfiguratorConfiguration() {
             @Override
             public String getContainerName() {
@@ -75,6 +84,11 @@ public class PassivationStoreAdd extends AbstractAddStepHandler {
             public int getMaxSize() {
                 return maxSize;
             }
+
+            @Override
+            public BeanGroupPersistenceStrategy getPersistenceStrategy() {
+                return strategy;
+            }
         };
         new DistributableCacheFactoryBuilderServiceConfigurator<>(name, config).build(context.getServiceTarget())
                 .setInitialMode(ServiceController.Mode.ON_DEMAND)
@@ -24,8 +24,6 @@ package org.jboss.as.ejb3.subsystem;
 
 import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
 
-import java.util.Timer;
-
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
@@ -34,6 +32,7 @@ import org.jboss.as.ejb3.deployment.processors.AroundTimeoutAnnotationParsingPro
 import org.jboss.as.ejb3.deployment.processors.TimerServiceDeploymentProcessor;
 import org.jboss.as.ejb3.deployment.processors.annotation.TimerServiceAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.merging.TimerMethodMergingProcessor;
+import org.jboss.as.ejb3.timerservice.TimerScheduler;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
 import org.jboss.as.server.deployment.Phase;
@@ -43,6 +42,7 @@ import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Adds the timer service
@@ -53,6 +53,14 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
 
     public static final TimerServiceAdd INSTANCE = new TimerServiceAdd();
 
+    // Number of buckets (and thus threads) used to dispatch timeouts
+    static final String SCHEDULER_BUCKETS_PROPERTY = "jboss.ejb.timer.scheduler.buckets";
+    // Maximum number of missed executions of an interval timer that are caught up, or -1 for no limit
+    static final String SCHEDULER_MAX_CATCH_UP_PROPERTY = "jboss.ejb.timer.scheduler.max-catch-up";
+    private static final int DEFAULT_SCHEDULER_BUCKETS = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    // Like java.util.Timer, catch up on all missed executions by default
+    private static final int DEFAULT_SCHEDULER_MAX_CATCH_UP = -1;
+
     private TimerServiceAdd() {
 
     }
@@ -94,23 +102,42 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
 
     }
 
-    private static final class TimerValueService implements Service<Timer> {
+    private static final class TimerValueService implements Service<TimerScheduler> {
 
-        private Timer timer;
+        private TimerScheduler timer;
 
         @Override
         public synchronized void start(final StartContext context) throws StartException {
-            timer = new Timer();
+            final int buckets = parseProperty(SCHEDULER_BUCKETS_PROPERTY, 1, DEFAULT_SCHEDULER_BUCKETS);
+            final int maxCatchUp = parseProperty(SCHEDULER_MAX_CATCH_UP_PROPERTY, -1, DEFAULT_SCHEDULER_MAX_CATCH_UP);
+            timer = new TimerScheduler(buckets, maxCatchUp);
+        }
+
+        private static int parseProperty(String property, int min, int defaultValue) {
+            final String value = WildFlySecurityManager.getPropertyPrivileged(property, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                final int result = Integer.parseInt(value.trim());
+                if (result >= min) {
+                    return result;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through
+            }
+            ROOT_LOGGER.invalidSystemPropertyValue(value, property, defaultValue);
+            return defaultValue;
         }
 
         @Override
         public synchronized void stop(final StopContext context) {
-            timer.cancel();
+            timer.shutdown();
             timer = null;
         }
 
         @Override
-        public synchronized Timer getValue() throws IllegalStateException, IllegalArgumentException {
+        public synchronized TimerScheduler getValue() throws IllegalStateException, IllegalArgumentException {
             return timer;
         }
     }
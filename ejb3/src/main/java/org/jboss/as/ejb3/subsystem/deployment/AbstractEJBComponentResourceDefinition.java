@@ -33,12 +33,16 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.PrimitiveListAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleMapAttributeDefinition;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
+import org.jboss.as.ejb3.component.invocationmetrics.LatencyHistogram;
+import org.jboss.as.ejb3.component.singleton.LockMetrics;
+import org.jboss.as.ejb3.component.singleton.SingletonComponent;
 import org.jboss.as.ejb3.component.stateful.StatefulSessionComponent;
 import org.jboss.as.ejb3.subsystem.EJB3Extension;
 import org.jboss.dmr.ModelNode;
@@ -80,7 +84,32 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
             .build();
 
-    private static final AttributeDefinition METHODS = ObjectTypeAttributeDefinition.Builder.of("methods", EXECUTION_TIME, INVOCATIONS, WAIT_TIME)
+    private static final AttributeDefinition P50 = new SimpleAttributeDefinitionBuilder("p50", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition P99 = new SimpleAttributeDefinitionBuilder("p99", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition P999 = new SimpleAttributeDefinitionBuilder("p999", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition EXECUTION_TIME_PERCENTILES = ObjectTypeAttributeDefinition.Builder.of("execution-time-percentiles", P50, P99, P999)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition WAIT_TIME_PERCENTILES = ObjectTypeAttributeDefinition.Builder.of("wait-time-percentiles", P50, P99, P999)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition METHODS = ObjectTypeAttributeDefinition.Builder.of("methods", EXECUTION_TIME, INVOCATIONS, WAIT_TIME, EXECUTION_TIME_PERCENTILES, WAIT_TIME_PERCENTILES)
             .setRequired(false)
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
@@ -112,6 +141,33 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
 
+    // Container-managed concurrency attributes
+
+    private static final AttributeDefinition LOCK_WAIT_TIME = new SimpleAttributeDefinitionBuilder("lock-wait-time", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    private static final AttributeDefinition LOCK_CONTENTION_COUNT = new SimpleAttributeDefinitionBuilder("lock-contention-count", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    private static final AttributeDefinition LOCK_TIMEOUT_COUNT = new SimpleAttributeDefinitionBuilder("lock-timeout-count", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    private static final AttributeDefinition LOCK_WAIT_TIME_PERCENTILES = ObjectTypeAttributeDefinition.Builder.of("lock-wait-time-percentiles", P50, P99, P999)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition LOCK_METHODS = ObjectTypeAttributeDefinition.Builder.of("lock-methods", LOCK_WAIT_TIME, LOCK_CONTENTION_COUNT, LOCK_TIMEOUT_COUNT, LOCK_WAIT_TIME_PERCENTILES)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
     // Pool attributes
 
     public static final SimpleAttributeDefinition POOL_AVAILABLE_COUNT = new SimpleAttributeDefinitionBuilder("pool-available-count", ModelType.INT, false)
@@ -127,6 +183,14 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC).build();
     public static final SimpleAttributeDefinition POOL_MAX_SIZE = new SimpleAttributeDefinitionBuilder("pool-max-size", ModelType.INT, false)
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME).build();
+    public static final SimpleAttributeDefinition POOL_WAIT_COUNT = new SimpleAttributeDefinitionBuilder("pool-wait-count", ModelType.LONG, false)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC).build();
+    public static final SimpleAttributeDefinition POOL_WAIT_TIME = new SimpleAttributeDefinitionBuilder("pool-wait-time", ModelType.LONG, false)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC).build();
+    public static final SimpleMapAttributeDefinition POOL_WAIT_TIME_HISTOGRAM = new SimpleMapAttributeDefinition.Builder("pool-wait-time-histogram", ModelType.LONG, true)
+            .setStorageRuntime().build();
 
     private final EJBComponentType componentType;
 
@@ -154,6 +218,9 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             resourceRegistration.registerReadOnlyAttribute(POOL_REMOVE_COUNT, handler);
             resourceRegistration.registerReadOnlyAttribute(POOL_CURRENT_SIZE, handler);
             resourceRegistration.registerReadWriteAttribute(POOL_MAX_SIZE, handler, handler);
+            resourceRegistration.registerMetric(POOL_WAIT_COUNT, handler);
+            resourceRegistration.registerMetric(POOL_WAIT_TIME, handler);
+            resourceRegistration.registerReadOnlyAttribute(POOL_WAIT_TIME_HISTOGRAM, handler);
         }
 
         if (componentType.equals(EJBComponentType.STATEFUL)) {
@@ -177,6 +244,48 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             });
         }
 
+        if (componentType.equals(EJBComponentType.SINGLETON)) {
+            resourceRegistration.registerMetric(LOCK_WAIT_TIME, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    context.getResult().set(((SingletonComponent) component).getLockMetrics().getWaitTime());
+                }
+            });
+            resourceRegistration.registerMetric(LOCK_CONTENTION_COUNT, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    context.getResult().set(((SingletonComponent) component).getLockMetrics().getContentionCount());
+                }
+            });
+            resourceRegistration.registerMetric(LOCK_TIMEOUT_COUNT, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    context.getResult().set(((SingletonComponent) component).getLockMetrics().getTimeoutCount());
+                }
+            });
+            resourceRegistration.registerMetric(LOCK_WAIT_TIME_PERCENTILES, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    context.getResult().set(percentiles(((SingletonComponent) component).getLockMetrics().getWaitTimeHistogram()));
+                }
+            });
+            resourceRegistration.registerMetric(LOCK_METHODS, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    context.getResult().setEmptyObject();
+                    for (final Map.Entry<String, LockMetrics.Values> entry : ((SingletonComponent) component).getLockMetrics().getMethods().entrySet()) {
+                        final LockMetrics.Values values = entry.getValue();
+                        final ModelNode result = new ModelNode();
+                        result.get(LOCK_WAIT_TIME.getName()).set(values.getWaitTime());
+                        result.get(LOCK_CONTENTION_COUNT.getName()).set(values.getContentionCount());
+                        result.get(LOCK_TIMEOUT_COUNT.getName()).set(values.getTimeoutCount());
+                        result.get(LOCK_WAIT_TIME_PERCENTILES.getName()).set(percentiles(values.getWaitTimeHistogram()));
+                        context.getResult().get(entry.getKey()).set(result);
+                    }
+                }
+            });
+        }
+
         resourceRegistration.registerMetric(EXECUTION_TIME, new AbstractRuntimeMetricsHandler() {
             @Override
             protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
@@ -211,10 +320,32 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                     result.get("execution-time").set(values.getExecutionTime());
                     result.get("invocations").set(values.getInvocations());
                     result.get("wait-time").set(values.getWaitTime());
+                    result.get(EXECUTION_TIME_PERCENTILES.getName()).set(percentiles(values.getExecutionTimeHistogram()));
+                    result.get(WAIT_TIME_PERCENTILES.getName()).set(percentiles(values.getWaitTimeHistogram()));
                     context.getResult().get(entry.getKey()).set(result);
                 }
             }
         });
+        resourceRegistration.registerMetric(EXECUTION_TIME_PERCENTILES, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                context.getResult().set(percentiles(component.getInvocationMetrics().getExecutionTimeHistogram()));
+            }
+        });
+        resourceRegistration.registerMetric(WAIT_TIME_PERCENTILES, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                context.getResult().set(percentiles(component.getInvocationMetrics().getWaitTimeHistogram()));
+            }
+        });
+    }
+
+    private static ModelNode percentiles(final LatencyHistogram histogram) {
+        final ModelNode result = new ModelNode();
+        result.get(P50.getName()).set(histogram.getPercentile(0.5));
+        result.get(P99.getName()).set(histogram.getPercentile(0.99));
+        result.get(P999.getName()).set(histogram.getPercentile(0.999));
+        return result;
     }
 
     /* (non-Javadoc)
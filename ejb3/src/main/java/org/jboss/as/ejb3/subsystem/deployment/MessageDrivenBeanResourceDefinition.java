@@ -26,6 +26,7 @@ import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinition;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -44,6 +45,26 @@ public class MessageDrivenBeanResourceDefinition extends AbstractEJBComponentRes
             .setStorageRuntime()
             .build();
 
+    public static final AttributeDefinition BATCH_DELIVERY_COUNT = new SimpleAttributeDefinitionBuilder("batch-delivery-count", ModelType.LONG, false)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    public static final AttributeDefinition BATCH_DELIVERY_MESSAGE_COUNT = new SimpleAttributeDefinitionBuilder("batch-delivery-message-count", ModelType.LONG, false)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    public static final AttributeDefinition BATCH_DELIVERY_ROLLBACK_COUNT = new SimpleAttributeDefinitionBuilder("batch-delivery-rollback-count", ModelType.LONG, false)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    public static final AttributeDefinition BATCH_DELIVERY_COMMIT_TIME = new SimpleAttributeDefinitionBuilder("batch-delivery-commit-time", ModelType.LONG, false)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
     static final String START_DELIVERY = "start-delivery";
     static final String STOP_DELIVERY = "stop-delivery";
 
@@ -56,6 +77,10 @@ public class MessageDrivenBeanResourceDefinition extends AbstractEJBComponentRes
         super.registerAttributes(registry);
 
         registry.registerReadOnlyAttribute(DELIVERY_ACTIVE, MessageDrivenBeanRuntimeHandler.INSTANCE);
+        registry.registerMetric(BATCH_DELIVERY_COUNT, MessageDrivenBeanRuntimeHandler.INSTANCE);
+        registry.registerMetric(BATCH_DELIVERY_MESSAGE_COUNT, MessageDrivenBeanRuntimeHandler.INSTANCE);
+        registry.registerMetric(BATCH_DELIVERY_ROLLBACK_COUNT, MessageDrivenBeanRuntimeHandler.INSTANCE);
+        registry.registerMetric(BATCH_DELIVERY_COMMIT_TIME, MessageDrivenBeanRuntimeHandler.INSTANCE);
     }
 
     @Override
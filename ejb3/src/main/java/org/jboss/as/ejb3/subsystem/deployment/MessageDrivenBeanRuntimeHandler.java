@@ -22,6 +22,10 @@
 
 package org.jboss.as.ejb3.subsystem.deployment;
 
+import static org.jboss.as.ejb3.subsystem.deployment.MessageDrivenBeanResourceDefinition.BATCH_DELIVERY_COMMIT_TIME;
+import static org.jboss.as.ejb3.subsystem.deployment.MessageDrivenBeanResourceDefinition.BATCH_DELIVERY_COUNT;
+import static org.jboss.as.ejb3.subsystem.deployment.MessageDrivenBeanResourceDefinition.BATCH_DELIVERY_MESSAGE_COUNT;
+import static org.jboss.as.ejb3.subsystem.deployment.MessageDrivenBeanResourceDefinition.BATCH_DELIVERY_ROLLBACK_COUNT;
 import static org.jboss.as.ejb3.subsystem.deployment.MessageDrivenBeanResourceDefinition.DELIVERY_ACTIVE;
 import static org.jboss.as.ejb3.subsystem.deployment.MessageDrivenBeanResourceDefinition.START_DELIVERY;
 import static org.jboss.as.ejb3.subsystem.deployment.MessageDrivenBeanResourceDefinition.STOP_DELIVERY;
@@ -30,6 +34,7 @@ import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.ejb3.component.messagedriven.MessageDrivenComponent;
+import org.jboss.as.ejb3.inflow.BatchDelivery;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 
@@ -52,6 +57,18 @@ public class MessageDrivenBeanRuntimeHandler extends AbstractEJBComponentRuntime
     protected void executeReadAttribute(String attributeName, OperationContext context, MessageDrivenComponent component, PathAddress address) {
         if (DELIVERY_ACTIVE.getName().equals(attributeName)) {
             context.getResult().set(component.isDeliveryActive());
+        } else if (BATCH_DELIVERY_COUNT.getName().equals(attributeName)) {
+            final BatchDelivery batchDelivery = component.getBatchDelivery();
+            context.getResult().set((batchDelivery != null) ? batchDelivery.getBatchCount() : 0L);
+        } else if (BATCH_DELIVERY_MESSAGE_COUNT.getName().equals(attributeName)) {
+            final BatchDelivery batchDelivery = component.getBatchDelivery();
+            context.getResult().set((batchDelivery != null) ? batchDelivery.getMessageCount() : 0L);
+        } else if (BATCH_DELIVERY_ROLLBACK_COUNT.getName().equals(attributeName)) {
+            final BatchDelivery batchDelivery = component.getBatchDelivery();
+            context.getResult().set((batchDelivery != null) ? batchDelivery.getRollbackCount() : 0L);
+        } else if (BATCH_DELIVERY_COMMIT_TIME.getName().equals(attributeName)) {
+            final BatchDelivery batchDelivery = component.getBatchDelivery();
+            context.getResult().set((batchDelivery != null) ? batchDelivery.getCommitTime() : 0L);
         } else {
             super.executeReadAttribute(attributeName, context, component, address);
         }
@@ -22,12 +22,24 @@
 
 package org.jboss.as.ejb3.subsystem.deployment;
 
+import javax.ejb.TimerService;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.subsystem.EJB3Extension;
 import org.jboss.as.ejb3.subsystem.EJB3SubsystemModel;
+import org.jboss.as.ejb3.timerservice.TimerLateness;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  * {@link ResourceDefinition} for the timer-service resource for runtime ejb deployment.
@@ -36,6 +48,40 @@ import org.jboss.as.ejb3.subsystem.EJB3SubsystemModel;
  */
 public class TimerServiceResourceDefinition<T extends EJBComponent> extends SimpleResourceDefinition {
 
+    private static final AttributeDefinition TIMEOUT_COUNT = new SimpleAttributeDefinitionBuilder("timeout-count", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    private static final AttributeDefinition TIMEOUT_LATENESS_AVERAGE = new SimpleAttributeDefinitionBuilder("timeout-lateness-average", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition TIMEOUT_LATENESS_MAX = new SimpleAttributeDefinitionBuilder("timeout-lateness-max", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition P50 = new SimpleAttributeDefinitionBuilder("p50", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition P99 = new SimpleAttributeDefinitionBuilder("p99", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition P999 = new SimpleAttributeDefinitionBuilder("p999", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition TIMEOUT_LATENESS_PERCENTILES = ObjectTypeAttributeDefinition.Builder.of("timeout-lateness-percentiles", P50, P99, P999)
+            .setStorageRuntime()
+            .build();
+
     private final AbstractEJBComponentRuntimeHandler<T> parentHandler;
     TimerServiceResourceDefinition(AbstractEJBComponentRuntimeHandler<T> parentHandler) {
         super(EJB3SubsystemModel.TIMER_SERVICE_PATH,
@@ -43,9 +89,53 @@ public class TimerServiceResourceDefinition<T extends EJBComponent> extends Simp
         this.parentHandler = parentHandler;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(TIMEOUT_COUNT, new AbstractTimerLatenessHandler() {
+            @Override
+            void readLateness(TimerLateness lateness, ModelNode result) {
+                result.set(lateness.getCount());
+            }
+        });
+        resourceRegistration.registerMetric(TIMEOUT_LATENESS_AVERAGE, new AbstractTimerLatenessHandler() {
+            @Override
+            void readLateness(TimerLateness lateness, ModelNode result) {
+                result.set(lateness.getAverage());
+            }
+        });
+        resourceRegistration.registerMetric(TIMEOUT_LATENESS_MAX, new AbstractTimerLatenessHandler() {
+            @Override
+            void readLateness(TimerLateness lateness, ModelNode result) {
+                result.set(lateness.getMax());
+            }
+        });
+        resourceRegistration.registerMetric(TIMEOUT_LATENESS_PERCENTILES, new AbstractTimerLatenessHandler() {
+            @Override
+            void readLateness(TimerLateness lateness, ModelNode result) {
+                result.get(P50.getName()).set(lateness.getPercentile(0.5));
+                result.get(P99.getName()).set(lateness.getPercentile(0.99));
+                result.get(P999.getName()).set(lateness.getPercentile(0.999));
+            }
+        });
+    }
+
     @Override
     public void registerChildren(ManagementResourceRegistration resourceRegistration) {
         super.registerChildren(resourceRegistration);
         resourceRegistration.registerSubModel(new TimerResourceDefinition<T>(this.parentHandler));
     }
+
+    private abstract static class AbstractTimerLatenessHandler extends AbstractRuntimeMetricsHandler {
+        @Override
+        protected void executeReadMetricStep(OperationContext context, ModelNode operation, EJBComponent component) throws OperationFailedException {
+            final TimerService timerService = component.getTimerService();
+            // Components without a functional timer service have no lateness to report
+            if (timerService instanceof TimerServiceImpl) {
+                readLateness(((TimerServiceImpl) timerService).getLateness(), context.getResult());
+            }
+        }
+
+        abstract void readLateness(TimerLateness lateness, ModelNode result);
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.ejb3.component.invocationmetrics.LatencyHistogram;
+
+/**
+ * Statistics of the lateness of the timeouts of a timer service, i.e. the delay between the scheduled time of a timeout
+ * and the time at which its timeout method starts executing.
+ */
+public class TimerLateness {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /**
+     * Records the lateness of a timeout.
+     * @param millis the lateness in milliseconds
+     */
+    void record(long millis) {
+        long lateness = Math.max(millis, 0L);
+        this.count.increment();
+        this.total.add(lateness);
+        this.max.accumulate(lateness);
+        this.histogram.record(TimeUnit.MILLISECONDS.toNanos(lateness));
+    }
+
+    /**
+     * @return the number of recorded timeouts
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return the average lateness in milliseconds
+     */
+    public long getAverage() {
+        long count = this.count.sum();
+        return (count > 0) ? this.total.sum() / count : 0L;
+    }
+
+    /**
+     * @return the maximum lateness in milliseconds
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Returns the lateness, in milliseconds, at or below which the specified fraction of timeouts fall.
+     * @param percentile a fraction between 0 and 1, e.g. 0.99
+     */
+    public long getPercentile(double percentile) {
+        return TimeUnit.MICROSECONDS.toMillis(this.histogram.getPercentile(percentile));
+    }
+}
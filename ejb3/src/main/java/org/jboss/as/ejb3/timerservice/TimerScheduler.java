@@ -0,0 +1,230 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Schedules timer expirations on behalf of all timer services of a server.
+ * <p/>
+ * Unlike {@link java.util.Timer}, whose single thread and single queue serialize every scheduled task,
+ * tasks are distributed across a fixed number of buckets by key, each with its own queue and dispatch thread.
+ * Thus a burst of simultaneously due timers is dispatched in parallel, and a slow task only delays the tasks sharing its bucket.
+ * Tasks scheduled with the same key are always dispatched by the same bucket, and thus in order.
+ * <p/>
+ * Tasks scheduled at a fixed rate catch up with at most a bounded number of missed executions, after which missed executions are skipped.
+ * Each task is passed the time (in ms since the epoch) at which its execution was scheduled, from which the caller can determine its lateness.
+ * <p/>
+ * Maintenance tasks, e.g. refreshing timers from a shared store, run on a dedicated thread, so that they never delay timeouts.
+ */
+public class TimerScheduler {
+
+    /**
+     * Handle to a scheduled task.
+     */
+    public interface Scheduled {
+        /**
+         * Prevents any further executions of the scheduled task.
+         * @return false, if the task could not be cancelled, typically because it has already run, true otherwise
+         */
+        boolean cancel();
+    }
+
+    private final ScheduledThreadPoolExecutor[] buckets;
+    private final ScheduledThreadPoolExecutor maintenance;
+    private final int maxCatchUp;
+
+    /**
+     * Creates a new timer scheduler.
+     * @param buckets the number of buckets (and thus threads) across which tasks are distributed
+     * @param maxCatchUp the maximum number of missed executions of a fixed rate task executed back to back, or a negative value for unbounded catch-up
+     */
+    public TimerScheduler(int buckets, int maxCatchUp) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException(Integer.toString(buckets));
+        }
+        this.maxCatchUp = maxCatchUp;
+        this.buckets = new ScheduledThreadPoolExecutor[buckets];
+        ThreadFactory factory = new SchedulerThreadFactory();
+        for (int i = 0; i < buckets; ++i) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, factory);
+            // Cancelled timers must not linger in the queue until their scheduled time (WFLY-3823)
+            executor.setRemoveOnCancelPolicy(true);
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            this.buckets[i] = executor;
+        }
+        this.maintenance = new ScheduledThreadPoolExecutor(1, factory);
+        this.maintenance.setRemoveOnCancelPolicy(true);
+        this.maintenance.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Schedules a task for a single execution.
+     * @param key determines the bucket of the task
+     * @param task the task, to which the scheduled execution time is passed
+     * @param delay the delay in milliseconds
+     * @return a handle to the scheduled task
+     */
+    public Scheduled schedule(Object key, LongConsumer task, long delay) {
+        long delayMillis = Math.max(delay, 0L);
+        long time = System.currentTimeMillis() + delayMillis;
+        ScheduledFuture<?> future = this.bucket(key).schedule(() -> run(task, time), delayMillis, TimeUnit.MILLISECONDS);
+        return () -> future.cancel(false);
+    }
+
+    /**
+     * Schedules a task for repeated executions at a fixed rate.
+     * @param key determines the bucket of the task
+     * @param task the task, to which the scheduled execution time is passed
+     * @param delay the delay in milliseconds before the first execution
+     * @param period the period in milliseconds between successive executions
+     * @return a handle to the scheduled task
+     */
+    public Scheduled scheduleAtFixedRate(Object key, LongConsumer task, long delay, long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException(Long.toString(period));
+        }
+        FixedRateTask fixedRateTask = new FixedRateTask(this.bucket(key), task, System.currentTimeMillis() + Math.max(delay, 0L), period);
+        fixedRateTask.schedule();
+        return fixedRateTask;
+    }
+
+    /**
+     * Schedules a maintenance task for repeated executions with a fixed delay between the end of one execution and the start of the next.
+     * @param task the task
+     * @param delay the delay in milliseconds before the first execution, and between successive executions
+     * @return a handle to the scheduled task
+     */
+    public Scheduled scheduleWithFixedDelay(Runnable task, long delay) {
+        ScheduledFuture<?> future = this.maintenance.scheduleWithFixedDelay(() -> run(time -> task.run(), System.currentTimeMillis()), delay, delay, TimeUnit.MILLISECONDS);
+        return () -> future.cancel(false);
+    }
+
+    /**
+     * Removes cancelled tasks from the queues of this scheduler.
+     */
+    public void purge() {
+        for (ScheduledThreadPoolExecutor bucket : this.buckets) {
+            bucket.purge();
+        }
+        this.maintenance.purge();
+    }
+
+    /**
+     * Cancels all scheduled tasks and stops the threads of this scheduler.
+     */
+    public void shutdown() {
+        for (ScheduledThreadPoolExecutor bucket : this.buckets) {
+            bucket.shutdownNow();
+        }
+        this.maintenance.shutdownNow();
+    }
+
+    private ScheduledThreadPoolExecutor bucket(Object key) {
+        int hash = (key != null) ? key.hashCode() : 0;
+        // Spread the hash, since timer ids and other keys need not be well distributed in their low order bits
+        hash ^= (hash >>> 16);
+        return this.buckets[(hash & Integer.MAX_VALUE) % this.buckets.length];
+    }
+
+    static void run(LongConsumer task, long time) {
+        try {
+            task.accept(time);
+        } catch (Throwable e) {
+            // An exception must not terminate the bucket thread
+            EJB3_TIMER_LOGGER.errorDispatchingTimerTask(e);
+        }
+    }
+
+    private class FixedRateTask implements Runnable, Scheduled {
+        private final ScheduledThreadPoolExecutor executor;
+        private final LongConsumer task;
+        private final long period;
+        private long time;
+        private volatile ScheduledFuture<?> future;
+        private volatile boolean cancelled = false;
+
+        FixedRateTask(ScheduledThreadPoolExecutor executor, LongConsumer task, long time, long period) {
+            this.executor = executor;
+            this.task = task;
+            this.time = time;
+            this.period = period;
+        }
+
+        // Called either on creation, or by the bucket thread, thus never concurrently
+        synchronized void schedule() {
+            if (!this.cancelled && !this.executor.isShutdown()) {
+                this.future = this.executor.schedule(this, Math.max(this.time - System.currentTimeMillis(), 0L), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (this.cancelled) {
+                return;
+            }
+            long time = this.time;
+            TimerScheduler.run(this.task, time);
+            long next = time + this.period;
+            long now = System.currentTimeMillis();
+            if (TimerScheduler.this.maxCatchUp >= 0) {
+                long missed = (now - next) / this.period;
+                if (missed > TimerScheduler.this.maxCatchUp) {
+                    // Skip all but the most recent missed executions
+                    long skipped = missed - TimerScheduler.this.maxCatchUp;
+                    next += skipped * this.period;
+                    EJB3_TIMER_LOGGER.debugf("Skipped %d missed executions of %s", skipped, this.task);
+                }
+            }
+            this.time = next;
+            this.schedule();
+        }
+
+        @Override
+        public synchronized boolean cancel() {
+            boolean result = !this.cancelled;
+            this.cancelled = true;
+            if (this.future != null) {
+                this.future.cancel(false);
+            }
+            return result;
+        }
+    }
+
+    private static class SchedulerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "EJB timer scheduler " + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -37,6 +37,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
+import java.util.function.LongConsumer;
 
 import javax.ejb.EJBException;
 import javax.ejb.ScheduleExpression;
@@ -100,7 +101,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
 
     private final InjectedValue<ExecutorService> executorServiceInjectedValue = new InjectedValue<ExecutorService>();
 
-    private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
+    private final InjectedValue<TimerScheduler> timerInjectedValue = new InjectedValue<TimerScheduler>();
 
     private final InjectedValue<TimedObjectInvoker> timedObjectInvoker = new InjectedValue<TimedObjectInvoker>();
 
@@ -122,7 +123,12 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     /**
      * Holds the {@link java.util.concurrent.Future} of each of the timer tasks that have been scheduled
      */
-    private final Map<String, java.util.TimerTask> scheduledTimerFutures = new HashMap<String, java.util.TimerTask>();
+    private final Map<String, Task> scheduledTimerFutures = new HashMap<String, Task>();
+
+    /**
+     * Lateness of timeouts, i.e. the delay between the scheduled and the actual start of each timeout
+     */
+    private final TimerLateness lateness = new TimerLateness();
 
     /**
      * Key that is used to store timers that are waiting on transaction completion in the transaction local
@@ -710,6 +716,9 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
             EJB3_TIMER_LOGGER.debug("Found " + restorableTimers.size() + " active persistentTimers for timedObjectId: "
                     + getInvoker().getTimedObjectId());
         }
+        // auto timers whose state is updated on restore, persisted together once all are matched
+        final List<TimerImpl> restoredAutoTimers = new ArrayList<TimerImpl>();
+        final List<TimerImpl> startableAutoTimers = new ArrayList<TimerImpl>();
         // now "start" each of the restorable timer. This involves, moving the timer to an ACTIVE state
         // and scheduling the timer task
         for (final TimerImpl activeTimer : restorableTimers) {
@@ -747,14 +756,9 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
                     activeTimer.setTimerState(TimerState.ACTIVE, null);
                     calendarTimer.handleRestorationCalculation();
                 }
-                try {
-                    this.persistTimer(activeTimer, false);
-                } catch (Exception e) {
-                    EJB3_TIMER_LOGGER.failedToPersistTimerOnStartup(activeTimer, e);
-                }
+                restoredAutoTimers.add(activeTimer);
                 if (found) {
-                    startTimer(activeTimer);
-                    EJB3_TIMER_LOGGER.debugv("Started existing auto timer: {0}", activeTimer);
+                    startableAutoTimers.add(activeTimer);
                 }
             } else if (!ineligibleTimerStates.contains(activeTimer.getState())) {
                 startTimer(activeTimer);
@@ -762,12 +766,60 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
             EJB3_TIMER_LOGGER.debugv("Started timer: {0}",  activeTimer);
         }
 
+        this.persistRestoredTimers(restoredAutoTimers);
+        for (TimerImpl activeTimer : startableAutoTimers) {
+            startTimer(activeTimer);
+            EJB3_TIMER_LOGGER.debugv("Started existing auto timer: {0}", activeTimer);
+        }
+
         for (ScheduleTimer timer : newAutoTimers) {
             this.loadAutoTimer(timer.getScheduleExpression(), timer.getTimerConfig(), timer.getMethod());
         }
 
     }
 
+    /**
+     * Persists the state of the specified restored timers within a single transaction,
+     * falling back to persisting each timer individually if this fails.
+     */
+    private void persistRestoredTimers(final List<TimerImpl> restoredTimers) {
+        final List<TimerImpl> persistentTimers = new ArrayList<TimerImpl>(restoredTimers.size());
+        for (TimerImpl timer : restoredTimers) {
+            if (timer.isTimerPersistent()) {
+                persistentTimers.add(timer);
+            }
+        }
+        if (persistentTimers.size() > 1 && timerPersistence.getOptionalValue() != null) {
+            final ContextTransactionManager transactionManager = ContextTransactionManager.getInstance();
+            try {
+                if (transactionManager.getTransaction() == null) {
+                    transactionManager.begin();
+                    try {
+                        timerPersistence.getValue().persistTimers(persistentTimers);
+                        transactionManager.commit();
+                        return;
+                    } catch (Exception e) {
+                        try {
+                            transactionManager.rollback();
+                        } catch (Exception ee) {
+                            EjbLogger.EJB3_TIMER_LOGGER.timerUpdateFailedAndRollbackNotPossible(ee);
+                        }
+                        EJB3_TIMER_LOGGER.debugf(e, "Failed to persist %d restored timers together, persisting individually", persistentTimers.size());
+                    }
+                }
+            } catch (Exception e) {
+                EJB3_TIMER_LOGGER.debugf(e, "Failed to persist %d restored timers together, persisting individually", persistentTimers.size());
+            }
+        }
+        for (TimerImpl timer : restoredTimers) {
+            try {
+                this.persistTimer(timer, false);
+            } catch (Exception e) {
+                EJB3_TIMER_LOGGER.failedToPersistTimerOnStartup(timer, e);
+            }
+        }
+    }
+
     /**
      * Registers a timer with a transaction (if any in progress) and then moves
      * the timer to an active state, so that it becomes eligible for timeouts
@@ -897,13 +949,13 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
                 EJB3_TIMER_LOGGER.debugv("Scheduling timer {0} at fixed rate, starting at {1} milliseconds from now with repeated interval={2}",
                         timer, delay, intervalDuration);
                 // schedule the task
-                this.timerInjectedValue.getValue().scheduleAtFixedRate(task, delay, intervalDuration);
+                task.setScheduled(this.timerInjectedValue.getValue().scheduleAtFixedRate(timer.getId(), task, delay, intervalDuration));
                 // maintain it in timerservice for future use (like cancellation)
                 this.scheduledTimerFutures.put(timer.getId(), task);
             } else {
                 EJB3_TIMER_LOGGER.debugv("Scheduling a single action timer {0} starting at {1} milliseconds from now", timer, delay);
                 // schedule the task
-                this.timerInjectedValue.getValue().schedule(task, delay);
+                task.setScheduled(this.timerInjectedValue.getValue().schedule(timer.getId(), task, delay));
                 // maintain it in timerservice for future use (like cancellation)
                 this.scheduledTimerFutures.put(timer.getId(), task);
 
@@ -918,7 +970,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      */
     protected void cancelTimeout(final TimerImpl timer) {
         synchronized (this.scheduledTimerFutures) {
-            java.util.TimerTask timerTask = this.scheduledTimerFutures.remove(timer.getId());
+            Task timerTask = this.scheduledTimerFutures.remove(timer.getId());
             if (timerTask != null) {
                 timerTask.cancel();
             }
@@ -1101,10 +1153,17 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         return executorServiceInjectedValue;
     }
 
-    public InjectedValue<java.util.Timer> getTimerInjectedValue() {
+    public InjectedValue<TimerScheduler> getTimerInjectedValue() {
         return timerInjectedValue;
     }
 
+    /**
+     * Returns the lateness statistics of the timeouts of this timer service.
+     */
+    public TimerLateness getLateness() {
+        return lateness;
+    }
+
     public InjectedValue<TimerPersistence> getTimerPersistence() {
         return timerPersistence;
     }
@@ -1220,7 +1279,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         }
     }
 
-    private class TaskPostPersist extends java.util.TimerTask {
+    private class TaskPostPersist implements LongConsumer {
         private final TimerImpl timer;
         private long delta = 0;
         private long nextExpirationPristine = 0;
@@ -1239,7 +1298,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         }
 
         @Override
-        public void run() {
+        public void accept(long scheduledTime) {
             executorServiceInjectedValue.getValue().submit(this::persistTimer);
         }
 
@@ -1264,7 +1323,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
                     }
                     timerInjectedValue
                             .getValue()
-                            .schedule(new TaskPostPersist(timer, delta, nextExpirationPristine), delta);
+                            .schedule(timer.getId(), new TaskPostPersist(timer, delta, nextExpirationPristine), delta);
                 } else {
                     EJB3_TIMER_LOGGER.exceptionPersistPostTimerState(timer, e);
                 }
@@ -1272,10 +1331,11 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         }
     }
 
-    private class Task extends java.util.TimerTask {
+    private class Task implements LongConsumer {
 
         private final TimerTask<?> delegate;
         private final ControlPoint controlPoint;
+        private volatile TimerScheduler.Scheduled scheduled;
         /**
          * This is true if a task is queued up to be run by the request controller,
          * used to stop timer tasks banking up when the container is suspended.
@@ -1287,18 +1347,29 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
             this.controlPoint = controlPoint;
         }
 
+        void setScheduled(TimerScheduler.Scheduled scheduled) {
+            this.scheduled = scheduled;
+        }
+
         @Override
-        public void run() {
+        public void accept(final long scheduledTime) {
             final ExecutorService executor = executorServiceInjectedValue.getOptionalValue();
             if (executor != null) {
                 if(controlPoint == null) {
-                    executor.submit(delegate);
+                    executor.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            lateness.record(System.currentTimeMillis() - scheduledTime);
+                            delegate.run();
+                        }
+                    });
                 } else if(!queued) {
                     queued = true;
                     controlPoint.queueTask(new Runnable() {
                         @Override
                         public void run() {
                             queued = false;
+                            lateness.record(System.currentTimeMillis() - scheduledTime);
                             delegate.run();
                         }
                     }, executor, -1, null, false);
@@ -1308,10 +1379,10 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
             }
         }
 
-        @Override
         public boolean cancel() {
             delegate.cancel();
-            return super.cancel();
+            final TimerScheduler.Scheduled scheduled = this.scheduled;
+            return scheduled != null && scheduled.cancel();
         }
     }
 
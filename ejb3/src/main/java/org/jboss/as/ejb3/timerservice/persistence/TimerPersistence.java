@@ -22,6 +22,7 @@
 package org.jboss.as.ejb3.timerservice.persistence;
 
 import java.io.Closeable;
+import java.util.Collection;
 import java.util.List;
 
 import javax.transaction.TransactionManager;
@@ -51,6 +52,17 @@ public interface TimerPersistence {
      */
     void persistTimer(TimerImpl timer);
 
+    /**
+     * Called when a number of timers are being persisted together, allowing implementations to batch their writes.
+     *
+     * @param timers The timers
+     */
+    default void persistTimers(Collection<TimerImpl> timers) {
+        for (TimerImpl timer : timers) {
+            this.persistTimer(timer);
+        }
+    }
+
     /**
      * Invoked before running a timer in order to determine if this node should run the timer.
      * @param timer The timer
@@ -41,6 +41,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -49,8 +50,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.sql.DataSource;
@@ -64,6 +63,7 @@ import javax.transaction.TransactionManager;
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.timerservice.CalendarTimer;
 import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerScheduler;
 import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
 import org.jboss.as.ejb3.timerservice.TimerState;
 import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
@@ -84,6 +84,7 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.wildfly.transaction.client.ContextTransactionManager;
 
 /**
@@ -101,7 +102,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private final InjectedValue<ModuleLoader> moduleLoader = new InjectedValue<ModuleLoader>();
     private final Map<String, TimerChangeListener> changeListeners = Collections.synchronizedMap(new HashMap<String, TimerChangeListener>());
 
-    private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
+    private final InjectedValue<TimerScheduler> timerInjectedValue = new InjectedValue<TimerScheduler>();
 
     private final Map<String, Set<String>> knownTimerIds = new HashMap<>();
 
@@ -117,6 +118,12 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private final int refreshInterval;
     /** Flag whether this instance should execute persistent timers*/
     private final boolean allowExecution;
+    /** Flag whether a refresh should only load the timers changed since the previous refresh*/
+    private final boolean incrementalRefresh;
+    /** Flag whether the timer table may be altered to support incremental refresh*/
+    private final boolean upgradeTable;
+    /** Flag whether the timer table records the time of the last modification of each timer*/
+    private volatile boolean versioned;
     private volatile ManagedReference managedReference;
     private volatile DataSource dataSource;
     private volatile Properties sql;
@@ -132,15 +139,48 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private static final String LOAD_TIMER = "load-timer";
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
+    private static final String CREATE_TIMER_VERSIONED = "create-timer-versioned";
+    private static final String UPDATE_TIMER_VERSIONED = "update-timer-versioned";
+    private static final String LOAD_CHANGED_TIMERS = "load-changed-timers";
+    private static final String LOAD_TIMER_IDS = "load-timer-ids";
+    private static final String ADD_LAST_MODIFIED_COLUMN = "add-last-modified-column";
+    /** Number of incremental refreshes after which the known timers are reconciled with the persistence store*/
+    private static final int FULL_REFRESH_PERIOD = getIntegerProperty("jboss.ejb.timer.database.full-refresh-period", 10, 1);
+    /** Overlap in millis of consecutive incremental refreshes, covering clock skew and in-flight transactions of other nodes*/
+    private static final int REFRESH_MARGIN = getIntegerProperty("jboss.ejb.timer.database.refresh-margin", 60000, 0);
+    /** Maximum number of statements sent to the database in a single batch*/
+    private static final int BATCH_SIZE = getIntegerProperty("jboss.ejb.timer.database.batch-size", 100, 1);
     /** The format for scheduler start and end date*/
     private static final String SCHEDULER_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
 
     public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution) {
+        this(database, partition, nodeName, refreshInterval, allowExecution, false, false);
+    }
+
+    public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution, boolean incrementalRefresh, boolean upgradeTable) {
         this.database = database;
         this.partition = partition;
         this.nodeName = nodeName;
         this.refreshInterval = refreshInterval;
         this.allowExecution = allowExecution;
+        this.incrementalRefresh = incrementalRefresh;
+        this.upgradeTable = upgradeTable;
+    }
+
+    private static int getIntegerProperty(final String name, final int defaultValue, final int minimum) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                final int result = Integer.parseInt(value.trim());
+                if (result >= minimum) {
+                    return result;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through
+            }
+            EjbLogger.EJB3_TIMER_LOGGER.invalidSystemPropertyValue(value, name, defaultValue);
+        }
+        return defaultValue;
     }
 
     @Override
@@ -164,9 +204,12 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         extractDialects();
         investigateDialect();
         checkDatabase();
+        if (incrementalRefresh) {
+            checkVersioning();
+        }
         if (refreshInterval > 0) {
             refreshTask = new RefreshTask();
-            timerInjectedValue.getValue().schedule(refreshTask, refreshInterval, refreshInterval);
+            refreshTask.scheduled = timerInjectedValue.getValue().scheduleWithFixedDelay(refreshTask, refreshInterval);
         }
     }
 
@@ -312,6 +355,47 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
+    /**
+     * Checks whether the timer table records the last modification of each timer, adding the column if necessary and allowed.
+     * If the table is not or cannot be upgraded, timers are refreshed by loading all timers of each timed object.
+     */
+    private void checkVersioning() {
+        try {
+            probeVersioning();
+        } catch (SQLException e) {
+            //the query failed, assume it is because the column does not exist
+            if (!upgradeTable) {
+                EjbLogger.EJB3_TIMER_LOGGER.timerTableNotVersioned(partition);
+                EjbLogger.EJB3_TIMER_LOGGER.debugf(e, "Failed to execute '%s'", sql(LOAD_CHANGED_TIMERS));
+                return;
+            }
+            try (Connection connection = dataSource.getConnection()) {
+                for (final String sql : sql(ADD_LAST_MODIFIED_COLUMN).split(";")) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.executeUpdate(sql);
+                    } catch (SQLException e1) {
+                        // another node may have upgraded the table concurrently
+                        EjbLogger.EJB3_TIMER_LOGGER.debugf(e1, "Failed to execute '%s'", sql);
+                    }
+                }
+                probeVersioning();
+            } catch (SQLException e1) {
+                EjbLogger.EJB3_TIMER_LOGGER.incrementalTimerRefreshNotSupported(partition, e1);
+                return;
+            }
+        }
+        versioned = true;
+    }
+
+    private void probeVersioning() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql(LOAD_CHANGED_TIMERS))) {
+            statement.setString(1, partition);
+            statement.setLong(2, Long.MAX_VALUE);
+            statement.executeQuery().close();
+        }
+    }
+
     private String sql(final String key) {
         if (database != null) {
             String result = sql.getProperty(key + "." + database);
@@ -324,7 +408,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
 
     @Override
     public void addTimer(final TimerImpl timerEntity) {
-        String createTimer = sql(CREATE_TIMER);
+        String createTimer = sql(versioned ? CREATE_TIMER_VERSIONED : CREATE_TIMER);
         Connection connection = null;
         PreparedStatement statement = null;
         ResultSet resultSet = null;
@@ -335,6 +419,9 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
             connection = dataSource.getConnection();
             statement = connection.prepareStatement(createTimer);
             statementParameters(timerEntity, statement);
+            if (versioned) {
+                statement.setLong(27, System.currentTimeMillis());
+            }
             statement.execute();
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -356,9 +443,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                     timerEntity.getState() == TimerState.EXPIRED) {
                 String deleteTimer = sql(DELETE_TIMER);
                 statement = connection.prepareStatement(deleteTimer);
-                statement.setString(1, timerEntity.getTimedObjectId());
-                statement.setString(2, timerEntity.getId());
-                statement.setString(3, partition);
+                deleteParameters(timerEntity, statement);
                 statement.execute();
                 synchronized (this) {
                     knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
@@ -367,17 +452,9 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                 synchronized (this) {
                     knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
                 }
-                String updateTimer = sql(UPDATE_TIMER);
+                String updateTimer = sql(versioned ? UPDATE_TIMER_VERSIONED : UPDATE_TIMER);
                 statement = connection.prepareStatement(updateTimer);
-                statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
-                statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
-                statement.setString(3, timerEntity.getState().name());
-                setNodeName(timerEntity.getState(), statement, 4);
-                // WHERE CLAUSE
-                statement.setString(5, timerEntity.getTimedObjectId());
-                statement.setString(6, timerEntity.getId());
-                statement.setString(7, partition);
-                statement.setString(8, nodeName);   // only persist if this node or empty
+                updateParameters(timerEntity, statement, System.currentTimeMillis());
                 statement.execute();
             }
         } catch (SQLException e) {
@@ -389,6 +466,60 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
+    /**
+     * Persists the specified timers using a batch of deletions and a batch of updates.
+     */
+    @Override
+    public void persistTimers(final Collection<TimerImpl> timers) {
+        if (timers.size() < 2) {
+            TimerPersistence.super.persistTimers(timers);
+            return;
+        }
+        final List<TimerImpl> deleted = new ArrayList<>();
+        final List<TimerImpl> updated = new ArrayList<>();
+        synchronized (this) {
+            for (TimerImpl timer : timers) {
+                if (timer.getState() == TimerState.CANCELED || timer.getState() == TimerState.EXPIRED) {
+                    knownTimerIds.get(timer.getTimedObjectId()).remove(timer.getId());
+                    deleted.add(timer);
+                } else {
+                    knownTimerIds.get(timer.getTimedObjectId()).add(timer.getId());
+                    updated.add(timer);
+                }
+            }
+        }
+        final long modified = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            if (!deleted.isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(sql(DELETE_TIMER))) {
+                    executeBatch(statement, deleted, timer -> deleteParameters(timer, statement));
+                }
+            }
+            if (!updated.isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(sql(versioned ? UPDATE_TIMER_VERSIONED : UPDATE_TIMER))) {
+                    executeBatch(statement, updated, timer -> updateParameters(timer, statement, modified));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void executeBatch(final PreparedStatement statement, final List<TimerImpl> timers, final StatementParameters parameters) throws SQLException {
+        int batched = 0;
+        for (TimerImpl timer : timers) {
+            parameters.accept(timer);
+            statement.addBatch();
+            if (++batched == BATCH_SIZE) {
+                statement.executeBatch();
+                batched = 0;
+            }
+        }
+        if (batched > 0) {
+            statement.executeBatch();
+        }
+    }
+
     @Override
     public boolean shouldRun(TimerImpl timer, @Deprecated TransactionManager ignored) {
         final ContextTransactionManager tm = ContextTransactionManager.getInstance();
@@ -489,19 +620,20 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                     ids.add(timer.timer.getId());
                 }
                 knownTimerIds.put(timedObjectId, ids);
+                List<TimerImpl> reset = new ArrayList<>();
                 for(Holder timer : timers) {
                     if(timer.requiresReset) {
                         TimerImpl ret = timer.timer;
                         EjbLogger.DEPLOYMENT_LOGGER.loadedPersistentTimerInTimeout(ret.getId(), ret.getTimedObjectId());
                         if(ret.getNextExpiration() == null) {
                             ret.setTimerState(TimerState.CANCELED);
-                            persistTimer(ret);
                         } else {
                             ret.setTimerState(TimerState.ACTIVE);
-                            persistTimer(ret);
                         }
+                        reset.add(ret);
                     }
                 }
+                persistTimers(reset);
             }
             List<TimerImpl> ret = new ArrayList<>();
             for(Holder timer : timers) {
@@ -658,6 +790,28 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         setNodeName(timerEntity.getState(), statement, 26);
     }
 
+    private void deleteParameters(final TimerImpl timerEntity, final PreparedStatement statement) throws SQLException {
+        statement.setString(1, timerEntity.getTimedObjectId());
+        statement.setString(2, timerEntity.getId());
+        statement.setString(3, partition);
+    }
+
+    private void updateParameters(final TimerImpl timerEntity, final PreparedStatement statement, final long modified) throws SQLException {
+        statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
+        statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
+        statement.setString(3, timerEntity.getState().name());
+        setNodeName(timerEntity.getState(), statement, 4);
+        int index = 5;
+        if (versioned) {
+            statement.setLong(index++, modified);
+        }
+        // WHERE CLAUSE
+        statement.setString(index++, timerEntity.getTimedObjectId());
+        statement.setString(index++, timerEntity.getId());
+        statement.setString(index++, partition);
+        statement.setString(index, nodeName);   // only persist if this node or empty
+    }
+
     private String serialize(final Serializable serializable) {
         if (serializable == null) {
             return null;
@@ -749,7 +903,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         return moduleLoader;
     }
 
-    public InjectedValue<Timer> getTimerInjectedValue() {
+    public InjectedValue<TimerScheduler> getTimerInjectedValue() {
         return timerInjectedValue;
     }
 
@@ -793,9 +947,19 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
-    private class RefreshTask extends TimerTask {
+    private class RefreshTask implements Runnable {
 
         private volatile AtomicBoolean running = new AtomicBoolean();
+        private volatile TimerScheduler.Scheduled scheduled;
+        /** Modification time from which the next incremental refresh loads changed timers, only accessed by the running refresh*/
+        private long watermark = System.currentTimeMillis();
+        private int refreshes;
+
+        void cancel() {
+            if (scheduled != null) {
+                scheduled.cancel();
+            }
+        }
 
         @Override
         public void run() {
@@ -805,65 +969,190 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                     synchronized (DatabaseTimerPersistence.this) {
                         timedObjects = new HashSet<>(knownTimerIds.keySet());
                     }
-                    for (String timedObjectId : timedObjects) {
-                        TimerChangeListener listener = changeListeners.get(timedObjectId);
+                    if (versioned) {
+                        refreshChanged(timedObjects);
+                        // deleted timers leave no trace in the table, so periodically compare the known timer ids
+                        if (++refreshes >= FULL_REFRESH_PERIOD) {
+                            refreshes = 0;
+                            for (String timedObjectId : timedObjects) {
+                                reconcile(timedObjectId);
+                            }
+                        }
+                    } else {
+                        for (String timedObjectId : timedObjects) {
+                            TimerChangeListener listener = changeListeners.get(timedObjectId);
+                            if (listener != null) {
+                                refresh(timedObjectId, listener);
+                            }
+                        }
+                    }
+                } finally {
+                    running.set(false);
+                }
+            }
+
+        }
+
+        /**
+         * Loads the timers of the partition modified since the previous refresh, adding those not yet known.
+         */
+        private void refreshChanged(final Set<String> timedObjects) {
+            final long start = System.currentTimeMillis();
+            String loadTimer = sql(LOAD_CHANGED_TIMERS);
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(loadTimer);
+                statement.setString(1, partition);
+                statement.setLong(2, watermark - REFRESH_MARGIN);
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    try {
+                        String id = resultSet.getString(1);
+                        String timedObjectId = resultSet.getString(2);
+                        TimerChangeListener listener = timedObjects.contains(timedObjectId) ? changeListeners.get(timedObjectId) : null;
                         if (listener == null) {
                             continue;
                         }
-                        final Set<String> existing;
                         synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
-                        }
-                        String loadTimer = sql(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
-                        try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
-                            statement.setString(1, timedObjectId);
-                            statement.setString(2, partition);
-                            resultSet = statement.executeQuery();
-                            while (resultSet.next()) {
-                                try {
-                                    String id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        synchronized (DatabaseTimerPersistence.this) {
-                                            knownTimerIds.get(timedObjectId).add(id);
-                                        }
-                                        final Holder holder = timerFromResult(resultSet, listener.getTimerService());
-                                        if(holder != null) {
-                                            listener.timerAdded(holder.timer);
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
-                                }
+                            Set<String> timers = knownTimerIds.get(timedObjectId);
+                            if (timers == null || !timers.add(id)) {
+                                continue;
                             }
+                        }
+                        final Holder holder = timerFromResult(resultSet, listener.getTimerService());
+                        if(holder != null) {
+                            listener.timerAdded(holder.timer);
+                        }
+                    } catch (Exception e) {
+                        EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
+                    }
+                }
+                watermark = start;
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(partition);
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+        }
+
+        /**
+         * Compares the known timer ids of the specified timed object with those in the persistence store,
+         * removing those no longer present and falling back to a full refresh if unknown timers are found.
+         */
+        private void reconcile(final String timedObjectId) {
+            TimerChangeListener listener = changeListeners.get(timedObjectId);
+            if (listener == null) {
+                return;
+            }
+            final Set<String> existing;
+            synchronized (DatabaseTimerPersistence.this) {
+                Set<String> timers = knownTimerIds.get(timedObjectId);
+                if (timers == null) {
+                    return;
+                }
+                existing = new HashSet<>(timers);
+            }
+            boolean added = false;
+            String loadTimerIds = sql(LOAD_TIMER_IDS);
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(loadTimerIds);
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    if (!existing.remove(resultSet.getString(1))) {
+                        added = true;
+                    }
+                }
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
+                return;
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+            if (added) {
+                // e.g. created by a node not recording modifications
+                refresh(timedObjectId, listener);
+            } else if (!existing.isEmpty()) {
+                synchronized (DatabaseTimerPersistence.this) {
+                    Set<String> timers = knownTimerIds.get(timedObjectId);
+                    if (timers != null) {
+                        for (String timer : existing) {
+                            timers.remove(timer);
+                            listener.timerRemoved(timer);
+                        }
+                    }
+                }
+            }
+        }
 
+        /**
+         * Loads all timers of the specified timed object, adding those not yet known and removing those no longer present.
+         */
+        private void refresh(final String timedObjectId, final TimerChangeListener listener) {
+            final Set<String> existing;
+            synchronized (DatabaseTimerPersistence.this) {
+                existing = new HashSet<>(knownTimerIds.get(timedObjectId));
+            }
+            String loadTimer = sql(LOAD_ALL_TIMERS);
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(loadTimer);
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    try {
+                        String id = resultSet.getString(1);
+                        if (!existing.remove(id)) {
                             synchronized (DatabaseTimerPersistence.this) {
-                                Set<String> timers = knownTimerIds.get(timedObjectId);
-                                for (String timer : existing) {
-                                    timers.remove(timer);
-                                    listener.timerRemoved(timer);
-                                }
+                                knownTimerIds.get(timedObjectId).add(id);
+                            }
+                            final Holder holder = timerFromResult(resultSet, listener.getTimerService());
+                            if(holder != null) {
+                                listener.timerAdded(holder.timer);
                             }
-                        } catch (SQLException e) {
-                            EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
                         }
+                    } catch (Exception e) {
+                        EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
                     }
-                } finally {
-                    running.set(false);
                 }
-            }
 
+                synchronized (DatabaseTimerPersistence.this) {
+                    Set<String> timers = knownTimerIds.get(timedObjectId);
+                    for (String timer : existing) {
+                        timers.remove(timer);
+                        listener.timerRemoved(timer);
+                    }
+                }
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
         }
     }
 
+    private interface StatementParameters {
+        void accept(TimerImpl timer) throws SQLException;
+    }
+
 
     static final class Holder {
         final TimerImpl timer;
@@ -64,6 +64,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
@@ -97,6 +98,8 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
     private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
+    // Timed objects whose ignored timer journal was already reported
+    private final Set<String> ignoredJournals = ConcurrentHashMap.newKeySet();
 
     public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo) {
         final SecurityManager sm = System.getSecurityManager();
@@ -312,7 +315,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         }
     }
 
-    private Lock getLock(final String timedObjectId) {
+    protected Lock getLock(final String timedObjectId) {
         Lock lock = locks.get(timedObjectId);
         if (lock == null) {
             final Lock addedLock = new ReentrantLock();
@@ -330,11 +333,16 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
      * @param timedObjectId The timed object id
      * @return The timers for the object
      */
-    private Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
+    protected Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
+        final File journal = new File(getDirectory(timedObjectId), JournalFileTimerPersistence.JOURNAL_FILE_NAME);
+        if (journal.exists() && ignoredJournals.add(timedObjectId)) {
+            // Timers were migrated into the journal while it was enabled
+            EJB3_TIMER_LOGGER.timerJournalIgnored(journal, timedObjectId, new File(journal.getParentFile(), JournalFileTimerPersistence.BACKUP_DIRECTORY_NAME));
+        }
         return loadTimersFromFile(timedObjectId, timerService);
     }
 
-    private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
+    protected Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
         Map<String, TimerImpl> timers = new HashMap<>();
         String directory = getDirectory(timedObjectId);
 
@@ -412,7 +420,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
      * @param timedObjectId The timed object
      * @return The directory
      */
-    private String getDirectory(String timedObjectId) {
+    protected String getDirectory(String timedObjectId) {
         String dirName = directories.get(timedObjectId);
         if (dirName == null) {
             dirName = baseDir.getAbsolutePath() + File.separator + timedObjectId.replace(File.separator, "-");
@@ -483,7 +491,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     }
 
-    private void writeFile(TimerImpl timer) {
+    protected void writeFile(TimerImpl timer) {
         final File file = fileName(timer.getTimedObjectId(), timer.getId());
 
         //if the timer is expired or cancelled delete the file
@@ -511,6 +519,14 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         }
     }
 
+    protected MarshallerFactory getMarshallerFactory() {
+        return factory;
+    }
+
+    protected MarshallingConfiguration getMarshallingConfiguration() {
+        return configuration;
+    }
+
     public InjectedValue<TransactionSynchronizationRegistry> getTransactionSynchronizationRegistry() {
         return transactionSynchronizationRegistry;
     }
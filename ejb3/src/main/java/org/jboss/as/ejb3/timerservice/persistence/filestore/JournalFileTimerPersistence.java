@@ -0,0 +1,462 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+import org.jboss.msc.service.StopContext;
+
+/**
+ * File based persistent timer store that records the timers of each timed object in an append-only binary journal,
+ * rather than in one XML document per timer.
+ * <p/>
+ * The journal of a timed object is only read the first time its timers are requested, after which the timers are
+ * served from an in-memory index. Each change to a timer appends a single record, and the journal is compacted
+ * once superseded records outnumber live ones.
+ * <p/>
+ * Timers persisted by {@link FileTimerPersistence} (in either its XML or legacy format) are migrated into the journal
+ * the first time a timed object is loaded, after which the XML files are moved to the {@value #BACKUP_DIRECTORY_NAME}
+ * subdirectory of the timed object directory.
+ * <p/>
+ * To revert to {@link FileTimerPersistence}, stop the server, move the XML files from the {@value #BACKUP_DIRECTORY_NAME}
+ * directory back into the timed object directory, remove the {@value #JOURNAL_FILE_NAME} file, and disable the journal.
+ * Timers created, changed or removed since the migration are not reflected by the restored XML files.
+ */
+public class JournalFileTimerPersistence extends FileTimerPersistence {
+
+    static final String JOURNAL_FILE_NAME = "timers.journal";
+    static final String BACKUP_DIRECTORY_NAME = "xml-backup";
+    private static final String MIGRATION_FILE_SUFFIX = ".migrating";
+    // Minimum number of superseded records before the journal is compacted
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private final boolean sync;
+    private final ConcurrentMap<String, Shard> shards = new ConcurrentHashMap<>();
+
+    public JournalFileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo) {
+        this(createIfNotExists, path, pathRelativeTo, true);
+    }
+
+    /**
+     * @param sync indicates whether each journal record is forced to the storage device before returning
+     */
+    public JournalFileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo, final boolean sync) {
+        super(createIfNotExists, path, pathRelativeTo);
+        this.sync = sync;
+    }
+
+    @Override
+    public void stop(final StopContext context) {
+        for (String timedObjectId : this.shards.keySet()) {
+            this.closeShard(timedObjectId);
+        }
+        super.stop(context);
+    }
+
+    @Override
+    public void timerUndeployed(final String timedObjectId) {
+        final Lock lock = this.getLock(timedObjectId);
+        lock.lock();
+        try {
+            this.closeShard(timedObjectId);
+        } finally {
+            lock.unlock();
+        }
+        super.timerUndeployed(timedObjectId);
+    }
+
+    /**
+     * Returns the in-memory index of the timers of the specified timed object, replaying (or creating) its journal if necessary.
+     * Should be called under lock.
+     */
+    @Override
+    protected Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
+        Shard shard = this.shards.get(timedObjectId);
+        if (shard == null) {
+            shard = this.loadShard(timedObjectId, timerService);
+            this.shards.put(timedObjectId, shard);
+        }
+        return shard.timers;
+    }
+
+    /**
+     * Appends the state of the specified timer to the journal of its timed object. Should be called under lock.
+     */
+    @Override
+    protected void writeFile(final TimerImpl timer) {
+        final Shard shard = this.shards.get(timer.getTimedObjectId());
+        if (shard == null) {
+            // Timers rewritten while migrating from the legacy format are journaled once migration completes
+            return;
+        }
+        try {
+            if (timer.getState() == TimerState.CANCELED || timer.getState() == TimerState.EXPIRED) {
+                shard.remove(timer.getId());
+            } else if (shard.timers.containsKey(timer.getId())) {
+                // A timer absent from the index was removed by another thread
+                final byte[] payload = this.serialize(timer);
+                if (payload != null) {
+                    shard.put(timer.getId(), payload);
+                }
+            }
+        } catch (IOException e) {
+            throw EJB3_TIMER_LOGGER.failedToWriteTimerJournal(timer.getId(), shard.journal.getFile(), e);
+        }
+    }
+
+    private void closeShard(final String timedObjectId) {
+        final Shard shard = this.shards.remove(timedObjectId);
+        if (shard != null) {
+            try {
+                shard.journal.close();
+            } catch (IOException e) {
+                EJB3_TIMER_LOGGER.failToCloseFile(e);
+            }
+        }
+    }
+
+    private Shard loadShard(final String timedObjectId, final TimerServiceImpl timerService) {
+        final File directory = new File(this.getDirectory(timedObjectId));
+        final File file = new File(directory, JOURNAL_FILE_NAME);
+        try {
+            if (file.exists()) {
+                return this.replay(file, timedObjectId, timerService);
+            }
+            return this.migrate(directory, file, timedObjectId, timerService);
+        } catch (IOException e) {
+            throw EJB3_TIMER_LOGGER.failedToLoadTimerJournal(file, e);
+        }
+    }
+
+    private Shard replay(final File file, final String timedObjectId, final TimerServiceImpl timerService) throws IOException {
+        final Map<String, byte[]> payloads = new LinkedHashMap<>();
+        final TimerJournal journal = TimerJournal.open(file, this.sync, payloads::put, payloads::remove);
+        final Shard shard = new Shard(journal);
+        final ClassLoader loader = timerService.getTimedObjectInvoker().getValue().getClassLoader();
+        for (Map.Entry<String, byte[]> entry : payloads.entrySet()) {
+            final String id = entry.getKey();
+            final byte[] payload = entry.getValue();
+            try {
+                final TimerImpl timer = this.deserialize(id, payload, timerService, loader);
+                if (timer != null) {
+                    shard.timers.put(id, timer);
+                    shard.payloads.put(id, payload);
+                } else {
+                    EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, null);
+                    journal.remove(id);
+                }
+            } catch (Exception e) {
+                EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
+                // Retain the record, so that the timer can be restored once the failure is resolved
+                shard.payloads.put(id, payload);
+            }
+        }
+        shard.compactIfNecessary();
+        return shard;
+    }
+
+    private Shard migrate(final File directory, final File file, final String timedObjectId, final TimerServiceImpl timerService) throws IOException {
+        final Map<String, TimerImpl> timers = this.loadTimersFromFile(timedObjectId, timerService);
+        // Populate the journal under a temporary name, such that an interrupted migration is simply repeated
+        final File migrationFile = new File(directory, JOURNAL_FILE_NAME + MIGRATION_FILE_SUFFIX);
+        final TimerJournal journal = TimerJournal.create(migrationFile, false);
+        final Shard shard = new Shard(journal);
+        try {
+            for (TimerImpl timer : timers.values()) {
+                if (timer.getState() == TimerState.CANCELED || timer.getState() == TimerState.EXPIRED) {
+                    continue;
+                }
+                final byte[] payload = this.serialize(timer);
+                if (payload != null) {
+                    shard.timers.put(timer.getId(), timer);
+                    shard.put(timer.getId(), payload);
+                }
+            }
+            journal.moveTo(file);
+            journal.setSync(this.sync);
+        } catch (IOException e) {
+            journal.close();
+            Files.deleteIfExists(migrationFile.toPath());
+            throw e;
+        }
+        if (!timers.isEmpty()) {
+            // Retain the XML files, such that the migration can be reverted
+            final File backupDirectory = new File(directory, BACKUP_DIRECTORY_NAME);
+            final File[] files = directory.listFiles();
+            if (files != null) {
+                for (File timerFile : files) {
+                    if (timerFile.getName().endsWith(".xml")) {
+                        Files.createDirectories(backupDirectory.toPath());
+                        Files.move(timerFile.toPath(), new File(backupDirectory, timerFile.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            }
+            EJB3_TIMER_LOGGER.timersMigratedToJournal(shard.timers.size(), timedObjectId, directory, backupDirectory);
+        }
+        // Prevent the journal itself from being mistaken for a legacy timer file
+        final File marker = new File(directory, LegacyFileStore.MIGRATION_MARKER);
+        if (!marker.exists()) {
+            Files.write(marker.toPath(), new Date().toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return shard;
+    }
+
+    private byte[] serialize(final TimerImpl timer) throws IOException {
+        final byte[] info;
+        final byte[] primaryKey;
+        try {
+            info = this.marshal(timer.getTimerInfo());
+            primaryKey = this.marshal(timer.getPrimaryKey());
+        } catch (Exception e) {
+            EJB3_TIMER_LOGGER.failedToPersistTimer(timer, e);
+            return null;
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        final DataOutputStream output = new DataOutputStream(bytes);
+        final boolean calendar = timer instanceof CalendarTimer;
+        output.writeBoolean(calendar);
+        output.writeUTF(timer.getTimedObjectId());
+        writeDate(output, timer.getInitialExpiration());
+        output.writeLong(timer.getInterval());
+        writeDate(output, timer.getNextExpiration());
+        writeDate(output, timer.getPreviousRun());
+        output.writeUTF(timer.getState().name());
+        if (calendar) {
+            final CalendarTimer calendarTimer = (CalendarTimer) timer;
+            final ScheduleExpression schedule = calendarTimer.getScheduleExpression();
+            output.writeUTF(schedule.getSecond());
+            output.writeUTF(schedule.getMinute());
+            output.writeUTF(schedule.getHour());
+            output.writeUTF(schedule.getDayOfWeek());
+            output.writeUTF(schedule.getDayOfMonth());
+            output.writeUTF(schedule.getMonth());
+            output.writeUTF(schedule.getYear());
+            writeDate(output, schedule.getStart());
+            writeDate(output, schedule.getEnd());
+            writeString(output, schedule.getTimezone());
+            output.writeBoolean(calendarTimer.isAutoTimer());
+            if (calendarTimer.isAutoTimer()) {
+                final Method method = calendarTimer.getTimeoutMethod();
+                output.writeUTF(method.getDeclaringClass().getName());
+                output.writeUTF(method.getName());
+                final Class<?>[] parameterTypes = method.getParameterTypes();
+                output.writeInt(parameterTypes.length);
+                for (Class<?> parameterType : parameterTypes) {
+                    output.writeUTF(parameterType.getName());
+                }
+            }
+        }
+        writeBytes(output, info);
+        writeBytes(output, primaryKey);
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reconstructs a timer from its journal record.
+     * @return the timer, or null if the timeout method of an automatic timer no longer exists
+     */
+    private TimerImpl deserialize(final String id, final byte[] payload, final TimerServiceImpl timerService, final ClassLoader loader) throws Exception {
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+        final boolean calendar = input.readBoolean();
+        final String timedObjectId = input.readUTF();
+        final Date initialDate = readDate(input);
+        final long repeatInterval = input.readLong();
+        final Date nextDate = readDate(input);
+        final Date previousRun = readDate(input);
+        final TimerState state = TimerState.valueOf(input.readUTF());
+        final TimerImpl.Builder builder;
+        if (calendar) {
+            final CalendarTimer.Builder calendarBuilder = CalendarTimer.builder()
+                    .setScheduleExprSecond(input.readUTF())
+                    .setScheduleExprMinute(input.readUTF())
+                    .setScheduleExprHour(input.readUTF())
+                    .setScheduleExprDayOfWeek(input.readUTF())
+                    .setScheduleExprDayOfMonth(input.readUTF())
+                    .setScheduleExprMonth(input.readUTF())
+                    .setScheduleExprYear(input.readUTF())
+                    .setScheduleExprStartDate(readDate(input))
+                    .setScheduleExprEndDate(readDate(input))
+                    .setScheduleExprTimezone(readString(input));
+            final boolean autoTimer = input.readBoolean();
+            calendarBuilder.setAutoTimer(autoTimer);
+            if (autoTimer) {
+                final String className = input.readUTF();
+                final String methodName = input.readUTF();
+                final String[] parameterTypes = new String[input.readInt()];
+                for (int i = 0; i < parameterTypes.length; ++i) {
+                    parameterTypes[i] = input.readUTF();
+                }
+                final Method timeoutMethod = CalendarTimer.getTimeoutMethod(new TimeoutMethod(className, methodName, parameterTypes), loader);
+                if (timeoutMethod == null) {
+                    return null;
+                }
+                calendarBuilder.setTimeoutMethod(timeoutMethod);
+            }
+            builder = calendarBuilder;
+        } else {
+            builder = TimerImpl.builder();
+        }
+        final Object info = this.unmarshal(readBytes(input));
+        final Object primaryKey = this.unmarshal(readBytes(input));
+        return builder.setId(id)
+                .setTimedObjectId(timedObjectId)
+                .setInitialDate(initialDate)
+                .setRepeatInterval(repeatInterval)
+                .setNextDate(nextDate)
+                .setPreviousRun(previousRun)
+                .setInfo((Serializable) info)
+                .setPrimaryKey(primaryKey)
+                .setTimerState(state)
+                .setPersistent(true)
+                .build(timerService);
+    }
+
+    private byte[] marshal(final Object value) throws IOException {
+        if (value == null) {
+            return null;
+        }
+        final Marshaller marshaller = this.getMarshallerFactory().createMarshaller(this.getMarshallingConfiguration());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        marshaller.start(new OutputStreamByteOutput(out));
+        marshaller.writeObject(value);
+        marshaller.finish();
+        marshaller.flush();
+        return out.toByteArray();
+    }
+
+    private Object unmarshal(final byte[] bytes) throws IOException, ClassNotFoundException {
+        if (bytes == null) {
+            return null;
+        }
+        final Unmarshaller unmarshaller = this.getMarshallerFactory().createUnmarshaller(this.getMarshallingConfiguration());
+        unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(bytes)));
+        try {
+            return unmarshaller.readObject();
+        } finally {
+            unmarshaller.close();
+        }
+    }
+
+    private static void writeDate(final DataOutputStream output, final Date date) throws IOException {
+        output.writeLong((date != null) ? date.getTime() : Long.MIN_VALUE);
+    }
+
+    private static Date readDate(final DataInputStream input) throws IOException {
+        final long time = input.readLong();
+        return (time != Long.MIN_VALUE) ? new Date(time) : null;
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(final DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static void writeBytes(final DataOutputStream output, final byte[] bytes) throws IOException {
+        output.writeInt((bytes != null) ? bytes.length : -1);
+        if (bytes != null) {
+            output.write(bytes);
+        }
+    }
+
+    private static byte[] readBytes(final DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * The journal and in-memory index of a single timed object.
+     */
+    private static class Shard {
+        final TimerJournal journal;
+        // Timers visible to the timer service
+        final Map<String, TimerImpl> timers = new HashMap<>();
+        // Last journaled payload of each live timer, including those that could not be restored
+        final Map<String, byte[]> payloads = new LinkedHashMap<>();
+
+        Shard(TimerJournal journal) {
+            this.journal = journal;
+        }
+
+        void put(String id, byte[] payload) throws IOException {
+            this.journal.put(id, payload);
+            this.payloads.put(id, payload);
+            this.compactIfNecessary();
+        }
+
+        void remove(String id) throws IOException {
+            if (this.payloads.remove(id) != null) {
+                this.journal.remove(id);
+                this.compactIfNecessary();
+            }
+        }
+
+        void compactIfNecessary() throws IOException {
+            final long superseded = this.journal.getRecordCount() - this.payloads.size();
+            if (superseded >= COMPACTION_THRESHOLD && superseded > this.payloads.size()) {
+                this.journal.compact(this.payloads);
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of timer records for a single timed object.
+ * <p/>
+ * The journal starts with a fixed header, followed by a sequence of records of the form
+ * {@code length (int), crc32 (int), type (byte), id length (short), id (UTF-8), payload}.
+ * A record that cannot be read completely, or whose checksum does not match, marks the end of the journal;
+ * it is the remnant of an interrupted write and is truncated on recovery.
+ * <p/>
+ * This class is not thread safe, callers are expected to hold the lock of the owning timed object.
+ */
+class TimerJournal implements AutoCloseable {
+
+    static final int MAGIC = 0x454A544A;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    // length + crc
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = Integer.MAX_VALUE - RECORD_HEADER_SIZE;
+
+    private File file;
+    private FileChannel channel;
+    private boolean sync;
+    private long records;
+
+    private TimerJournal(File file, FileChannel channel, boolean sync, long records) {
+        this.file = file;
+        this.channel = channel;
+        this.sync = sync;
+        this.records = records;
+    }
+
+    /**
+     * Creates a new, empty journal, replacing any existing file.
+     */
+    static TimerJournal create(File file, boolean sync) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            writeHeader(channel);
+            if (sync) {
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new TimerJournal(file, channel, sync, 0);
+    }
+
+    /**
+     * Opens an existing journal, replaying its records in order to the specified consumers.
+     * Any partially written trailing record is truncated.
+     */
+    static TimerJournal open(File file, boolean sync, BiConsumer<String, byte[]> put, Consumer<String> remove) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (size < HEADER_SIZE || !readFully(channel, header, 0) || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException(file.getAbsolutePath());
+            }
+            long position = HEADER_SIZE;
+            long records = 0;
+            ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            while (position < size) {
+                recordHeader.clear();
+                if (!readFully(channel, recordHeader, position)) {
+                    break;
+                }
+                int length = recordHeader.getInt(0);
+                if (length <= 3 || length > size - position - RECORD_HEADER_SIZE) {
+                    break;
+                }
+                ByteBuffer body = ByteBuffer.allocate(length);
+                if (!readFully(channel, body, position + RECORD_HEADER_SIZE)) {
+                    break;
+                }
+                crc.reset();
+                crc.update(body.array(), 0, length);
+                if ((int) crc.getValue() != recordHeader.getInt(4)) {
+                    break;
+                }
+                byte type = body.get(0);
+                int idLength = body.getShort(1) & 0xFFFF;
+                if (3 + idLength > length || (type != PUT && type != REMOVE)) {
+                    break;
+                }
+                String id = new String(body.array(), 3, idLength, StandardCharsets.UTF_8);
+                if (type == PUT) {
+                    byte[] payload = new byte[length - 3 - idLength];
+                    System.arraycopy(body.array(), 3 + idLength, payload, 0, payload.length);
+                    put.accept(id, payload);
+                } else {
+                    remove.accept(id);
+                }
+                records += 1;
+                position += RECORD_HEADER_SIZE + length;
+            }
+            if (position < size) {
+                EJB3_TIMER_LOGGER.timerJournalTruncated(file, position, size - position);
+                channel.truncate(position);
+                channel.force(true);
+            }
+            channel.position(position);
+            return new TimerJournal(file, channel, sync, records);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a record associating the specified payload with the specified timer id.
+     */
+    void put(String id, byte[] payload) throws IOException {
+        this.append(PUT, id, payload);
+    }
+
+    /**
+     * Appends a record removing the specified timer id.
+     */
+    void remove(String id) throws IOException {
+        this.append(REMOVE, id, null);
+    }
+
+    /**
+     * Returns the number of records in this journal, including those superseded by subsequent records.
+     */
+    long getRecordCount() {
+        return this.records;
+    }
+
+    /**
+     * Indicates whether each subsequent record is forced to the storage device before returning.
+     */
+    void setSync(boolean sync) {
+        this.sync = sync;
+    }
+
+    File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Rewrites this journal such that it contains a single record per live entry.
+     * The compacted journal is written to a temporary file, then atomically moved over the current journal.
+     */
+    void compact(Map<String, byte[]> entries) throws IOException {
+        File target = this.file;
+        File compacted = new File(target.getParentFile(), target.getName() + ".compact");
+        TimerJournal journal = create(compacted, false);
+        try {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                journal.put(entry.getKey(), entry.getValue());
+            }
+            journal.channel.force(true);
+        } catch (IOException e) {
+            journal.close();
+            Files.deleteIfExists(compacted.toPath());
+            throw e;
+        }
+        this.close();
+        try {
+            journal.moveTo(target);
+        } catch (IOException e) {
+            journal.close();
+            Files.deleteIfExists(compacted.toPath());
+            // Resume appending to the uncompacted journal
+            this.channel = FileChannel.open(target.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.channel.position(this.channel.size());
+            throw e;
+        }
+        this.file = journal.file;
+        this.channel = journal.channel;
+        this.records = journal.records;
+    }
+
+    /**
+     * Atomically moves this journal to the specified location.
+     */
+    void moveTo(File target) throws IOException {
+        this.channel.force(true);
+        this.channel.close();
+        Files.move(this.file.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.file = target;
+        this.channel = FileChannel.open(target.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.channel.position(this.channel.size());
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private void append(byte type, String id, byte[] payload) throws IOException {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        if (idBytes.length > 0xFFFF) {
+            throw new IOException(id);
+        }
+        long length = 3L + idBytes.length + ((payload != null) ? payload.length : 0);
+        if (length > MAX_RECORD_SIZE) {
+            throw new IOException(id);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_HEADER_SIZE + (int) length);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt((int) length);
+        // Placeholder for checksum
+        output.writeInt(0);
+        output.writeByte(type);
+        output.writeShort(idBytes.length);
+        output.write(idBytes);
+        if (payload != null) {
+            output.write(payload);
+        }
+        output.flush();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), RECORD_HEADER_SIZE, (int) length);
+        buffer.putInt(4, (int) crc.getValue());
+        long position = this.channel.position();
+        try {
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+            if (this.sync) {
+                this.channel.force(false);
+            }
+        } catch (IOException e) {
+            // Discard partially written record
+            this.channel.truncate(position);
+            this.channel.position(position);
+            throw e;
+        }
+        this.records += 1;
+    }
+
+    private static void writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -125,6 +125,11 @@ public class DayOfMonth extends IntegerBasedExpression {
     }
 
 
+    /**
+     * The absolute days of month compiled into a bit mask
+     */
+    private final long mask;
+
     /**
      * Creates a {@link DayOfMonth} by parsing the passed {@link String} <code>value</code>
      * <p>
@@ -139,6 +144,7 @@ public class DayOfMonth extends IntegerBasedExpression {
      */
     public DayOfMonth(String value) {
         super(value);
+        this.mask = toMask(this.absoluteValues);
     }
 
     /**
@@ -166,6 +172,9 @@ public class DayOfMonth extends IntegerBasedExpression {
             return currentCal.get(Calendar.DAY_OF_MONTH);
         }
         int currentDayOfMonth = currentCal.get(Calendar.DAY_OF_MONTH);
+        if (this.hasRelativeDayOfMonth() == false) {
+            return getNextMatch(this.mask, currentDayOfMonth);
+        }
         SortedSet<Integer> eligibleDaysOfMonth = this.getEligibleDaysOfMonth(currentCal);
         if (eligibleDaysOfMonth.isEmpty()) {
             return null;
@@ -59,6 +59,11 @@ public class DayOfWeek extends IntegerBasedExpression {
 
     private SortedSet<Integer> offsetAdjustedDaysOfWeek = new TreeSet<Integer>();
 
+    /**
+     * The {@link #offsetAdjustedDaysOfWeek} compiled into a bit mask
+     */
+    private final long mask;
+
     public DayOfWeek(String value) {
         super(value);
         for (Integer dayOfWeek : this.absoluteValues) {
@@ -74,6 +79,7 @@ public class DayOfWeek extends IntegerBasedExpression {
         } else {
             this.offsetAdjustedDaysOfWeek = this.absoluteValues;
         }
+        this.mask = toMask(this.offsetAdjustedDaysOfWeek);
     }
 
 
@@ -138,15 +144,6 @@ public class DayOfWeek extends IntegerBasedExpression {
         if (this.scheduleExpressionType == ScheduleExpressionType.WILDCARD) {
             return currentCal.get(Calendar.DAY_OF_WEEK);
         }
-        int currentDayOfWeek = currentCal.get(Calendar.DAY_OF_WEEK);
-        for (Integer dayOfWeek : this.offsetAdjustedDaysOfWeek) {
-            if (currentDayOfWeek == dayOfWeek) {
-                return currentDayOfWeek;
-            }
-            if (dayOfWeek > currentDayOfWeek) {
-                return dayOfWeek;
-            }
-        }
-        return this.offsetAdjustedDaysOfWeek.first();
+        return getNextMatch(this.mask, currentCal.get(Calendar.DAY_OF_WEEK));
     }
 }
@@ -53,6 +53,11 @@ public class Hour extends IntegerBasedExpression {
      */
     public static final Integer MIN_HOUR = 0;
 
+    /**
+     * The {@link #absoluteValues} compiled into a bit mask
+     */
+    private final long mask;
+
     /**
      * Creates a {@link Hour} by parsing the passed {@link String} <code>value</code>
      * <p>
@@ -68,6 +73,7 @@ public class Hour extends IntegerBasedExpression {
      */
     public Hour(String value) {
         super(value);
+        this.mask = toMask(this.absoluteValues);
     }
 
     public int getFirst() {
@@ -121,18 +127,7 @@ public class Hour extends IntegerBasedExpression {
         if (this.scheduleExpressionType == ScheduleExpressionType.WILDCARD) {
             return currentHour;
         }
-        if (this.absoluteValues.isEmpty()) {
-            return null;
-        }
-        for (Integer hour : this.absoluteValues) {
-            if (currentHour == hour) {
-                return currentHour;
-            }
-            if (hour > currentHour) {
-                return hour;
-            }
-        }
-        return this.absoluteValues.first();
+        return getNextMatch(this.mask, currentHour);
     }
 
 }
@@ -213,4 +213,30 @@ public abstract class IntegerBasedExpression {
 
     public abstract boolean isRelativeValue(String value);
 
+    /**
+     * Compiles the specified values, each of which must be between 0 and 63, into a bit mask,
+     * such that matching a value no longer requires iterating over the values.
+     */
+    protected static long toMask(Set<Integer> values) {
+        long mask = 0L;
+        for (Integer value : values) {
+            mask |= 1L << value;
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the specified value, if contained in the specified mask, otherwise the next greater value of the mask.
+     * If the mask contains no greater value, the smallest value of the mask is returned.
+     *
+     * @return the next matching value, or null, if the mask is empty
+     */
+    protected static Integer getNextMatch(long mask, int value) {
+        if (mask == 0L) {
+            return null;
+        }
+        long candidates = (value < Long.SIZE) ? mask & (-1L << value) : 0L;
+        return Long.numberOfTrailingZeros((candidates != 0L) ? candidates : mask);
+    }
+
 }
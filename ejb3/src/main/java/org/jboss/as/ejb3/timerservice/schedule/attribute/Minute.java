@@ -57,6 +57,11 @@ public class Minute extends IntegerBasedExpression {
      */
     public static final Integer MIN_MINUTE = 0;
 
+    /**
+     * The {@link #absoluteValues} compiled into a bit mask
+     */
+    private final long mask;
+
     /**
      * Creates a {@link Minute} by parsing the passed {@link String} <code>value</code>
      * <p>
@@ -72,6 +77,7 @@ public class Minute extends IntegerBasedExpression {
      */
     public Minute(String value) {
         super(value);
+        this.mask = toMask(this.absoluteValues);
     }
 
     public int getFirst() {
@@ -134,19 +140,7 @@ public class Minute extends IntegerBasedExpression {
         if (this.scheduleExpressionType == ScheduleExpressionType.WILDCARD) {
             return currentMinute;
         }
-        if (this.absoluteValues.isEmpty()) {
-            return null;
-        }
-
-        for (Integer minute : this.absoluteValues) {
-            if (currentMinute == minute) {
-                return currentMinute;
-            }
-            if (minute > currentMinute) {
-                return minute;
-            }
-        }
-        return this.absoluteValues.first();
+        return getNextMatch(this.mask, currentMinute);
     }
 
 }
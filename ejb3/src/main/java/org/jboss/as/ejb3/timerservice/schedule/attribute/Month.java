@@ -65,6 +65,11 @@ public class Month extends IntegerBasedExpression {
 
     private SortedSet<Integer> offsetAdjustedMonths = new TreeSet<Integer>();
 
+    /**
+     * The {@link #offsetAdjustedMonths} compiled into a bit mask
+     */
+    private final long mask;
+
     public Month(String value) {
         super(value);
         if (OFFSET != 0) {
@@ -74,6 +79,7 @@ public class Month extends IntegerBasedExpression {
         } else {
             this.offsetAdjustedMonths = this.absoluteValues;
         }
+        this.mask = toMask(this.offsetAdjustedMonths);
     }
 
     @Override
@@ -124,19 +130,7 @@ public class Month extends IntegerBasedExpression {
         if (this.scheduleExpressionType == ScheduleExpressionType.WILDCARD) {
             return currentCal.get(Calendar.MONTH);
         }
-        if (this.offsetAdjustedMonths.isEmpty()) {
-            return null;
-        }
-        int currentMonth = currentCal.get(Calendar.MONTH);
-        for (Integer month : this.offsetAdjustedMonths) {
-            if (currentMonth == month) {
-                return currentMonth;
-            }
-            if (month > currentMonth) {
-                return month;
-            }
-        }
-        return this.offsetAdjustedMonths.first();
+        return getNextMatch(this.mask, currentCal.get(Calendar.MONTH));
     }
 
     public Integer getFirstMatch() {
@@ -55,6 +55,11 @@ public class Second extends IntegerBasedExpression {
      */
     public static final Integer MIN_SECOND = 0;
 
+    /**
+     * The {@link #absoluteValues} compiled into a bit mask
+     */
+    private final long mask;
+
     /**
      * Creates a {@link Second} by parsing the passed {@link String} <code>value</code>
      * <p>
@@ -70,24 +75,14 @@ public class Second extends IntegerBasedExpression {
      */
     public Second(String value) {
         super(value);
+        this.mask = toMask(this.absoluteValues);
     }
 
     public Integer getNextMatch(int currentSecond) {
         if (this.scheduleExpressionType == ScheduleExpressionType.WILDCARD) {
             return currentSecond;
         }
-        if (this.absoluteValues.isEmpty()) {
-            return null;
-        }
-        for (Integer second : this.absoluteValues) {
-            if (currentSecond == second) {
-                return currentSecond;
-            }
-            if (second > currentSecond) {
-                return second;
-            }
-        }
-        return this.absoluteValues.first();
+        return getNextMatch(this.mask, currentSecond);
     }
 
     public int getFirst() {
@@ -0,0 +1,324 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.component.stateful.StatefulTimeoutInfo;
+import org.jboss.marshalling.Marshalling;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingConfigurationRepository;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingContext;
+
+/**
+ * Verifies passivation, activation and expiration of beans by a {@link PassivatingSimpleCache} backed by a {@link FilePassivationStore}.
+ */
+public class PassivatingSimpleCacheTestCase {
+
+    private static final int MAX_SIZE = 2;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @SuppressWarnings("unchecked")
+    private final StatefulObjectFactory<Bean> factory = mock(StatefulObjectFactory.class);
+    @SuppressWarnings("unchecked")
+    private final PassivationListener<Bean> listener = mock(PassivationListener.class);
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+    private FilePassivationStore<Bean> store;
+    private File directory;
+
+    @Before
+    public void init() throws Exception {
+        ClassLoader loader = this.getClass().getClassLoader();
+        MarshallingContext context = new SimpleMarshallingContext(Marshalling.getMarshallerFactory("river", loader), new SimpleMarshallingConfigurationRepository(new MarshallingConfiguration()), loader);
+        File parent = this.folder.newFolder();
+        this.store = new FilePassivationStore<>(parent, "test", context);
+        this.directory = parent.listFiles()[0];
+        when(this.factory.createInstance()).thenAnswer(invocation -> new Bean(UUID.randomUUID()));
+    }
+
+    @After
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    private PassivatingSimpleCache<UUID, Bean> createCache(int maxSize, StatefulTimeoutInfo timeout) {
+        return new PassivatingSimpleCache<>(this.factory, UUID::randomUUID, this.listener, this.store, maxSize, timeout, null, this.executor);
+    }
+
+    private int passivatedFiles() {
+        return this.directory.listFiles().length;
+    }
+
+    @Test
+    public void passivate() {
+        PassivatingSimpleCache<UUID, Bean> cache = this.createCache(MAX_SIZE, null);
+        try {
+            Bean bean1 = cache.create();
+            Bean bean2 = cache.create();
+
+            assertEquals(2, cache.getCacheSize());
+            assertEquals(0, cache.getPassivatedCount());
+            verify(this.listener, never()).prePassivate(any());
+
+            Bean bean3 = cache.create();
+
+            // The least recently used bean is passivated
+            assertEquals(MAX_SIZE, cache.getCacheSize());
+            assertEquals(1, cache.getPassivatedCount());
+            assertEquals(3, cache.getTotalSize());
+            assertEquals(1, this.passivatedFiles());
+            verify(this.listener).prePassivate(bean1);
+            verify(this.listener, never()).prePassivate(bean2);
+            verify(this.listener, never()).prePassivate(bean3);
+        } finally {
+            cache.stop();
+        }
+        assertFalse(this.directory.exists());
+    }
+
+    @Test
+    public void beansInUseAreNotPassivated() {
+        PassivatingSimpleCache<UUID, Bean> cache = this.createCache(MAX_SIZE, null);
+        try {
+            List<Bean> beans = new ArrayList<>();
+            for (int i = 0; i < 4; ++i) {
+                Bean bean = cache.create();
+                beans.add(cache.get(bean.getId()));
+            }
+            // Every bean is in use, so the cache may exceed its maximum size
+            assertEquals(4, cache.getCacheSize());
+            assertEquals(0, cache.getPassivatedCount());
+
+            for (Bean bean : beans) {
+                cache.release(bean);
+            }
+
+            assertEquals(MAX_SIZE, cache.getCacheSize());
+            assertEquals(2, cache.getPassivatedCount());
+            // Beans are passivated in order of their release
+            verify(this.listener).prePassivate(beans.get(0));
+            verify(this.listener).prePassivate(beans.get(1));
+            verify(this.listener, never()).prePassivate(beans.get(2));
+            verify(this.listener, never()).prePassivate(beans.get(3));
+        } finally {
+            cache.stop();
+        }
+    }
+
+    @Test
+    public void activate() {
+        PassivatingSimpleCache<UUID, Bean> cache = this.createCache(MAX_SIZE, null);
+        try {
+            Bean bean1 = cache.create();
+            bean1.increment();
+            Bean bean2 = cache.create();
+            Bean bean3 = cache.create();
+
+            assertEquals(1, cache.getPassivatedCount());
+
+            Bean activated = cache.get(bean1.getId());
+
+            assertNotNull(activated);
+            assertNotSame(bean1, activated);
+            assertEquals(bean1.getId(), activated.getId());
+            assertEquals(1, activated.getCount());
+            verify(this.listener).postActivate(activated);
+            // Activation passivates the least recently used idle bean in its place
+            verify(this.listener).prePassivate(bean2);
+            assertEquals(MAX_SIZE, cache.getCacheSize());
+            assertEquals(1, cache.getPassivatedCount());
+            assertEquals(1, this.passivatedFiles());
+
+            cache.release(activated);
+            cache.get(bean2.getId());
+
+            // The released bean is now more recently used than bean3
+            verify(this.listener).prePassivate(bean3);
+            assertSame(activated, cache.get(bean1.getId()));
+        } finally {
+            cache.stop();
+        }
+    }
+
+    @Test
+    public void remove() {
+        PassivatingSimpleCache<UUID, Bean> cache = this.createCache(MAX_SIZE, null);
+        try {
+            Bean bean1 = cache.create();
+            cache.create();
+            cache.create();
+
+            assertEquals(1, cache.getPassivatedCount());
+            assertEquals(1, this.passivatedFiles());
+
+            cache.remove(bean1.getId());
+
+            // A passivated bean is discarded without being activated
+            assertEquals(0, cache.getPassivatedCount());
+            assertEquals(MAX_SIZE, cache.getCacheSize());
+            assertEquals(MAX_SIZE, cache.getTotalSize());
+            assertEquals(0, this.passivatedFiles());
+            verify(this.listener, never()).postActivate(any());
+            verify(this.factory, never()).destroyInstance(any());
+            assertFalse(cache.contains(bean1.getId()));
+            assertNull(cache.get(bean1.getId()));
+        } finally {
+            cache.stop();
+        }
+    }
+
+    @Test
+    public void expire() throws InterruptedException {
+        PassivatingSimpleCache<UUID, Bean> cache = this.createCache(1, new StatefulTimeoutInfo(100, TimeUnit.MILLISECONDS));
+        try {
+            for (int i = 0; i < 3; ++i) {
+                Bean bean = cache.create();
+                cache.release(cache.get(bean.getId()));
+            }
+            assertEquals(3, cache.getTotalSize());
+
+            await(0, cache::getTotalSize);
+
+            assertEquals(0, cache.getCacheSize());
+            assertEquals(0, cache.getPassivatedCount());
+            assertEquals(0, this.passivatedFiles());
+            verify(this.listener, never()).postActivate(any());
+        } finally {
+            cache.stop();
+        }
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        int threads = 4;
+        int beansPerThread = 5;
+        int iterations = 100;
+        PassivatingSimpleCache<UUID, Bean> cache = this.createCache(threads, null);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; ++i) {
+                // Each thread uses its own beans, while evicting those of the other threads
+                futures.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>();
+                    for (int j = 0; j < beansPerThread; ++j) {
+                        ids.add(cache.create().getId());
+                    }
+                    for (int j = 0; j < iterations; ++j) {
+                        for (UUID id : ids) {
+                            Bean bean = cache.get(id);
+                            bean.increment();
+                            cache.release(bean);
+                        }
+                    }
+                    return ids;
+                }));
+            }
+            List<UUID> ids = new ArrayList<>();
+            for (Future<List<UUID>> future : futures) {
+                ids.addAll(future.get(1, TimeUnit.MINUTES));
+            }
+
+            assertEquals(threads * beansPerThread, cache.getTotalSize());
+            assertTrue(cache.getCacheSize() <= threads);
+            assertEquals(threads * beansPerThread, cache.getCacheSize() + cache.getPassivatedCount());
+            assertEquals(cache.getPassivatedCount(), this.passivatedFiles());
+            // No update was lost to passivation
+            for (UUID id : ids) {
+                Bean bean = cache.get(id);
+                assertEquals(iterations, bean.getCount());
+                cache.release(bean);
+            }
+        } finally {
+            executor.shutdownNow();
+            cache.stop();
+        }
+    }
+
+    private static void await(int expected, IntSupplier actual) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (actual.getAsInt() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, actual.getAsInt());
+    }
+
+    static class Bean implements Identifiable<UUID>, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final UUID id;
+        private int count;
+
+        Bean(UUID id) {
+            this.id = id;
+        }
+
+        @Override
+        public UUID getId() {
+            return this.id;
+        }
+
+        int getCount() {
+            return this.count;
+        }
+
+        void increment() {
+            this.count++;
+        }
+    }
+}
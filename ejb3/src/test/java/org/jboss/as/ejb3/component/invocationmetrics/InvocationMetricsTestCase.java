@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link InvocationMetrics} and {@link LatencyHistogram}.
+ */
+public class InvocationMetricsTestCase {
+
+    public void doIt() {
+    }
+
+    public void doIt(String value, int[] values) {
+    }
+
+    @Test
+    public void testOverloadedMethods() throws Exception {
+        Method method = InvocationMetricsTestCase.class.getMethod("doIt");
+        Method overloaded = InvocationMetricsTestCase.class.getMethod("doIt", String.class, int[].class);
+        InvocationMetrics metrics = new InvocationMetrics();
+
+        metrics.startInvocation();
+        metrics.finishInvocation(method, TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(10));
+        metrics.startInvocation();
+        metrics.finishInvocation(overloaded, TimeUnit.MILLISECONDS.toNanos(2), TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.startInvocation();
+        metrics.finishInvocation(overloaded, TimeUnit.MILLISECONDS.toNanos(3), TimeUnit.MILLISECONDS.toNanos(30));
+
+        assertEquals(3L, metrics.getInvocations());
+        assertEquals(60L, metrics.getExecutionTime());
+        assertEquals(6L, metrics.getWaitTime());
+        assertEquals(0L, metrics.getConcurrent());
+        assertEquals(1L, metrics.getPeakConcurrent());
+
+        Map<String, InvocationMetrics.Values> methods = metrics.getMethods();
+        assertEquals(2, methods.size());
+        InvocationMetrics.Values values = methods.get("doIt()");
+        assertEquals(1L, values.getInvocations());
+        assertEquals(10L, values.getExecutionTime());
+        values = methods.get("doIt(java.lang.String,int[])");
+        assertEquals(2L, values.getInvocations());
+        assertEquals(50L, values.getExecutionTime());
+        assertEquals(5L, values.getWaitTime());
+        assertEquals(2L, values.getExecutionTimeHistogram().getCount());
+    }
+
+    @Test
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getPercentile(0.99));
+        for (long i = 1; i <= 1000; ++i) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        assertEquals(1000L, histogram.getCount());
+        assertPercentile(500L, histogram.getPercentile(0.5));
+        assertPercentile(990L, histogram.getPercentile(0.99));
+        assertPercentile(999L, histogram.getPercentile(0.999));
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+        // Reported percentiles are bucket upper bounds, within 12.5% of the exact value
+        assertTrue(actual >= expected);
+        assertTrue(actual <= expected + expected / 8);
+    }
+}
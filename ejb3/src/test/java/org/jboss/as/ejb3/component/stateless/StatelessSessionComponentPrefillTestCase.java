@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.stateless;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ejb3.component.ApplicationExceptions;
+import org.jboss.as.ejb3.component.interceptors.ShutDownInterceptorFactory;
+import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfig;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorFactory;
+import org.jboss.msc.value.InjectedValue;
+import org.junit.Test;
+import org.mockito.Answers;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Verifies that a stateless session bean component with a pre-filled pool starts without blocking on its own start gate.
+ */
+public class StatelessSessionComponentPrefillTestCase {
+
+    private static final int MAX_POOL_SIZE = 5;
+
+    @Test
+    public void testStartWithPrefill() throws Exception {
+        StatelessSessionComponent component = new StatelessSessionComponent(createService(true));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> start = executor.submit(component::start);
+            // A prefill that creates instances before the component has started would block indefinitely
+            start.get(10, TimeUnit.SECONDS);
+
+            assertEquals(MAX_POOL_SIZE, component.getPool().getCurrentSize());
+            assertEquals(MAX_POOL_SIZE, component.getPool().getAvailableCount());
+        } finally {
+            executor.shutdownNow();
+            component.stop();
+        }
+        assertEquals(0, component.getPool().getCurrentSize());
+    }
+
+    @Test
+    public void testStartWithoutPrefill() throws Exception {
+        StatelessSessionComponent component = new StatelessSessionComponent(createService(false));
+        component.start();
+        try {
+            assertEquals(0, component.getPool().getCurrentSize());
+        } finally {
+            component.stop();
+        }
+    }
+
+    private static StatelessSessionComponentCreateService createService(boolean prefill) {
+        // Application exceptions are only accessible from within the component package
+        Answer<Object> answer = invocation -> (invocation.getMethod().getReturnType() == ApplicationExceptions.class) ? new ApplicationExceptions() : Answers.RETURNS_DEFAULTS.answer(invocation);
+        StatelessSessionComponentCreateService service = mock(StatelessSessionComponentCreateService.class, withSettings().defaultAnswer(answer));
+        InterceptorFactory factory = context -> (Interceptor) interceptorContext -> null;
+
+        when(service.getComponentName()).thenReturn("test");
+        when(service.getPoolConfig()).thenReturn(new StrictMaxPoolConfig("test", MAX_POOL_SIZE, 1, TimeUnit.MINUTES, true, prefill));
+        when(service.getPostConstruct()).thenReturn(factory);
+        when(service.getPreDestroy()).thenReturn(factory);
+        when(service.getShutDownInterceptorFactory()).thenReturn(new ShutDownInterceptorFactory());
+        when(service.getAsyncExecutorService()).thenReturn(new InjectedValue<ExecutorService>());
+        return service;
+    }
+}
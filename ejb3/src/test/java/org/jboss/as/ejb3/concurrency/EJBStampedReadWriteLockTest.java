@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.concurrency;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import javax.ejb.IllegalLoopbackException;
+
+import org.jboss.as.ejb3.component.singleton.EJBStampedReadWriteLock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link EJBStampedReadWriteLock}
+ */
+public class EJBStampedReadWriteLockTest {
+
+    private EJBStampedReadWriteLock lock;
+    private ExecutorService executor;
+
+    @Before
+    public void beforeTest() {
+        this.lock = new EJBStampedReadWriteLock();
+        this.executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void afterTest() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testIllegalLoopBack() throws Exception {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            this.lock.writeLock().tryLock(1, TimeUnit.SECONDS);
+            fail("Unexpected acquired write lock");
+        } catch (IllegalLoopbackException e) {
+            // expected
+        } finally {
+            readLock.unlock();
+        }
+        // Read lock must have been fully released
+        assertTrue(this.executor.submit(() -> this.tryWriteLock()).get());
+    }
+
+    @Test
+    public void testReentrantReadLock() throws Exception {
+        Lock readLock = this.lock.readLock();
+        assertTrue(readLock.tryLock(1, TimeUnit.SECONDS));
+        assertTrue(readLock.tryLock(1, TimeUnit.SECONDS));
+        readLock.unlock();
+        // Still held by this thread
+        assertFalse(this.executor.submit(() -> this.tryWriteLock()).get());
+        readLock.unlock();
+        assertTrue(this.executor.submit(() -> this.tryWriteLock()).get());
+    }
+
+    @Test
+    public void testConcurrentReadLocks() throws Exception {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            assertTrue(this.executor.submit(() -> {
+                boolean acquired = readLock.tryLock(1, TimeUnit.SECONDS);
+                if (acquired) {
+                    readLock.unlock();
+                }
+                return acquired;
+            }).get());
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Test
+    public void testReentrantWriteLock() throws Exception {
+        Lock writeLock = this.lock.writeLock();
+        assertTrue(writeLock.tryLock(1, TimeUnit.SECONDS));
+        assertTrue(writeLock.tryLock(1, TimeUnit.SECONDS));
+        writeLock.unlock();
+        assertFalse(this.executor.submit(() -> this.tryReadLock()).get());
+        writeLock.unlock();
+        assertTrue(this.executor.submit(() -> this.tryReadLock()).get());
+    }
+
+    @Test
+    public void testSameThreadCanGetWriteThenReadLock() throws Exception {
+        Lock writeLock = this.lock.writeLock();
+        Lock readLock = this.lock.readLock();
+        writeLock.lock();
+        assertTrue(readLock.tryLock(1, TimeUnit.SECONDS));
+        // Releasing the write lock downgrades to the read lock
+        writeLock.unlock();
+        assertTrue(this.executor.submit(() -> this.tryReadLock()).get());
+        assertFalse(this.executor.submit(() -> this.tryWriteLock()).get());
+        readLock.unlock();
+        assertTrue(this.executor.submit(() -> this.tryWriteLock()).get());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        CountDownLatch acquired = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> writer = this.executor.submit(() -> {
+            Lock writeLock = this.lock.writeLock();
+            writeLock.lock();
+            try {
+                acquired.countDown();
+                release.await();
+            } finally {
+                writeLock.unlock();
+            }
+            return null;
+        });
+        acquired.await();
+        try {
+            assertFalse(this.lock.readLock().tryLock(100, TimeUnit.MILLISECONDS));
+        } finally {
+            release.countDown();
+        }
+        writer.get();
+        assertTrue(this.tryReadLock());
+    }
+
+    private boolean tryReadLock() throws InterruptedException {
+        Lock readLock = this.lock.readLock();
+        boolean acquired = readLock.tryLock(100, TimeUnit.MILLISECONDS);
+        if (acquired) {
+            readLock.unlock();
+        }
+        return acquired;
+    }
+
+    private boolean tryWriteLock() throws InterruptedException {
+        Lock writeLock = this.lock.writeLock();
+        boolean acquired = writeLock.tryLock(100, TimeUnit.MILLISECONDS);
+        if (acquired) {
+            writeLock.unlock();
+        }
+        return acquired;
+    }
+}
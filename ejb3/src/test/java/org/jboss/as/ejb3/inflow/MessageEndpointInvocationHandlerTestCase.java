@@ -0,0 +1,224 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.inflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import javax.transaction.Status;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies the transaction demarcation of batch delivery against a mock transaction manager.
+ */
+public class MessageEndpointInvocationHandlerTestCase {
+
+    private static final Method METHOD;
+
+    static {
+        try {
+            METHOD = Runnable.class.getMethod("run");
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final AtomicReference<Transaction> associated = new AtomicReference<>();
+    private final TransactionManager tm = mock(TransactionManager.class);
+    private final Transaction tx = mock(Transaction.class);
+    @SuppressWarnings("unchecked")
+    private final MessageEndpointService<Object> service = mock(MessageEndpointService.class);
+    private final Object delegate = new Object();
+    private BatchDelivery batchDelivery;
+
+    @Before
+    public void init() throws Exception {
+        // Tracks the transaction associated with the delivering thread
+        doAnswer(invocation -> {
+            this.associated.set(this.tx);
+            return null;
+        }).when(this.tm).begin();
+        when(this.tm.getTransaction()).thenAnswer(invocation -> this.associated.get());
+        when(this.tm.suspend()).thenAnswer(invocation -> this.associated.getAndSet(null));
+        doAnswer(invocation -> {
+            this.associated.set(invocation.getArgument(0));
+            return null;
+        }).when(this.tm).resume(any());
+        doAnswer(invocation -> {
+            this.associated.set(null);
+            return null;
+        }).when(this.tm).commit();
+        doAnswer(invocation -> {
+            this.associated.set(null);
+            return null;
+        }).when(this.tm).rollback();
+        when(this.tx.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+
+        when(this.service.getTransactionManager()).thenReturn(this.tm);
+        when(this.service.isDeliveryTransacted(METHOD)).thenReturn(true);
+        when(this.service.getClassLoader()).thenReturn(this.getClass().getClassLoader());
+        when(this.service.getActivationName()).thenReturn("test");
+    }
+
+    @After
+    public void destroy() {
+        if (this.batchDelivery != null) {
+            this.batchDelivery.close();
+        }
+    }
+
+    private MessageEndpointInvocationHandler createHandler(int size, long timeout) {
+        this.batchDelivery = new BatchDelivery(size, timeout);
+        when(this.service.getBatchDelivery()).thenReturn(this.batchDelivery);
+        return new MessageEndpointInvocationHandler(this.service, this.delegate, null);
+    }
+
+    private static void deliver(MessageEndpointInvocationHandler handler) throws Exception {
+        handler.beforeDelivery(METHOD);
+        handler.afterDelivery();
+    }
+
+    private static void await(long expected, LongSupplier actual) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (actual.getAsLong() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, actual.getAsLong());
+    }
+
+    @Test
+    public void completeOnSize() throws Exception {
+        MessageEndpointInvocationHandler handler = this.createHandler(3, TimeUnit.MINUTES.toMillis(1));
+
+        deliver(handler);
+        deliver(handler);
+
+        verify(this.tm).begin();
+        verify(this.tm, never()).commit();
+        assertEquals(0, this.batchDelivery.getBatchCount());
+        // The incomplete batch must not remain associated with the delivering thread
+        assertNull(this.associated.get());
+
+        deliver(handler);
+
+        verify(this.tm).begin();
+        verify(this.tm).commit();
+        assertEquals(1, this.batchDelivery.getBatchCount());
+        assertEquals(3, this.batchDelivery.getMessageCount());
+
+        // The next delivery starts a new batch
+        deliver(handler);
+
+        verify(this.tm, times(2)).begin();
+        verify(this.tm).commit();
+        verify(this.tx, never()).commit();
+        verify(this.tx, never()).rollback();
+    }
+
+    @Test
+    public void completeOnTimeout() throws Exception {
+        MessageEndpointInvocationHandler handler = this.createHandler(10, 50);
+
+        deliver(handler);
+        deliver(handler);
+
+        // The scheduled completion commits the suspended transaction of the incomplete batch
+        verify(this.tx, timeout(TimeUnit.SECONDS.toMillis(10))).commit();
+        await(1, this.batchDelivery::getBatchCount);
+        assertEquals(2, this.batchDelivery.getMessageCount());
+        verify(this.tm).begin();
+        verify(this.tm, never()).commit();
+
+        // The next delivery starts a new batch
+        deliver(handler);
+
+        verify(this.tm, times(2)).begin();
+    }
+
+    @Test
+    public void rollback() throws Exception {
+        MessageEndpointInvocationHandler handler = this.createHandler(3, TimeUnit.MINUTES.toMillis(1));
+
+        deliver(handler);
+
+        handler.beforeDelivery(METHOD);
+        when(this.tx.getStatus()).thenReturn(Status.STATUS_MARKED_ROLLBACK);
+        handler.afterDelivery();
+
+        // The whole batch is rolled back, rather than being left open for subsequent deliveries
+        verify(this.tm).rollback();
+        verify(this.tm, never()).commit();
+        assertEquals(1, this.batchDelivery.getRollbackCount());
+        assertEquals(0, this.batchDelivery.getBatchCount());
+        assertNull(this.associated.get());
+
+        when(this.tx.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+        deliver(handler);
+
+        // The next delivery starts a new batch
+        verify(this.tm, times(2)).begin();
+        assertEquals(0, this.batchDelivery.getMessageCount());
+    }
+
+    @Test
+    public void releaseWithPendingBatch() throws Exception {
+        MessageEndpointInvocationHandler handler = this.createHandler(3, TimeUnit.MINUTES.toMillis(1));
+
+        deliver(handler);
+        deliver(handler);
+
+        handler.release();
+
+        // Release completes the pending batch before returning the instance
+        verify(this.tx).commit();
+        verify(this.service).release(this.delegate);
+        assertEquals(1, this.batchDelivery.getBatchCount());
+        assertEquals(2, this.batchDelivery.getMessageCount());
+
+        try {
+            handler.release();
+            fail("Message endpoint released twice");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+    }
+}
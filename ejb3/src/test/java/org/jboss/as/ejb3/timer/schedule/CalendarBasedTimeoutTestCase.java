@@ -530,6 +530,34 @@ public class CalendarBasedTimeoutTestCase {
         }
     }
 
+    /**
+     * Asserts that second, minute and month values wrap around to their first match.
+     */
+    @Test
+    public void testNextMatchWrapAround() {
+        ScheduleExpression schedule = new ScheduleExpression();
+        schedule.hour("*")
+                .minute("*/30")
+                .second("10,50")
+                .start(new GregorianCalendar(2014, Calendar.MARCH, 22, 4, 30, 51).getTime());
+        Calendar firstTimeout = new CalendarBasedTimeout(schedule).getFirstTimeout();
+        Assert.assertEquals(5, firstTimeout.get(Calendar.HOUR_OF_DAY));
+        Assert.assertEquals(0, firstTimeout.get(Calendar.MINUTE));
+        Assert.assertEquals(10, firstTimeout.get(Calendar.SECOND));
+
+        schedule = new ScheduleExpression();
+        schedule.month("Jan,Mar")
+                .start(new GregorianCalendar(2014, Calendar.APRIL, 1).getTime());
+        CalendarBasedTimeout calendarTimeout = new CalendarBasedTimeout(schedule);
+        firstTimeout = calendarTimeout.getFirstTimeout();
+        Assert.assertEquals(2015, firstTimeout.get(Calendar.YEAR));
+        Assert.assertEquals(Calendar.JANUARY, firstTimeout.get(Calendar.MONTH));
+        Assert.assertEquals(1, firstTimeout.get(Calendar.DAY_OF_MONTH));
+        Calendar nextTimeout = calendarTimeout.getNextTimeout(firstTimeout);
+        Assert.assertEquals(Calendar.JANUARY, nextTimeout.get(Calendar.MONTH));
+        Assert.assertEquals(2, nextTimeout.get(Calendar.DAY_OF_MONTH));
+    }
+
     /**
      * Testcase #1 for WFLY-3947
      */
@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimerScheduler}.
+ */
+public class TimerSchedulerTestCase {
+
+    private TimerScheduler scheduler;
+
+    @Before
+    public void init() {
+        this.scheduler = new TimerScheduler(4, 2);
+    }
+
+    @After
+    public void destroy() {
+        this.scheduler.shutdown();
+    }
+
+    @Test
+    public void schedule() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Long> lateness = new CopyOnWriteArrayList<>();
+        long start = System.currentTimeMillis();
+        this.scheduler.schedule("timer", time -> {
+            lateness.add(System.currentTimeMillis() - time);
+            latch.countDown();
+        }, 50);
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(System.currentTimeMillis() - start >= 50);
+        Assert.assertTrue(lateness.get(0) >= 0);
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        TimerScheduler.Scheduled scheduled = this.scheduler.schedule("timer", time -> count.incrementAndGet(), 100);
+        Assert.assertTrue(scheduled.cancel());
+        TimerScheduler.Scheduled periodic = this.scheduler.scheduleAtFixedRate("timer", time -> count.incrementAndGet(), 100, 10);
+        Assert.assertTrue(periodic.cancel());
+        Assert.assertFalse(periodic.cancel());
+        Thread.sleep(200);
+        Assert.assertEquals(0, count.get());
+    }
+
+    @Test
+    public void sameKeyIsOrdered() throws InterruptedException {
+        int tasks = 100;
+        CountDownLatch latch = new CountDownLatch(tasks);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < tasks; ++i) {
+            int task = i;
+            this.scheduler.schedule("timer", time -> {
+                order.add(task);
+                latch.countDown();
+            }, 0);
+        }
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < tasks; ++i) {
+            Assert.assertEquals(i, order.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void slowTaskDoesNotBlockOtherBuckets() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        this.scheduler.schedule(0, time -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 0);
+        try {
+            Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            // Integer keys map to consecutive buckets
+            CountDownLatch latch = new CountDownLatch(1);
+            this.scheduler.schedule(1, time -> latch.countDown(), 0);
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void boundedCatchUp() throws InterruptedException {
+        long period = 20;
+        CountDownLatch stalled = new CountDownLatch(1);
+        List<Long> times = new CopyOnWriteArrayList<>();
+        long start = System.currentTimeMillis();
+        TimerScheduler.Scheduled scheduled = this.scheduler.scheduleAtFixedRate("timer", time -> {
+            times.add(time);
+            if (times.size() == 1) {
+                // Stall long enough to miss many executions
+                try {
+                    Thread.sleep(period * 20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                stalled.countDown();
+            }
+        }, 0, period);
+        try {
+            Assert.assertTrue(stalled.await(5, TimeUnit.SECONDS));
+            Thread.sleep(period * 5);
+        } finally {
+            scheduled.cancel();
+        }
+        long end = System.currentTimeMillis();
+        // Scheduled times remain aligned to the period
+        for (long time : times) {
+            Assert.assertEquals(0, (time - times.get(0)) % period);
+        }
+        // Without a bound, all ~20 missed executions would have run back to back
+        int caughtUp = 0;
+        for (int i = 1; i < times.size(); ++i) {
+            if (times.get(i) < start + period * 20) {
+                caughtUp += 1;
+            }
+        }
+        Assert.assertTrue(Integer.toString(caughtUp), caughtUp <= 2);
+        Assert.assertTrue(times.size() < (end - start) / period);
+    }
+}
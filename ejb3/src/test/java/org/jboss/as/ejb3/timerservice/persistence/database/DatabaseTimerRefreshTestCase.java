@@ -0,0 +1,282 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerScheduler;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence.TimerChangeListener;
+import org.jboss.as.naming.ManagedReference;
+import org.jboss.as.naming.ManagedReferenceFactory;
+import org.jboss.modules.ModuleLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Verifies the incremental refresh and batched writes of the database timer store against a mock data source.
+ * Statements are identified by their key, see timer-sql.properties of the test resources.
+ */
+public class DatabaseTimerRefreshTestCase {
+
+    private static final String PARTITION = "partition";
+    private static final String TIMED_OBJECT_ID = "timed-object";
+    // Defaults of the corresponding system properties
+    private static final long REFRESH_MARGIN = 60000L;
+    private static final int FULL_REFRESH_PERIOD = 10;
+    private static final int BATCH_SIZE = 100;
+
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private final Statement statement = mock(Statement.class);
+    private final Connection connection = mock(Connection.class);
+    private final DataSource dataSource = mock(DataSource.class);
+    private final TimerScheduler scheduler = mock(TimerScheduler.class);
+    private final TimerChangeListener listener = mock(TimerChangeListener.class);
+    private final TimerServiceImpl timerService = mock(TimerServiceImpl.class);
+
+    private DatabaseTimerPersistence persistence;
+    private Runnable refreshTask;
+
+    @Before
+    public void init() throws SQLException {
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+        when(this.connection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_READ_COMMITTED);
+        when(this.connection.createStatement()).thenReturn(this.statement);
+        when(this.connection.prepareStatement(anyString())).then(invocation -> this.statement(invocation.getArgument(0)));
+        when(this.listener.getTimerService()).thenReturn(this.timerService);
+    }
+
+    @After
+    public void destroy() {
+        if (this.persistence != null) {
+            this.persistence.stop(null);
+        }
+    }
+
+    @Test
+    public void watermark() throws Exception {
+        long before = System.currentTimeMillis();
+        this.start(false);
+        long after = System.currentTimeMillis();
+
+        // The first refresh loads the timers changed since start, less the margin
+        long since = this.refresh();
+        assertTrue(since >= before - REFRESH_MARGIN);
+        assertTrue(since <= after - REFRESH_MARGIN);
+
+        // Subsequent refreshes load the timers changed since the start of the previous refresh, less the margin
+        before = System.currentTimeMillis();
+        this.refresh();
+        after = System.currentTimeMillis();
+        since = this.refresh();
+        assertTrue(since >= before - REFRESH_MARGIN);
+        assertTrue(since <= after - REFRESH_MARGIN);
+
+        // A failed refresh does not advance the watermark
+        long failed = this.refresh(true);
+        assertEquals(failed, this.refresh());
+    }
+
+    @Test
+    public void reconcile() throws Exception {
+        this.start(false);
+        this.persistence.loadActiveTimers(TIMED_OBJECT_ID, this.timerService);
+        this.persistence.registerChangeListener(TIMED_OBJECT_ID, this.listener);
+        this.persistence.addTimer(timer("timer", TimerState.ACTIVE));
+
+        // Deletions of other nodes are only detected by the periodic comparison of timer ids
+        for (int i = 1; i < FULL_REFRESH_PERIOD; ++i) {
+            this.refresh();
+        }
+        verify(this.statement("load-timer-ids"), never()).executeQuery();
+        verify(this.listener, never()).timerRemoved(anyString());
+
+        this.refresh();
+        verify(this.statement("load-timer-ids")).executeQuery();
+        verify(this.listener).timerRemoved("timer");
+
+        // The timer is no longer known, so there is nothing left to remove
+        for (int i = 0; i < FULL_REFRESH_PERIOD; ++i) {
+            this.refresh();
+        }
+        verify(this.statement("load-timer-ids"), times(2)).executeQuery();
+        verify(this.listener).timerRemoved("timer");
+        // Unchanged timers are never loaded in full
+        verify(this.statement("load-all-timers")).executeQuery();
+    }
+
+    @Test
+    public void batch() throws Exception {
+        this.start(false);
+        this.persistence.loadActiveTimers(TIMED_OBJECT_ID, this.timerService);
+
+        int updates = BATCH_SIZE + BATCH_SIZE / 2;
+        List<TimerImpl> timers = new ArrayList<>();
+        for (int i = 0; i < updates; ++i) {
+            timers.add(timer("active-" + i, TimerState.ACTIVE));
+        }
+        timers.add(timer("canceled", TimerState.CANCELED));
+        timers.add(timer("expired", TimerState.EXPIRED));
+
+        this.persistence.persistTimers(timers);
+
+        PreparedStatement update = this.statement("update-timer-versioned");
+        verify(update, times(updates)).addBatch();
+        verify(update, times(2)).executeBatch();
+        verify(update, never()).execute();
+        // All updates of a batch record the same modification time
+        ArgumentCaptor<Long> modified = ArgumentCaptor.forClass(Long.class);
+        verify(update, times(updates)).setLong(eq(5), modified.capture());
+        assertEquals(1L, modified.getAllValues().stream().distinct().count());
+
+        PreparedStatement delete = this.statement("delete-timer");
+        verify(delete, times(2)).addBatch();
+        verify(delete).executeBatch();
+        verify(delete, never()).execute();
+
+        // A single timer does not warrant a batch
+        reset(update);
+        this.persistence.persistTimers(Collections.singleton(timer("single", TimerState.ACTIVE)));
+        verify(update).execute();
+        verify(update, never()).executeBatch();
+    }
+
+    @Test
+    public void tableNotUpgradedByDefault() throws Exception {
+        when(this.statement("load-changed-timers").executeQuery()).thenThrow(new SQLException());
+        this.start(false);
+
+        verify(this.statement, never()).executeUpdate(anyString());
+        // Falls back to full refresh
+        this.persistence.loadActiveTimers(TIMED_OBJECT_ID, this.timerService);
+        this.persistence.registerChangeListener(TIMED_OBJECT_ID, this.listener);
+        this.refreshTask.run();
+        verify(this.statement("load-all-timers"), times(2)).executeQuery();
+        verify(this.statement("load-changed-timers")).executeQuery();
+    }
+
+    @Test
+    public void tableUpgraded() throws Exception {
+        when(this.statement("load-changed-timers").executeQuery()).thenThrow(new SQLException()).then(invocation -> emptyResultSet());
+        this.start(true);
+
+        verify(this.statement).executeUpdate("add-last-modified-column");
+        verify(this.statement).executeUpdate("add-last-modified-index");
+        verify(this.statement).executeUpdate("add-last-modified-backfill");
+        this.persistence.loadActiveTimers(TIMED_OBJECT_ID, this.timerService);
+        this.persistence.addTimer(timer("timer", TimerState.ACTIVE));
+        verify(this.statement("create-timer-versioned")).execute();
+    }
+
+    private void start(boolean upgradeTable) throws Exception {
+        ManagedReference reference = mock(ManagedReference.class);
+        when(reference.getInstance()).thenReturn(this.dataSource);
+        ManagedReferenceFactory factory = mock(ManagedReferenceFactory.class);
+        when(factory.getReference()).thenReturn(reference);
+        when(this.scheduler.scheduleWithFixedDelay(any(Runnable.class), anyLong())).then(invocation -> {
+            this.refreshTask = invocation.getArgument(0);
+            return (TimerScheduler.Scheduled) () -> true;
+        });
+
+        this.persistence = new DatabaseTimerPersistence("h2", PARTITION, "node", 1000, true, true, upgradeTable);
+        this.persistence.getDataSourceInjectedValue().inject(factory);
+        this.persistence.getModuleLoader().inject(mock(ModuleLoader.class));
+        this.persistence.getTimerInjectedValue().inject(this.scheduler);
+        this.persistence.start(null);
+    }
+
+    /**
+     * Runs the refresh task, returning the modification time from which changed timers were loaded.
+     */
+    private long refresh() throws SQLException {
+        return this.refresh(false);
+    }
+
+    private long refresh(boolean fail) throws SQLException {
+        PreparedStatement changed = this.statement("load-changed-timers");
+        reset(changed);
+        if (fail) {
+            when(changed.executeQuery()).thenThrow(new SQLException());
+        } else {
+            when(changed.executeQuery()).then(invocation -> emptyResultSet());
+        }
+        this.refreshTask.run();
+        ArgumentCaptor<Long> since = ArgumentCaptor.forClass(Long.class);
+        verify(changed).setString(1, PARTITION);
+        verify(changed).setLong(eq(2), since.capture());
+        return since.getValue();
+    }
+
+    private PreparedStatement statement(String sql) throws SQLException {
+        PreparedStatement statement = this.statements.get(sql);
+        if (statement == null) {
+            statement = mock(PreparedStatement.class);
+            when(statement.executeQuery()).then(invocation -> emptyResultSet());
+            when(statement.executeBatch()).then(invocation -> new int[0]);
+            this.statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    private static ResultSet emptyResultSet() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(false);
+        return resultSet;
+    }
+
+    private static TimerImpl timer(String id, TimerState state) {
+        TimerImpl timer = mock(TimerImpl.class);
+        when(timer.getId()).thenReturn(id);
+        when(timer.getTimedObjectId()).thenReturn(TIMED_OBJECT_ID);
+        when(timer.getState()).thenReturn(state);
+        return timer;
+    }
+}
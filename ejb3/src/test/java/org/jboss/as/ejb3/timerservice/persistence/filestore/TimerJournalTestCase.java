@@ -0,0 +1,189 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    private File directory;
+    private File file;
+
+    @Before
+    public void init() throws IOException {
+        this.directory = Files.createTempDirectory("timer-journal").toFile();
+        this.file = new File(this.directory, JournalFileTimerPersistence.JOURNAL_FILE_NAME);
+    }
+
+    @After
+    public void destroy() {
+        for (File child : this.directory.listFiles()) {
+            child.delete();
+        }
+        this.directory.delete();
+    }
+
+    @Test
+    public void replay() throws IOException {
+        try (TimerJournal journal = TimerJournal.create(this.file, true)) {
+            journal.put("a", bytes("a1"));
+            journal.put("b", bytes("b1"));
+            journal.put("a", bytes("a2"));
+            journal.remove("b");
+            journal.put("c", bytes(""));
+            Assert.assertEquals(5, journal.getRecordCount());
+        }
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (TimerJournal journal = TimerJournal.open(this.file, true, entries::put, entries::remove)) {
+            Assert.assertEquals(5, journal.getRecordCount());
+            journal.put("d", bytes("d1"));
+        }
+
+        Assert.assertEquals(2, entries.size());
+        Assert.assertEquals("a2", string(entries.get("a")));
+        Assert.assertEquals("", string(entries.get("c")));
+
+        entries.clear();
+        try (TimerJournal journal = TimerJournal.open(this.file, true, entries::put, entries::remove)) {
+            Assert.assertEquals(6, journal.getRecordCount());
+        }
+        Assert.assertEquals(3, entries.size());
+        Assert.assertEquals("d1", string(entries.get("d")));
+    }
+
+    @Test
+    public void truncateTornRecord() throws IOException {
+        try (TimerJournal journal = TimerJournal.create(this.file, true)) {
+            journal.put("a", bytes("a1"));
+            journal.put("b", bytes("b1"));
+        }
+        long length = this.file.length();
+        // Simulate a crash in the middle of writing the last record
+        try (RandomAccessFile raf = new RandomAccessFile(this.file, "rw")) {
+            raf.setLength(length - 1);
+        }
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (TimerJournal journal = TimerJournal.open(this.file, true, entries::put, entries::remove)) {
+            Assert.assertEquals(1, journal.getRecordCount());
+            journal.put("c", bytes("c1"));
+        }
+        Assert.assertEquals(1, entries.size());
+        Assert.assertEquals("a1", string(entries.get("a")));
+
+        entries.clear();
+        try (TimerJournal journal = TimerJournal.open(this.file, true, entries::put, entries::remove)) {
+            Assert.assertEquals(2, journal.getRecordCount());
+        }
+        Assert.assertEquals(2, entries.size());
+        Assert.assertEquals("c1", string(entries.get("c")));
+    }
+
+    @Test
+    public void corruptRecord() throws IOException {
+        long offset;
+        try (TimerJournal journal = TimerJournal.create(this.file, true)) {
+            journal.put("a", bytes("a1"));
+            offset = this.file.length();
+            journal.put("b", bytes("b1"));
+        }
+        // Flip the last payload byte, such that the checksum no longer matches
+        try (RandomAccessFile raf = new RandomAccessFile(this.file, "rw")) {
+            raf.seek(raf.length() - 1);
+            int value = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(value ^ 0xFF);
+        }
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (TimerJournal journal = TimerJournal.open(this.file, true, entries::put, entries::remove)) {
+            Assert.assertEquals(1, journal.getRecordCount());
+        }
+        Assert.assertEquals(1, entries.size());
+        Assert.assertEquals(offset, this.file.length());
+    }
+
+    @Test
+    public void compact() throws IOException {
+        Map<String, byte[]> live = new LinkedHashMap<>();
+        try (TimerJournal journal = TimerJournal.create(this.file, false)) {
+            for (int i = 0; i < 100; ++i) {
+                String id = Integer.toString(i % 10);
+                byte[] payload = bytes(Integer.toString(i));
+                journal.put(id, payload);
+                live.put(id, payload);
+            }
+            journal.remove("0");
+            live.remove("0");
+            long length = this.file.length();
+
+            journal.compact(live);
+
+            Assert.assertEquals(9, journal.getRecordCount());
+            Assert.assertTrue(this.file.length() < length);
+            Assert.assertEquals(this.file, journal.getFile());
+            Assert.assertFalse(new File(this.directory, JournalFileTimerPersistence.JOURNAL_FILE_NAME + ".compact").exists());
+
+            // Journal remains appendable after compaction
+            journal.put("0", bytes("new"));
+        }
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (TimerJournal journal = TimerJournal.open(this.file, false, entries::put, entries::remove)) {
+            Assert.assertEquals(10, journal.getRecordCount());
+        }
+        Assert.assertEquals(10, entries.size());
+        Assert.assertEquals("new", string(entries.get("0")));
+        for (int i = 1; i < 10; ++i) {
+            Assert.assertEquals(Integer.toString(90 + i), string(entries.get(Integer.toString(i))));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void invalidHeader() throws IOException {
+        Files.write(this.file.toPath(), bytes("<timers/>"));
+        TimerJournal.open(this.file, false, (id, payload) -> { }, id -> { }).close();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -32,6 +32,7 @@ import java.util.Map;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.SynchronizationType;
+import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
 import javax.transaction.TransactionSynchronizationRegistry;
 
@@ -78,12 +79,20 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
     @Override
     protected EntityManager getEntityManager() {
         EntityManager entityManager;
-        boolean isInTx;
+        Transaction tx = TransactionUtil.getTransaction(transactionManager);
 
-        isInTx = TransactionUtil.isInTx(transactionManager);
-
-        if (isInTx) {
-            entityManager = getOrCreateTransactionScopedEntityManager(emf, puScopedName, properties, synchronizationType);
+        if (TransactionUtil.isInTx(tx)) {
+            // fast path for repeated calls within the same transaction, avoiding the transaction registry lookup
+            entityManager = TransactionUtil.getResolvedEntityManager(puScopedName, tx);
+            if (entityManager == null) {
+                entityManager = getOrCreateTransactionScopedEntityManager(emf, puScopedName, properties, synchronizationType);
+                // an extended persistence context joined to the transaction has no SessionSynchronization to clear it
+                if (!(entityManager instanceof ExtendedEntityManager)) {
+                    TransactionUtil.putResolvedEntityManager(puScopedName, entityManager, tx);
+                }
+            } else {
+                testForMixedSynchronizationTypes(emf, entityManager, puScopedName, synchronizationType, properties);
+            }
         } else {
             entityManager = NonTxEmCloser.get(puScopedName);
             if (entityManager == null) {
@@ -211,13 +220,17 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
      */
     private static void testForMixedSynchronizationTypes(EntityManagerFactory emf, EntityManager entityManagerFromJTA, String scopedPuName, final SynchronizationType targetSynchronizationType, Map targetProperties) {
 
+        // check the synchronization types first, as they rarely differ and are cheaper to check than the configuration properties
+        if (!SynchronizationType.SYNCHRONIZED.equals(targetSynchronizationType) ||
+                !(entityManagerFromJTA instanceof SynchronizationTypeAccess) ||
+                !SynchronizationType.UNSYNCHRONIZED.equals(((SynchronizationTypeAccess) entityManagerFromJTA).getSynchronizationType())) {
+            return;
+        }
+
         boolean skipMixedSyncTypeChecking = Configuration.skipMixedSynchronizationTypeCheck(emf, targetProperties);  // extension to allow skipping of check based on properties of target entity manager
         boolean allowJoinedUnsyncPersistenceContext = Configuration.allowJoinedUnsyncPersistenceContext(emf, targetProperties); // extension to allow joined unsync persistence context to be treated as sync persistence context
 
-        if (!skipMixedSyncTypeChecking &&
-                SynchronizationType.SYNCHRONIZED.equals(targetSynchronizationType) &&
-                entityManagerFromJTA instanceof SynchronizationTypeAccess &&
-                SynchronizationType.UNSYNCHRONIZED.equals(((SynchronizationTypeAccess) entityManagerFromJTA).getSynchronizationType())
+        if (!skipMixedSyncTypeChecking
                 && (!allowJoinedUnsyncPersistenceContext || !entityManagerFromJTA.isJoinedToTransaction())) {
             throw JpaLogger.ROOT_LOGGER.badSynchronizationTypeCombination(scopedPuName);
         }
@@ -327,6 +327,10 @@ public class JPAAnnotationProcessor implements DeploymentUnitProcessor {
             }
             // get deployment settings from top level du (jboss-all.xml is only parsed at the top level).
             final JPADeploymentSettings jpaDeploymentSettings = DeploymentUtils.getTopDeploymentUnit(deploymentUnit).getAttachment(JpaAttachments.DEPLOYMENT_SETTINGS_KEY);
+            if (type == PersistenceContextType.EXTENDED) {
+                // nested stateful session beans may inherit, and thus share, an extended persistence context
+                DeploymentUtils.getTopDeploymentUnit(deploymentUnit).putAttachment(Attachments.SHARED_BEAN_GROUP_REFERENCES, Boolean.TRUE);
+            }
             return new PersistenceContextInjectionSource(type, synchronizationType , properties, puServiceName, deploymentUnit.getServiceRegistry(), scopedPuName, injectionTypeName, pu, jpaDeploymentSettings);
         } else {
             return new PersistenceUnitInjectionSource(puServiceName, deploymentUnit.getServiceRegistry(), injectionTypeName, pu);
@@ -32,6 +32,7 @@ import javax.persistence.EntityManagerFactory;
 import javax.persistence.PersistenceContextType;
 import javax.persistence.SynchronizationType;
 
+import org.jboss.as.ee.component.Attachments;
 import org.jboss.as.ee.component.BindingConfiguration;
 import org.jboss.as.ee.component.ComponentDescription;
 import org.jboss.as.ee.component.DeploymentDescriptorEnvironment;
@@ -227,6 +228,10 @@ public class PersistenceRefProcessor extends AbstractDeploymentDescriptorBinding
         ServiceName puServiceName = getPuServiceName(scopedPuName);
         // get deployment settings from top level du (jboss-all.xml is only parsed at the top level).
         final JPADeploymentSettings jpaDeploymentSettings = DeploymentUtils.getTopDeploymentUnit(deploymentUnit).getAttachment(JpaAttachments.DEPLOYMENT_SETTINGS_KEY);
+        if (type == PersistenceContextType.EXTENDED) {
+            // nested stateful session beans may inherit, and thus share, an extended persistence context
+            DeploymentUtils.getTopDeploymentUnit(deploymentUnit).putAttachment(Attachments.SHARED_BEAN_GROUP_REFERENCES, Boolean.TRUE);
+        }
         return new PersistenceContextInjectionSource(type, synchronizationType, properties, puServiceName, deploymentUnit.getServiceRegistry(), scopedPuName, EntityManager.class.getName(), pu, jpaDeploymentSettings);
     }
 
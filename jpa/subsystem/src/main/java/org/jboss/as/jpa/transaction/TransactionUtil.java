@@ -27,6 +27,8 @@ import static org.jboss.as.jpa.messages.JpaLogger.ROOT_LOGGER;
 
 import java.security.PrivilegedAction;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.persistence.EntityManager;
 import javax.transaction.Synchronization;
@@ -41,7 +43,6 @@ import org.jboss.tm.TxUtils;
 import org.jboss.tm.listener.EventType;
 import org.wildfly.transaction.client.AbstractTransaction;
 import org.wildfly.transaction.client.AssociationListener;
-import org.wildfly.transaction.client.ContextTransactionManager;
 
 /**
  * Transaction utilities for JPA
@@ -52,13 +53,58 @@ public class TransactionUtil {
 
     private static final EnumSet<EventType> eventTypes = EnumSet.of(EventType.ASSOCIATED, EventType.DISASSOCIATING);
 
+    /**
+     * Transaction scoped entity managers already resolved by the current thread, for the transaction associated with the thread.
+     * Cleared by {@link SessionSynchronization#associationChanged} when the thread is disassociated from the transaction.
+     */
+    private static final ThreadLocal<ResolvedEntityManagers> resolvedEntityManagers = new ThreadLocal<>();
+
     public static boolean isInTx(TransactionManager transactionManager) {
-        Transaction tx = getTransaction(transactionManager);
+        return isInTx(getTransaction(transactionManager));
+    }
+
+    public static boolean isInTx(Transaction tx) {
         if (tx == null || !TxUtils.isActive(tx))
             return false;
         return true;
     }
 
+    /**
+     * Get the persistence context previously resolved by the current thread for the specified transaction.
+     *
+     * @param puScopedName
+     * @param tx the transaction associated with the current thread
+     * @return the entity manager, or null if none was resolved yet
+     */
+    public static EntityManager getResolvedEntityManager(String puScopedName, Transaction tx) {
+        ResolvedEntityManagers resolved = resolvedEntityManagers.get();
+        return (resolved != null && resolved.transaction == tx) ? resolved.entityManagers.get(puScopedName) : null;
+    }
+
+    /**
+     * Remember the persistence context of the specified transaction for subsequent lookups by the current thread,
+     * for as long as the thread is associated with the transaction.
+     *
+     * @param puScopedName
+     * @param entityManager
+     * @param tx the transaction associated with the current thread
+     */
+    public static void putResolvedEntityManager(String puScopedName, EntityManager entityManager, Transaction tx) {
+        ResolvedEntityManagers resolved = resolvedEntityManagers.get();
+        if (resolved == null || resolved.transaction != tx) {
+            resolved = new ResolvedEntityManagers(tx);
+            resolvedEntityManagers.set(resolved);
+        }
+        resolved.entityManagers.put(puScopedName, entityManager);
+    }
+
+    private static void clearResolvedEntityManagers(Transaction tx) {
+        ResolvedEntityManagers resolved = resolvedEntityManagers.get();
+        if (resolved != null && resolved.transaction == tx) {
+            resolvedEntityManagers.remove();
+        }
+    }
+
     /**
      * Get current persistence context.  Only call while a transaction is active in the current thread.
      *
@@ -72,7 +118,8 @@ public class TransactionUtil {
     public static void registerSynchronization(EntityManager entityManager, String puScopedName, TransactionSynchronizationRegistry tsr, TransactionManager transactionManager) {
         SessionSynchronization sessionSynchronization = new SessionSynchronization(entityManager, puScopedName);
         tsr.registerInterposedSynchronization(sessionSynchronization);
-        final AbstractTransaction transaction = ((ContextTransactionManager) transactionManager).getTransaction();
+        // the ContextTransactionManager always returns an AbstractTransaction
+        final AbstractTransaction transaction = (AbstractTransaction) getTransaction(transactionManager);
         doPrivileged((PrivilegedAction<Void>) () -> {
             transaction.registerAssociationListener(sessionSynchronization);
             return null;
@@ -208,6 +255,10 @@ public class TransactionUtil {
                 // the safeCloseEntityManager() may close the entity manager in the (background) reaper thread or
                 // application thread (whichever thread reaches associationCounter == 0).
                 associationCounter += associated ? 1 : -1;
+                if (!associated) {
+                    // the disassociating thread can no longer use its resolved entity managers for this transaction
+                    clearResolvedEntityManagers(transaction);
+                }
                 if (ROOT_LOGGER.isTraceEnabled()) {
                     ROOT_LOGGER.tracef("transaction association counter = %d for %s: ", associationCounter, getEntityManagerDetails(manager, scopedPuName));
                 }
@@ -216,4 +267,13 @@ public class TransactionUtil {
         }
     }
 
+    private static class ResolvedEntityManagers {
+        private final Transaction transaction;
+        private final Map<String, EntityManager> entityManagers = new HashMap<>(4);
+
+        ResolvedEntityManagers(Transaction transaction) {
+            this.transaction = transaction;
+        }
+    }
+
 }
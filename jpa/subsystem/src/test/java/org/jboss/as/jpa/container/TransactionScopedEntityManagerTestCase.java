@@ -0,0 +1,187 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.container;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.SynchronizationType;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.jboss.as.jpa.transaction.TransactionUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.transaction.client.AbstractTransaction;
+import org.wildfly.transaction.client.AssociationListener;
+
+/**
+ * Verifies the reuse of the entity managers resolved by a {@link TransactionScopedEntityManager} for the transaction associated with the current thread.
+ */
+public class TransactionScopedEntityManagerTestCase {
+
+    private static final String PU = "test.jar#test";
+
+    private final TransactionManager tm = mock(TransactionManager.class);
+    private final TransactionSynchronizationRegistry tsr = mock(TransactionSynchronizationRegistry.class);
+    private final EntityManagerFactory emf = mock(EntityManagerFactory.class);
+    // Emulates the transaction association of the current thread, and the resources and listeners of each transaction
+    private AbstractTransaction current;
+    private final Map<Transaction, Map<Object, Object>> resources = new IdentityHashMap<>();
+    private final Map<Transaction, AssociationListener> listeners = new IdentityHashMap<>();
+    private final Map<Transaction, Synchronization> synchronizations = new IdentityHashMap<>();
+    private TransactionScopedEntityManager manager;
+
+    @Before
+    public void init() throws Exception {
+        when(this.tm.getTransaction()).thenAnswer(invocation -> this.current);
+        when(this.tsr.getResource(any())).thenAnswer(invocation -> this.resources.getOrDefault(this.current, new HashMap<>()).get(invocation.getArgument(0)));
+        doAnswer(invocation -> {
+            this.resources.computeIfAbsent(this.current, key -> new HashMap<>()).put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(this.tsr).putResource(any(), any());
+        doAnswer(invocation -> {
+            this.synchronizations.put(this.current, invocation.getArgument(0));
+            return null;
+        }).when(this.tsr).registerInterposedSynchronization(any());
+        when(this.emf.createEntityManager()).thenAnswer(invocation -> mock(EntityManager.class));
+
+        this.manager = new TransactionScopedEntityManager(PU, new HashMap<>(), this.emf, SynchronizationType.SYNCHRONIZED, this.tsr, this.tm);
+    }
+
+    private AbstractTransaction begin() throws Exception {
+        AbstractTransaction tx = mock(AbstractTransaction.class);
+        when(tx.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+        doAnswer(invocation -> {
+            this.listeners.put(tx, invocation.getArgument(0));
+            return null;
+        }).when(tx).registerAssociationListener(any());
+        this.current = tx;
+        return tx;
+    }
+
+    private void suspend(AbstractTransaction tx) {
+        this.current = null;
+        this.listeners.get(tx).associationChanged(tx, false);
+    }
+
+    private void resume(AbstractTransaction tx) {
+        this.current = tx;
+        this.listeners.get(tx).associationChanged(tx, true);
+    }
+
+    private void commit(AbstractTransaction tx) {
+        this.synchronizations.get(tx).beforeCompletion();
+        this.synchronizations.get(tx).afterCompletion(Status.STATUS_COMMITTED);
+        this.suspend(tx);
+    }
+
+    @Test
+    public void reuseWithinTransaction() throws Exception {
+        this.begin();
+
+        EntityManager entityManager = this.manager.getEntityManager();
+
+        assertSame(entityManager, this.manager.getEntityManager());
+        assertSame(entityManager, this.manager.getEntityManager());
+
+        // Only the first call consults the transaction registry
+        verify(this.tsr, times(1)).getResource(PU);
+        verify(this.emf, times(1)).createEntityManager();
+    }
+
+    @Test
+    public void suspendResume() throws Exception {
+        AbstractTransaction tx = this.begin();
+        EntityManager entityManager = this.manager.getEntityManager();
+
+        this.suspend(tx);
+
+        assertNull(TransactionUtil.getResolvedEntityManager(PU, tx));
+
+        this.resume(tx);
+
+        // The entity manager is resolved again via the transaction registry
+        assertSame(entityManager, this.manager.getEntityManager());
+        verify(this.tsr, times(2)).getResource(PU);
+        verify(this.emf, times(1)).createEntityManager();
+        verify(entityManager, never()).close();
+    }
+
+    @Test
+    public void noReuseAcrossTransactions() throws Exception {
+        AbstractTransaction tx1 = this.begin();
+        EntityManager entityManager1 = this.manager.getEntityManager();
+
+        // Associate another transaction with this thread, without notifying the association listener of the first
+        AbstractTransaction tx2 = this.begin();
+        EntityManager entityManager2 = this.manager.getEntityManager();
+
+        assertNotSame(entityManager1, entityManager2);
+        assertSame(entityManager2, this.manager.getEntityManager());
+        verify(this.emf, times(2)).createEntityManager();
+
+        this.current = tx1;
+
+        assertSame(entityManager1, this.manager.getEntityManager());
+
+        this.current = tx2;
+
+        assertSame(entityManager2, this.manager.getEntityManager());
+    }
+
+    @Test
+    public void noLeakAfterCommit() throws Exception {
+        AbstractTransaction tx = this.begin();
+        EntityManager entityManager = this.manager.getEntityManager();
+
+        this.commit(tx);
+
+        verify(entityManager).close();
+        assertNull(TransactionUtil.getResolvedEntityManager(PU, tx));
+
+        // A subsequent transaction on this thread uses a new entity manager
+        this.begin();
+        EntityManager next = this.manager.getEntityManager();
+
+        assertNotSame(entityManager, next);
+        verify(this.emf, times(2)).createEntityManager();
+    }
+}
@@ -26,6 +26,8 @@ import static org.jboss.logging.Logger.Level.DEBUG;
 import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
+import javax.mail.MessagingException;
+
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
 import org.jboss.logging.annotations.LogMessage;
@@ -92,4 +94,25 @@ interface MailLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 9, value = "Host name [%s] could not be resolved!")
     void hostUnknown(String hostName);
+
+    /**
+     * Creates an exception indicating that no pooled SMTP transport became available.
+     *
+     * @param timeout the time waited, in milliseconds
+     *
+     * @return a {@link MessagingException} for the error.
+     */
+    @Message(id = 10, value = "No SMTP transport became available within %d milliseconds, all pooled transports are in use")
+    MessagingException transportPoolExhausted(long timeout);
+
+    /**
+     * Logs a warning message indicating that a system property has an invalid value, and that its default value is used instead.
+     *
+     * @param value the invalid value
+     * @param property the name of the system property
+     * @param defaultValue the value used instead
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 11, value = "Invalid value %s for system property %s, using %d instead")
+    void invalidSystemPropertyValue(String value, String property, long defaultValue);
 }
@@ -114,7 +114,7 @@ class MailSessionAdd extends AbstractAddStepHandler {
         final CapabilityServiceTarget serviceTarget = context.getCapabilityServiceTarget();
 
         final MailSessionConfig config = from(context, fullModel);
-        final MailSessionService service = new MailSessionService(config);
+        final MailSessionService service = new MailSessionService(address.getLastElement().getValue(), config);
 
         final CapabilityServiceBuilder mailSessionBuilder = serviceTarget.addCapability(SESSION_CAPABILITY.fromBaseCapability(address.getLastElement().getValue())).setInstance(service);
         addOutboundSocketDependency(service, mailSessionBuilder, config.getImapServer());
@@ -103,6 +103,9 @@ class MailSessionDefinition extends PersistentResourceDefinition {
         for (AttributeDefinition attr : ATTRIBUTES) {
             rootResourceRegistration.registerReadWriteAttribute(attr, null, handler);
         }
+        if (rootResourceRegistration.isRuntimeOnlyRegistrationValid()) {
+            TransportPoolMetricsHandler.INSTANCE.registerMetrics(rootResourceRegistration);
+        }
     }
 
     @Override
@@ -25,6 +25,7 @@ package org.jboss.as.mail.extension;
 
 import java.util.HashMap;
 import java.util.Map;
+import javax.mail.NoSuchProviderException;
 import javax.mail.Session;
 
 import org.jboss.as.network.OutboundSocketBinding;
@@ -34,6 +35,7 @@ import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Service that provides a javax.mail.Session.
@@ -42,12 +44,28 @@ import org.jboss.msc.service.StopContext;
  * @created 27.7.11 0:14
  */
 public class MailSessionService implements Service<Session> {
+    // Maximum number of idle SMTP connections kept per mail session, pooling is disabled if 0
+    private static final String TRANSPORT_POOL_MAX_IDLE = "jboss.mail.transport-pool.max-idle";
+    private static final String SESSION_TRANSPORT_POOL_MAX_IDLE = "jboss.mail.%s.transport-pool.max-idle";
+    // Time, in milliseconds, after which an idle SMTP connection is closed
+    private static final String TRANSPORT_POOL_IDLE_TIMEOUT = "jboss.mail.transport-pool.idle-timeout";
+    private static final String SESSION_TRANSPORT_POOL_IDLE_TIMEOUT = "jboss.mail.%s.transport-pool.idle-timeout";
+    // Maximum number of SMTP connections concurrently in use per mail session, unlimited if 0
+    private static final String TRANSPORT_POOL_MAX_ACTIVE = "jboss.mail.transport-pool.max-active";
+    private static final String SESSION_TRANSPORT_POOL_MAX_ACTIVE = "jboss.mail.%s.transport-pool.max-active";
+    // Time, in milliseconds, to wait for an SMTP connection once max-active connections are in use
+    private static final String TRANSPORT_POOL_BLOCKING_TIMEOUT = "jboss.mail.transport-pool.blocking-timeout";
+    private static final String SESSION_TRANSPORT_POOL_BLOCKING_TIMEOUT = "jboss.mail.%s.transport-pool.blocking-timeout";
+
+    private final String name;
     private final MailSessionConfig config;
     private volatile SessionProvider provider;
+    private volatile TransportPool transportPool;
     private Map<String, OutboundSocketBinding> socketBindings = new HashMap<String, OutboundSocketBinding>();
 
-    public MailSessionService(MailSessionConfig config) {
+    public MailSessionService(String name, MailSessionConfig config) {
         MailLogger.ROOT_LOGGER.tracef("service constructed with config: %s", config);
+        this.name = name;
         this.config = config;
     }
 
@@ -58,10 +76,59 @@ public class MailSessionService implements Service<Session> {
     public void start(StartContext startContext) throws StartException {
         MailLogger.ROOT_LOGGER.trace("start...");
         provider = SessionProviderFactory.create(config, socketBindings);
+        int maxIdle = (int) getProperty(SESSION_TRANSPORT_POOL_MAX_IDLE, TRANSPORT_POOL_MAX_IDLE, 0, Integer.MAX_VALUE);
+        if (maxIdle > 0 && config.getSmtpServer() != null) {
+            long idleTimeout = getProperty(SESSION_TRANSPORT_POOL_IDLE_TIMEOUT, TRANSPORT_POOL_IDLE_TIMEOUT, 60000, Long.MAX_VALUE);
+            int maxActive = (int) getProperty(SESSION_TRANSPORT_POOL_MAX_ACTIVE, TRANSPORT_POOL_MAX_ACTIVE, 0, Integer.MAX_VALUE);
+            long blockingTimeout = getProperty(SESSION_TRANSPORT_POOL_BLOCKING_TIMEOUT, TRANSPORT_POOL_BLOCKING_TIMEOUT, 30000, Long.MAX_VALUE);
+            try {
+                transportPool = TransportPool.install(provider.getSession(), maxIdle, idleTimeout, maxActive, blockingTimeout);
+            } catch (NoSuchProviderException e) {
+                throw new StartException(e);
+            }
+        }
     }
 
     public void stop(StopContext stopContext) {
         MailLogger.ROOT_LOGGER.trace("stop...");
+        TransportPool pool = transportPool;
+        if (pool != null) {
+            transportPool = null;
+            pool.close();
+        }
+    }
+
+    /**
+     * Returns the value of the specified mail session specific system property, or else of the specified global system property.
+     * A value that is not a number between 0 and the specified maximum is logged and replaced by the default value.
+     */
+    private long getProperty(String sessionProperty, String property, long defaultValue, long maxValue) {
+        String propertyName = String.format(sessionProperty, name);
+        String value = WildFlySecurityManager.getPropertyPrivileged(propertyName, null);
+        if (value == null) {
+            propertyName = property;
+            value = WildFlySecurityManager.getPropertyPrivileged(property, null);
+            if (value == null) {
+                return defaultValue;
+            }
+        }
+        try {
+            long result = Long.parseLong(value.trim());
+            if (result >= 0 && result <= maxValue) {
+                return result;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        MailLogger.ROOT_LOGGER.invalidSystemPropertyValue(value, propertyName, defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * @return the SMTP transport pool of this mail session, or null, if transports are not pooled
+     */
+    TransportPool getTransportPool() {
+        return transportPool;
     }
 
     Injector<OutboundSocketBinding> getSocketBindingInjector(String name) {
@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.mail.extension;
+
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.URLName;
+import javax.mail.event.TransportEvent;
+import javax.mail.event.TransportListener;
+
+/**
+ * SMTP transport of a managed mail session that borrows its connection from the {@link TransportPool} of the session,
+ * and returns it to the pool on {@link #close()}.
+ * Connections using credentials supplied by the caller, rather than by the session, are not pooled.
+ * <p/>
+ * Instantiated reflectively by {@link Session#getTransport()}, hence public.
+ */
+public class PooledTransport extends Transport {
+
+    private final TransportListener listener = new TransportListener() {
+        @Override
+        public void messageDelivered(TransportEvent event) {
+            PooledTransport.this.notify(event);
+        }
+
+        @Override
+        public void messageNotDelivered(TransportEvent event) {
+            PooledTransport.this.notify(event);
+        }
+
+        @Override
+        public void messagePartiallyDelivered(TransportEvent event) {
+            PooledTransport.this.notify(event);
+        }
+    };
+
+    private final TransportPool pool;
+    private Transport transport;
+    private boolean pooled;
+    private boolean reusable;
+    private String host;
+    private int port;
+    private String user;
+
+    public PooledTransport(Session session, URLName url) {
+        super(session, url);
+        this.pool = TransportPool.forSession(session);
+    }
+
+    @Override
+    protected boolean protocolConnect(String host, int port, String user, String password) throws MessagingException {
+        if (password == null) {
+            this.transport = this.pool.acquire(host, port, user);
+            this.pooled = true;
+        } else {
+            this.transport = this.pool.createTransport();
+            this.transport.connect(host, port, user, password);
+            this.pooled = false;
+        }
+        this.reusable = true;
+        this.host = host;
+        this.port = port;
+        this.user = user;
+        this.transport.addTransportListener(this.listener);
+        return true;
+    }
+
+    @Override
+    public void sendMessage(Message message, Address[] addresses) throws MessagingException {
+        Transport transport = this.transport;
+        if (transport == null) {
+            throw new IllegalStateException("Not connected");
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            transport.sendMessage(message, addresses);
+            success = true;
+        } catch (MessagingException | RuntimeException e) {
+            // The state of the connection is unknown
+            this.reusable = false;
+            throw e;
+        } finally {
+            this.pool.recordSend(System.nanoTime() - start, success);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws MessagingException {
+        Transport transport = this.transport;
+        this.transport = null;
+        if (transport != null) {
+            transport.removeTransportListener(this.listener);
+            if (this.pooled) {
+                this.pool.release(this.host, this.port, this.user, transport, this.reusable);
+            } else {
+                transport.close();
+            }
+        }
+        super.close();
+    }
+
+    void notify(TransportEvent event) {
+        this.notifyTransportListeners(event.getType(), event.getValidSentAddresses(), event.getValidUnsentAddresses(), event.getInvalidAddresses(), event.getMessage());
+    }
+}
@@ -66,11 +66,14 @@ class SessionProviderFactory {
         private final Map<String, OutboundSocketBinding> socketBindings;
         private final MailSessionConfig sessionConfig;
         private final Properties properties = new Properties();
+        // Sessions are thread safe, and the configuration does not change for the lifetime of this provider
+        private final Session session;
 
         private ManagedSession(MailSessionConfig sessionConfig, Map<String, OutboundSocketBinding> socketBindings) throws StartException {
             this.socketBindings = socketBindings;
             this.sessionConfig = sessionConfig;
             configure();
+            this.session = Session.getInstance(properties, new ManagedPasswordAuthenticator(sessionConfig));
         }
 
         /**
@@ -168,7 +171,6 @@ class SessionProviderFactory {
 
         @Override
         public Session getSession() {
-            final Session session = Session.getInstance(properties, new ManagedPasswordAuthenticator(sessionConfig));
             return session;
         }
     }
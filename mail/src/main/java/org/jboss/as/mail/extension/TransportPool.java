@@ -0,0 +1,331 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.mail.extension;
+
+import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.mail.MessagingException;
+import javax.mail.NoSuchProviderException;
+import javax.mail.Provider;
+import javax.mail.Session;
+import javax.mail.Transport;
+
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Pool of connected SMTP transports of a mail session, used by {@link PooledTransport}.
+ * Idle transports are reused most recently released first, and are closed once idle for longer than the idle timeout,
+ * either when the pool is next used, or by a periodic reaper.
+ * The number of transports concurrently acquired from the pool may be limited, in which case {@link #acquire(String, int, String)} waits for a transport to be released.
+ * Transports connected using credentials supplied by the caller are not acquired from the pool, and thus do not count against this limit.
+ * Once closed, transports are no longer pooled, but closed on release, and the session reverts to its original SMTP provider.
+ */
+class TransportPool implements AutoCloseable {
+
+    static final String PROTOCOL = "smtp";
+
+    // The pools of the sessions whose SMTP transports are pooled, looked up by the transports of each session
+    private static final Map<Session, TransportPool> POOLS = new ConcurrentHashMap<>();
+
+    private static class IdleTransport {
+        final Transport transport;
+        final String key;
+        final long idleSince;
+
+        IdleTransport(Transport transport, String key, long idleSince) {
+            this.transport = transport;
+            this.key = key;
+            this.idleSince = idleSince;
+        }
+    }
+
+    private final Session session;
+    private final Provider provider;
+    private final int maxIdle;
+    private final long idleTimeout;
+    // Limits the number of acquired transports, or null if unlimited
+    private final Semaphore active;
+    private final long blockingTimeout;
+    private final ScheduledExecutorService reaper;
+    // Most recently released first
+    private final Deque<IdleTransport> idle = new ArrayDeque<>();
+    private boolean closed = false;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder sends = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder sendTime = new LongAdder();
+
+    /**
+     * Creates a transport pool for the specified session.
+     * @param session a mail session
+     * @param provider the provider of the pooled transports
+     * @param maxIdle the maximum number of idle transports
+     * @param idleTimeout the time, in milliseconds, after which an idle transport is closed
+     * @param maxActive the maximum number of acquired transports, or 0 if unlimited
+     * @param blockingTimeout the maximum time, in milliseconds, to wait for a transport once the maximum number of transports are acquired
+     */
+    private TransportPool(Session session, Provider provider, int maxIdle, long idleTimeout, int maxActive, long blockingTimeout) {
+        this.session = session;
+        this.provider = provider;
+        this.maxIdle = maxIdle;
+        this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+        this.active = (maxActive > 0) ? new Semaphore(maxActive, true) : null;
+        this.blockingTimeout = blockingTimeout;
+        PrivilegedAction<ThreadFactory> action = () -> new JBossThreadFactory(new ThreadGroup(TransportPool.class.getSimpleName()), Boolean.TRUE, null, "%G - %t", null, null);
+        this.reaper = new ScheduledThreadPoolExecutor(1, WildFlySecurityManager.doUnchecked(action));
+        long period = Math.max(idleTimeout, 1L);
+        this.reaper.scheduleWithFixedDelay(this::reap, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a transport pool for the specified session, and makes the SMTP transports of the session use it.
+     * @param session a mail session
+     * @param maxIdle the maximum number of idle transports
+     * @param idleTimeout the time, in milliseconds, after which an idle transport is closed
+     * @param maxActive the maximum number of acquired transports, or 0 if unlimited
+     * @param blockingTimeout the maximum time, in milliseconds, to wait for a transport once the maximum number of transports are acquired
+     */
+    static TransportPool install(Session session, int maxIdle, long idleTimeout, int maxActive, long blockingTimeout) throws NoSuchProviderException {
+        TransportPool pool = new TransportPool(session, session.getProvider(PROTOCOL), maxIdle, idleTimeout, maxActive, blockingTimeout);
+        POOLS.put(session, pool);
+        session.setProvider(new Provider(Provider.Type.TRANSPORT, PROTOCOL, PooledTransport.class.getName(), "WildFly", null));
+        return pool;
+    }
+
+    /**
+     * Returns the transport pool of the specified session.
+     * @return a transport pool, or null, if the session has none, or if its pool was closed
+     */
+    static TransportPool forSession(Session session) {
+        return POOLS.get(session);
+    }
+
+    /**
+     * Returns a new, unconnected and unpooled transport.
+     */
+    Transport createTransport() throws NoSuchProviderException {
+        return this.session.getTransport(this.provider);
+    }
+
+    /**
+     * Returns a transport connected to the specified server, reusing an idle transport if possible.
+     * The credentials of the connection are obtained from the session.
+     * The transport must be returned to this pool via {@link #release(String, int, String, Transport, boolean)}.
+     * @throws MessagingException if the transport could not be connected, or if no transport became available within the blocking timeout
+     */
+    Transport acquire(String host, int port, String user) throws MessagingException {
+        if (this.active != null) {
+            try {
+                if (!this.active.tryAcquire(this.blockingTimeout, TimeUnit.MILLISECONDS)) {
+                    throw MailLogger.ROOT_LOGGER.transportPoolExhausted(this.blockingTimeout);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw MailLogger.ROOT_LOGGER.transportPoolExhausted(this.blockingTimeout);
+            }
+        }
+        boolean acquired = false;
+        try {
+            Transport transport = this.poll(key(host, port, user));
+            // Verifies that the server did not drop the connection
+            if (transport != null && transport.isConnected()) {
+                acquired = true;
+                return transport;
+            }
+            if (transport != null) {
+                close(transport);
+            }
+            transport = this.createTransport();
+            transport.connect(host, port, user, null);
+            this.created.increment();
+            acquired = true;
+            return transport;
+        } finally {
+            if (!acquired && (this.active != null)) {
+                this.active.release();
+            }
+        }
+    }
+
+    /**
+     * Removes the most recently released idle transport for the specified key, closing any expired transports.
+     * @return an idle transport, or null, if there is none
+     */
+    private Transport poll(String key) {
+        List<Transport> expired = new ArrayList<>();
+        Transport transport = null;
+        synchronized (this.idle) {
+            long now = System.nanoTime();
+            Iterator<IdleTransport> transports = this.idle.iterator();
+            while (transports.hasNext()) {
+                IdleTransport candidate = transports.next();
+                if (now - candidate.idleSince > this.idleTimeout) {
+                    transports.remove();
+                    expired.add(candidate.transport);
+                } else if ((transport == null) && candidate.key.equals(key)) {
+                    transports.remove();
+                    transport = candidate.transport;
+                }
+            }
+        }
+        expired.forEach(TransportPool::close);
+        return transport;
+    }
+
+    /**
+     * Closes the transports that have been idle for longer than the idle timeout.
+     */
+    void reap() {
+        List<Transport> expired = new ArrayList<>();
+        synchronized (this.idle) {
+            long now = System.nanoTime();
+            // Least recently released, and thus first to expire, last
+            Iterator<IdleTransport> transports = this.idle.descendingIterator();
+            while (transports.hasNext()) {
+                IdleTransport candidate = transports.next();
+                if (now - candidate.idleSince <= this.idleTimeout) break;
+                transports.remove();
+                expired.add(candidate.transport);
+            }
+        }
+        expired.forEach(TransportPool::close);
+    }
+
+    /**
+     * Returns the specified transport, previously acquired for the specified server, to this pool.
+     * @param reusable indicates whether the transport is fit for reuse
+     */
+    void release(String host, int port, String user, Transport transport, boolean reusable) {
+        try {
+            this.reap();
+            if (reusable) {
+                synchronized (this.idle) {
+                    if (!this.closed && this.idle.size() < this.maxIdle) {
+                        this.idle.addFirst(new IdleTransport(transport, key(host, port, user), System.nanoTime()));
+                        return;
+                    }
+                }
+            }
+            close(transport);
+        } finally {
+            if (this.active != null) {
+                this.active.release();
+            }
+        }
+    }
+
+    void recordSend(long nanos, boolean success) {
+        this.sends.increment();
+        if (!success) {
+            this.sendFailures.increment();
+        }
+        this.sendTime.add(nanos);
+    }
+
+    /**
+     * @return the number of transports connected by this pool
+     */
+    long getCreatedCount() {
+        return this.created.sum();
+    }
+
+    /**
+     * @return the number of idle transports
+     */
+    int getIdleCount() {
+        synchronized (this.idle) {
+            return this.idle.size();
+        }
+    }
+
+    /**
+     * @return the number of messages sent via pooled transports
+     */
+    long getSendCount() {
+        return this.sends.sum();
+    }
+
+    /**
+     * @return the number of messages that could not be sent via pooled transports
+     */
+    long getSendFailureCount() {
+        return this.sendFailures.sum();
+    }
+
+    /**
+     * @return the total time, in milliseconds, spent sending messages via pooled transports
+     */
+    long getSendTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.sendTime.sum());
+    }
+
+    @Override
+    public void close() {
+        if (POOLS.remove(this.session, this)) {
+            // Transports subsequently obtained from the session are no longer pooled
+            try {
+                this.session.setProvider(this.provider);
+            } catch (NoSuchProviderException e) {
+                MailLogger.ROOT_LOGGER.debugf(e, "Failed to restore provider %s", this.provider);
+            }
+        }
+        PrivilegedAction<List<Runnable>> action = this.reaper::shutdownNow;
+        WildFlySecurityManager.doUnchecked(action);
+        List<Transport> transports = new ArrayList<>();
+        synchronized (this.idle) {
+            this.closed = true;
+            for (IdleTransport transport : this.idle) {
+                transports.add(transport.transport);
+            }
+            this.idle.clear();
+        }
+        transports.forEach(TransportPool::close);
+    }
+
+    private static String key(String host, int port, String user) {
+        return Objects.toString(host, "") + ':' + port + ':' + Objects.toString(user, "");
+    }
+
+    private static void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            MailLogger.ROOT_LOGGER.debugf(e, "Failed to close transport %s", transport);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.mail.extension;
+
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.GAUGE_METRIC;
+
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Handler for the SMTP transport pool metrics of a mail session.
+ */
+class TransportPoolMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    enum TransportPoolMetric {
+        TRANSPORT_CREATED_COUNT("transport-created-count", COUNTER_METRIC, TransportPool::getCreatedCount),
+        TRANSPORT_IDLE_COUNT("transport-idle-count", GAUGE_METRIC, TransportPool::getIdleCount),
+        SEND_COUNT("send-count", COUNTER_METRIC, TransportPool::getSendCount),
+        SEND_FAILURE_COUNT("send-failure-count", COUNTER_METRIC, TransportPool::getSendFailureCount),
+        SEND_TIME("send-time", COUNTER_METRIC, TransportPool::getSendTime),
+        ;
+        final AttributeDefinition definition;
+        final ToLongFunction<TransportPool> reader;
+
+        TransportPoolMetric(String name, AttributeAccess.Flag type, ToLongFunction<TransportPool> reader) {
+            this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setFlags(type)
+                    .build();
+            this.reader = reader;
+        }
+
+        static TransportPoolMetric forName(String name) {
+            for (TransportPoolMetric metric : values()) {
+                if (metric.definition.getName().equals(name)) {
+                    return metric;
+                }
+            }
+            return null;
+        }
+    }
+
+    static final TransportPoolMetricsHandler INSTANCE = new TransportPoolMetricsHandler();
+
+    private TransportPoolMetricsHandler() {
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        TransportPoolMetric metric = TransportPoolMetric.forName(operation.require(ModelDescriptionConstants.NAME).asString());
+        String name = PathAddress.pathAddress(operation.require(ModelDescriptionConstants.OP_ADDR)).getLastElement().getValue();
+        ServiceController<?> controller = context.getServiceRegistry(false).getService(MailSessionDefinition.SESSION_CAPABILITY.getCapabilityServiceName(name));
+        if (metric != null && controller != null && controller.getState() == ServiceController.State.UP) {
+            TransportPool pool = ((MailSessionService) controller.getService()).getTransportPool();
+            if (pool != null) {
+                context.getResult().set(metric.reader.applyAsLong(pool));
+            }
+        }
+    }
+
+    void registerMetrics(ManagementResourceRegistration registration) {
+        for (TransportPoolMetric metric : TransportPoolMetric.values()) {
+            registration.registerMetric(metric.definition, this);
+        }
+    }
+}
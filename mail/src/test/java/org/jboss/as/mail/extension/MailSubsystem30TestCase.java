@@ -79,6 +79,7 @@ public class MailSubsystem30TestCase extends MailSubsystemTestBase {
         javaMailService.setMode(ServiceController.Mode.ACTIVE);
         Session session = (Session) javaMailService.getValue();
         Assert.assertNotNull("session should not be null", session);
+        Assert.assertSame("session should be reused", session, javaMailService.getValue());
         Properties properties = session.getProperties();
         Assert.assertNotNull("smtp host should be set", properties.getProperty("mail.smtp.host"));
         Assert.assertNotNull("pop3 host should be set", properties.getProperty("mail.pop3.host"));
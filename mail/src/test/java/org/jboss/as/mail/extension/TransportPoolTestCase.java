@@ -0,0 +1,243 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.mail.extension;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Provider;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.URLName;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TransportPool} and {@link PooledTransport}.
+ */
+public class TransportPoolTestCase {
+
+    static final List<StubTransport> TRANSPORTS = new ArrayList<>();
+
+    private Session session;
+    private TransportPool pool;
+
+    @Before
+    public void init() throws MessagingException {
+        TRANSPORTS.clear();
+        this.install(1, 60000, 0, 0);
+    }
+
+    private void install(int maxIdle, long idleTimeout, int maxActive, long blockingTimeout) throws MessagingException {
+        Properties properties = new Properties();
+        properties.setProperty("mail.smtp.host", "localhost");
+        this.session = Session.getInstance(properties);
+        this.session.setProvider(new Provider(Provider.Type.TRANSPORT, TransportPool.PROTOCOL, StubTransport.class.getName(), "test", null));
+        this.pool = TransportPool.install(this.session, maxIdle, idleTimeout, maxActive, blockingTimeout);
+    }
+
+    @After
+    public void destroy() {
+        this.pool.close();
+    }
+
+    @Test
+    public void reuse() throws MessagingException {
+        Message message = new MimeMessage(this.session);
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress("nobody@localhost"));
+
+        Transport.send(message);
+        Transport.send(message);
+
+        assertEquals(1, TRANSPORTS.size());
+        StubTransport transport = TRANSPORTS.get(0);
+        assertEquals(2, transport.sent);
+        assertTrue(transport.isConnected());
+        assertEquals(1L, this.pool.getCreatedCount());
+        assertEquals(1, this.pool.getIdleCount());
+        assertEquals(2L, this.pool.getSendCount());
+        assertEquals(0L, this.pool.getSendFailureCount());
+
+        this.pool.close();
+        assertFalse(transport.isConnected());
+        assertEquals(0, this.pool.getIdleCount());
+    }
+
+    @Test
+    public void close() throws MessagingException {
+        assertSame(this.pool, TransportPool.forSession(this.session));
+        // The pool is not exposed via the session properties
+        assertTrue(this.session.getProperties().values().stream().allMatch(String.class::isInstance));
+
+        this.pool.close();
+        assertNull(TransportPool.forSession(this.session));
+        // Transports obtained from the session after closing the pool are no longer pooled
+        assertSame(StubTransport.class, this.session.getTransport().getClass());
+    }
+
+    @Test
+    public void failure() throws MessagingException {
+        Message message = new MimeMessage(this.session);
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress("nobody@localhost"));
+
+        Transport.send(message);
+        StubTransport transport = TRANSPORTS.get(0);
+        transport.fail = true;
+        try {
+            Transport.send(message);
+            fail("Expected MessagingException");
+        } catch (MessagingException e) {
+            // expected
+        }
+        // A transport whose send failed is not reused
+        assertFalse(transport.isConnected());
+        assertEquals(0, this.pool.getIdleCount());
+        assertEquals(1L, this.pool.getSendFailureCount());
+
+        Transport.send(message);
+        assertEquals(2, TRANSPORTS.size());
+        assertEquals(2L, this.pool.getCreatedCount());
+    }
+
+    @Test
+    public void explicitCredentials() throws MessagingException {
+        Transport transport = this.session.getTransport();
+        assertSame(PooledTransport.class, transport.getClass());
+        transport.connect("localhost", "user", "password");
+        transport.close();
+
+        // Connections authenticated with caller supplied credentials are never pooled
+        assertEquals(1, TRANSPORTS.size());
+        assertFalse(TRANSPORTS.get(0).isConnected());
+        assertEquals(0, this.pool.getIdleCount());
+    }
+
+    @Test
+    public void expire() throws Exception {
+        this.pool.close();
+        this.install(1, 50, 0, 0);
+
+        Message message = new MimeMessage(this.session);
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress("nobody@localhost"));
+
+        Transport.send(message);
+        StubTransport transport = TRANSPORTS.get(0);
+        assertEquals(1, this.pool.getIdleCount());
+
+        // The reaper closes the idle transport without any further use of the pool
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (transport.isConnected() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(transport.isConnected());
+        assertEquals(0, this.pool.getIdleCount());
+    }
+
+    @Test
+    public void maxActive() throws MessagingException {
+        this.pool.close();
+        this.install(1, 60000, 1, 100);
+
+        Transport transport1 = this.session.getTransport();
+        transport1.connect();
+        Transport transport2 = this.session.getTransport();
+        try {
+            transport2.connect();
+            fail("Expected MessagingException");
+        } catch (MessagingException e) {
+            // expected, the only transport is in use
+        }
+        assertEquals(1L, this.pool.getCreatedCount());
+
+        transport1.close();
+
+        // The released transport is reused
+        transport2.connect();
+        transport2.close();
+        assertEquals(1L, this.pool.getCreatedCount());
+        assertEquals(1, this.pool.getIdleCount());
+    }
+
+    @Test
+    public void maxActiveConnectFailure() throws MessagingException {
+        this.pool.close();
+        this.install(1, 60000, 1, 100);
+        StubTransport.failConnect = true;
+        try {
+            this.session.getTransport().connect();
+            fail("Expected MessagingException");
+        } catch (MessagingException e) {
+            // expected
+        } finally {
+            StubTransport.failConnect = false;
+        }
+
+        // A transport that failed to connect does not count against max-active
+        Transport transport = this.session.getTransport();
+        transport.connect();
+        transport.close();
+        assertEquals(1L, this.pool.getCreatedCount());
+    }
+
+    public static class StubTransport extends Transport {
+        volatile int sent = 0;
+        volatile boolean fail = false;
+        static volatile boolean failConnect = false;
+
+        public StubTransport(Session session, URLName url) {
+            super(session, url);
+            TRANSPORTS.add(this);
+        }
+
+        @Override
+        protected boolean protocolConnect(String host, int port, String user, String password) throws MessagingException {
+            if (failConnect) {
+                throw new MessagingException();
+            }
+            return true;
+        }
+
+        @Override
+        public void sendMessage(Message message, Address[] addresses) throws MessagingException {
+            if (this.fail) {
+                throw new MessagingException();
+            }
+            this.sent += 1;
+        }
+    }
+}
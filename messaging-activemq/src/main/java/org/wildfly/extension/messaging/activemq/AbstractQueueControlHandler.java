@@ -71,6 +71,7 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
 
     public static final String LIST_MESSAGES = "list-messages";
     public static final String LIST_MESSAGES_AS_JSON = "list-messages-as-json";
+    public static final String EXPORT_MESSAGES = "export-messages";
     public static final String COUNT_MESSAGES = "count-messages";
     public static final String REMOVE_MESSAGE = "remove-message";
     public static final String REMOVE_MESSAGES = "remove-messages";
@@ -107,6 +108,18 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
     private static final AttributeDefinition NEW_PRIORITY = SimpleAttributeDefinitionBuilder.create("new-priority", INT)
             .setValidator(PRIORITY_VALIDATOR)
             .build();
+    private static final AttributeDefinition OFFSET = SimpleAttributeDefinitionBuilder.create("offset", INT)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(0))
+            .setValidator(new IntRangeValidator(0, true))
+            .build();
+    private static final AttributeDefinition LIMIT = SimpleAttributeDefinitionBuilder.create("limit", INT)
+            .setRequired(false)
+            .setValidator(new IntRangeValidator(1, true))
+            .build();
+    private static final AttributeDefinition CURSOR = SimpleAttributeDefinitionBuilder.create("cursor", STRING)
+            .setRequired(false)
+            .build();
 
     protected abstract AttributeDefinition getMessageIDAttributeDefinition();
 
@@ -115,12 +128,17 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
     public void registerOperations(final ManagementResourceRegistration registry, ResourceDescriptionResolver resolver) {
 
         registry.registerOperationHandler(runtimeReadOnlyOperation(LIST_MESSAGES, resolver)
-                .setParameters(FILTER)
+                .setParameters(FILTER, OFFSET, LIMIT, CURSOR)
                 .setReplyType(LIST)
                 .setReplyParameters(getReplyMessageParameterDefinitions())
                 .build(),
                 this);
         registry.registerOperationHandler(runtimeReadOnlyOperation(LIST_MESSAGES_AS_JSON, RESOLVER)
+                .setParameters(FILTER, OFFSET, LIMIT, CURSOR)
+                .setReplyType(STRING)
+                .build(),
+                this);
+        registry.registerOperationHandler(runtimeReadOnlyOperation(EXPORT_MESSAGES, RESOLVER)
                 .setParameters(FILTER)
                 .setReplyType(STRING)
                 .build(),
@@ -264,11 +282,16 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
         try {
             if (LIST_MESSAGES.equals(operationName)) {
                 String filter = resolveFilter(context, operation);
-                String json = control.listMessagesAsJSON(filter);
+                String json = isPaged(operation) ? listPageAsJSON(context, operation, control, filter) : control.listMessagesAsJSON(filter);
                 context.getResult().set(ModelNode.fromJSONString(json));
             } else if (LIST_MESSAGES_AS_JSON.equals(operationName)) {
                 String filter = resolveFilter(context, operation);
-                context.getResult().set(control.listMessagesAsJSON(filter));
+                String json = isPaged(operation) ? listPageAsJSON(context, operation, control, filter) : control.listMessagesAsJSON(filter);
+                context.getResult().set(json);
+            } else if (EXPORT_MESSAGES.equals(operationName)) {
+                String filter = resolveFilter(context, operation);
+                QueueMessageBrowser browser = browseMessages(operation, control, filter);
+                context.getResult().set(context.attachResultStream("application/json", browser.asJSONStream()));
             } else if (LIST_DELIVERING_MESSAGES.equals(operationName)) {
                 String json = control.listDeliveringMessagesAsJSON();
                 context.getResult().set(ModelNode.fromJSONString(json));
@@ -386,6 +409,34 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
         context.completeStep(rh);
     }
 
+    private static boolean isPaged(ModelNode operation) {
+        return operation.hasDefined(OFFSET.getName()) || operation.hasDefined(LIMIT.getName()) || operation.hasDefined(CURSOR.getName());
+    }
+
+    /**
+     * Lists a page of the messages matching the filter without rendering the preceding or following messages of the queue.
+     * The page starts after the message identified by the cursor, if any, then skips the offset.
+     */
+    private String listPageAsJSON(OperationContext context, ModelNode operation, DelegatingQueueControl<T> control, String filter) throws Exception {
+        ModelNode cursor = CURSOR.resolveModelAttribute(context, operation);
+        int offset = OFFSET.resolveModelAttribute(context, operation).asInt();
+        ModelNode limit = LIMIT.resolveModelAttribute(context, operation);
+        try (QueueMessageBrowser browser = browseMessages(operation, control, filter)) {
+            if (cursor.isDefined() && !browser.skipPast(cursor.asString())) {
+                throw ROOT_LOGGER.messageNotFoundInQueue(cursor.asString(), PathAddress.pathAddress(operation.require(OP_ADDR)).getLastElement().getValue());
+            }
+            return browser.nextPageAsJSON(offset, limit.isDefined() ? limit.asInt() : Integer.MAX_VALUE);
+        }
+    }
+
+    private QueueMessageBrowser browseMessages(ModelNode operation, DelegatingQueueControl<T> control, String filter) throws Exception {
+        QueueMessageBrowser browser = control.browseMessages(filter);
+        if (browser == null) {
+            throw ControllerLogger.ROOT_LOGGER.managementResourceNotFound(PathAddress.pathAddress(operation.require(OP_ADDR)));
+        }
+        return browser;
+    }
+
     protected AttributeDefinition[] getReplyMapConsumerMessageParameterDefinition() {
         return new AttributeDefinition[]{
                 createNonEmptyStringAttribute("consumerName"),
@@ -418,6 +469,12 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
 
         String listMessagesAsJSON(String filter) throws Exception;
 
+        /**
+         * Returns a browser of the messages matching the filter, rendered like {@link #listMessagesAsJSON(String)},
+         * or {@code null} if the queue no longer exists.
+         */
+        QueueMessageBrowser browseMessages(String filter) throws Exception;
+
         long countMessages(String filter) throws Exception;
 
         boolean removeMessage(ModelNode id) throws Exception;
@@ -31,10 +31,13 @@ import static org.jboss.dmr.ModelType.LONG;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.UnaryOperator;
 
+import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.api.core.management.QueueControl;
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.Queue;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -149,6 +152,12 @@ public class QueueControlHandler extends AbstractQueueControlHandler<QueueContro
                 return control.listMessagesAsJSON(filter);
             }
 
+            @Override
+            public QueueMessageBrowser browseMessages(String filter) throws Exception {
+                Queue queue = server.locateQueue(SimpleString.toSimpleString(queueName));
+                return queue == null ? null : new QueueMessageBrowser(queue, filter, QueueMessageBrowser.MESSAGE_ID, UnaryOperator.identity());
+            }
+
             @Override
             public long countMessages(String filter) throws Exception {
                 return control.countMessages(filter);
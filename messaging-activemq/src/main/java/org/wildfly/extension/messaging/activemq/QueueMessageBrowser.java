@@ -0,0 +1,214 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.messaging.activemq;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import javax.json.JsonArrayBuilder;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.JsonUtil;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.utils.JsonLoader;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+
+/**
+ * Browses the messages of a queue that match a filter, in queue order, one message at a time.
+ * <p/>
+ * Unlike the {@code listMessages} methods of the queue controls, which render every matching message of the queue,
+ * this only renders the messages that are returned, so that a page of a large queue can be listed, or the whole queue exported,
+ * in bounded memory.
+ */
+public class QueueMessageBrowser implements AutoCloseable {
+
+    /**
+     * Matches the core message identifier, i.e. the {@code messageID} of the map representation of a message.
+     */
+    public static final Function<String, Predicate<Message>> MESSAGE_ID = id -> {
+        try {
+            long messageID = Long.parseLong(id);
+            return message -> message.getMessageID() == messageID;
+        } catch (NumberFormatException e) {
+            return message -> false;
+        }
+    };
+
+    /**
+     * Matches the user identifier, i.e. the {@code userID} of the map representation of a message, which is prefixed with {@code ID:}.
+     */
+    public static final Function<String, Predicate<Message>> USER_ID = id -> {
+        String userID = id.startsWith("ID:") ? id.substring(3) : id;
+        return message -> {
+            Object messageUserID = message.getUserID();
+            return messageUserID != null && userID.equals(messageUserID.toString());
+        };
+    };
+
+    private final LinkedListIterator<MessageReference> iterator;
+    private final Filter filter;
+    private final Function<String, Predicate<Message>> idMatcher;
+    private final UnaryOperator<String> converter;
+
+    /**
+     * @param queue the browsed queue
+     * @param filter a core message filter, or {@code null} to browse all messages
+     * @param idMatcher creates a predicate matching the message with a given identifier, i.e. {@link #MESSAGE_ID} or {@link #USER_ID}
+     * @param converter converts the JSON representation of the browsed core messages into the representation returned to the client
+     */
+    public QueueMessageBrowser(Queue queue, String filter, Function<String, Predicate<Message>> idMatcher, UnaryOperator<String> converter) throws ActiveMQException {
+        this.filter = FilterImpl.createFilter(filter);
+        this.idMatcher = idMatcher;
+        this.converter = converter;
+        this.iterator = queue.browserIterator();
+    }
+
+    /**
+     * Skips the messages up to, and including, the message with the specified identifier.
+     *
+     * @return {@code false} if the queue does not contain a matching message with this identifier
+     */
+    boolean skipPast(String id) {
+        // Skipped messages are matched by identifier, without rendering them
+        Predicate<Message> matcher = idMatcher.apply(id);
+        Message message = nextMessage();
+        while (message != null) {
+            if (matcher.test(message)) {
+                return true;
+            }
+            message = nextMessage();
+        }
+        return false;
+    }
+
+    /**
+     * Returns a JSON array of at most {@code limit} messages, after skipping {@code offset} messages.
+     */
+    String nextPageAsJSON(int offset, int limit) {
+        for (int i = 0; i < offset; i++) {
+            if (!skip()) {
+                break;
+            }
+        }
+        JsonArrayBuilder array = JsonLoader.createArrayBuilder();
+        for (int i = 0; i < limit; i++) {
+            Map<String, Object> message = next();
+            if (message == null) {
+                break;
+            }
+            array.add(JsonUtil.toJsonObject(message));
+        }
+        return converter.apply(array.build().toString());
+    }
+
+    /**
+     * Returns a stream of the JSON array of the remaining messages, rendered as the stream is read.
+     * Closing the stream closes this browser.
+     */
+    InputStream asJSONStream() {
+        return new JSONInputStream();
+    }
+
+    @Override
+    public void close() {
+        iterator.close();
+    }
+
+    private Map<String, Object> next() {
+        Message message = nextMessage();
+        return (message != null) ? message.toMap() : null;
+    }
+
+    private boolean skip() {
+        return nextMessage() != null;
+    }
+
+    private Message nextMessage() {
+        while (iterator.hasNext()) {
+            Message message = iterator.next().getMessage();
+            if (filter == null || filter.match(message)) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    private class JSONInputStream extends InputStream {
+        private byte[] chunk = "[".getBytes(UTF_8);
+        private int position = 0;
+        private boolean first = true;
+        private boolean last = false;
+
+        @Override
+        public int read() {
+            return fill() ? chunk[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, chunk.length - position);
+            System.arraycopy(chunk, position, bytes, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            QueueMessageBrowser.this.close();
+        }
+
+        // Renders the next message once the current chunk is consumed
+        private boolean fill() {
+            while (position == chunk.length) {
+                if (last) {
+                    return false;
+                }
+                Map<String, Object> message = next();
+                if (message == null) {
+                    chunk = "]".getBytes(UTF_8);
+                    last = true;
+                } else {
+                    String json = converter.apply(JsonUtil.toJsonObject(message).toString());
+                    chunk = (first ? json : "," + json).getBytes(UTF_8);
+                    first = false;
+                }
+                position = 0;
+            }
+            return true;
+        }
+    }
+}
@@ -26,14 +26,19 @@ import static org.apache.activemq.artemis.utils.SelectorTranslator.convertToActi
 import static org.wildfly.extension.messaging.activemq.OperationDefinitionHelper.createNonEmptyStringAttribute;
 import static org.wildfly.extension.messaging.activemq.jms.JMSQueueService.JMS_QUEUE_PREFIX;
 
+import java.util.function.UnaryOperator;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.api.core.management.QueueControl;
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.Queue;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.dmr.ModelNode;
 import org.wildfly.extension.messaging.activemq.AbstractQueueControlHandler;
+import org.wildfly.extension.messaging.activemq.QueueMessageBrowser;
 
 /**
  * Handler for runtime operations that invoke on a ActiveMQ {@link QueueControl}.
@@ -77,6 +82,13 @@ public class JMSQueueControlHandler extends AbstractQueueControlHandler<QueueCon
                 return convertToJMSProperties(result);
             }
 
+            @Override
+            public QueueMessageBrowser browseMessages(String filter) throws Exception {
+                Queue queue = server.locateQueue(SimpleString.toSimpleString(JMS_QUEUE_PREFIX + queueName));
+                // userID holds the JMSMessageID once converted
+                return queue == null ? null : new QueueMessageBrowser(queue, convertToActiveMQFilterString(filter), QueueMessageBrowser.USER_ID, this::convertToJMSProperties);
+            }
+
             @Override
             public long countMessages(String filter) throws Exception {
                 return control.countMessages(convertToActiveMQFilterString(filter));
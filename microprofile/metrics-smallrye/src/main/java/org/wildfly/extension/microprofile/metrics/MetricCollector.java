@@ -23,6 +23,7 @@ package org.wildfly.extension.microprofile.metrics;
 
 import static org.jboss.as.controller.PathAddress.EMPTY_ADDRESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
@@ -31,6 +32,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBDEPLOYMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
 import static org.wildfly.extension.microprofile.metrics.UnitConverter.unitSuffix;
@@ -76,7 +78,7 @@ public class MetricCollector {
         this.exposedSubsystems = exposedSubsystems;
         this.exposeAnySubsystem = exposedSubsystems.remove("*");
         this.globalPrefix = globalPrefix;
-        this.prometheusCollector = new PrometheusCollector();
+        this.prometheusCollector = new PrometheusCollector(globalPrefix);
         this.prometheusCollector.register(CollectorRegistry.defaultRegistry);
     }
 
@@ -108,6 +110,7 @@ public class MetricCollector {
         }
 
         ModelNode resourceDescription = null;
+        ResourceMetricsReader reader = null;
         for (Map.Entry<String, AttributeAccess> entry : attributes.entrySet()) {
             String attributeName = entry.getKey();
 
@@ -119,8 +122,12 @@ public class MetricCollector {
             if (resourceDescription == null) {
                 DescriptionProvider modelDescription = managementResourceRegistration.getModelDescription(address);
                 resourceDescription = modelDescription.getModelDescription(Locale.getDefault());
+                String subsystemName = getSubsystemName(address);
+                reader = new ResourceMetricsReader(modelControllerClient, prometheusCollector, address, resourceAddressResolver.apply(address), (subsystemName != null) ? subsystemName : "");
             }
-            PathAddress resourceAddress = resourceAddressResolver.apply(address);
+            final ResourceMetricsReader resourceReader = reader;
+            resourceReader.addMetric(attributeName);
+            PathAddress resourceAddress = resourceReader.resourceAddress;
             MeasurementUnit unit = attributeAccess.getAttributeDefinition().getMeasurementUnit();
             boolean counter = attributeAccess.getFlags().contains(AttributeAccess.Flag.COUNTER_METRIC);
             MetricMetadata metricMetadata = new MetricMetadata(attributeName, resourceAddress, unit, globalPrefix, counter);
@@ -132,17 +139,7 @@ public class MetricCollector {
                 metricFamilySamples = new GaugeMetricFamily(metricMetadata.metricName, attributeDescription, metricMetadata.labelNames);
             }
             Supplier<Optional<MetricFamilySamples.Sample>> sampleSupplier = () -> {
-                final ModelNode readAttributeOp = new ModelNode();
-                readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
-                readAttributeOp.get(OP_ADDR).set(resourceAddress.toModelNode());
-                readAttributeOp.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).set(true);
-                readAttributeOp.get(NAME).set(attributeName);
-                ModelNode response = modelControllerClient.execute(readAttributeOp);
-                String error = getFailureDescription(response);
-                if (error != null) {
-                    throw LOGGER.unableToReadAttribute(attributeName, address, error);
-                }
-                ModelNode result = response.get(RESULT);
+                ModelNode result = resourceReader.read(attributeName);
                 if (result.isDefined()) {
                     try {
                         double initialValue = result.asDouble();
@@ -244,13 +241,109 @@ public class MetricCollector {
         return false;
     }
 
-    private String getFailureDescription(ModelNode result) {
+    private static String getFailureDescription(ModelNode result) {
         if (result.hasDefined(FAILURE_DESCRIPTION)) {
             return result.get(FAILURE_DESCRIPTION).toString();
         }
         return null;
     }
 
+    /**
+     * Reads the metrics of a single resource, executing one {@code composite} operation per scrape
+     * that reads the registered metrics of this resource and is shared by their sample suppliers.
+     * Other runtime attributes of the resource are not read.
+     * If the metrics cannot be read at once, e.g. as reading one of them fails, the failure is remembered
+     * for the rest of the scrape and each metric is read with its own {@code read-attribute} operation instead,
+     * so that a single failing metric does not hide the others.
+     */
+    static class ResourceMetricsReader {
+
+        private final LocalModelControllerClient modelControllerClient;
+        private final PrometheusCollector prometheusCollector;
+        private final PathAddress address;
+        private final PathAddress resourceAddress;
+        private final String subsystem;
+        private final List<String> metrics = new ArrayList<>();
+        private long scrape = -1;
+        // the metrics read during the current scrape, or null if they could not be read at once
+        private ModelNode attributes;
+
+        ResourceMetricsReader(LocalModelControllerClient modelControllerClient, PrometheusCollector prometheusCollector, PathAddress address, PathAddress resourceAddress, String subsystem) {
+            this.modelControllerClient = modelControllerClient;
+            this.prometheusCollector = prometheusCollector;
+            this.address = address;
+            this.resourceAddress = resourceAddress;
+            this.subsystem = subsystem;
+        }
+
+        synchronized void addMetric(String attributeName) {
+            metrics.add(attributeName);
+            // read the added metric on the next read
+            scrape = -1;
+        }
+
+        synchronized ModelNode read(String attributeName) {
+            long currentScrape = prometheusCollector.getScrape();
+            if (scrape != currentScrape) {
+                attributes = readMetrics();
+                scrape = currentScrape;
+            }
+            if (attributes != null) {
+                return attributes.has(attributeName) ? attributes.get(attributeName) : new ModelNode();
+            }
+            return readAttribute(attributeName);
+        }
+
+        private ModelNode readMetrics() {
+            final ModelNode compositeOp = new ModelNode();
+            compositeOp.get(OP).set(COMPOSITE);
+            compositeOp.get(OP_ADDR).setEmptyList();
+            ModelNode steps = compositeOp.get(STEPS).setEmptyList();
+            for (String metric : metrics) {
+                steps.add(readAttributeOperation(metric));
+            }
+            ModelNode response = execute(compositeOp);
+            String error = getFailureDescription(response);
+            if (error != null) {
+                LOGGER.debugf("Unable to read the metrics of %s at once, reading them one by one: %s", address, error);
+                return null;
+            }
+            ModelNode result = response.get(RESULT);
+            ModelNode values = new ModelNode();
+            for (int i = 0; i < metrics.size(); i++) {
+                values.get(metrics.get(i)).set(result.get("step-" + (i + 1), RESULT));
+            }
+            return values;
+        }
+
+        private ModelNode readAttribute(String attributeName) {
+            ModelNode response = execute(readAttributeOperation(attributeName));
+            String error = getFailureDescription(response);
+            if (error != null) {
+                throw LOGGER.unableToReadAttribute(attributeName, address, error);
+            }
+            return response.get(RESULT);
+        }
+
+        private ModelNode readAttributeOperation(String attributeName) {
+            final ModelNode readAttributeOp = new ModelNode();
+            readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
+            readAttributeOp.get(OP_ADDR).set(resourceAddress.toModelNode());
+            readAttributeOp.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).set(true);
+            readAttributeOp.get(NAME).set(attributeName);
+            return readAttributeOp;
+        }
+
+        private ModelNode execute(ModelNode operation) {
+            long start = System.nanoTime();
+            try {
+                return modelControllerClient.execute(operation);
+            } finally {
+                prometheusCollector.recordRead(subsystem, System.nanoTime() - start);
+            }
+        }
+    }
+
     public static final class MetricRegistration {
 
         private final List<Runnable> unregistrationTasks = new ArrayList<>();
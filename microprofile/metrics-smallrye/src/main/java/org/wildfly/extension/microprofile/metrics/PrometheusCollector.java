@@ -1,16 +1,23 @@
 package org.wildfly.extension.microprofile.metrics;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import io.prometheus.client.Collector;
 import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
 
 public class PrometheusCollector extends Collector implements Collector.Describable {
 
@@ -18,6 +25,19 @@ public class PrometheusCollector extends Collector implements Collector.Describa
     private Map<String, MetricFamilySamples> metricNames = new TreeMap<>();
     // each MetricFamilySamples has list of Sample's supplier (that can be optional) if the underlying metric value is undefined.
     private Map<String, List<Supplier<Optional<Sample>>>> metricFamilyMap = new HashMap();
+    // incremented on each scrape so that the metrics of a resource are read once per scrape
+    private final AtomicLong scrapes = new AtomicLong();
+    // time spent and number of operations executed to read the metrics of each subsystem
+    private final Map<String, ReadCost> readCosts = new ConcurrentHashMap<>();
+    private final String scrapeMetricPrefix;
+
+    public PrometheusCollector() {
+        this(null);
+    }
+
+    public PrometheusCollector(String globalPrefix) {
+        this.scrapeMetricPrefix = (globalPrefix != null && !globalPrefix.isEmpty()) ? globalPrefix + "_metrics_scrape_" : "metrics_scrape_";
+    }
 
     public synchronized void addMetricFamilySamples(MetricFamilySamples mfs) {
         if (!metricNames.containsKey(mfs.name)) {
@@ -39,8 +59,20 @@ public class PrometheusCollector extends Collector implements Collector.Describa
     }
 
 
+    long getScrape() {
+        return scrapes.get();
+    }
+
+    void recordRead(String subsystem, long nanos) {
+        ReadCost cost = readCosts.computeIfAbsent(subsystem, name -> new ReadCost());
+        cost.reads.increment();
+        cost.nanos.add(nanos);
+    }
+
     @Override
     public List<MetricFamilySamples> collect() {
+        long start = System.nanoTime();
+        scrapes.incrementAndGet();
         List<MetricFamilySamples> samples = new ArrayList<>();
         for (Map.Entry<String, List<Supplier<Optional<Sample>>>> entry : metricFamilyMap.entrySet()) {
             String metricName = entry.getKey();
@@ -56,12 +88,44 @@ public class PrometheusCollector extends Collector implements Collector.Describa
                 samples.add(mfs);
             }
         }
+        addScrapeMetricFamilySamples(samples, System.nanoTime() - start);
         return samples;
     }
 
+    private void addScrapeMetricFamilySamples(List<MetricFamilySamples> samples, long duration) {
+        GaugeMetricFamily scrapeDuration = new GaugeMetricFamily(scrapeMetricPrefix + "duration_seconds",
+                "Time spent collecting the management metrics of this scrape, excluding the scrape metrics themselves", Collections.emptyList());
+        scrapeDuration.addMetric(Collections.emptyList(), toSeconds(duration));
+        samples.add(scrapeDuration);
+        if (readCosts.isEmpty()) {
+            return;
+        }
+        List<String> labelNames = Collections.singletonList("subsystem");
+        CounterMetricFamily readDuration = new CounterMetricFamily(scrapeMetricPrefix + "read_seconds_total",
+                "Total time spent reading the management metrics of a subsystem since the metrics were first scraped", labelNames);
+        CounterMetricFamily reads = new CounterMetricFamily(scrapeMetricPrefix + "reads_total",
+                "Total number of management operations executed to read the metrics of a subsystem since the metrics were first scraped", labelNames);
+        for (Map.Entry<String, ReadCost> entry : readCosts.entrySet()) {
+            List<String> labelValues = Collections.singletonList(entry.getKey());
+            readDuration.addMetric(labelValues, toSeconds(entry.getValue().nanos.sum()));
+            reads.addMetric(labelValues, entry.getValue().reads.sum());
+        }
+        samples.add(readDuration);
+        samples.add(reads);
+    }
+
+    private static double toSeconds(long nanos) {
+        return (double) nanos / TimeUnit.SECONDS.toNanos(1);
+    }
+
     @Override
     public List<MetricFamilySamples> describe() {
         return new ArrayList<>(metricNames.values());
     }
 
+    private static class ReadCost {
+        final LongAdder reads = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+    }
+
 }
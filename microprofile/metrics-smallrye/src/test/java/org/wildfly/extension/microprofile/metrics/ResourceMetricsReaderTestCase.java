@@ -0,0 +1,155 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.microprofile.metrics;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.as.controller.LocalModelControllerClient;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.extension.microprofile.metrics.MetricCollector.ResourceMetricsReader;
+
+/**
+ * Verifies that the registered metrics of a resource are read at once per scrape, and one by one if they cannot be read at once.
+ */
+public class ResourceMetricsReaderTestCase {
+
+    private static final PathAddress ADDRESS = PathAddress.pathAddress(PathElement.pathElement("subsystem", "test"));
+
+    private final LocalModelControllerClient client = mock(LocalModelControllerClient.class);
+    private final PrometheusCollector collector = new PrometheusCollector();
+    private final List<String> operations = new ArrayList<>();
+    private final List<List<String>> steps = new ArrayList<>();
+    private final ResourceMetricsReader reader = new ResourceMetricsReader(this.client, this.collector, ADDRESS, ADDRESS, "test");
+
+    private boolean resourceFailure;
+
+    @Before
+    public void init() {
+        when(this.client.execute(any(ModelNode.class))).then(invocation -> {
+            ModelNode operation = invocation.getArgument(0);
+            String name = operation.get(OP).asString();
+            if (name.equals(READ_ATTRIBUTE_OPERATION)) {
+                String attribute = operation.get(NAME).asString();
+                this.operations.add(name + ":" + attribute);
+                return attribute.equals("broken") ? failure() : success(new ModelNode(attribute.equals("first") ? 1 : 2));
+            }
+            this.operations.add(name);
+            List<String> attributes = new ArrayList<>();
+            for (ModelNode step : operation.get(STEPS).asList()) {
+                attributes.add(step.get(NAME).asString());
+            }
+            this.steps.add(attributes);
+            if (this.resourceFailure) {
+                return failure();
+            }
+            ModelNode result = new ModelNode();
+            for (int i = 0; i < attributes.size(); i++) {
+                String attribute = attributes.get(i);
+                result.get("step-" + (i + 1)).set(success(attribute.equals("first") ? new ModelNode(1) : attribute.equals("second") ? new ModelNode(2) : new ModelNode()));
+            }
+            return success(result);
+        });
+        this.reader.addMetric("first");
+        this.reader.addMetric("second");
+    }
+
+    @Test
+    public void readResource() {
+        assertEquals(1, this.reader.read("first").asInt());
+        assertEquals(2, this.reader.read("second").asInt());
+        assertFalse(this.reader.read("missing").isDefined());
+        assertEquals(1, this.operations.size());
+        assertEquals(COMPOSITE, this.operations.get(0));
+        // Only the registered metrics are read
+        assertEquals(Arrays.asList("first", "second"), this.steps.get(0));
+
+        // The next scrape reads the metrics again
+        this.collector.collect();
+        assertEquals(1, this.reader.read("first").asInt());
+        assertEquals(2, this.operations.size());
+    }
+
+    @Test
+    public void readAttributes() {
+        this.reader.addMetric("broken");
+        this.resourceFailure = true;
+        assertEquals(1, this.reader.read("first").asInt());
+        assertEquals(2, this.reader.read("second").asInt());
+        try {
+            this.reader.read("broken");
+            fail("Read of broken attribute should fail");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        // The failed read of the metrics is not repeated within the same scrape
+        assertEquals(4, this.operations.size());
+        assertEquals(COMPOSITE, this.operations.get(0));
+        assertEquals(READ_ATTRIBUTE_OPERATION + ":first", this.operations.get(1));
+        assertEquals(READ_ATTRIBUTE_OPERATION + ":second", this.operations.get(2));
+        assertEquals(READ_ATTRIBUTE_OPERATION + ":broken", this.operations.get(3));
+
+        // The next scrape tries to read the metrics at once again
+        this.resourceFailure = false;
+        this.collector.collect();
+        assertEquals(2, this.reader.read("second").asInt());
+        assertEquals(5, this.operations.size());
+        assertEquals(COMPOSITE, this.operations.get(4));
+    }
+
+    private static ModelNode success(ModelNode result) {
+        ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        response.get(RESULT).set(result);
+        return response;
+    }
+
+    private static ModelNode failure() {
+        ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(FAILED);
+        response.get(FAILURE_DESCRIPTION).set("failure");
+        return response;
+    }
+}
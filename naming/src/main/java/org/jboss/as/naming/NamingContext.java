@@ -32,6 +32,8 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Arrays;
 import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.naming.Binding;
 import javax.naming.CannotProceedException;
@@ -88,6 +90,10 @@ public class NamingContext implements EventContext {
 
     private static final String PACKAGE_PREFIXES = "org.jboss.as.naming.interfaces";
 
+    // Parsed form of recently used string names, cleared once full
+    private static final int PARSED_NAMES_MAX_SIZE = 1024;
+    private static final Map<String, Name> PARSED_NAMES = new ConcurrentHashMap<>();
+
     static {
         try {
             NamingManager.setObjectFactoryBuilder(ObjectFactoryBuilder.INSTANCE);
@@ -530,7 +536,23 @@ public class NamingContext implements EventContext {
     }
 
     private Name parseName(final String name) throws NamingException {
-        return getNameParser(name).parse(name);
+        final javax.naming.NameParser parser = getNameParser(name);
+        if (parser != NameParser.INSTANCE) {
+            return parser.parse(name);
+        }
+        Name parsedName = PARSED_NAMES.get(name);
+        if (parsedName != null) {
+            NamingStatistics.nameCacheHit();
+        } else {
+            NamingStatistics.nameCacheMiss();
+            parsedName = parser.parse(name);
+            if (PARSED_NAMES.size() >= PARSED_NAMES_MAX_SIZE) {
+                PARSED_NAMES.clear();
+            }
+            PARSED_NAMES.put(name, parsedName);
+        }
+        // Names are mutable, so callers get their own copy
+        return (Name) parsedName.clone();
     }
 
     private Name getAbsoluteName(final Name name) throws NamingException {
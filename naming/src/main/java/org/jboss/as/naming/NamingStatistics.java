@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.naming;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit and miss counters of the lookup caches of the naming subsystem.
+ */
+public final class NamingStatistics {
+
+    private static final LongAdder LOOKUP_CACHE_HITS = new LongAdder();
+    private static final LongAdder LOOKUP_CACHE_MISSES = new LongAdder();
+    private static final LongAdder NAME_CACHE_HITS = new LongAdder();
+    private static final LongAdder NAME_CACHE_MISSES = new LongAdder();
+
+    private NamingStatistics() {
+    }
+
+    static void lookupCacheHit() {
+        LOOKUP_CACHE_HITS.increment();
+    }
+
+    static void lookupCacheMiss() {
+        LOOKUP_CACHE_MISSES.increment();
+    }
+
+    static void nameCacheHit() {
+        NAME_CACHE_HITS.increment();
+    }
+
+    static void nameCacheMiss() {
+        NAME_CACHE_MISSES.increment();
+    }
+
+    /**
+     * @return the number of lookups whose binding was resolved from a {@link ServiceBasedNamingStore}'s lookup cache
+     */
+    public static long getLookupCacheHits() {
+        return LOOKUP_CACHE_HITS.sum();
+    }
+
+    /**
+     * @return the number of lookups whose binding had to be resolved via the service registry
+     */
+    public static long getLookupCacheMisses() {
+        return LOOKUP_CACHE_MISSES.sum();
+    }
+
+    /**
+     * @return the number of names whose parsed form was found in the name cache of {@link NamingContext}
+     */
+    public static long getNameCacheHits() {
+        return NAME_CACHE_HITS.sum();
+    }
+
+    /**
+     * @return the number of names that had to be parsed
+     */
+    public static long getNameCacheMisses() {
+        return NAME_CACHE_MISSES.sum();
+    }
+}
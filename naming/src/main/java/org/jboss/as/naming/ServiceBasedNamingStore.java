@@ -28,8 +28,10 @@ import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 
 import javax.naming.Binding;
@@ -65,6 +67,10 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     private ConcurrentSkipListSet<ServiceName> boundServices = new ConcurrentSkipListSet<ServiceName>();
 
+    // Binder services of previously looked up names, replaced by an empty cache whenever a binding is added or removed.
+    // Only the binding is cached, since a managed reference factory may return a distinct instance per lookup.
+    private volatile Map<Name, ServiceController<?>> lookupCache = new ConcurrentHashMap<>();
+
     public ServiceBasedNamingStore(final ServiceRegistry serviceRegistry, final ServiceName serviceNameBase) {
         this.serviceRegistry = serviceRegistry;
         this.serviceNameBase = serviceNameBase;
@@ -79,9 +85,24 @@ public class ServiceBasedNamingStore implements NamingStore {
         if (name.isEmpty()) {
             return new NamingContext(EMPTY_NAME, this, null);
         }
+        final Map<Name, ServiceController<?>> lookupCache = this.lookupCache;
+        final ServiceController<?> cachedController = lookupCache.get(name);
+        if (cachedController != null && cachedController.getState() != ServiceController.State.REMOVED) {
+            NamingStatistics.lookupCacheHit();
+            final Object obj = lookup(name.toString(), cachedController, dereference);
+            if (obj != null) {
+                return obj;
+            }
+        } else {
+            NamingStatistics.lookupCacheMiss();
+        }
         final ServiceName lookupName = buildServiceName(name);
-        Object obj = lookup(name.toString(), lookupName, dereference);
-        if (obj == null) {
+        final ServiceController<?> controller = serviceRegistry.getService(lookupName);
+        Object obj = lookup(name.toString(), controller, dereference);
+        if (obj != null) {
+            // If the cache was invalidated in the meantime, this populates the discarded cache
+            lookupCache.put((Name) name.clone(), controller);
+        } else {
             final ServiceName lower = boundServices.lower(lookupName);
             if (lower != null && lower.isParentOf(lookupName)) {
                 // Parent might be a reference or a link
@@ -125,8 +146,11 @@ public class ServiceBasedNamingStore implements NamingStore {
     }
 
     private Object lookup(final String name, final ServiceName lookupName, boolean dereference) throws NamingException {
+        return lookup(name, serviceRegistry.getService(lookupName), dereference);
+    }
+
+    private Object lookup(final String name, final ServiceController<?> controller, boolean dereference) throws NamingException {
         try {
-            final ServiceController<?> controller = serviceRegistry.getService(lookupName);
             if (controller != null) {
                 final Object object = controller.getValue();
                 if (dereference && object instanceof ManagedReferenceFactory) {
@@ -257,6 +281,7 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void close() throws NamingException {
         boundServices.clear();
+        invalidateLookupCache();
     }
 
     public void addNamingListener(Name target, int scope, NamingListener listener) {
@@ -271,10 +296,18 @@ public class ServiceBasedNamingStore implements NamingStore {
             throw NamingLogger.ROOT_LOGGER.serviceAlreadyBound(serviceName);
         }
         boundServices.add(serviceName);
+        invalidateLookupCache();
     }
 
     public void remove(final ServiceName serviceName) {
         boundServices.remove(serviceName);
+        invalidateLookupCache();
+    }
+
+    private void invalidateLookupCache() {
+        if (!this.lookupCache.isEmpty()) {
+            this.lookupCache = new ConcurrentHashMap<>();
+        }
     }
 
     protected ServiceName buildServiceName(final Name name) {
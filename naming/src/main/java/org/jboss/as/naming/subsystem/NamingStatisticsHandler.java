@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.naming.subsystem;
+
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.naming.NamingStatistics;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Handler for the lookup cache metrics of the naming subsystem.
+ */
+class NamingStatisticsHandler extends AbstractRuntimeOnlyHandler {
+
+    enum NamingStat {
+        LOOKUP_CACHE_HITS("lookup-cache-hits"),
+        LOOKUP_CACHE_MISSES("lookup-cache-misses"),
+        NAME_CACHE_HITS("name-cache-hits"),
+        NAME_CACHE_MISSES("name-cache-misses"),
+        ;
+        final AttributeDefinition definition;
+
+        NamingStat(String name) {
+            this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setFlags(COUNTER_METRIC)
+                    .build();
+        }
+
+        static NamingStat forName(String name) {
+            for (NamingStat stat : values()) {
+                if (stat.definition.getName().equals(name)) {
+                    return stat;
+                }
+            }
+            return null;
+        }
+    }
+
+    static final NamingStatisticsHandler INSTANCE = new NamingStatisticsHandler();
+
+    private NamingStatisticsHandler() {
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        String name = operation.require(ModelDescriptionConstants.NAME).asString();
+        NamingStat stat = NamingStat.forName(name);
+        if (stat == null) {
+            throw new IllegalStateException(name);
+        }
+        switch (stat) {
+            case LOOKUP_CACHE_HITS:
+                context.getResult().set(NamingStatistics.getLookupCacheHits());
+                break;
+            case LOOKUP_CACHE_MISSES:
+                context.getResult().set(NamingStatistics.getLookupCacheMisses());
+                break;
+            case NAME_CACHE_HITS:
+                context.getResult().set(NamingStatistics.getNameCacheHits());
+                break;
+            case NAME_CACHE_MISSES:
+                context.getResult().set(NamingStatistics.getNameCacheMisses());
+                break;
+        }
+    }
+
+    void registerMetrics(ManagementResourceRegistration registration) {
+        for (NamingStat stat : NamingStat.values()) {
+            registration.registerMetric(stat.definition, this);
+        }
+    }
+}
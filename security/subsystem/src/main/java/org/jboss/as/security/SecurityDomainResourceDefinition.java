@@ -22,7 +22,10 @@
 package org.jboss.as.security;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.GAUGE_METRIC;
 
 import java.security.Principal;
 import java.util.Arrays;
@@ -31,6 +34,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
@@ -45,11 +49,14 @@ import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.management.ApplicationTypeAccessConstraintDefinition;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.operations.validation.StringAllowedValuesValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.lru.CacheStatistics;
 import org.jboss.as.security.plugins.SecurityDomainContext;
 import org.jboss.as.security.service.SecurityDomainService;
 import org.jboss.dmr.ModelNode;
@@ -109,6 +116,11 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
     @Override
     public void registerAttributes(final ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerReadWriteAttribute(CACHE_TYPE, null, new SecurityDomainReloadWriteHandler(CACHE_TYPE));
+        if (registerRuntimeOnly) {
+            for (CacheStatisticsHandler.CacheMetric metric : CacheStatisticsHandler.CacheMetric.values()) {
+                resourceRegistration.registerMetric(metric.definition, CacheStatisticsHandler.INSTANCE);
+            }
+        }
     }
 
     @Override
@@ -216,6 +228,74 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    static final class CacheStatisticsHandler extends AbstractRuntimeOnlyHandler {
+        static final CacheStatisticsHandler INSTANCE = new CacheStatisticsHandler();
+
+        enum CacheMetric {
+            CACHE_HIT_COUNT("cache-hit-count", ModelType.LONG, COUNTER_METRIC, null),
+            CACHE_MISS_COUNT("cache-miss-count", ModelType.LONG, COUNTER_METRIC, null),
+            CACHE_HIT_RATIO("cache-hit-ratio", ModelType.DOUBLE, GAUGE_METRIC, null),
+            CACHE_EVICTION_COUNT("cache-eviction-count", ModelType.LONG, COUNTER_METRIC, null),
+            CACHE_AVERAGE_LOAD_TIME("cache-average-load-time", ModelType.LONG, GAUGE_METRIC, MeasurementUnit.MILLISECONDS),
+            ;
+            final AttributeDefinition definition;
+
+            CacheMetric(String name, ModelType type, AttributeAccess.Flag flag, MeasurementUnit unit) {
+                this.definition = new SimpleAttributeDefinitionBuilder(name, type)
+                        .setUndefinedMetricValue((type == ModelType.DOUBLE) ? new ModelNode(0d) : new ModelNode(0L))
+                        .setMeasurementUnit(unit)
+                        .setFlags(flag)
+                        .build();
+            }
+
+            static CacheMetric forName(String name) {
+                for (CacheMetric metric : values()) {
+                    if (metric.definition.getName().equals(name)) {
+                        return metric;
+                    }
+                }
+                return null;
+            }
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String securityDomain = context.getCurrentAddressValue();
+            final String name = operation.require(NAME).asString();
+            CacheMetric metric = CacheMetric.forName(name);
+            if (metric == null) {
+                throw new IllegalStateException(name);
+            }
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(SecurityDomainService.SERVICE_NAME.append(securityDomain));
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                return;
+            }
+            CacheStatistics statistics = ((SecurityDomainService) controller.getService()).getCacheStatistics();
+            if (statistics == null) {
+                // Authentication cache is not enabled, or is not the default cache
+                return;
+            }
+            ModelNode result = context.getResult();
+            switch (metric) {
+                case CACHE_HIT_COUNT:
+                    result.set(statistics.getHitCount());
+                    break;
+                case CACHE_MISS_COUNT:
+                    result.set(statistics.getMissCount());
+                    break;
+                case CACHE_HIT_RATIO:
+                    result.set(statistics.getHitRatio());
+                    break;
+                case CACHE_EVICTION_COUNT:
+                    result.set(statistics.getEvictionCount());
+                    break;
+                case CACHE_AVERAGE_LOAD_TIME:
+                    result.set(statistics.getAverageLoadTime());
+                    break;
+            }
+        }
+    }
+
     /**
      * Wait for the required service to start up and fail otherwise. This method is necessary when a runtime operation
      * uses a service that might have been created within a composite operation.
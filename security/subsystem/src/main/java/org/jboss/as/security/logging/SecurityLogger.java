@@ -888,4 +888,8 @@ public interface SecurityLogger extends BasicLogger {
     @LogMessage(level = Level.WARN)
     @Message(id = 104, value = "Default %s cache capability missing.  Assuming %s as default-cache.")
     void defaultCacheRequirementMissing(String containerName, String legacyCacheName);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 105, value = "Unknown authentication cache eviction policy %s for security domain %s.  Using %s.")
+    void unknownAuthenticationCacheEvictionPolicy(String policy, String securityDomain, String defaultPolicy);
 }
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.lru;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit, miss, eviction and load statistics of an authentication cache.
+ * <p/>
+ * A cache miss is followed by the authentication of the principal and the subsequent insertion of its entry into the cache,
+ * by the same thread. The time between a miss and the insertion of the missing key is recorded as the load time of that key.
+ */
+public final class CacheStatistics {
+
+    private static final class Miss {
+        final Object key;
+        final long start;
+
+        Miss(Object key, long start) {
+            this.key = key;
+            this.start = start;
+        }
+    }
+
+    private final ThreadLocal<Miss> pending = new ThreadLocal<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadTime = new LongAdder();
+
+    void recordHit() {
+        this.hits.increment();
+    }
+
+    void recordMiss(Object key) {
+        this.misses.increment();
+        this.pending.set(new Miss(key, System.nanoTime()));
+    }
+
+    void recordInsert(Object key) {
+        Miss miss = this.pending.get();
+        if (miss != null) {
+            this.pending.remove();
+            if (miss.key.equals(key)) {
+                this.loads.increment();
+                this.loadTime.add(System.nanoTime() - miss.start);
+            }
+        }
+    }
+
+    void recordEviction() {
+        this.evictions.increment();
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the ratio of lookups that found an entry, or 0 if there were no lookups.
+     */
+    public double getHitRatio() {
+        long hits = this.hits.sum();
+        long requests = hits + this.misses.sum();
+        return (requests > 0) ? (double) hits / requests : 0d;
+    }
+
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    public long getLoadCount() {
+        return this.loads.sum();
+    }
+
+    /**
+     * Returns the average load time, in milliseconds.
+     */
+    public long getAverageLoadTime() {
+        long loads = this.loads.sum();
+        return (loads > 0) ? TimeUnit.NANOSECONDS.toMillis(this.loadTime.sum() / loads) : 0L;
+    }
+}
@@ -48,16 +48,26 @@ public class LRUCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K
     private final ConcurrentHashMap<K, CacheEntry<K, V>> cache;
     private final ConcurrentDirectDeque<CacheEntry<K, V>> accessQueue;
     private final RemoveCallback<K, V> removeCallback;
+    private final CacheStatistics statistics;
 
     public LRUCache(int maxEntries) {
         this(maxEntries, null);
     }
 
     public LRUCache(int maxEntries, RemoveCallback<K, V> removeCallback) {
+        this(maxEntries, removeCallback, new CacheStatistics());
+    }
+
+    public LRUCache(int maxEntries, RemoveCallback<K, V> removeCallback, CacheStatistics statistics) {
         this.cache = new ConcurrentHashMap<>();
         this.accessQueue = ConcurrentDirectDeque.newInstance();
         this.maxEntries = maxEntries;
         this.removeCallback = removeCallback;
+        this.statistics = statistics;
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
     }
 
     public V put(K key, V newValue) {
@@ -75,6 +85,7 @@ public class LRUCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K
             }
 
             bumpAccess(entry);
+            statistics.recordInsert(key);
         } else {
             old = entry.getValue();
             if (ifAbsent) {
@@ -89,8 +100,8 @@ public class LRUCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K
         if (cache.size() > maxEntries) {
             //remove the oldest
             CacheEntry<K, V> oldest = accessQueue.poll();
-            if (oldest != entry) {
-                this.remove(oldest.key());
+            if (oldest != entry && this.remove(oldest.key()) != null) {
+                statistics.recordEviction();
             }
         }
 
@@ -131,7 +142,11 @@ public class LRUCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K
 
     public V get(Object key) {
         CacheEntry<K, V> cacheEntry = get0(key);
-        if (cacheEntry == null) return null;
+        if (cacheEntry == null) {
+            statistics.recordMiss(key);
+            return null;
+        }
+        statistics.recordHit();
 
         return cacheEntry.getValue();
     }
@@ -0,0 +1,471 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.lru;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache using the W-TinyLFU eviction policy.
+ * <p/>
+ * <p>New entries enter a small LRU admission window. An entry leaving the window is only admitted to the main region,
+ * a segmented LRU, if its estimated access frequency exceeds that of the entry the main region would evict to make room for it.
+ * Thus, a burst of entries that are accessed once (e.g. a scan of one-off principals) cannot displace frequently used entries.</p>
+ * <p/>
+ * <p>Lookups are lock free. Recording an access in the policy requires the policy lock; under contention, a lookup
+ * skips recording its access rather than waiting for the lock. All modifications are performed while holding the policy lock,
+ * and removal callbacks are invoked after releasing it.</p>
+ */
+public class TinyLFUCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+    private enum Region {
+        WINDOW, PROBATION, PROTECTED, DEAD
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        Region region;
+        Node<K, V> previous;
+        Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A doubly linked list of nodes, ordered from least to most recently used.
+     */
+    private static final class AccessOrder<K, V> {
+        private final Region region;
+        private Node<K, V> head;
+        private Node<K, V> tail;
+        private int size;
+
+        AccessOrder(Region region) {
+            this.region = region;
+        }
+
+        void add(Node<K, V> node) {
+            node.region = this.region;
+            node.previous = this.tail;
+            node.next = null;
+            if (this.tail == null) {
+                this.head = node;
+            } else {
+                this.tail.next = node;
+            }
+            this.tail = node;
+            this.size += 1;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                this.head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                this.tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            this.size -= 1;
+        }
+
+        void moveToTail(Node<K, V> node) {
+            if (node != this.tail) {
+                this.remove(node);
+                this.add(node);
+            }
+        }
+
+        Node<K, V> poll() {
+            Node<K, V> node = this.head;
+            if (node != null) {
+                this.remove(node);
+            }
+            return node;
+        }
+
+        Node<K, V> peek() {
+            return this.head;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        void clear() {
+            this.head = null;
+            this.tail = null;
+            this.size = 0;
+        }
+    }
+
+    private final ConcurrentHashMap<K, Node<K, V>> cache = new ConcurrentHashMap<>();
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final AccessOrder<K, V> window = new AccessOrder<>(Region.WINDOW);
+    private final AccessOrder<K, V> probation = new AccessOrder<>(Region.PROBATION);
+    private final AccessOrder<K, V> protectedRegion = new AccessOrder<>(Region.PROTECTED);
+    private final FrequencySketch sketch;
+    private final int maxWindow;
+    private final int maxMain;
+    private final int maxProtected;
+    private final RemoveCallback<K, V> removeCallback;
+    private final CacheStatistics statistics;
+
+    public TinyLFUCache(int maxEntries) {
+        this(maxEntries, null, new CacheStatistics());
+    }
+
+    public TinyLFUCache(int maxEntries, RemoveCallback<K, V> removeCallback, CacheStatistics statistics) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException(Integer.toString(maxEntries));
+        }
+        // 1% admission window, the remainder split 20/80 between the probation and protected segments
+        this.maxWindow = Math.max(1, maxEntries / 100);
+        this.maxMain = maxEntries - this.maxWindow;
+        this.maxProtected = this.maxMain * 4 / 5;
+        this.sketch = new FrequencySketch(maxEntries);
+        this.removeCallback = removeCallback;
+        this.statistics = statistics;
+    }
+
+    public CacheStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = this.cache.get(key);
+        if (node == null) {
+            this.statistics.recordMiss(key);
+            return null;
+        }
+        this.statistics.recordHit();
+        if (this.policyLock.tryLock()) {
+            try {
+                this.onAccess(node);
+            } finally {
+                this.policyLock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.cache.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return this.put(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return this.put(key, value, true);
+    }
+
+    private V put(K key, V value, boolean ifAbsent) {
+        List<Node<K, V>> evicted;
+        this.policyLock.lock();
+        try {
+            Node<K, V> node = this.cache.get(key);
+            if (node != null) {
+                V old = node.value;
+                if (!ifAbsent) {
+                    node.value = value;
+                }
+                this.onAccess(node);
+                return old;
+            }
+            node = new Node<>(key, value);
+            this.cache.put(key, node);
+            evicted = this.onInsert(node);
+        } finally {
+            this.policyLock.unlock();
+        }
+        this.statistics.recordInsert(key);
+        for (Node<K, V> node : evicted) {
+            this.statistics.recordEviction();
+            this.afterRemove(node.key, node.value);
+        }
+        return null;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        V old;
+        this.policyLock.lock();
+        try {
+            Node<K, V> node = this.cache.get(key);
+            if (node == null) return null;
+            old = node.value;
+            node.value = value;
+            this.onAccess(node);
+        } finally {
+            this.policyLock.unlock();
+        }
+        this.afterRemove(key, old);
+        return old;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        this.policyLock.lock();
+        try {
+            Node<K, V> node = this.cache.get(key);
+            if (node == null || node.value != oldValue) {
+                return false;
+            }
+            node.value = newValue;
+            this.onAccess(node);
+        } finally {
+            this.policyLock.unlock();
+        }
+        this.afterRemove(key, oldValue);
+        return true;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<K, V> node;
+        this.policyLock.lock();
+        try {
+            node = this.cache.remove(key);
+            if (node == null) return null;
+            this.onRemove(node);
+        } finally {
+            this.policyLock.unlock();
+        }
+        this.afterRemove(node.key, node.value);
+        return node.value;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        this.policyLock.lock();
+        try {
+            Node<K, V> node = this.cache.get(key);
+            if (node == null || node.value != value) {
+                return false;
+            }
+            this.cache.remove(key);
+            this.onRemove(node);
+            return true;
+        } finally {
+            this.policyLock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        List<Node<K, V>> removed;
+        this.policyLock.lock();
+        try {
+            removed = (this.removeCallback != null) ? new ArrayList<>(this.cache.values()) : Collections.emptyList();
+            for (Node<K, V> node : this.cache.values()) {
+                node.region = Region.DEAD;
+            }
+            this.cache.clear();
+            this.window.clear();
+            this.probation.clear();
+            this.protectedRegion.clear();
+        } finally {
+            this.policyLock.unlock();
+        }
+        for (Node<K, V> node : removed) {
+            this.afterRemove(node.key, node.value);
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.cache.size();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private void afterRemove(K key, V value) {
+        if (this.removeCallback != null) {
+            this.removeCallback.afterRemove(key, value);
+        }
+    }
+
+    /**
+     * Records an access to the specified node. Must be called while holding the policy lock.
+     */
+    private void onAccess(Node<K, V> node) {
+        this.sketch.increment(node.key);
+        switch (node.region) {
+            case WINDOW: {
+                this.window.moveToTail(node);
+                break;
+            }
+            case PROBATION: {
+                // Promote to the protected segment, demoting its least recently used entry if necessary
+                this.probation.remove(node);
+                this.protectedRegion.add(node);
+                if (this.protectedRegion.size() > this.maxProtected) {
+                    this.probation.add(this.protectedRegion.poll());
+                }
+                break;
+            }
+            case PROTECTED: {
+                this.protectedRegion.moveToTail(node);
+                break;
+            }
+            default: {
+                // Concurrently removed
+            }
+        }
+    }
+
+    /**
+     * Adds the specified node to the admission window, and returns the nodes evicted as a result.
+     * Must be called while holding the policy lock.
+     */
+    private List<Node<K, V>> onInsert(Node<K, V> node) {
+        this.sketch.increment(node.key);
+        this.window.add(node);
+        if (this.window.size() <= this.maxWindow) {
+            return Collections.emptyList();
+        }
+        Node<K, V> candidate = this.window.poll();
+        if (this.probation.size() + this.protectedRegion.size() < this.maxMain) {
+            this.probation.add(candidate);
+            return Collections.emptyList();
+        }
+        Node<K, V> victim = (this.probation.size() > 0) ? this.probation.peek() : this.protectedRegion.peek();
+        Node<K, V> evicted;
+        if ((victim != null) && (this.sketch.frequency(candidate.key) > this.sketch.frequency(victim.key))) {
+            this.onRemove(victim);
+            this.probation.add(candidate);
+            evicted = victim;
+        } else {
+            candidate.region = Region.DEAD;
+            evicted = candidate;
+        }
+        this.cache.remove(evicted.key, evicted);
+        return Collections.singletonList(evicted);
+    }
+
+    /**
+     * Unlinks the specified node from the policy. Must be called while holding the policy lock.
+     */
+    private void onRemove(Node<K, V> node) {
+        switch (node.region) {
+            case WINDOW: {
+                this.window.remove(node);
+                break;
+            }
+            case PROBATION: {
+                this.probation.remove(node);
+                break;
+            }
+            case PROTECTED: {
+                this.protectedRegion.remove(node);
+                break;
+            }
+            default: {
+                // Already removed
+            }
+        }
+        node.region = Region.DEAD;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            Iterator<Node<K, V>> nodes = TinyLFUCache.this.cache.values().iterator();
+            return new Iterator<Entry<K, V>>() {
+                private Node<K, V> last;
+
+                @Override
+                public boolean hasNext() {
+                    return nodes.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    Node<K, V> node = nodes.next();
+                    this.last = node;
+                    return new SimpleImmutableEntry<>(node.key, node.value);
+                }
+
+                @Override
+                public void remove() {
+                    if (this.last == null) {
+                        throw new IllegalStateException();
+                    }
+                    TinyLFUCache.this.remove(this.last.key);
+                    this.last = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return TinyLFUCache.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) return false;
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            Node<K, V> node = TinyLFUCache.this.cache.get(entry.getKey());
+            return (node != null) && node.value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!(o instanceof Map.Entry)) return false;
+            return TinyLFUCache.this.remove(((Entry<?, ?>) o).getKey()) != null;
+        }
+
+        @Override
+        public void clear() {
+            TinyLFUCache.this.clear();
+        }
+    }
+}
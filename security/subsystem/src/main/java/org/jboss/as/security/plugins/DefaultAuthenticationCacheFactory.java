@@ -23,28 +23,78 @@
 package org.jboss.as.security.plugins;
 
 import java.security.Principal;
+import java.util.Locale;
 import java.util.concurrent.ConcurrentMap;
 
+import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.lru.CacheStatistics;
 import org.jboss.as.security.lru.LRUCache;
+import org.jboss.as.security.lru.RemoveCallback;
+import org.jboss.as.security.lru.TinyLFUCache;
 import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Factory that creates default {@code ConcurrentMap}s for authentication cache.
+ * <p/>
+ * The eviction policy of the cache is selected via the {@value #EVICTION_POLICY} system property,
+ * or its per security domain variant, {@code jboss.security.<security-domain>.authentication-cache.eviction-policy}.
+ * Supported policies are {@code lru} (the default) and {@code tinylfu}.
  *
  * @author <a href="mailto:mmoyses@redhat.com">Marcus Moyses</a>
  */
 public class DefaultAuthenticationCacheFactory implements AuthenticationCacheFactory {
 
+    static final String EVICTION_POLICY = "jboss.security.authentication-cache.eviction-policy";
+    static final String DOMAIN_EVICTION_POLICY = "jboss.security.%s.authentication-cache.eviction-policy";
+    static final String LRU = "lru";
+    static final String TINY_LFU = "tinylfu";
+
+    private static final int MAX_ENTRIES = 1000;
+
+    private final String securityDomain;
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    public DefaultAuthenticationCacheFactory() {
+        this(null);
+    }
+
+    public DefaultAuthenticationCacheFactory(String securityDomain) {
+        this.securityDomain = securityDomain;
+    }
+
     /**
      * Returns a default cache implementation
      *
      * @return cache implementation
      */
     public ConcurrentMap<Principal, DomainInfo> getCache() {
-        return new LRUCache<>(1000, (key, value) -> {
+        RemoveCallback<Principal, DomainInfo> callback = (key, value) -> {
             if (value != null) {
                 value.logout();
             }
-        });
+        };
+        String policy = WildFlySecurityManager.getPropertyPrivileged(EVICTION_POLICY, LRU);
+        if (securityDomain != null) {
+            policy = WildFlySecurityManager.getPropertyPrivileged(String.format(DOMAIN_EVICTION_POLICY, securityDomain), policy);
+        }
+        switch (policy.toLowerCase(Locale.ENGLISH)) {
+            case TINY_LFU:
+                return new TinyLFUCache<>(MAX_ENTRIES, callback, statistics);
+            case LRU:
+                break;
+            default:
+                SecurityLogger.ROOT_LOGGER.unknownAuthenticationCacheEvictionPolicy(policy, securityDomain, LRU);
+        }
+        return new LRUCache<>(MAX_ENTRIES, callback, statistics);
+    }
+
+    /**
+     * Returns the statistics of the caches created by this factory.
+     *
+     * @return cache statistics
+     */
+    public CacheStatistics getStatistics() {
+        return statistics;
     }
 }
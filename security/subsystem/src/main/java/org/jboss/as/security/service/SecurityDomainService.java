@@ -28,6 +28,7 @@ import javax.security.auth.login.Configuration;
 
 import org.jboss.as.security.SecurityExtension;
 import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.lru.CacheStatistics;
 import org.jboss.as.security.plugins.AuthenticationCacheFactory;
 import org.jboss.as.security.plugins.DefaultAuthenticationCacheFactory;
 import org.jboss.as.security.plugins.JNDIBasedSecurityManagement;
@@ -69,6 +70,8 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
 
     private final String cacheType;
 
+    private volatile CacheStatistics cacheStatistics;
+
     public SecurityDomainService(String name, ApplicationPolicy applicationPolicy, JSSESecurityDomain jsseSecurityDomain,
             String cacheType) {
         this.name = name;
@@ -91,7 +94,9 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         if ("infinispan".equals(cacheType)) {
             cacheFactory = () -> this.cacheValue.getValue();
         } else if ("default".equals(cacheType)) {
-            cacheFactory = new DefaultAuthenticationCacheFactory();
+            DefaultAuthenticationCacheFactory defaultCacheFactory = new DefaultAuthenticationCacheFactory(name);
+            this.cacheStatistics = defaultCacheFactory.getStatistics();
+            cacheFactory = defaultCacheFactory;
         }
         SecurityDomainContext sdc;
         try {
@@ -120,6 +125,7 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         final ApplicationPolicyRegistration applicationPolicyRegistration = (ApplicationPolicyRegistration) configurationValue
                 .getValue();
         applicationPolicyRegistration.removeApplicationPolicy(name);
+        this.cacheStatistics = null;
     }
 
     /** {@inheritDoc} */
@@ -128,6 +134,15 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         return securityDomainContext;
     }
 
+    /**
+     * Returns the statistics of the default authentication cache of this security domain.
+     *
+     * @return cache statistics, or {@code null} if this security domain does not use the default authentication cache
+     */
+    public CacheStatistics getCacheStatistics() {
+        return cacheStatistics;
+    }
+
     /**
      * Target {@code Injector}
      *
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.lru;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TinyLFUCache}.
+ */
+public class TinyLFUCacheTestCase {
+
+    @Test
+    public void testBounded() {
+        Map<Integer, Integer> removed = new HashMap<>();
+        CacheStatistics statistics = new CacheStatistics();
+        TinyLFUCache<Integer, Integer> cache = new TinyLFUCache<>(100, removed::put, statistics);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(900, removed.size());
+        assertEquals(900, statistics.getEvictionCount());
+        for (Map.Entry<Integer, Integer> entry : cache.entrySet()) {
+            assertEquals(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Test
+    public void testScanResistance() {
+        CacheStatistics statistics = new CacheStatistics();
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(100, null, statistics);
+        // Establish a frequently used working set
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                load(cache, "hot" + i);
+            }
+        }
+        // Scan of keys that are used only once, while the working set is used less often than an LRU cache of the same size could retain
+        for (int i = 0; i < 10000; i++) {
+            assertNull(cache.get("cold" + i));
+            cache.put("cold" + i, "cold" + i);
+            if (i % 4 == 0) {
+                load(cache, "hot" + ((i / 4) % 50));
+            }
+        }
+        for (int i = 0; i < 50; i++) {
+            String key = "hot" + i;
+            assertEquals(key, cache.get(key));
+        }
+        assertEquals(statistics.getMissCount(), statistics.getLoadCount());
+        assertTrue(statistics.getHitRatio() > 0.2);
+    }
+
+    private static void load(TinyLFUCache<String, String> cache, String key) {
+        if (cache.get(key) == null) {
+            cache.put(key, key);
+        }
+    }
+
+    @Test
+    public void testRemove() {
+        Map<String, String> removed = new HashMap<>();
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(10, removed::put, new CacheStatistics());
+        cache.put("a", "1");
+        cache.put("b", "2");
+        assertEquals("1", cache.remove("a"));
+        assertNull(cache.remove("a"));
+        assertEquals("1", removed.get("a"));
+        assertEquals("2", cache.replace("b", "3"));
+        assertEquals("2", removed.get("b"));
+        assertEquals("3", cache.putIfAbsent("b", "4"));
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals("3", removed.get("b"));
+        // Cache remains usable after being cleared
+        for (int i = 0; i < 20; i++) {
+            cache.put(Integer.toString(i), Integer.toString(i));
+        }
+        assertEquals(10, cache.size());
+    }
+}
@@ -213,7 +213,7 @@ public class EjbInvocationStatisticsTestCase {
             assertTrue(result.get("wait-time").asLong() >= 0L);
             assertEquals(1L, result.get("methods").asInt());
             final List<Property> methods = result.get("methods").asPropertyList();
-            assertEquals("doIt", methods.get(0).getName());
+            assertEquals("doIt()", methods.get(0).getName());
             final ModelNode invocationValues = methods.get(0).getValue();
             assertTrue(invocationValues.get("execution-time").asLong() >= 50L);
             assertEquals(1L, invocationValues.get("invocations").asLong());
@@ -28,7 +28,9 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
+import java.util.List;
 
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
@@ -38,6 +40,7 @@ import javax.jms.MessageProducer;
 import javax.jms.Queue;
 import javax.jms.Session;
 import javax.json.Json;
+import javax.json.JsonArray;
 import javax.json.JsonObject;
 import javax.json.JsonReader;
 import javax.naming.Context;
@@ -47,6 +50,9 @@ import org.jboss.arquillian.junit.Arquillian;
 import org.jboss.as.arquillian.api.ContainerResource;
 import org.jboss.as.arquillian.container.ManagementClient;
 import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.test.integration.common.jms.JMSOperations;
 import org.jboss.as.test.integration.common.jms.JMSOperationsProvider;
@@ -390,6 +396,70 @@ public class JMSQueueManagementTestCase {
 
     }
 
+    @Test
+    public void testListMessagesPaged() throws Exception {
+
+        MessageProducer producer = session.createProducer(queue);
+        String[] ids = new String[5];
+        for (int i = 0; i < ids.length; i++) {
+            Message message = session.createTextMessage(String.valueOf(i));
+            producer.send(message);
+            ids[i] = message.getJMSMessageID();
+        }
+        listMessages(ids.length);
+
+        ModelNode op = getQueueOperation("list-messages");
+        op.get("limit").set(2);
+        List<ModelNode> page = execute(op, true).asList();
+        Assert.assertEquals(2, page.size());
+        Assert.assertEquals(ids[0], page.get(0).get("JMSMessageID").asString());
+        Assert.assertEquals(ids[1], page.get(1).get("JMSMessageID").asString());
+
+        op.get("cursor").set(ids[1]);
+        page = execute(op, true).asList();
+        Assert.assertEquals(2, page.size());
+        Assert.assertEquals(ids[2], page.get(0).get("JMSMessageID").asString());
+        Assert.assertEquals(ids[3], page.get(1).get("JMSMessageID").asString());
+
+        op = getQueueOperation("list-messages-as-json");
+        op.get("offset").set(4);
+        op.get("limit").set(2);
+        ModelNode result = execute(op, true);
+        Assert.assertEquals(ModelType.STRING, result.getType());
+        page = ModelNode.fromJSONString(result.asString()).asList();
+        Assert.assertEquals(1, page.size());
+        Assert.assertEquals(ids[4], page.get(0).get("JMSMessageID").asString());
+
+        // a cursor that is no longer in the queue
+        op = getQueueOperation("remove-message");
+        op.get("message-id").set(ids[0]);
+        Assert.assertTrue(execute(op, true).asBoolean());
+        op = getQueueOperation("list-messages");
+        op.get("cursor").set(ids[0]);
+        execute(op, false);
+    }
+
+    @Test
+    public void testExportMessages() throws Exception {
+
+        MessageProducer producer = session.createProducer(queue);
+        producer.send(session.createTextMessage("A"));
+        producer.send(session.createTextMessage("B"));
+        producer.send(session.createTextMessage("C"));
+        listMessages(3);
+
+        try (OperationResponse response = managementClient.getControllerClient().executeOperation(Operation.Factory.create(getQueueOperation("export-messages")), OperationMessageHandler.DISCARD)) {
+            ModelNode responseNode = response.getResponseNode();
+            Assert.assertEquals(responseNode.toString(), "success", responseNode.get("outcome").asString());
+            String uuid = responseNode.get("result").asString();
+            try (InputStream stream = response.getInputStream(uuid).getStream(); JsonReader reader = Json.createReader(stream)) {
+                JsonArray messages = reader.readArray();
+                Assert.assertEquals(3, messages.size());
+                Assert.assertTrue(messages.getJsonObject(0).containsKey("JMSMessageID"));
+            }
+        }
+    }
+
     private ModelNode listMessages(int expectedSize) throws IOException, InterruptedException {
         final ModelNode listMessagesOperation = getQueueOperation("list-messages");
         long end = System.currentTimeMillis() + TIMEOUT;
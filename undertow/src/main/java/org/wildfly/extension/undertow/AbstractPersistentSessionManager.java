@@ -71,14 +71,9 @@ public abstract class AbstractPersistentSessionManager implements SessionPersist
                 for (Map.Entry<String, PersistentSession> sessionEntry : sessionData.entrySet()) {
                     Map<String, byte[]> data = new HashMap<String, byte[]>();
                     for (Map.Entry<String, Object> sessionAttribute : sessionEntry.getValue().getSessionData().entrySet()) {
-                        try {
-                            final ByteArrayOutputStream out = new ByteArrayOutputStream();
-                            marshaller.start(new OutputStreamByteOutput(out));
-                            marshaller.writeObject(sessionAttribute.getValue());
-                            marshaller.finish();
-                            data.put(sessionAttribute.getKey(), out.toByteArray());
-                        } catch (Exception e) {
-                            UndertowLogger.ROOT_LOGGER.failedToPersistSessionAttribute(sessionAttribute.getKey(), sessionAttribute.getValue(), sessionEntry.getKey(), e);
+                        byte[] bytes = marshalSessionAttribute(marshaller, sessionEntry.getKey(), sessionAttribute.getKey(), sessionAttribute.getValue());
+                        if (bytes != null) {
+                            data.put(sessionAttribute.getKey(), bytes);
                         }
                     }
                     serializedData.put(sessionEntry.getKey(), new SessionEntry(sessionEntry.getValue().getExpiration(), data));
@@ -110,9 +105,7 @@ public abstract class AbstractPersistentSessionManager implements SessionPersist
                         if (sessionEntry.getValue().expiry.getTime() > time) {
                             Map<String, Object> session = new HashMap<String, Object>();
                             for (Map.Entry<String, byte[]> sessionAttribute : sessionEntry.getValue().data.entrySet()) {
-                                unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(sessionAttribute.getValue())));
-                                session.put(sessionAttribute.getKey(), unmarshaller.readObject());
-                                unmarshaller.finish();
+                                session.put(sessionAttribute.getKey(), unmarshalSessionAttribute(unmarshaller, ByteBuffer.wrap(sessionAttribute.getValue())));
                             }
                             ret.put(sessionEntry.getKey(), new PersistentSession(sessionEntry.getValue().expiry, session));
                         }
@@ -128,6 +121,36 @@ public abstract class AbstractPersistentSessionManager implements SessionPersist
         return null;
     }
 
+    /**
+     * Marshals a single session attribute.
+     *
+     * @return the marshalled attribute, or null if the attribute could not be marshalled
+     */
+    protected byte[] marshalSessionAttribute(Marshaller marshaller, String sessionId, String name, Object value) {
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            marshaller.start(new OutputStreamByteOutput(out));
+            marshaller.writeObject(value);
+            marshaller.finish();
+            return out.toByteArray();
+        } catch (Exception e) {
+            UndertowLogger.ROOT_LOGGER.failedToPersistSessionAttribute(name, value, sessionId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Unmarshals a single session attribute from the remaining content of the specified buffer.
+     */
+    protected Object unmarshalSessionAttribute(Unmarshaller unmarshaller, ByteBuffer buffer) throws IOException, ClassNotFoundException {
+        unmarshaller.start(new ByteBufferInput(buffer));
+        try {
+            return unmarshaller.readObject();
+        } finally {
+            unmarshaller.finish();
+        }
+    }
+
     protected Marshaller createMarshaller() throws IOException {
         return factory.createMarshaller(configuration);
     }
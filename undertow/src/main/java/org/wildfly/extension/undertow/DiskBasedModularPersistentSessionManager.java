@@ -21,6 +21,7 @@
  */
 package org.wildfly.extension.undertow;
 
+import io.undertow.servlet.UndertowServletLogger;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.marshalling.InputStreamByteInput;
 import org.jboss.marshalling.Marshaller;
@@ -30,14 +31,40 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.JBossThreadFactory;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.xnio.IoUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Persistent session manager that stores persistent session information to disk
@@ -45,16 +72,64 @@ import java.util.Map;
  * @author Stuart Douglas
  */
 public class DiskBasedModularPersistentSessionManager extends AbstractPersistentSessionManager {
+
+    /*
+     * Sessions are stored as a sequence of independently readable chunks, following a fixed header:
+     *   file:    magic (int), version (int), chunk*
+     *   chunk:   length (int), record*
+     *   record:  length (int), expiry (long), session id, attribute*
+     *   attribute: name, length (int), marshalled value
+     * where strings are written as length (unsigned short) followed by UTF-8 bytes.
+     * The length and expiry of each record precede its content, so expired sessions are skipped without being read.
+     * Files written by previous releases, which contain a single marshalled map of all sessions, are still readable.
+     */
+    static final int MAGIC = 0x55505331;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    private static final int CHUNK_HEADER_SIZE = 4;
+    // length + expiry
+    private static final int RECORD_HEADER_SIZE = 12;
+
+    private static final String PARALLELISM = "jboss.undertow.persistent-sessions.parallelism";
+    private static final String CHUNK_SIZE = "jboss.undertow.persistent-sessions.chunk-size";
+    private static final int DEFAULT_CHUNK_SIZE = 256;
+    private static final boolean MEMORY_MAPPED = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("jboss.undertow.persistent-sessions.memory-mapped", "true"));
+
     private final String path;
     private final String pathRelativeTo;
+    private final int parallelism;
+    private final int chunkSize;
+    // Bounds the number of chunks held in memory at any given time
+    private final int maxPendingChunks;
     private File baseDir;
     private PathManager.Callback.Handle callbackHandle;
+    private ExecutorService executor;
 
     private final InjectedValue<PathManager> pathManager = new InjectedValue<PathManager>();
 
     public DiskBasedModularPersistentSessionManager(String path, String pathRelativeTo) {
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
+        this.parallelism = parseProperty(PARALLELISM, Runtime.getRuntime().availableProcessors());
+        this.chunkSize = parseProperty(CHUNK_SIZE, DEFAULT_CHUNK_SIZE);
+        this.maxPendingChunks = 2 * this.parallelism;
+    }
+
+    private static int parseProperty(String property, int defaultValue) {
+        String value = WildFlySecurityManager.getPropertyPrivileged(property, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int result = Integer.parseInt(value.trim());
+            if (result > 0) {
+                return result;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        UndertowLogger.ROOT_LOGGER.invalidSystemPropertyValue(value, property, defaultValue);
+        return defaultValue;
     }
 
     @Override
@@ -63,6 +138,10 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
         if (callbackHandle != null) {
             callbackHandle.remove();
         }
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
     }
 
     @Override
@@ -80,6 +159,250 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
         if (!baseDir.isDirectory()) {
             throw UndertowLogger.ROOT_LOGGER.invalidPersistentSessionDir(baseDir);
         }
+        int threads = this.parallelism;
+        PrivilegedAction<ThreadFactory> action = () -> new JBossThreadFactory(new ThreadGroup(DiskBasedModularPersistentSessionManager.class.getSimpleName()), Boolean.FALSE, null, "%G - %t", null, null);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), WildFlySecurityManager.doUnchecked(action));
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+    }
+
+    @Override
+    public void persistSessions(String deploymentName, Map<String, PersistentSession> sessionData) {
+        File file = new File(baseDir, deploymentName);
+        File temp = new File(baseDir, deploymentName + ".tmp");
+        Deque<Future<ByteBuffer>> pending = new ArrayDeque<>();
+        try {
+            try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).flip();
+                writeFully(channel, header);
+                long now = System.currentTimeMillis();
+                List<Map.Entry<String, PersistentSession>> chunk = new ArrayList<>(this.chunkSize);
+                for (Map.Entry<String, PersistentSession> entry : sessionData.entrySet()) {
+                    // No point persisting a session that would be discarded on load
+                    if (entry.getValue().getExpiration().getTime() > now) {
+                        chunk.add(entry);
+                        if (chunk.size() >= this.chunkSize) {
+                            this.submitChunk(channel, pending, chunk);
+                            chunk = new ArrayList<>(this.chunkSize);
+                        }
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    this.submitChunk(channel, pending, chunk);
+                }
+                while (!pending.isEmpty()) {
+                    writeFully(channel, get(pending.remove()));
+                }
+                channel.force(true);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e);
+        } finally {
+            for (Future<ByteBuffer> future : pending) {
+                future.cancel(true);
+            }
+            temp.delete();
+        }
+    }
+
+    private void submitChunk(FileChannel channel, Deque<Future<ByteBuffer>> pending, List<Map.Entry<String, PersistentSession>> sessions) throws IOException {
+        pending.add(executor.submit(() -> this.writeChunk(sessions)));
+        // Chunks are written in submission order, once the oldest one is complete
+        if (pending.size() >= this.maxPendingChunks) {
+            writeFully(channel, get(pending.remove()));
+        }
+    }
+
+    private ByteBuffer writeChunk(List<Map.Entry<String, PersistentSession>> sessions) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        // Placeholder for chunk length
+        output.writeInt(0);
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        DataOutputStream recordOutput = new DataOutputStream(record);
+        Marshaller marshaller = createMarshaller();
+        try {
+            for (Map.Entry<String, PersistentSession> entry : sessions) {
+                String sessionId = entry.getKey();
+                record.reset();
+                writeString(recordOutput, sessionId);
+                for (Map.Entry<String, Object> attribute : entry.getValue().getSessionData().entrySet()) {
+                    byte[] value = marshalSessionAttribute(marshaller, sessionId, attribute.getKey(), attribute.getValue());
+                    if (value != null) {
+                        writeString(recordOutput, attribute.getKey());
+                        recordOutput.writeInt(value.length);
+                        recordOutput.write(value);
+                    }
+                }
+                recordOutput.flush();
+                output.writeInt(record.size());
+                output.writeLong(entry.getValue().getExpiration().getTime());
+                record.writeTo(output);
+            }
+        } finally {
+            marshaller.close();
+        }
+        output.flush();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        buffer.putInt(0, buffer.remaining() - CHUNK_HEADER_SIZE);
+        return buffer;
+    }
+
+    @Override
+    public Map<String, PersistentSession> loadSessionAttributes(String deploymentName, ClassLoader classLoader) {
+        File file = new File(baseDir, deploymentName);
+        if (!file.exists()) {
+            return null;
+        }
+        Deque<Future<Map<String, PersistentSession>>> pending = new ArrayDeque<>();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (size < HEADER_SIZE || !readFully(channel, header, 0) || header.getInt(0) != MAGIC) {
+                channel.close();
+                // Written by a previous release
+                return super.loadSessionAttributes(deploymentName, classLoader);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException(file.getAbsolutePath());
+            }
+            long now = System.currentTimeMillis();
+            ByteBuffer mapped = (MEMORY_MAPPED && size <= Integer.MAX_VALUE) ? channel.map(FileChannel.MapMode.READ_ONLY, 0, size) : null;
+            Map<String, PersistentSession> sessions = new HashMap<>();
+            ByteBuffer chunkHeader = ByteBuffer.allocate(CHUNK_HEADER_SIZE);
+            long position = HEADER_SIZE;
+            while (position < size) {
+                chunkHeader.clear();
+                if (!readFully(channel, chunkHeader, position)) {
+                    break;
+                }
+                int length = chunkHeader.getInt(0);
+                if (length < 0 || length > size - position - CHUNK_HEADER_SIZE) {
+                    break;
+                }
+                ByteBuffer chunk;
+                if (mapped != null) {
+                    chunk = mapped.duplicate();
+                    chunk.position((int) position + CHUNK_HEADER_SIZE);
+                    chunk.limit(chunk.position() + length);
+                    chunk = chunk.slice();
+                } else {
+                    chunk = ByteBuffer.allocate(length);
+                    if (!readFully(channel, chunk, position + CHUNK_HEADER_SIZE)) {
+                        break;
+                    }
+                    chunk.flip();
+                }
+                ByteBuffer content = chunk;
+                long offset = position;
+                pending.add(executor.submit(() -> this.readChunk(file, offset, content, now)));
+                if (pending.size() >= this.maxPendingChunks) {
+                    sessions.putAll(get(pending.remove()));
+                }
+                position += CHUNK_HEADER_SIZE + length;
+            }
+            if (position < size) {
+                UndertowLogger.ROOT_LOGGER.persistentSessionsTruncated(file, size - position, position);
+            }
+            while (!pending.isEmpty()) {
+                sessions.putAll(get(pending.remove()));
+            }
+            return sessions;
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(e);
+        } finally {
+            for (Future<Map<String, PersistentSession>> future : pending) {
+                future.cancel(true);
+            }
+        }
+        return null;
+    }
+
+    private Map<String, PersistentSession> readChunk(File file, long offset, ByteBuffer chunk, long now) {
+        try {
+            return this.readChunk(chunk, now);
+        } catch (Exception e) {
+            // Chunks are independent, so only the sessions of a corrupt chunk are lost
+            UndertowLogger.ROOT_LOGGER.persistentSessionsChunkUnreadable(file, offset, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private Map<String, PersistentSession> readChunk(ByteBuffer chunk, long now) throws IOException, ClassNotFoundException {
+        Map<String, PersistentSession> sessions = new HashMap<>();
+        Unmarshaller unmarshaller = createUnmarshaller();
+        try {
+            while (chunk.remaining() >= RECORD_HEADER_SIZE) {
+                int length = chunk.getInt();
+                long expiry = chunk.getLong();
+                if (length < 0 || length > chunk.remaining()) {
+                    throw new EOFException();
+                }
+                int end = chunk.position() + length;
+                if (expiry > now) {
+                    String sessionId = readString(chunk);
+                    Map<String, Object> attributes = new HashMap<>();
+                    while (chunk.position() < end) {
+                        String name = readString(chunk);
+                        int valueLength = chunk.getInt();
+                        ByteBuffer value = chunk.duplicate();
+                        value.limit(value.position() + valueLength);
+                        attributes.put(name, unmarshalSessionAttribute(unmarshaller, value));
+                        chunk.position(value.limit());
+                    }
+                    sessions.put(sessionId, new PersistentSession(new Date(expiry), attributes));
+                }
+                chunk.position(end);
+            }
+        } finally {
+            unmarshaller.close();
+        }
+        return sessions;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException(value);
+        }
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static <T> T get(Future<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
 
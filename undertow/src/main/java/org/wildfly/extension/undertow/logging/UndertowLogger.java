@@ -416,4 +416,16 @@ public interface UndertowLogger extends BasicLogger {
 
     @Message(id = 103, value = "The time zone id %s is invalid.")
     OperationFailedException invalidTimeZoneId(String zoneId);
+
+    @LogMessage(level = WARN)
+    @Message(id = 104, value = "Persistent sessions file %s is truncated, ignoring %d bytes following offset %d")
+    void persistentSessionsTruncated(File file, long bytes, long offset);
+
+    @LogMessage(level = WARN)
+    @Message(id = 105, value = "Invalid value %s for system property %s, using %d instead")
+    void invalidSystemPropertyValue(String value, String property, int defaultValue);
+
+    @LogMessage(level = WARN)
+    @Message(id = 106, value = "Persistent sessions file %s contains an unreadable chunk at offset %d, its sessions will not be restored")
+    void persistentSessionsChunkUnreadable(File file, long offset, @Cause Throwable cause);
 }
@@ -0,0 +1,206 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Constructor;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.servlet.api.SessionPersistenceManager.PersistentSession;
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.modules.ModuleLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies the chunked file format of {@link DiskBasedModularPersistentSessionManager}.
+ */
+public class DiskBasedModularPersistentSessionManagerTestCase {
+
+    private static final String DEPLOYMENT = "test.war";
+    // Spans several chunks of the default chunk size
+    private static final int SESSIONS = 600;
+    private static final int CHUNK_SIZE = 256;
+
+    private final DiskBasedModularPersistentSessionManager manager = new DiskBasedModularPersistentSessionManager("sessions", null);
+    private File directory;
+
+    @Before
+    public void init() throws Exception {
+        this.directory = Files.createTempDirectory("sessions").toFile();
+        PathManager pathManager = mock(PathManager.class);
+        when(pathManager.resolveRelativePathEntry(anyString(), any())).thenReturn(this.directory.getAbsolutePath());
+        this.manager.getPathManager().inject(pathManager);
+        this.manager.getModuleLoaderInjectedValue().inject(mock(ModuleLoader.class));
+        this.manager.start(null);
+    }
+
+    @After
+    public void destroy() {
+        this.manager.stop(null);
+        for (File file : this.directory.listFiles()) {
+            file.delete();
+        }
+        this.directory.delete();
+    }
+
+    @Test
+    public void roundTrip() {
+        Map<String, PersistentSession> sessions = createSessions(SESSIONS);
+        Date expired = new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1));
+        sessions.put("expired", new PersistentSession(expired, Collections.singletonMap("name", "value")));
+        this.manager.persistSessions(DEPLOYMENT, sessions);
+        sessions.remove("expired");
+
+        Map<String, PersistentSession> loaded = this.manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+        assertNotNull(loaded);
+        assertEquals(SESSIONS, loaded.size());
+        for (Map.Entry<String, PersistentSession> entry : sessions.entrySet()) {
+            PersistentSession session = loaded.get(entry.getKey());
+            assertNotNull(entry.getKey(), session);
+            assertEquals(entry.getValue().getExpiration(), session.getExpiration());
+            assertEquals(entry.getValue().getSessionData(), session.getSessionData());
+        }
+        // The temporary file was moved into place
+        assertEquals(1, this.directory.listFiles().length);
+    }
+
+    @Test
+    public void truncatedChunk() throws IOException {
+        this.manager.persistSessions(DEPLOYMENT, createSessions(SESSIONS));
+        File file = new File(this.directory, DEPLOYMENT);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+
+        // Sessions of the complete chunks are loaded, those of the incomplete last chunk are dropped
+        Map<String, PersistentSession> loaded = this.manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+        assertNotNull(loaded);
+        assertEquals(SESSIONS - (SESSIONS % CHUNK_SIZE), loaded.size());
+    }
+
+    @Test
+    public void corruptChunk() throws IOException {
+        this.manager.persistSessions(DEPLOYMENT, createSessions(SESSIONS));
+        File file = new File(this.directory, DEPLOYMENT);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // Length of the first record of the first chunk
+            raf.seek(DiskBasedModularPersistentSessionManager.HEADER_SIZE + 4);
+            raf.writeInt(Integer.MAX_VALUE);
+        }
+
+        // Sessions of the corrupt chunk are dropped, those of the other chunks are loaded
+        Map<String, PersistentSession> loaded = this.manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+        assertNotNull(loaded);
+        assertEquals(SESSIONS - CHUNK_SIZE, loaded.size());
+    }
+
+    @Test
+    public void invalidProperties() throws Exception {
+        System.setProperty("jboss.undertow.persistent-sessions.chunk-size", "0");
+        System.setProperty("jboss.undertow.persistent-sessions.parallelism", "many");
+        DiskBasedModularPersistentSessionManager manager;
+        try {
+            manager = new DiskBasedModularPersistentSessionManager("sessions", null);
+        } finally {
+            System.clearProperty("jboss.undertow.persistent-sessions.chunk-size");
+            System.clearProperty("jboss.undertow.persistent-sessions.parallelism");
+        }
+        manager.getPathManager().inject(this.manager.getPathManager().getValue());
+        manager.getModuleLoaderInjectedValue().inject(mock(ModuleLoader.class));
+        manager.start(null);
+        try {
+            // Invalid values fall back to the defaults
+            manager.persistSessions(DEPLOYMENT, createSessions(SESSIONS));
+            Map<String, PersistentSession> loaded = manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+            assertNotNull(loaded);
+            assertEquals(SESSIONS, loaded.size());
+        } finally {
+            manager.stop(null);
+        }
+    }
+
+    @Test
+    public void legacyFormat() throws Exception {
+        Map<String, PersistentSession> sessions = createSessions(10);
+        // Write the single marshalled map of previous releases
+        Constructor<AbstractPersistentSessionManager.SessionEntry> constructor = AbstractPersistentSessionManager.SessionEntry.class.getDeclaredConstructor(Date.class, Map.class);
+        constructor.setAccessible(true);
+        Map<String, AbstractPersistentSessionManager.SessionEntry> entries = new HashMap<>();
+        Marshaller marshaller = this.manager.createMarshaller();
+        try {
+            for (Map.Entry<String, PersistentSession> session : sessions.entrySet()) {
+                Map<String, byte[]> data = new HashMap<>();
+                for (Map.Entry<String, Object> attribute : session.getValue().getSessionData().entrySet()) {
+                    data.put(attribute.getKey(), this.manager.marshalSessionAttribute(marshaller, session.getKey(), attribute.getKey(), attribute.getValue()));
+                }
+                entries.put(session.getKey(), constructor.newInstance(session.getValue().getExpiration(), data));
+            }
+        } finally {
+            marshaller.close();
+        }
+        this.manager.persistSerializedSessions(DEPLOYMENT, entries);
+
+        Map<String, PersistentSession> loaded = this.manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+        assertNotNull(loaded);
+        assertEquals(sessions.size(), loaded.size());
+        for (Map.Entry<String, PersistentSession> entry : sessions.entrySet()) {
+            assertEquals(entry.getValue().getSessionData(), loaded.get(entry.getKey()).getSessionData());
+        }
+    }
+
+    @Test
+    public void unreadableFile() throws IOException {
+        Files.write(new File(this.directory, DEPLOYMENT).toPath(), new byte[] { 1, 2, 3 });
+        assertNull(this.manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader()));
+    }
+
+    private static Map<String, PersistentSession> createSessions(int count) {
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        Map<String, PersistentSession> sessions = new HashMap<>();
+        for (int i = 0; i < count; ++i) {
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put("id", i);
+            attributes.put("name", "session-" + i);
+            sessions.put("session-" + i, new PersistentSession(expiration, attributes));
+        }
+        return sessions;
+    }
+}